@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.airbyte.commons.jackson.MoreMappers;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.ConnectorSpecification;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Encoding of the messages exchanged with a connector during a sync.
+ * <p>
+ * Messages are newline-delimited JSON by default. A connector can advertise other formats in the
+ * {@value #SPEC_PROPERTY} property of its spec. The platform then picks the first format it prefers
+ * among them and tells the connector through the {@code AIRBYTE_MESSAGE_FORMAT} environment
+ * variable. Binary formats are length-prefixed, see {@link io.airbyte.commons.io.LengthPrefixedFrameReader}:
+ * every message is a frame, and both the stdin and the stdout of the connector are framed.
+ */
+public enum AirbyteMessageFormat {
+
+  JSONL("jsonl", null),
+  SMILE("smile", MoreMappers.initMapper(new SmileFactory()));
+
+  /**
+   * Property of the connector spec listing the message formats supported by the connector.
+   */
+  public static final String SPEC_PROPERTY = "supported_message_formats";
+
+  // Formats the platform prefers over JSON lines, most preferred first.
+  private static final List<AirbyteMessageFormat> PREFERRED_FORMATS = List.of(SMILE);
+
+  private final String value;
+  private final ObjectMapper objectMapper;
+
+  AirbyteMessageFormat(final String value, final ObjectMapper objectMapper) {
+    this.value = value;
+    this.objectMapper = objectMapper;
+  }
+
+  public String value() {
+    return value;
+  }
+
+  /**
+   * Returns true if messages are framed by their length rather than separated by line feeds.
+   */
+  public boolean isBinary() {
+    return this != JSONL;
+  }
+
+  /**
+   * Create a generator writing a single message in this format.
+   *
+   * @param outputStream to write to
+   * @return the generator
+   * @throws IOException if the generator cannot be created
+   */
+  public JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+    return this == JSONL ? Jsons.createGenerator(outputStream) : objectMapper.getFactory().createGenerator(outputStream);
+  }
+
+  /**
+   * Deserialize a message encoded in this format from a slice of a byte array.
+   *
+   * @return the message, or empty if it could not be deserialized
+   */
+  public <T> Optional<T> tryDeserialize(final byte[] bytes, final int offset, final int length, final Class<T> klass) {
+    if (this == JSONL) {
+      return Jsons.tryDeserialize(bytes, offset, length, klass);
+    }
+    try {
+      return Optional.of(objectMapper.readValue(bytes, offset, length, klass));
+    } catch (final Throwable e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Returns the format matching a value, JSON lines if there is none.
+   */
+  public static AirbyteMessageFormat fromValue(final String value) {
+    return Arrays.stream(values()).filter(format -> format.value.equalsIgnoreCase(value)).findFirst().orElse(JSONL);
+  }
+
+  /**
+   * Returns the message formats advertised in a connector spec. Formats unknown to the platform are
+   * kept, they are ignored when negotiating.
+   */
+  public static List<String> getAdvertisedFormats(final ConnectorSpecification spec) {
+    if (spec == null || !(spec.getAdditionalProperties().get(SPEC_PROPERTY) instanceof Collection<?> formats)) {
+      return List.of();
+    }
+    return formats.stream().filter(String.class::isInstance).map(String.class::cast).toList();
+  }
+
+  /**
+   * Pick the format used with a connector.
+   *
+   * @param advertisedFormats formats advertised by the connector, may be null
+   * @return the format the platform prefers among the advertised ones, JSON lines if there is none
+   */
+  public static AirbyteMessageFormat negotiate(final Collection<String> advertisedFormats) {
+    if (advertisedFormats == null) {
+      return JSONL;
+    }
+    return PREFERRED_FORMATS.stream()
+        .filter(format -> advertisedFormats.stream().anyMatch(format.value::equalsIgnoreCase))
+        .findFirst()
+        .orElse(JSONL);
+  }
+
+}
@@ -4,7 +4,9 @@
 
 package io.airbyte.commons.protocol.serde;
 
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.version.Version;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -16,6 +18,23 @@ public interface AirbyteMessageDeserializer<T> {
 
   Optional<T> deserialize(final String json);
 
+  /**
+   * Deserialize a message from a slice of a UTF-8 encoded byte array.
+   */
+  default Optional<T> deserialize(final byte[] json, final int offset, final int length) {
+    return deserialize(new String(json, offset, length, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Deserialize a message encoded in the given format from a slice of a byte array.
+   */
+  default Optional<T> deserialize(final byte[] bytes, final int offset, final int length, final AirbyteMessageFormat format) {
+    if (format.isBinary()) {
+      throw new UnsupportedOperationException("Deserializing " + format.value() + " messages is not supported");
+    }
+    return deserialize(bytes, offset, length);
+  }
+
   Version getTargetVersion();
 
 }
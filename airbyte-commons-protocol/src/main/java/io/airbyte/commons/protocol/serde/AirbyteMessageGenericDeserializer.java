@@ -5,6 +5,7 @@
 package io.airbyte.commons.protocol.serde;
 
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.version.Version;
 import java.util.Optional;
 import lombok.Getter;
@@ -30,4 +31,14 @@ public class AirbyteMessageGenericDeserializer<T> implements AirbyteMessageDeser
     return Jsons.tryDeserialize(json, typeClass);
   }
 
+  @Override
+  public Optional<T> deserialize(final byte[] json, final int offset, final int length) {
+    return Jsons.tryDeserialize(json, offset, length, typeClass);
+  }
+
+  @Override
+  public Optional<T> deserialize(final byte[] bytes, final int offset, final int length, final AirbyteMessageFormat format) {
+    return format.tryDeserialize(bytes, offset, length, typeClass);
+  }
+
 }
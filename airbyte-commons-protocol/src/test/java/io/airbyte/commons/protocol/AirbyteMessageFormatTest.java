@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.protocol.models.ConnectorSpecification;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AirbyteMessageFormatTest {
+
+  @Test
+  void testNegotiatePicksPreferredAdvertisedFormat() {
+    assertEquals(AirbyteMessageFormat.SMILE, AirbyteMessageFormat.negotiate(List.of("cbor", "SMILE")));
+  }
+
+  @Test
+  void testNegotiateFallsBackToJsonLines() {
+    assertEquals(AirbyteMessageFormat.JSONL, AirbyteMessageFormat.negotiate(null));
+    assertEquals(AirbyteMessageFormat.JSONL, AirbyteMessageFormat.negotiate(List.of()));
+    assertEquals(AirbyteMessageFormat.JSONL, AirbyteMessageFormat.negotiate(List.of("cbor")));
+  }
+
+  @Test
+  void testAdvertisedFormatsAreReadFromSpec() {
+    final ConnectorSpecification spec = new ConnectorSpecification()
+        .withAdditionalProperty(AirbyteMessageFormat.SPEC_PROPERTY, List.of("smile", "cbor"));
+
+    assertEquals(List.of("smile", "cbor"), AirbyteMessageFormat.getAdvertisedFormats(spec));
+    assertEquals(List.of(), AirbyteMessageFormat.getAdvertisedFormats(new ConnectorSpecification()));
+    assertEquals(List.of(), AirbyteMessageFormat.getAdvertisedFormats(null));
+  }
+
+}
@@ -6,11 +6,18 @@ package io.airbyte.commons.protocol.serde;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.ConnectorSpecification;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +41,26 @@ class AirbyteMessageV1SerDeTest {
     assertEquals(message, deserializedMessage.get());
   }
 
+  @Test
+  void v1SmileSerDeRoundTripTest() throws IOException {
+    final AirbyteMessageV1Deserializer deser = new AirbyteMessageV1Deserializer();
+    final AirbyteMessageV1Serializer ser = new AirbyteMessageV1Serializer();
+
+    final AirbyteMessage message = new AirbyteMessage()
+        .withType(Type.RECORD)
+        .withRecord(new AirbyteRecordMessage()
+            .withStream("user_preferences")
+            .withEmittedAt(1L)
+            .withData(Jsons.jsonNode(Map.of("favorite_color", "gr\u00fcn", "favorite_number", 42))));
+
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (final JsonGenerator generator = AirbyteMessageFormat.SMILE.createGenerator(outputStream)) {
+      ser.serialize(message, generator);
+    }
+    final byte[] bytes = outputStream.toByteArray();
+    final Optional<AirbyteMessage> deserializedMessage = deser.deserialize(bytes, 0, bytes.length, AirbyteMessageFormat.SMILE);
+
+    assertEquals(message, deserializedMessage.get());
+  }
+
 }
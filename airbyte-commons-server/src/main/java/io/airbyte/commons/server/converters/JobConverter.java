@@ -43,6 +43,7 @@ import io.airbyte.config.StreamSyncStats;
 import io.airbyte.config.SyncStats;
 import io.airbyte.config.helpers.LogClientSingleton;
 import io.airbyte.config.helpers.LogConfigs;
+import io.airbyte.config.helpers.LogTail;
 import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.Job;
@@ -151,7 +152,7 @@ public class JobConverter {
   public AttemptInfoRead getAttemptInfoRead(final Attempt attempt) {
     return new AttemptInfoRead()
         .attempt(getAttemptRead(attempt))
-        .logs(getLogRead(attempt.getLogPath()));
+        .logs(getLogRead(attempt.getLogPath(), io.airbyte.persistence.job.models.AttemptStatus.TERMINAL_STATUSES.contains(attempt.getStatus())));
   }
 
   public AttemptInfoRead getAttemptInfoWithoutLogsRead(final Attempt attempt) {
@@ -233,9 +234,18 @@ public class JobConverter {
         .partialSuccess(failureSummary.getPartialSuccess());
   }
 
-  public LogRead getLogRead(final Path logPath) {
+  /**
+   * Get the last lines of a job log.
+   *
+   * @param logPath log path
+   * @param complete whether the log is not written anymore, in which case it can be cached
+   * @return last lines of the log, with the cursor to get the preceding ones
+   */
+  public LogRead getLogRead(final Path logPath, final boolean complete) {
     try {
-      return new LogRead().logLines(LogClientSingleton.getInstance().getJobLogFile(workerEnvironment, logConfigs, logPath));
+      final LogTail tail = LogClientSingleton.getInstance()
+          .getJobLogTail(workerEnvironment, logConfigs, logPath, null, LogClientSingleton.LOG_TAIL_SIZE, complete);
+      return new LogRead().logLines(tail.lines()).cursor(tail.cursor());
     } catch (final IOException e) {
       throw new RuntimeException(e);
     }
@@ -270,7 +280,7 @@ public class JobConverter {
         .endedAt(metadata.getEndedAt())
         .succeeded(metadata.isSucceeded())
         .connectorConfigurationUpdated(metadata.isConnectorConfigurationUpdated())
-        .logs(getLogRead(metadata.getLogPath()))
+        .logs(getLogRead(metadata.getLogPath(), true))
         .failureReason(getFailureReason(metadata.getFailureReason()));
   }
 
@@ -36,9 +36,12 @@ public class AttemptHandler {
 
   private final JobConverter jobConverter;
 
-  public AttemptHandler(final JobPersistence jobPersistence, final JobConverter jobConverter) {
+  private final StateHandler stateHandler;
+
+  public AttemptHandler(final JobPersistence jobPersistence, final JobConverter jobConverter, final StateHandler stateHandler) {
     this.jobPersistence = jobPersistence;
     this.jobConverter = jobConverter;
+    this.stateHandler = stateHandler;
   }
 
   public AttemptInfoRead getAttemptForJob(final long jobId, final int attemptNo) throws IOException {
@@ -83,7 +86,12 @@ public class AttemptHandler {
     return new InternalOperationResult().succeeded(true);
   }
 
-  public InternalOperationResult saveStats(final SaveStatsRequestBody requestBody) {
+  public InternalOperationResult saveStats(final SaveStatsRequestBody requestBody) throws IOException {
+    // A failure to persist the state is surfaced as an error, the worker keeps the state to retry
+    if (requestBody.getConnectionState() != null) {
+      stateHandler.createOrUpdateState(requestBody.getConnectionState());
+    }
+
     try {
       final var stats = requestBody.getStats();
       final var streamStats = requestBody.getStreamStats().stream()
@@ -29,6 +29,7 @@ import io.airbyte.api.model.generated.DestinationRead;
 import io.airbyte.api.model.generated.DestinationSearch;
 import io.airbyte.api.model.generated.InternalOperationResult;
 import io.airbyte.api.model.generated.ListConnectionsForWorkspacesRequestBody;
+import io.airbyte.api.model.generated.Pagination;
 import io.airbyte.api.model.generated.SourceRead;
 import io.airbyte.api.model.generated.SourceSearch;
 import io.airbyte.api.model.generated.StreamDescriptor;
@@ -49,7 +50,6 @@ import io.airbyte.config.ActorCatalog;
 import io.airbyte.config.ActorDefinitionVersion;
 import io.airbyte.config.BasicSchedule;
 import io.airbyte.config.DestinationConnection;
-import io.airbyte.config.FailureReason;
 import io.airbyte.config.FailureReason.FailureType;
 import io.airbyte.config.FieldSelectionData;
 import io.airbyte.config.Geography;
@@ -69,13 +69,16 @@ import io.airbyte.config.helpers.ScheduleHelpers;
 import io.airbyte.config.persistence.ActorDefinitionVersionHelper;
 import io.airbyte.config.persistence.ConfigNotFoundException;
 import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.config.persistence.ConfigRepository.ActorSearchCriteria;
+import io.airbyte.config.persistence.ConfigRepository.ConnectionSearchQuery;
+import io.airbyte.config.persistence.ConfigRepository.ConnectionSearchResult;
 import io.airbyte.featureflag.CheckWithCatalog;
 import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.Workspace;
 import io.airbyte.persistence.job.JobNotifier;
 import io.airbyte.persistence.job.JobPersistence;
 import io.airbyte.persistence.job.WorkspaceHelper;
-import io.airbyte.persistence.job.models.Attempt;
+import io.airbyte.persistence.job.models.ConnectionJobStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
@@ -97,8 +100,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -728,21 +733,82 @@ public class ConnectionsHandler {
     return Optional.of(CatalogConverter.toApi(jsonCatalog, sourceVersion));
   }
 
-  public ConnectionReadList searchConnections(final ConnectionSearch connectionSearch)
-      throws JsonValidationException, IOException, ConfigNotFoundException {
+  /**
+   * Search connections. The criteria on identifiers and names are evaluated by the database, which
+   * also fetches the sources and destinations of the connections it finds. The criteria on schedules
+   * and connector configurations are matched on these connections, in which case the pagination is
+   * applied after matching.
+   */
+  public ConnectionReadList searchConnections(final ConnectionSearch connectionSearch) throws IOException {
+    final boolean matchedInMemory = hasCriteriaMatchedInMemory(connectionSearch);
+    final Pagination pagination = connectionSearch.getPagination();
+    final Integer pageSize = pagination == null ? null : PaginationHelper.pageSize(pagination);
+    final int rowOffset = PaginationHelper.rowOffset(pagination);
+
+    final List<ConnectionSearchResult> results = configRepository.searchConnections(
+        toConnectionSearchQuery(connectionSearch, matchedInMemory ? null : pageSize, matchedInMemory ? 0 : rowOffset));
+
     final List<ConnectionRead> reads = Lists.newArrayList();
-    for (final StandardSync standardSync : configRepository.listStandardSyncs()) {
-      if (standardSync.getStatus() != StandardSync.Status.DEPRECATED) {
-        final ConnectionRead connectionRead = ApiPojoConverters.internalToConnectionRead(standardSync);
-        if (matchSearch(connectionSearch, connectionRead)) {
-          reads.add(connectionRead);
-        }
+    for (final ConnectionSearchResult result : results) {
+      final ConnectionRead connectionRead = ApiPojoConverters.internalToConnectionRead(result.standardSync());
+      final SourceRead sourceRead = SourceHandler.toSourceRead(result.source().source(), result.source().definition());
+      final DestinationRead destinationRead =
+          DestinationHandler.toDestinationRead(result.destination().destination(), result.destination().definition());
+      if (matchSearch(connectionSearch, connectionRead, sourceRead, destinationRead)) {
+        reads.add(connectionRead);
       }
     }
 
+    if (matchedInMemory && pageSize != null) {
+      return new ConnectionReadList().connections(reads.stream().skip(rowOffset).limit(pageSize).toList());
+    }
     return new ConnectionReadList().connections(reads);
   }
 
+  /**
+   * Whether the search has criteria that the database does not evaluate.
+   */
+  private static boolean hasCriteriaMatchedInMemory(final ConnectionSearch connectionSearch) {
+    return connectionSearch.getSchedule() != null
+        || connectionSearch.getScheduleType() != null
+        || connectionSearch.getScheduleData() != null
+        || connectionSearch.getSource() != null && connectionSearch.getSource().getConnectionConfiguration() != null
+        || connectionSearch.getDestination() != null && connectionSearch.getDestination().getConnectionConfiguration() != null;
+  }
+
+  /**
+   * Translate a search to a query. Blank names are ignored by the search, like in the matchers.
+   */
+  private static ConnectionSearchQuery toConnectionSearchQuery(final ConnectionSearch connectionSearch,
+                                                               final Integer pageSize,
+                                                               final int rowOffset) {
+    final SourceSearch sourceSearch = connectionSearch.getSource();
+    final DestinationSearch destinationSearch = connectionSearch.getDestination();
+    final String namespaceFormat = "null".equals(connectionSearch.getNamespaceFormat()) ? null : connectionSearch.getNamespaceFormat();
+
+    return new ConnectionSearchQuery(
+        connectionSearch.getConnectionId(),
+        blankToNull(connectionSearch.getName()),
+        Enums.convertTo(connectionSearch.getNamespaceDefinition(), NamespaceDefinitionType.class),
+        blankToNull(namespaceFormat),
+        blankToNull(connectionSearch.getPrefix()),
+        connectionSearch.getSourceId(),
+        connectionSearch.getDestinationId(),
+        Enums.convertTo(connectionSearch.getStatus(), Status.class),
+        sourceSearch == null ? null
+            : new ActorSearchCriteria(sourceSearch.getSourceId(), sourceSearch.getSourceDefinitionId(), sourceSearch.getWorkspaceId(),
+                blankToNull(sourceSearch.getName()), blankToNull(sourceSearch.getSourceName())),
+        destinationSearch == null ? null
+            : new ActorSearchCriteria(destinationSearch.getDestinationId(), destinationSearch.getDestinationDefinitionId(),
+                destinationSearch.getWorkspaceId(), blankToNull(destinationSearch.getName()), blankToNull(destinationSearch.getDestinationName())),
+        pageSize,
+        rowOffset);
+  }
+
+  private static String blankToNull(final String value) {
+    return Strings.isBlank(value) ? null : value;
+  }
+
   public boolean matchSearch(final ConnectionSearch connectionSearch, final ConnectionRead connectionRead)
       throws JsonValidationException, ConfigNotFoundException, IOException {
 
@@ -756,6 +822,13 @@ public class ConnectionsHandler {
         configRepository.getStandardDestinationDefinition(destinationConnection.getDestinationDefinitionId());
     final DestinationRead destinationRead = DestinationHandler.toDestinationRead(destinationConnection, destinationDefinition);
 
+    return matchSearch(connectionSearch, connectionRead, sourceRead, destinationRead);
+  }
+
+  private boolean matchSearch(final ConnectionSearch connectionSearch,
+                              final ConnectionRead connectionRead,
+                              final SourceRead sourceRead,
+                              final DestinationRead destinationRead) {
     final ConnectionMatcher connectionMatcher = new ConnectionMatcher(connectionSearch);
     final ConnectionRead connectionReadFromSearch = connectionMatcher.match(connectionRead);
 
@@ -851,32 +924,27 @@ public class ConnectionsHandler {
 
   public List<ConnectionStatusRead> getConnectionStatuses(List<UUID> connectionIds)
       throws IOException, JsonValidationException, ConfigNotFoundException {
+    final Map<UUID, ConnectionJobStatus> jobStatuses = jobPersistence
+        .getConnectionJobStatuses(connectionIds, Set.of(JobConfig.ConfigType.SYNC, JobConfig.ConfigType.RESET_CONNECTION), maxJobLookback)
+        .stream()
+        .collect(Collectors.toMap(ConnectionJobStatus::connectionId, Function.identity()));
     List<ConnectionStatusRead> result = new ArrayList<>();
     for (UUID connectionId : connectionIds) {
-      List<Job> jobs = jobPersistence.listJobs(Set.of(JobConfig.ConfigType.SYNC, JobConfig.ConfigType.RESET_CONNECTION), connectionId.toString(),
-          maxJobLookback, 0);
-      boolean isRunning = jobs.stream().anyMatch(job -> JobStatus.NON_TERMINAL_STATUSES.contains(job.getStatus()));
-
-      Optional<Job> lastJob = jobs.stream().filter(job -> JobStatus.TERMINAL_STATUSES.contains(job.getStatus())).findFirst();
-      Optional<JobStatus> lastSyncStatus = lastJob.map(job -> job.getStatus());
-
-      Optional<Job> lastSuccessfulJob = jobs.stream().filter(job -> job.getStatus() == JobStatus.SUCCEEDED).findFirst();
-      Optional<Long> lastSuccessTimestamp = lastSuccessfulJob.map(job -> job.getUpdatedAtInSecond());
+      final Optional<ConnectionJobStatus> jobStatus = Optional.ofNullable(jobStatuses.get(connectionId));
+      final Optional<JobStatus> lastSyncStatus = jobStatus.flatMap(ConnectionJobStatus::lastTerminalJobStatus);
 
       ConnectionStatusRead connectionStatus = new ConnectionStatusRead()
           .connectionId(connectionId)
-          .isRunning(isRunning)
+          .isRunning(jobStatus.map(ConnectionJobStatus::isRunning).orElse(false))
           .lastSyncJobStatus(Enums.convertTo(lastSyncStatus.orElse(null),
               io.airbyte.api.model.generated.JobStatus.class))
-          .lastSuccessfulSync(lastSuccessTimestamp.orElse(null))
+          .lastSuccessfulSync(jobStatus.flatMap(ConnectionJobStatus::lastSuccessfulJobUpdatedAtInSecond).orElse(null))
           .nextSync(null)
-          .isLastCompletedJobReset(lastJob.map(job -> job.getConfigType() == ConfigType.RESET_CONNECTION).orElse(false));
-      Optional<FailureType> failureType =
-          lastJob.flatMap(Job::getLastFailedAttempt)
-              .flatMap(Attempt::getFailureSummary)
-              .flatMap(s -> s.getFailures().stream().findFirst())
-              .map(FailureReason::getFailureType);
-      if (failureType.isPresent() && lastJob.get().getStatus() == JobStatus.FAILED) {
+          .isLastCompletedJobReset(jobStatus.flatMap(ConnectionJobStatus::lastTerminalJobConfigType)
+              .map(configType -> configType == ConfigType.RESET_CONNECTION)
+              .orElse(false));
+      Optional<FailureType> failureType = jobStatus.flatMap(ConnectionJobStatus::lastTerminalJobFailureType);
+      if (failureType.isPresent() && lastSyncStatus.orElse(null) == JobStatus.FAILED) {
         connectionStatus.setFailureType(Enums.convertTo(failureType.get(), io.airbyte.api.model.generated.FailureType.class));
       }
       result.add(connectionStatus);
@@ -129,13 +129,13 @@ public class JobHistoryHandler {
     final List<Job> jobs;
 
     if (request.getIncludingJobId() != null) {
-      jobs = jobPersistence.listJobsIncludingId(
+      jobs = jobPersistence.listJobsIncludingIdLight(
           configTypes,
           configId,
           request.getIncludingJobId(),
           pageSize);
     } else {
-      jobs = jobPersistence.listJobs(configTypes, configId, pageSize,
+      jobs = jobPersistence.listJobsLight(configTypes, configId, pageSize,
           (request.getPagination() != null && request.getPagination().getRowOffset() != null) ? request.getPagination().getRowOffset() : 0,
           request.getStatus() == null ? null : JobStatus.valueOf(request.getStatus().toString().toUpperCase()),
           request.getCreatedAtStart(),
@@ -179,7 +179,7 @@ public class JobHistoryHandler {
     final int offset =
         (request.getPagination() != null && request.getPagination().getRowOffset() != null) ? request.getPagination().getRowOffset() : 0;
 
-    final List<Job> jobs = jobPersistence.listJobs(
+    final List<Job> jobs = jobPersistence.listJobsLight(
         configTypes,
         request.getWorkspaceIds(),
         pageSize,
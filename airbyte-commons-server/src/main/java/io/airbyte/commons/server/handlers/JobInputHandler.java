@@ -21,6 +21,7 @@ import io.airbyte.commons.converters.StateConverter;
 import io.airbyte.commons.features.FeatureFlags;
 import io.airbyte.commons.helper.NormalizationInDestinationHelper;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.server.converters.ApiPojoConverters;
 import io.airbyte.commons.temporal.TemporalWorkflowUtils;
 import io.airbyte.commons.temporal.exception.RetryableException;
@@ -46,6 +47,7 @@ import io.airbyte.config.helpers.StateMessageHelper;
 import io.airbyte.config.persistence.ActorDefinitionVersionHelper;
 import io.airbyte.config.persistence.ConfigInjector;
 import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.featureflag.BinaryMessageFormats;
 import io.airbyte.featureflag.Connection;
 import io.airbyte.featureflag.Context;
 import io.airbyte.featureflag.DestinationDefinition;
@@ -185,13 +187,21 @@ public class JobInputHandler {
 
       reportNormalizationInDestinationMetrics(shouldNormalizeInDestination, config, connectionId);
 
+      final List<Context> featureFlagContext = new ArrayList<>();
+      featureFlagContext.add(new Workspace(config.getWorkspaceId()));
+      if (standardSync.getConnectionId() != null) {
+        featureFlagContext.add(new Connection(standardSync.getConnectionId()));
+      }
+      final boolean useBinaryMessageFormats = featureFlagClient.boolVariation(BinaryMessageFormats.INSTANCE, new Multi(featureFlagContext));
+
       final IntegrationLauncherConfig sourceLauncherConfig = getSourceIntegrationLauncherConfig(
           jobId,
           attempt,
           connectionId,
           config,
           sourceVersion,
-          attemptSyncConfig.getSourceConfiguration());
+          attemptSyncConfig.getSourceConfiguration(),
+          useBinaryMessageFormats);
 
       final IntegrationLauncherConfig destinationLauncherConfig = getDestinationIntegrationLauncherConfig(
           jobId,
@@ -200,13 +210,8 @@ public class JobInputHandler {
           config,
           destinationVersion,
           attemptSyncConfig.getDestinationConfiguration(),
-          NormalizationInDestinationHelper.getAdditionalEnvironmentVariables(shouldNormalizeInDestination));
-
-      final List<Context> featureFlagContext = new ArrayList<>();
-      featureFlagContext.add(new Workspace(config.getWorkspaceId()));
-      if (standardSync.getConnectionId() != null) {
-        featureFlagContext.add(new Connection(standardSync.getConnectionId()));
-      }
+          NormalizationInDestinationHelper.getAdditionalEnvironmentVariables(shouldNormalizeInDestination),
+          useBinaryMessageFormats);
 
       final StandardSyncInput syncInput = new StandardSyncInput()
           .withNamespaceDefinition(config.getNamespaceDefinition())
@@ -381,7 +386,8 @@ public class JobInputHandler {
                                                                        final UUID connectionId,
                                                                        final JobSyncConfig config,
                                                                        @Nullable final ActorDefinitionVersion sourceVersion,
-                                                                       final JsonNode sourceConfiguration)
+                                                                       final JsonNode sourceConfiguration,
+                                                                       final boolean useBinaryMessageFormats)
       throws IOException {
     final ConfigReplacer configReplacer = new ConfigReplacer(LOGGER);
 
@@ -396,6 +402,7 @@ public class JobInputHandler {
 
     if (sourceVersion != null) {
       sourceLauncherConfig.setAllowedHosts(configReplacer.getAllowedHosts(sourceVersion.getAllowedHosts(), sourceConfiguration));
+      sourceLauncherConfig.setSupportedMessageFormats(getSupportedMessageFormats(sourceVersion, useBinaryMessageFormats));
     }
 
     return sourceLauncherConfig;
@@ -407,7 +414,8 @@ public class JobInputHandler {
                                                                             final JobSyncConfig config,
                                                                             final ActorDefinitionVersion destinationVersion,
                                                                             final JsonNode destinationConfiguration,
-                                                                            final Map<String, String> additionalEnviornmentVariables)
+                                                                            final Map<String, String> additionalEnviornmentVariables,
+                                                                            final boolean useBinaryMessageFormats)
       throws IOException {
     final ConfigReplacer configReplacer = new ConfigReplacer(LOGGER);
     final String destinationNormalizationDockerImage = destinationVersion.getNormalizationConfig() != null
@@ -430,7 +438,16 @@ public class JobInputHandler {
         .withSupportsDbt(destinationVersion.getSupportsDbt())
         .withNormalizationIntegrationType(normalizationIntegrationType)
         .withAllowedHosts(configReplacer.getAllowedHosts(destinationVersion.getAllowedHosts(), destinationConfiguration))
-        .withAdditionalEnvironmentVariables(additionalEnviornmentVariables);
+        .withAdditionalEnvironmentVariables(additionalEnviornmentVariables)
+        .withSupportedMessageFormats(getSupportedMessageFormats(destinationVersion, useBinaryMessageFormats));
+  }
+
+  /**
+   * Connectors only get offered the message formats they advertise in their spec. The worker picks
+   * the one it prefers, and falls back to JSON lines if there is none.
+   */
+  private static List<String> getSupportedMessageFormats(final ActorDefinitionVersion version, final boolean useBinaryMessageFormats) {
+    return useBinaryMessageFormats ? AirbyteMessageFormat.getAdvertisedFormats(version.getSpec()) : List.of();
   }
 
   private JsonNode getSourceConfiguration(final SourceConnection source) throws IOException {
@@ -4,16 +4,29 @@
 
 package io.airbyte.commons.server.handlers;
 
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.api.model.generated.JobLogsRead;
+import io.airbyte.api.model.generated.JobLogsRequestBody;
 import io.airbyte.api.model.generated.LogsRequestBody;
+import io.airbyte.commons.server.errors.BadObjectSchemaKnownException;
+import io.airbyte.commons.server.errors.IdNotFoundKnownException;
 import io.airbyte.config.Configs;
 import io.airbyte.config.Configs.WorkerEnvironment;
 import io.airbyte.config.helpers.LogClientSingleton;
 import io.airbyte.config.helpers.LogConfigs;
+import io.airbyte.config.helpers.LogTail;
+import io.airbyte.persistence.job.JobPersistence;
+import io.airbyte.persistence.job.models.Attempt;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
 
 /**
  * This handler is only responsible for server and scheduler logs. Jobs logs paths are determined by
@@ -25,22 +38,44 @@ import java.nio.file.Path;
 @Singleton
 public class LogsHandler {
 
+  // Following a log holds a request, and a thread of the logs executor, until new lines are written
+  private static final Duration FOLLOW_TIMEOUT = Duration.ofSeconds(20);
+  // Every poll lists the objects of the log when it is stored in the cloud
+  private static final Duration FOLLOW_POLL_INTERVAL = Duration.ofSeconds(2);
+  // Lower than the size of the logs executor, so that reads that do not wait are still served. The
+  // follow requests beyond it are answered right away and polled again by the client.
+  private static final int MAX_CONCURRENT_FOLLOWS = 5;
+
   private final Path workspaceRoot;
   private final WorkerEnvironment workerEnvironment;
   private final LogConfigs logConfigs;
+  private final JobPersistence jobPersistence;
+  private final Semaphore followPermits;
 
   @Deprecated(forRemoval = true)
-  public LogsHandler(final Configs configs) {
-    this(configs.getWorkspaceRoot(), configs.getWorkerEnvironment(), configs.getLogConfigs());
+  public LogsHandler(final Configs configs, final JobPersistence jobPersistence) {
+    this(configs.getWorkspaceRoot(), configs.getWorkerEnvironment(), configs.getLogConfigs(), jobPersistence);
   }
 
   @Inject
   public LogsHandler(@Named("workspaceRoot") final Path workspaceRoot,
                      final WorkerEnvironment workerEnvironment,
-                     final LogConfigs logConfigs) {
+                     final LogConfigs logConfigs,
+                     final JobPersistence jobPersistence) {
+    this(workspaceRoot, workerEnvironment, logConfigs, jobPersistence, MAX_CONCURRENT_FOLLOWS);
+  }
+
+  @VisibleForTesting
+  LogsHandler(final Path workspaceRoot,
+              final WorkerEnvironment workerEnvironment,
+              final LogConfigs logConfigs,
+              final JobPersistence jobPersistence,
+              final int maxConcurrentFollows) {
     this.workspaceRoot = workspaceRoot;
     this.workerEnvironment = workerEnvironment;
     this.logConfigs = logConfigs;
+    this.jobPersistence = jobPersistence;
+    this.followPermits = new Semaphore(maxConcurrentFollows);
   }
 
   public File getLogs(final LogsRequestBody logsRequestBody) {
@@ -55,4 +90,88 @@ public class LogsHandler {
     }
   }
 
+  /**
+   * Reads the log of an attempt incrementally. Without an offset, this is the last lines of the log,
+   * or the ones preceding the cursor. With an offset, only the lines written after it are read, so
+   * that following a running attempt does not transfer the same lines over and over. In follow mode,
+   * the log is polled until new lines are written or the attempt is done, for up to
+   * {@link #FOLLOW_TIMEOUT}. At most {@link #MAX_CONCURRENT_FOLLOWS} requests wait at the same time,
+   * the other ones return right away. A log is only reported complete once its last lines had time to
+   * be uploaded, see {@link #isLogComplete(Attempt, WorkerEnvironment, long)}.
+   */
+  public JobLogsRead getJobLogs(final JobLogsRequestBody requestBody) throws IOException {
+    final long jobId = requestBody.getJobId();
+    final int attemptNumber = requestBody.getAttemptNumber();
+    final Attempt attempt = jobPersistence.getAttemptForJob(jobId, attemptNumber)
+        .orElseThrow(() -> new IdNotFoundKnownException(
+            String.format("Could not find attempt for job_id: %d and attempt no: %d", jobId, attemptNumber),
+            String.format("%d_%d", jobId, attemptNumber)));
+    final int maxLines = requestBody.getMaxLines() != null ? requestBody.getMaxLines() : LogClientSingleton.LOG_TAIL_SIZE;
+    if (maxLines <= 0) {
+      throw new BadObjectSchemaKnownException("maxLines must be positive, got " + maxLines);
+    }
+
+    final LogClientSingleton logClient = LogClientSingleton.getInstance();
+    boolean done = Attempt.isAttemptInTerminalState(attempt);
+    boolean complete = isLogComplete(attempt, workerEnvironment, Instant.now().getEpochSecond());
+    LogTail read;
+    try {
+      if (requestBody.getOffset() == null) {
+        read = logClient.getJobLogTail(workerEnvironment, logConfigs, attempt.getLogPath(), requestBody.getCursor(), maxLines, done);
+        return toJobLogsRead(read, complete && requestBody.getCursor() == null);
+      }
+      read = logClient.followJobLog(workerEnvironment, logConfigs, attempt.getLogPath(), requestBody.getOffset(), maxLines, done);
+    } catch (final IllegalArgumentException e) {
+      throw new BadObjectSchemaKnownException(e.getMessage(), e);
+    }
+    if (Boolean.TRUE.equals(requestBody.getFollow()) && read.lines().isEmpty() && !complete && followPermits.tryAcquire()) {
+      try {
+        final long deadline = System.nanoTime() + FOLLOW_TIMEOUT.toNanos();
+        while (read.lines().isEmpty() && !complete && System.nanoTime() < deadline) {
+          try {
+            Thread.sleep(FOLLOW_POLL_INTERVAL.toMillis());
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+          // The status is read before the log, so that the last lines of an attempt that just finished
+          // are returned before reporting it complete
+          final Optional<Attempt> currentAttempt = jobPersistence.getAttemptForJob(jobId, attemptNumber);
+          done = currentAttempt.map(Attempt::isAttemptInTerminalState).orElse(true);
+          complete = currentAttempt.map(a -> isLogComplete(a, workerEnvironment, Instant.now().getEpochSecond())).orElse(true);
+          read = logClient.followJobLog(workerEnvironment, logConfigs, attempt.getLogPath(), read.offset(), maxLines, done);
+        }
+      } finally {
+        followPermits.release();
+      }
+    }
+    return toJobLogsRead(read, complete && read.lines().size() < maxLines);
+  }
+
+  /**
+   * Whether the log of an attempt won't change anymore. The last objects of a log in the cloud
+   * storage can still be uploaded after the attempt ended, so such a log is only complete once the
+   * upload grace period has passed.
+   */
+  @VisibleForTesting
+  static boolean isLogComplete(final Attempt attempt, final WorkerEnvironment workerEnvironment, final long nowInSecond) {
+    if (!Attempt.isAttemptInTerminalState(attempt)) {
+      return false;
+    }
+    final Duration gracePeriod = LogClientSingleton.getLogUploadGracePeriod(workerEnvironment);
+    if (gracePeriod.isZero()) {
+      return true;
+    }
+    final long endedAtInSecond = attempt.getEndedAtInSecond().orElse(attempt.getUpdatedAtInSecond());
+    return nowInSecond - endedAtInSecond >= gracePeriod.toSeconds();
+  }
+
+  private static JobLogsRead toJobLogsRead(final LogTail tail, final boolean complete) {
+    return new JobLogsRead()
+        .logLines(tail.lines())
+        .cursor(tail.cursor())
+        .offset(tail.offset())
+        .complete(complete);
+  }
+
 }
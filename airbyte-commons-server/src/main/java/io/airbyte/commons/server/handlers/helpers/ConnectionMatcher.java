@@ -50,6 +50,8 @@ public class ConnectionMatcher implements Matchable<ConnectionRead> {
     fromSearch.breakingChange(query.getBreakingChange());
     fromSearch.notifySchemaChanges(query.getNotifySchemaChanges());
     fromSearch.notifySchemaChangesByEmail(query.getNotifySchemaChangesByEmail());
+    fromSearch.nonBreakingChangesPreference(query.getNonBreakingChangesPreference());
+    fromSearch.workspaceId(query.getWorkspaceId());
 
     return fromSearch;
   }
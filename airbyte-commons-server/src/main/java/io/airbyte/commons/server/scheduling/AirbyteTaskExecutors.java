@@ -17,6 +17,12 @@ public interface AirbyteTaskExecutors extends TaskExecutors {
    */
   String HEALTH = "health";
 
+  /**
+   * The name of the {@link java.util.concurrent.ExecutorService} used for endpoints that read job
+   * logs, which may wait for new lines to be written.
+   */
+  String LOGS = "logs";
+
   /**
    * The name of the {@link java.util.concurrent.ExecutorService} used for endpoints that interact
    * with the scheduler.
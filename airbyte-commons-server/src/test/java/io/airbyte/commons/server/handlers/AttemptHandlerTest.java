@@ -20,10 +20,12 @@ import io.airbyte.api.model.generated.AttemptInfoRead;
 import io.airbyte.api.model.generated.AttemptStats;
 import io.airbyte.api.model.generated.AttemptSyncConfig;
 import io.airbyte.api.model.generated.ConnectionState;
+import io.airbyte.api.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.api.model.generated.ConnectionStateType;
 import io.airbyte.api.model.generated.GlobalState;
 import io.airbyte.api.model.generated.LogRead;
 import io.airbyte.api.model.generated.SaveAttemptSyncConfigRequestBody;
+import io.airbyte.api.model.generated.SaveStatsRequestBody;
 import io.airbyte.api.model.generated.SetWorkflowInAttemptRequestBody;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.server.converters.ApiPojoConverters;
@@ -36,6 +38,7 @@ import io.airbyte.persistence.job.models.AttemptStatus;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -48,6 +51,7 @@ class AttemptHandlerTest {
 
   JobConverter jobConverter;
   JobPersistence jobPersistence;
+  StateHandler stateHandler;
   AttemptHandler handler;
 
   private static final UUID CONNECTION_ID = UUID.randomUUID();
@@ -60,7 +64,8 @@ class AttemptHandlerTest {
   public void init() {
     jobPersistence = Mockito.mock(JobPersistence.class);
     jobConverter = Mockito.mock(JobConverter.class);
-    handler = new AttemptHandler(jobPersistence, jobConverter);
+    stateHandler = Mockito.mock(StateHandler.class);
+    handler = new AttemptHandler(jobPersistence, jobConverter, stateHandler);
   }
 
   @Test
@@ -148,6 +153,41 @@ class AttemptHandlerTest {
     assertEquals(expectedAttemptSyncConfig, attemptSyncConfigCapture.getValue());
   }
 
+  @Test
+  void testSaveStatsWithState() throws Exception {
+    final ConnectionStateCreateOrUpdate stateRequest = new ConnectionStateCreateOrUpdate()
+        .connectionId(CONNECTION_ID)
+        .connectionState(new ConnectionState()
+            .connectionId(CONNECTION_ID)
+            .stateType(ConnectionStateType.GLOBAL)
+            .globalState(new GlobalState().sharedState(Jsons.jsonNode(Map.of("state_key", "state_val")))));
+    final SaveStatsRequestBody requestBody = new SaveStatsRequestBody()
+        .jobId(JOB_ID)
+        .attemptNumber(ATTEMPT_NUMBER)
+        .stats(new AttemptStats().recordsEmitted(10L))
+        .streamStats(List.of())
+        .connectionState(stateRequest);
+
+    assertTrue(handler.saveStats(requestBody).getSucceeded());
+
+    Mockito.verify(stateHandler).createOrUpdateState(stateRequest);
+    Mockito.verify(jobPersistence).writeStats(JOB_ID, ATTEMPT_NUMBER, null, null, 10L, null, null, null, List.of());
+  }
+
+  @Test
+  void testSaveStatsDoesNotSaveStatsWhenStateFails() throws Exception {
+    final SaveStatsRequestBody requestBody = new SaveStatsRequestBody()
+        .jobId(JOB_ID)
+        .attemptNumber(ATTEMPT_NUMBER)
+        .stats(new AttemptStats())
+        .streamStats(List.of())
+        .connectionState(new ConnectionStateCreateOrUpdate().connectionId(CONNECTION_ID));
+    when(stateHandler.createOrUpdateState(any())).thenThrow(new IOException());
+
+    assertThrows(IOException.class, () -> handler.saveStats(requestBody));
+    Mockito.verifyNoInteractions(jobPersistence);
+  }
+
   @Test
   void getAttemptThrowsNotFound() throws Exception {
     when(jobPersistence.getAttemptForJob(anyLong(), anyInt())).thenReturn(Optional.empty());
@@ -11,6 +11,7 @@ import static io.airbyte.config.EnvConfigs.DEFAULT_FAILED_JOBS_IN_A_ROW_BEFORE_C
 import static io.airbyte.persistence.job.models.Job.REPLICATION_TYPES;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,6 +45,7 @@ import io.airbyte.api.model.generated.DestinationSearch;
 import io.airbyte.api.model.generated.DestinationSyncMode;
 import io.airbyte.api.model.generated.InternalOperationResult;
 import io.airbyte.api.model.generated.NamespaceDefinitionType;
+import io.airbyte.api.model.generated.Pagination;
 import io.airbyte.api.model.generated.ResourceRequirements;
 import io.airbyte.api.model.generated.SelectedFieldInfo;
 import io.airbyte.api.model.generated.SourceSearch;
@@ -58,7 +60,6 @@ import io.airbyte.commons.server.handlers.helpers.CatalogConverter;
 import io.airbyte.commons.server.helpers.ConnectionHelpers;
 import io.airbyte.commons.server.scheduler.EventRunner;
 import io.airbyte.config.ActorType;
-import io.airbyte.config.AttemptFailureSummary;
 import io.airbyte.config.BasicSchedule;
 import io.airbyte.config.ConfigSchema;
 import io.airbyte.config.Cron;
@@ -82,12 +83,16 @@ import io.airbyte.config.StandardWorkspace;
 import io.airbyte.config.persistence.ActorDefinitionVersionHelper;
 import io.airbyte.config.persistence.ConfigNotFoundException;
 import io.airbyte.config.persistence.ConfigRepository;
+import io.airbyte.config.persistence.ConfigRepository.ActorSearchCriteria;
+import io.airbyte.config.persistence.ConfigRepository.ConnectionSearchQuery;
+import io.airbyte.config.persistence.ConfigRepository.ConnectionSearchResult;
+import io.airbyte.config.persistence.ConfigRepository.DestinationAndDefinition;
+import io.airbyte.config.persistence.ConfigRepository.SourceAndDefinition;
 import io.airbyte.featureflag.TestClient;
 import io.airbyte.persistence.job.JobNotifier;
 import io.airbyte.persistence.job.JobPersistence;
 import io.airbyte.persistence.job.WorkspaceHelper;
-import io.airbyte.persistence.job.models.Attempt;
-import io.airbyte.persistence.job.models.AttemptStatus;
+import io.airbyte.persistence.job.models.ConnectionJobStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
@@ -109,6 +114,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
@@ -1181,20 +1187,13 @@ class ConnectionsHandlerTest {
           .withName(DESTINATION_TEST)
           .withDestinationDefinitionId(UUID.randomUUID());
 
-      when(configRepository.listStandardSyncs())
-          .thenReturn(Lists.newArrayList(standardSync, standardSync2));
-      when(configRepository.getSourceConnection(source.getSourceId()))
-          .thenReturn(source);
-      when(configRepository.getDestinationConnection(destination.getDestinationId()))
-          .thenReturn(destination);
-      when(configRepository.getStandardSync(standardSync.getConnectionId()))
-          .thenReturn(standardSync);
-      when(configRepository.getStandardSync(standardSync2.getConnectionId()))
-          .thenReturn(standardSync2);
-      when(configRepository.getStandardSourceDefinition(source.getSourceDefinitionId()))
-          .thenReturn(sourceDefinition);
-      when(configRepository.getStandardDestinationDefinition(destination.getDestinationDefinitionId()))
-          .thenReturn(destinationDefinition);
+      // The repository returns every connection so that the results are matched in memory as well
+      when(configRepository.searchConnections(any()))
+          .thenReturn(List.of(
+              new ConnectionSearchResult(standardSync, new SourceAndDefinition(source, sourceDefinition),
+                  new DestinationAndDefinition(destination, destinationDefinition)),
+              new ConnectionSearchResult(standardSync2, new SourceAndDefinition(source, sourceDefinition),
+                  new DestinationAndDefinition(destination, destinationDefinition))));
 
       final ConnectionSearch connectionSearch = new ConnectionSearch();
       connectionSearch.namespaceDefinition(NamespaceDefinitionType.SOURCE);
@@ -1289,6 +1288,45 @@ class ConnectionsHandlerTest {
       assertEquals(connectionRead2, actualConnectionReadList.getConnections().get(0));
     }
 
+    @Test
+    void testSearchConnectionsQuery() throws IOException {
+      final StandardSync standardSync2 = Jsons.clone(standardSync).withConnectionId(UUID.randomUUID());
+      final StandardSourceDefinition sourceDefinition = new StandardSourceDefinition()
+          .withName(SOURCE_TEST)
+          .withSourceDefinitionId(sourceDefinitionId);
+      final StandardDestinationDefinition destinationDefinition = new StandardDestinationDefinition()
+          .withName(DESTINATION_TEST)
+          .withDestinationDefinitionId(destinationDefinitionId);
+      when(configRepository.searchConnections(any()))
+          .thenReturn(List.of(
+              new ConnectionSearchResult(standardSync, new SourceAndDefinition(source, sourceDefinition),
+                  new DestinationAndDefinition(destination, destinationDefinition)),
+              new ConnectionSearchResult(standardSync2, new SourceAndDefinition(source, sourceDefinition),
+                  new DestinationAndDefinition(destination, destinationDefinition))));
+
+      final ConnectionSearch connectionSearch = new ConnectionSearch()
+          .name(" ")
+          .namespaceFormat("null")
+          .status(ConnectionStatus.ACTIVE)
+          .source(new SourceSearch().sourceName(SOURCE_TEST))
+          .pagination(new Pagination().pageSize(1).rowOffset(1));
+      connectionsHandler.searchConnections(connectionSearch);
+
+      // Everything is evaluated by the database, including the pagination
+      final ArgumentCaptor<ConnectionSearchQuery> queryCaptor = ArgumentCaptor.forClass(ConnectionSearchQuery.class);
+      verify(configRepository).searchConnections(queryCaptor.capture());
+      assertEquals(new ConnectionSearchQuery(null, null, null, null, null, null, null, StandardSync.Status.ACTIVE,
+          new ActorSearchCriteria(null, null, null, null, SOURCE_TEST), null, 1, 1), queryCaptor.getValue());
+
+      // The connector configuration is matched in memory, and so is the pagination
+      connectionSearch.destination(new DestinationSearch().connectionConfiguration(destination.getConfiguration()));
+      final ConnectionReadList connectionReadList = connectionsHandler.searchConnections(connectionSearch);
+      verify(configRepository, times(2)).searchConnections(queryCaptor.capture());
+      assertNull(queryCaptor.getValue().pageSize());
+      assertEquals(0, queryCaptor.getValue().rowOffset());
+      assertEquals(List.of(ApiPojoConverters.internalToConnectionRead(standardSync2)), connectionReadList.getConnections());
+    }
+
     @Test
     void testDeleteConnection() throws JsonValidationException, ConfigNotFoundException, IOException {
       connectionsHandler.deleteConnection(connectionId);
@@ -1694,17 +1732,14 @@ class ConnectionsHandlerTest {
     void testConnectionStatus()
         throws JsonValidationException, ConfigNotFoundException, IOException {
       UUID connectionId = UUID.randomUUID();
-      AttemptFailureSummary failureSummary = new AttemptFailureSummary();
-      failureSummary.setFailures(List.of(new FailureReason().withFailureOrigin(FailureReason.FailureOrigin.DESTINATION)));
-      Attempt failedAttempt = new Attempt(0, 0, null, null, null, AttemptStatus.FAILED, null, failureSummary, 0, 0, 0L);
-      List<Job> jobs = List.of(
-          new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.RUNNING, 1001L, 1000L, 1002L),
-          new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, List.of(failedAttempt), JobStatus.FAILED, 901L, 900L, 902L),
-          new Job(0L, JobConfig.ConfigType.SYNC, connectionId.toString(), null, null, JobStatus.SUCCEEDED, 801L, 800L, 802L));
-      when(jobPersistence.listJobs(Set.of(JobConfig.ConfigType.SYNC, JobConfig.ConfigType.RESET_CONNECTION), connectionId.toString(), 10, 0))
-          .thenReturn(jobs);
-      List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(List.of(connectionId));
-      assertEquals(1, status.size());
+      UUID connectionIdWithoutJobs = UUID.randomUUID();
+      ConnectionJobStatus jobStatus = new ConnectionJobStatus(connectionId, true, Optional.of(JobStatus.FAILED),
+          Optional.of(JobConfig.ConfigType.SYNC), Optional.of(FailureReason.FailureType.CONFIG_ERROR), Optional.of(802L));
+      when(jobPersistence.getConnectionJobStatuses(List.of(connectionId, connectionIdWithoutJobs),
+          Set.of(JobConfig.ConfigType.SYNC, JobConfig.ConfigType.RESET_CONNECTION), 10))
+          .thenReturn(List.of(jobStatus));
+      List<ConnectionStatusRead> status = connectionsHandler.getConnectionStatuses(List.of(connectionId, connectionIdWithoutJobs));
+      assertEquals(2, status.size());
 
       ConnectionStatusRead connectionStatus = status.get(0);
       assertEquals(connectionId, connectionStatus.getConnectionId());
@@ -1712,6 +1747,15 @@ class ConnectionsHandlerTest {
       assertEquals(802L, connectionStatus.getLastSuccessfulSync());
       assertEquals(true, connectionStatus.getIsRunning());
       assertEquals(null, connectionStatus.getNextSync());
+      assertEquals(false, connectionStatus.getIsLastCompletedJobReset());
+      assertEquals(io.airbyte.api.model.generated.FailureType.CONFIG_ERROR, connectionStatus.getFailureType());
+
+      ConnectionStatusRead statusWithoutJobs = status.get(1);
+      assertEquals(connectionIdWithoutJobs, statusWithoutJobs.getConnectionId());
+      assertEquals(null, statusWithoutJobs.getLastSyncJobStatus());
+      assertEquals(null, statusWithoutJobs.getLastSuccessfulSync());
+      assertEquals(false, statusWithoutJobs.getIsRunning());
+      assertEquals(null, statusWithoutJobs.getFailureType());
     }
 
     private AirbyteStreamAndConfiguration getStreamAndConfig(final String name, final AirbyteStreamConfiguration config) {
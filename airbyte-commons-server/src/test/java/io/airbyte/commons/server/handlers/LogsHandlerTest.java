@@ -6,24 +6,47 @@ package io.airbyte.commons.server.handlers;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.airbyte.api.model.generated.JobLogsRead;
+import io.airbyte.api.model.generated.JobLogsRequestBody;
 import io.airbyte.api.model.generated.LogType;
 import io.airbyte.api.model.generated.LogsRequestBody;
 import io.airbyte.commons.constants.AirbyteCatalogConstants;
+import io.airbyte.commons.server.errors.BadObjectSchemaKnownException;
+import io.airbyte.commons.server.errors.IdNotFoundKnownException;
 import io.airbyte.config.Configs;
 import io.airbyte.config.Configs.WorkerEnvironment;
 import io.airbyte.config.helpers.LogClientSingleton;
 import io.airbyte.config.helpers.LogConfigs;
+import io.airbyte.persistence.job.JobPersistence;
+import io.airbyte.persistence.job.models.Attempt;
+import io.airbyte.persistence.job.models.AttemptStatus;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class LogsHandlerTest {
 
+  private static final long JOB_ID = 1L;
+  private static final int ATTEMPT_NUMBER = 0;
+
+  @TempDir
+  Path workspaceRoot;
+
   @Test
   void testServerLogs() {
     final Configs configs = mock(Configs.class);
@@ -32,7 +55,7 @@ class LogsHandlerTest {
     when(configs.getLogConfigs()).thenReturn(LogConfigs.EMPTY);
 
     final File expected = Path.of(String.format("/workspace/server/logs/%s", LogClientSingleton.LOG_FILENAME)).toFile();
-    final File actual = new LogsHandler(configs).getLogs(new LogsRequestBody().logType(LogType.SERVER));
+    final File actual = new LogsHandler(configs, mock(JobPersistence.class)).getLogs(new LogsRequestBody().logType(LogType.SERVER));
 
     assertEquals(expected, actual);
   }
@@ -45,11 +68,125 @@ class LogsHandlerTest {
     when(configs.getLogConfigs()).thenReturn(LogConfigs.EMPTY);
 
     final File expected = Path.of(String.format("/workspace/scheduler/logs/%s", LogClientSingleton.LOG_FILENAME)).toFile();
-    final File actual = new LogsHandler(configs).getLogs(new LogsRequestBody().logType(LogType.SCHEDULER));
+    final File actual = new LogsHandler(configs, mock(JobPersistence.class)).getLogs(new LogsRequestBody().logType(LogType.SCHEDULER));
 
     assertEquals(expected, actual);
   }
 
+  @Test
+  void testJobLogsFollowNewLines() throws IOException {
+    final Path logPath = Files.writeString(workspaceRoot.resolve(LogClientSingleton.LOG_FILENAME), "Line 0\nLine 1\n");
+    final LogsHandler logsHandler = newLogsHandler(logPath, AttemptStatus.RUNNING);
+
+    final JobLogsRead tail = logsHandler.getJobLogs(newRequest());
+    assertEquals(List.of("Line 0", "Line 1"), tail.getLogLines());
+    assertFalse(tail.getComplete());
+
+    Files.writeString(logPath, "Line 2\nLine", StandardOpenOption.APPEND);
+    final JobLogsRead newLines = logsHandler.getJobLogs(newRequest().offset(tail.getOffset()).follow(true));
+    assertEquals(List.of("Line 2"), newLines.getLogLines());
+
+    Files.writeString(logPath, " 3\n", StandardOpenOption.APPEND);
+    assertEquals(List.of("Line 3"), logsHandler.getJobLogs(newRequest().offset(newLines.getOffset()).follow(true)).getLogLines());
+  }
+
+  @Test
+  void testJobLogsDoNotSplitTheLineBeingWritten() throws IOException {
+    final Path logPath = Files.writeString(workspaceRoot.resolve(LogClientSingleton.LOG_FILENAME), "Line 0\nLine");
+    final LogsHandler logsHandler = newLogsHandler(logPath, AttemptStatus.RUNNING);
+
+    final JobLogsRead tail = logsHandler.getJobLogs(newRequest());
+    assertEquals(List.of("Line 0"), tail.getLogLines());
+
+    Files.writeString(logPath, " 1\n", StandardOpenOption.APPEND);
+    assertEquals(List.of("Line 1"), logsHandler.getJobLogs(newRequest().offset(tail.getOffset()).follow(true)).getLogLines());
+  }
+
+  @Test
+  void testJobLogsOfFinishedAttemptIncludeTheLastLineWithoutNewLine() throws IOException {
+    final Path logPath = Files.writeString(workspaceRoot.resolve(LogClientSingleton.LOG_FILENAME), "Line 0\nLine 1");
+    final LogsHandler logsHandler = newLogsHandler(logPath, AttemptStatus.FAILED);
+
+    assertEquals(List.of("Line 0", "Line 1"), logsHandler.getJobLogs(newRequest()).getLogLines());
+
+    final JobLogsRead lastLine = logsHandler.getJobLogs(newRequest().offset("7:" + logPath).follow(true));
+    assertEquals(List.of("Line 1"), lastLine.getLogLines());
+    assertTrue(lastLine.getComplete());
+  }
+
+  @Test
+  void testJobLogsOfFinishedAttemptAreComplete() throws IOException {
+    final Path logPath = Files.writeString(workspaceRoot.resolve(LogClientSingleton.LOG_FILENAME), "Line 0\nLine 1\nLine 2\n");
+    final LogsHandler logsHandler = newLogsHandler(logPath, AttemptStatus.SUCCEEDED);
+
+    final JobLogsRead lastLine = logsHandler.getJobLogs(newRequest().maxLines(1));
+    assertEquals(List.of("Line 2"), lastLine.getLogLines());
+    assertTrue(lastLine.getComplete());
+
+    final JobLogsRead previousLines = logsHandler.getJobLogs(newRequest().cursor(lastLine.getCursor()));
+    assertEquals(List.of("Line 0", "Line 1"), previousLines.getLogLines());
+
+    // Nothing is written anymore, following does not wait
+    final JobLogsRead newLines = logsHandler.getJobLogs(newRequest().offset(lastLine.getOffset()).follow(true));
+    assertEquals(List.of(), newLines.getLogLines());
+    assertTrue(newLines.getComplete());
+  }
+
+  @Test
+  void testJobLogsFollowDoesNotWaitBeyondTheConcurrencyLimit() throws IOException {
+    final Path logPath = Files.writeString(workspaceRoot.resolve(LogClientSingleton.LOG_FILENAME), "Line 0\n");
+    final LogsHandler logsHandler = newLogsHandler(logPath, AttemptStatus.RUNNING, 0);
+
+    final JobLogsRead tail = logsHandler.getJobLogs(newRequest());
+    final long start = System.nanoTime();
+    final JobLogsRead newLines = logsHandler.getJobLogs(newRequest().offset(tail.getOffset()).follow(true));
+
+    assertEquals(List.of(), newLines.getLogLines());
+    assertEquals(tail.getOffset(), newLines.getOffset());
+    assertFalse(newLines.getComplete());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  void testJobLogsInvalidRequests() throws IOException {
+    final Path logPath = Files.writeString(workspaceRoot.resolve(LogClientSingleton.LOG_FILENAME), "Line 0\n");
+    final LogsHandler logsHandler = newLogsHandler(logPath, AttemptStatus.RUNNING);
+
+    assertThrows(BadObjectSchemaKnownException.class, () -> logsHandler.getJobLogs(newRequest().offset("invalid")));
+    assertThrows(BadObjectSchemaKnownException.class, () -> logsHandler.getJobLogs(newRequest().maxLines(0)));
+    assertThrows(IdNotFoundKnownException.class, () -> logsHandler.getJobLogs(newRequest().attemptNumber(ATTEMPT_NUMBER + 1)));
+  }
+
+  @Test
+  void testCloudLogsAreCompleteOnceTheirLastLinesHadTimeToBeUploaded() {
+    final long endedAt = 1000L;
+    final Attempt running = new Attempt(ATTEMPT_NUMBER, JOB_ID, null, null, null, AttemptStatus.RUNNING, null, null, 0L, endedAt, null);
+    final Attempt failed = new Attempt(ATTEMPT_NUMBER, JOB_ID, null, null, null, AttemptStatus.FAILED, null, null, 0L, endedAt, endedAt);
+    final long gracePeriod = LogClientSingleton.getLogUploadGracePeriod(WorkerEnvironment.KUBERNETES).toSeconds();
+
+    assertFalse(LogsHandler.isLogComplete(running, WorkerEnvironment.KUBERNETES, endedAt + gracePeriod));
+    assertFalse(LogsHandler.isLogComplete(failed, WorkerEnvironment.KUBERNETES, endedAt));
+    assertFalse(LogsHandler.isLogComplete(failed, WorkerEnvironment.KUBERNETES, endedAt + gracePeriod - 1));
+    assertTrue(LogsHandler.isLogComplete(failed, WorkerEnvironment.KUBERNETES, endedAt + gracePeriod));
+    // Local logs are written before the attempt ends
+    assertTrue(LogsHandler.isLogComplete(failed, WorkerEnvironment.DOCKER, endedAt));
+  }
+
+  private LogsHandler newLogsHandler(final Path logPath, final AttemptStatus status) throws IOException {
+    return newLogsHandler(logPath, status, 1);
+  }
+
+  private LogsHandler newLogsHandler(final Path logPath, final AttemptStatus status, final int maxConcurrentFollows) throws IOException {
+    final JobPersistence jobPersistence = mock(JobPersistence.class);
+    when(jobPersistence.getAttemptForJob(JOB_ID, ATTEMPT_NUMBER))
+        .thenReturn(Optional.of(new Attempt(ATTEMPT_NUMBER, JOB_ID, logPath, null, null, status, null, null, 0L, 0L, null)));
+    return new LogsHandler(workspaceRoot, WorkerEnvironment.DOCKER, LogConfigs.EMPTY, jobPersistence, maxConcurrentFollows);
+  }
+
+  private static JobLogsRequestBody newRequest() {
+    return new JobLogsRequestBody().jobId(JOB_ID).attemptNumber(ATTEMPT_NUMBER);
+  }
+
   /**
    * This test ensures the masking file generated by
    * {@link io.airbyte.config.specs.ConnectorSpecMaskDownloader} is accessible in the server. This is
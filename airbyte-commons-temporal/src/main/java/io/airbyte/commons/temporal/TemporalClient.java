@@ -8,6 +8,7 @@ import static io.airbyte.commons.temporal.scheduling.ConnectionManagerWorkflow.N
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
 import io.airbyte.commons.temporal.exception.DeletedWorkflowException;
 import io.airbyte.commons.temporal.exception.UnreachableWorkflowException;
 import io.airbyte.commons.temporal.scheduling.CheckConnectionWorkflow;
@@ -25,8 +26,9 @@ import io.airbyte.config.persistence.StreamResetPersistence;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.protocol.models.StreamDescriptor;
-import io.temporal.api.common.v1.WorkflowType;
 import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import io.temporal.api.filter.v1.StartTimeFilter;
+import io.temporal.api.filter.v1.WorkflowTypeFilter;
 import io.temporal.api.workflowservice.v1.ListClosedWorkflowExecutionsRequest;
 import io.temporal.api.workflowservice.v1.ListClosedWorkflowExecutionsResponse;
 import io.temporal.api.workflowservice.v1.ListOpenWorkflowExecutionsRequest;
@@ -37,6 +39,7 @@ import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -96,13 +99,22 @@ public class TemporalClient {
   private final Set<String> workflowNames = new HashSet<>();
 
   /**
-   * Restart workflows stuck in a certain status.
+   * Restart the connection manager workflows which closed in a certain status within a time window,
+   * unless a workflow is already running again for their connection.
+   * <p>
+   * Only the executions closed within the window are listed, so that the cost of a call does not
+   * depend on how much closed history the namespace retains.
    *
    * @param executionStatus execution status
-   * @return set of connection ids that were restarted, primarily used for tracking purposes
+   * @param closedAfter beginning of the window of close times
+   * @param closedBefore end of the window of close times
+   * @return number of connections whose workflow was restarted, primarily used for tracking purposes
    */
-  public int restartClosedWorkflowByStatus(final WorkflowExecutionStatus executionStatus) {
-    final Set<UUID> workflowExecutionInfos = fetchClosedWorkflowsByStatus(executionStatus);
+  public int restartClosedWorkflowByStatus(final WorkflowExecutionStatus executionStatus, final Instant closedAfter, final Instant closedBefore) {
+    final Set<UUID> workflowExecutionInfos = fetchClosedWorkflowsByStatus(executionStatus, closedAfter, closedBefore);
+    if (workflowExecutionInfos.isEmpty()) {
+      return 0;
+    }
 
     final Set<UUID> nonRunningWorkflow = filterOutRunningWorkspaceId(workflowExecutionInfos);
     nonRunningWorkflow.forEach(connectionId -> {
@@ -114,46 +126,69 @@ public class TemporalClient {
     return nonRunningWorkflow.size();
   }
 
-  Set<UUID> fetchClosedWorkflowsByStatus(final WorkflowExecutionStatus executionStatus) {
-    ByteString token;
-    ListClosedWorkflowExecutionsRequest workflowExecutionsRequest =
-        ListClosedWorkflowExecutionsRequest.newBuilder()
-            .setNamespace(client.getOptions().getNamespace())
-            .build();
+  Set<UUID> fetchClosedWorkflowsByStatus(final WorkflowExecutionStatus executionStatus, final Instant closedAfter, final Instant closedBefore) {
+    // The visibility store accepts only one of the type, status or execution filters. The type is the
+    // most selective as it excludes the sync workflows, the status is filtered below.
+    final ListClosedWorkflowExecutionsRequest.Builder workflowExecutionsRequest = ListClosedWorkflowExecutionsRequest.newBuilder()
+        .setNamespace(client.getOptions().getNamespace())
+        .setTypeFilter(WorkflowTypeFilter.newBuilder().setName(ConnectionManagerWorkflow.class.getSimpleName()))
+        // The time filter of closed executions applies to their close time
+        .setStartTimeFilter(StartTimeFilter.newBuilder()
+            .setEarliestTime(toTimestamp(closedAfter))
+            .setLatestTime(toTimestamp(closedBefore)));
 
+    ByteString token;
     final Set<UUID> workflowExecutionInfos = new HashSet<>();
     do {
-      final ListClosedWorkflowExecutionsResponse listOpenWorkflowExecutionsRequest =
-          service.blockingStub().listClosedWorkflowExecutions(workflowExecutionsRequest);
-      final WorkflowType connectionManagerWorkflowType = WorkflowType.newBuilder().setName(ConnectionManagerWorkflow.class.getSimpleName()).build();
-      workflowExecutionInfos.addAll(listOpenWorkflowExecutionsRequest.getExecutionsList().stream()
-          .filter(workflowExecutionInfo -> workflowExecutionInfo.getType() == connectionManagerWorkflowType
-              || workflowExecutionInfo.getStatus() == executionStatus)
+      final ListClosedWorkflowExecutionsResponse listClosedWorkflowExecutionsResponse =
+          service.blockingStub().listClosedWorkflowExecutions(workflowExecutionsRequest.build());
+      workflowExecutionInfos.addAll(listClosedWorkflowExecutionsResponse.getExecutionsList().stream()
+          .filter(workflowExecutionInfo -> workflowExecutionInfo.getStatus() == executionStatus)
           .flatMap((workflowExecutionInfo -> extractConnectionIdFromWorkflowId(workflowExecutionInfo.getExecution().getWorkflowId()).stream()))
           .collect(Collectors.toSet()));
-      token = listOpenWorkflowExecutionsRequest.getNextPageToken();
-
-      workflowExecutionsRequest =
-          ListClosedWorkflowExecutionsRequest.newBuilder()
-              .setNamespace(client.getOptions().getNamespace())
-              .setNextPageToken(token)
-              .build();
-
+      token = listClosedWorkflowExecutionsResponse.getNextPageToken();
+      workflowExecutionsRequest.setNextPageToken(token);
     } while (token != null && token.size() > 0);
 
     return workflowExecutionInfos;
   }
 
+  /**
+   * Removes the connections which have a running connection manager workflow. All the connections are
+   * checked with a single listing of the running connection manager workflows.
+   */
   @VisibleForTesting
   Set<UUID> filterOutRunningWorkspaceId(final Set<UUID> workflowIds) {
-    refreshRunningWorkflow();
-
-    final Set<UUID> runningWorkflowByUUID =
-        workflowNames.stream().flatMap(name -> extractConnectionIdFromWorkflowId(name).stream()).collect(Collectors.toSet());
+    final Set<UUID> runningWorkflowByUUID = fetchRunningConnectionManagerWorkflows();
 
     return workflowIds.stream().filter(workflowId -> !runningWorkflowByUUID.contains(workflowId)).collect(Collectors.toSet());
   }
 
+  @VisibleForTesting
+  Set<UUID> fetchRunningConnectionManagerWorkflows() {
+    final ListOpenWorkflowExecutionsRequest.Builder openWorkflowExecutionsRequest = ListOpenWorkflowExecutionsRequest.newBuilder()
+        .setNamespace(client.getOptions().getNamespace())
+        .setTypeFilter(WorkflowTypeFilter.newBuilder().setName(ConnectionManagerWorkflow.class.getSimpleName()));
+
+    ByteString token;
+    final Set<UUID> runningWorkflows = new HashSet<>();
+    do {
+      final ListOpenWorkflowExecutionsResponse listOpenWorkflowExecutionsResponse =
+          service.blockingStub().listOpenWorkflowExecutions(openWorkflowExecutionsRequest.build());
+      listOpenWorkflowExecutionsResponse.getExecutionsList().stream()
+          .flatMap(workflowExecutionInfo -> extractConnectionIdFromWorkflowId(workflowExecutionInfo.getExecution().getWorkflowId()).stream())
+          .forEach(runningWorkflows::add);
+      token = listOpenWorkflowExecutionsResponse.getNextPageToken();
+      openWorkflowExecutionsRequest.setNextPageToken(token);
+    } while (token != null && token.size() > 0);
+
+    return runningWorkflows;
+  }
+
+  private static Timestamp toTimestamp(final Instant instant) {
+    return Timestamp.newBuilder().setSeconds(instant.getEpochSecond()).setNanos(instant.getNano()).build();
+  }
+
   @VisibleForTesting
   void refreshRunningWorkflow() {
     workflowNames.clear();
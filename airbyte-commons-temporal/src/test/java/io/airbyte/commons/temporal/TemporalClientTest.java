@@ -15,9 +15,11 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -42,9 +44,12 @@ import io.airbyte.config.persistence.StreamResetPersistence;
 import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.persistence.job.models.JobRunConfig;
 import io.airbyte.protocol.models.StreamDescriptor;
+import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.enums.v1.WorkflowExecutionStatus;
 import io.temporal.api.workflow.v1.WorkflowExecutionInfo;
 import io.temporal.api.workflowservice.v1.DescribeWorkflowExecutionResponse;
+import io.temporal.api.workflowservice.v1.ListClosedWorkflowExecutionsRequest;
+import io.temporal.api.workflowservice.v1.ListClosedWorkflowExecutionsResponse;
 import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc.WorkflowServiceBlockingStub;
 import io.temporal.client.BatchRequest;
 import io.temporal.client.WorkflowClient;
@@ -56,6 +61,7 @@ import io.temporal.workflow.Functions.Proc;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -98,6 +104,8 @@ public class TemporalClientTest {
   private static final StreamDescriptor STREAM_DESCRIPTOR = new StreamDescriptor().withName("name");
   private static final String UNCHECKED = "unchecked";
   private static final String EXCEPTION_MESSAGE = "Force state exception to simulate workflow not running";
+  private static final Instant CLOSED_AFTER = Instant.parse("2023-06-01T00:00:00Z");
+  private static final Instant CLOSED_BEFORE = Instant.parse("2023-06-01T00:10:00Z");
 
   private WorkflowClient workflowClient;
   private TemporalClient temporalClient;
@@ -157,16 +165,54 @@ public class TemporalClientTest {
       final Set<UUID> workflowIds = Set.of(connectionId);
 
       doReturn(workflowIds)
-          .when(temporalClient).fetchClosedWorkflowsByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED);
+          .when(temporalClient).fetchClosedWorkflowsByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED, CLOSED_AFTER, CLOSED_BEFORE);
       doReturn(workflowIds)
           .when(temporalClient).filterOutRunningWorkspaceId(workflowIds);
       mockWorkflowStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED);
-      temporalClient.restartClosedWorkflowByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED);
+      temporalClient.restartClosedWorkflowByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED, CLOSED_AFTER, CLOSED_BEFORE);
       verify(mConnectionManagerUtils).safeTerminateWorkflow(eq(workflowClient), eq(connectionId),
           anyString());
       verify(mConnectionManagerUtils).startConnectionManagerNoSignal(eq(workflowClient), eq(connectionId));
     }
 
+    @Test
+    void testRunningWorkflowsAreNotCheckedWithoutClosedWorkflows() {
+      doReturn(Set.of())
+          .when(temporalClient).fetchClosedWorkflowsByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED, CLOSED_AFTER, CLOSED_BEFORE);
+
+      assertEquals(0,
+          temporalClient.restartClosedWorkflowByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED, CLOSED_AFTER, CLOSED_BEFORE));
+      verify(temporalClient, never()).filterOutRunningWorkspaceId(any());
+      verifyNoInteractions(mConnectionManagerUtils);
+    }
+
+    @Test
+    void testFetchClosedWorkflowsOnlyListsTheWindow() {
+      final UUID failedConnectionId = UUID.randomUUID();
+      final UUID completedConnectionId = UUID.randomUUID();
+      when(workflowServiceBlockingStub.listClosedWorkflowExecutions(any()))
+          .thenReturn(ListClosedWorkflowExecutionsResponse.newBuilder()
+              .addExecutions(closedExecution(failedConnectionId, WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED))
+              .addExecutions(closedExecution(completedConnectionId, WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED))
+              .build());
+
+      assertEquals(Set.of(failedConnectionId),
+          temporalClient.fetchClosedWorkflowsByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED, CLOSED_AFTER, CLOSED_BEFORE));
+
+      final ArgumentCaptor<ListClosedWorkflowExecutionsRequest> request = ArgumentCaptor.forClass(ListClosedWorkflowExecutionsRequest.class);
+      verify(workflowServiceBlockingStub).listClosedWorkflowExecutions(request.capture());
+      assertEquals(ConnectionManagerWorkflow.class.getSimpleName(), request.getValue().getTypeFilter().getName());
+      assertEquals(CLOSED_AFTER.getEpochSecond(), request.getValue().getStartTimeFilter().getEarliestTime().getSeconds());
+      assertEquals(CLOSED_BEFORE.getEpochSecond(), request.getValue().getStartTimeFilter().getLatestTime().getSeconds());
+    }
+
+    private WorkflowExecutionInfo closedExecution(final UUID connectionId, final WorkflowExecutionStatus status) {
+      return WorkflowExecutionInfo.newBuilder()
+          .setExecution(WorkflowExecution.newBuilder().setWorkflowId("connection_manager_" + connectionId))
+          .setStatus(status)
+          .build();
+    }
+
   }
 
   @Nested
@@ -7,30 +7,74 @@ package io.airbyte.workers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.validation.json.JsonSchemaValidator;
+import io.airbyte.workers.internal.SizedAirbyteMessage;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
 /**
  * Validates that AirbyteRecordMessage data conforms to the JSON schema defined by the source's
  * configured catalog.
+ * <p>
+ * Validation happens off the replication path. Records are queued in a queue bounded by both a
+ * number of records and their total size, and a configurable number of validation threads drain it
+ * in batches. When validation cannot keep up
+ * with the sync, records that do not fit in the queue are skipped instead of slowing down the sync
+ * or piling up in memory, which effectively samples the records at the rate validation can sustain.
  */
+@Slf4j
 public class RecordSchemaValidator implements Closeable {
 
+  private static final int DEFAULT_VALIDATION_THREADS = 1;
+  @VisibleForTesting
+  static final int MAX_PENDING_RECORDS = 10_000;
+  @VisibleForTesting
+  static final long MAX_PENDING_BYTES = 64L * 1024 * 1024;
+  private static final int BATCH_SIZE = 100;
+
   private final JsonSchemaValidator validator;
   private final ExecutorService validationExecutor;
   private final Map<AirbyteStreamNameNamespacePair, JsonNode> streams;
+  private final int validationThreads;
+  private final BlockingQueue<PendingValidation> pendingValidations;
+  private final long maxPendingBytes;
+  private final AtomicLong pendingBytes = new AtomicLong();
+  private final AtomicBoolean validationStarted = new AtomicBoolean(false);
+  // records skipped since the last batch was validated, reported by the validation threads
+  private final LongAdder skippedRecords = new LongAdder();
+  private final Map<AirbyteStreamNameNamespacePair, LongAdder> validatedRecords = new ConcurrentHashMap<>();
+  private MetricClient metricClient;
+
+  private record PendingValidation(AirbyteRecordMessage record,
+                                   AirbyteStreamNameNamespacePair stream,
+                                   BiConsumer<AirbyteStreamNameNamespacePair, Set<String>> onErrors,
+                                   long sizeInBytes,
+                                   long queuedAtNanos) {}
 
   /**
    * Creates a RecordSchemaValidator.
@@ -38,7 +82,18 @@ public class RecordSchemaValidator implements Closeable {
    * @param streamNamesToSchemas Name of streams.
    */
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas) {
-    this(streamNamesToSchemas, Executors.newFixedThreadPool(1));
+    this(streamNamesToSchemas, DEFAULT_VALIDATION_THREADS);
+  }
+
+  /**
+   * Creates a RecordSchemaValidator.
+   *
+   * @param streamNamesToSchemas Name of streams.
+   * @param validationThreads number of threads validating records.
+   */
+  public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas, final int validationThreads) {
+    this(streamNamesToSchemas, newValidationExecutor(validationThreads), validationThreads, new JsonSchemaValidator(), MAX_PENDING_RECORDS,
+        MAX_PENDING_BYTES);
   }
 
   @VisibleForTesting
@@ -50,11 +105,25 @@ public class RecordSchemaValidator implements Closeable {
   public RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
                                final ExecutorService validationExecutor,
                                final JsonSchemaValidator jsonSchemaValidator) {
+    this(streamNamesToSchemas, validationExecutor, DEFAULT_VALIDATION_THREADS, jsonSchemaValidator, MAX_PENDING_RECORDS,
+        MAX_PENDING_BYTES);
+  }
+
+  @VisibleForTesting
+  RecordSchemaValidator(final Map<AirbyteStreamNameNamespacePair, JsonNode> streamNamesToSchemas,
+                        final ExecutorService validationExecutor,
+                        final int validationThreads,
+                        final JsonSchemaValidator jsonSchemaValidator,
+                        final int maxPendingRecords,
+                        final long maxPendingBytes) {
     // streams is Map of a stream source namespace + name mapped to the stream schema
     // for easy access when we check each record's schema
     this.streams = streamNamesToSchemas;
     this.validationExecutor = validationExecutor;
+    this.validationThreads = Math.max(1, validationThreads);
     this.validator = jsonSchemaValidator;
+    this.pendingValidations = new ArrayBlockingQueue<>(maxPendingRecords);
+    this.maxPendingBytes = maxPendingBytes;
     // initialize schema validator to avoid creating validators each time.
     for (final AirbyteStreamNameNamespacePair stream : streamNamesToSchemas.keySet()) {
       // We must choose a JSON validator version for validating the schema
@@ -73,12 +142,22 @@ public class RecordSchemaValidator implements Closeable {
                              final AirbyteRecordMessage message,
                              final AirbyteStreamNameNamespacePair airbyteStream,
                              final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors) {
-    validationExecutor.execute(() -> {
-      Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
-      if (!errorMessages.isEmpty()) {
-        updateValidationErrors(errorMessages, airbyteStream, validationErrors);
-      }
-    });
+    validateSchema(message, airbyteStream, validationErrors, SizedAirbyteMessage.UNKNOWN_SIZE);
+  }
+
+  /**
+   * Same as {@link #validateSchema(AirbyteRecordMessage, AirbyteStreamNameNamespacePair, ConcurrentHashMap)}
+   * for a record whose data size is already known.
+   *
+   * @param sizeInBytes size in bytes of the data of the record, non-positive if unknown.
+   */
+  public void validateSchema(
+                             final AirbyteRecordMessage message,
+                             final AirbyteStreamNameNamespacePair airbyteStream,
+                             final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors,
+                             final long sizeInBytes) {
+    queueValidation(message, airbyteStream, (stream, errorMessages) -> updateValidationErrors(errorMessages, stream, validationErrors),
+        sizeInBytes);
   }
 
   /**
@@ -89,12 +168,98 @@ public class RecordSchemaValidator implements Closeable {
                                             final AirbyteRecordMessage message,
                                             final AirbyteStreamNameNamespacePair airbyteStream,
                                             final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors) {
-    validationExecutor.execute(() -> {
-      final Set<String> errorMessages = validator.validateInitializedSchema(airbyteStream.toString(), message.getData());
-      if (!errorMessages.isEmpty()) {
-        validationErrors.computeIfAbsent(airbyteStream, k -> new HashSet<>()).addAll(errorMessages);
+    validateSchemaWithoutCounting(message, airbyteStream, validationErrors, SizedAirbyteMessage.UNKNOWN_SIZE);
+  }
+
+  /**
+   * Same as
+   * {@link #validateSchemaWithoutCounting(AirbyteRecordMessage, AirbyteStreamNameNamespacePair, ConcurrentHashMap)}
+   * for a record whose data size is already known.
+   *
+   * @param sizeInBytes size in bytes of the data of the record, non-positive if unknown.
+   */
+  public void validateSchemaWithoutCounting(
+                                            final AirbyteRecordMessage message,
+                                            final AirbyteStreamNameNamespacePair airbyteStream,
+                                            final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> validationErrors,
+                                            final long sizeInBytes) {
+    queueValidation(message, airbyteStream, (stream, errorMessages) -> validationErrors.merge(stream, errorMessages,
+        (existing, added) -> Stream.concat(existing.stream(), added.stream()).collect(Collectors.toSet())), sizeInBytes);
+  }
+
+  private void queueValidation(final AirbyteRecordMessage message,
+                               final AirbyteStreamNameNamespacePair airbyteStream,
+                               final BiConsumer<AirbyteStreamNameNamespacePair, Set<String>> onErrors,
+                               final long sizeInBytes) {
+    startValidationIfNeeded();
+    final long weight = sizeInBytes > 0 ? sizeInBytes : Jsons.getEstimatedByteSize(message.getData());
+    // A record larger than the bound is still queued when nothing else is pending.
+    final long pending = pendingBytes.addAndGet(weight);
+    if ((pending > maxPendingBytes && pending != weight)
+        || !pendingValidations.offer(new PendingValidation(message, airbyteStream, onErrors, weight, System.nanoTime()))) {
+      pendingBytes.addAndGet(-weight);
+      skippedRecords.increment();
+    }
+  }
+
+  private void startValidationIfNeeded() {
+    if (validationStarted.compareAndSet(false, true)) {
+      // Resolved lazily, the metric client is initialized after the validator is created.
+      metricClient = MetricClientFactory.getMetricClient();
+      for (int i = 0; i < validationThreads; i++) {
+        validationExecutor.execute(this::validatePendingRecords);
       }
-    });
+    }
+  }
+
+  private void validatePendingRecords() {
+    final List<PendingValidation> batch = new ArrayList<>(BATCH_SIZE);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        batch.add(pendingValidations.take());
+        pendingValidations.drainTo(batch, BATCH_SIZE - 1);
+        validateBatch(batch);
+        batch.clear();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void validateBatch(final List<PendingValidation> batch) {
+    // The first record of the batch is the one that waited the longest.
+    metricClient.distribution(OssMetricsRegistry.WORKER_SCHEMA_VALIDATION_LAG_MILLIS,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batch.get(0).queuedAtNanos()));
+
+    for (final PendingValidation pendingValidation : batch) {
+      try {
+        final Set<String> errorMessages =
+            validator.validateInitializedSchema(pendingValidation.stream().toString(), pendingValidation.record().getData());
+        validatedRecords.computeIfAbsent(pendingValidation.stream(), k -> new LongAdder()).increment();
+        if (!errorMessages.isEmpty()) {
+          pendingValidation.onErrors().accept(pendingValidation.stream(), errorMessages);
+        }
+      } catch (final RuntimeException e) {
+        log.warn("Failed to validate a record of stream {}", pendingValidation.stream(), e);
+      } finally {
+        pendingBytes.addAndGet(-pendingValidation.sizeInBytes());
+      }
+    }
+
+    metricClient.count(OssMetricsRegistry.WORKER_SCHEMA_VALIDATION_RECORDS_VALIDATED, batch.size());
+    final long skipped = skippedRecords.sumThenReset();
+    if (skipped > 0) {
+      metricClient.count(OssMetricsRegistry.WORKER_SCHEMA_VALIDATION_RECORDS_SKIPPED, skipped);
+    }
+  }
+
+  /**
+   * Returns the number of records of the stream that were validated so far. Records skipped because
+   * validation could not keep up are not counted.
+   */
+  public long getValidatedRecordCount(final AirbyteStreamNameNamespacePair stream) {
+    final LongAdder count = validatedRecords.get(stream);
+    return count == null ? 0 : count.sum();
   }
 
   private void updateValidationErrors(final Set<String> errorMessages,
@@ -111,6 +276,15 @@ public class RecordSchemaValidator implements Closeable {
     });
   }
 
+  private static ExecutorService newValidationExecutor(final int validationThreads) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(Math.max(1, validationThreads), runnable -> {
+      final Thread thread = new Thread(runnable, "record-schema-validator-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
   /**
    * Shuts down the ExecutorService used by this validator.
    */
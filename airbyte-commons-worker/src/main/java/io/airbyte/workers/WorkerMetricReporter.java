@@ -61,6 +61,22 @@ public class WorkerMetricReporter {
     metricClient.count(OssMetricsRegistry.NUM_UNEXPECTED_FIELDS_IN_STREAMS, unexpectedFieldNames.size(), attributesArr);
   }
 
+  /**
+   * Given a AirbyteStreamNameNamespacePair validated on a sample of its records, produce DataDog
+   * gauges of the fraction of records validated and of the estimated fraction of records with errors.
+   */
+  public void trackSchemaValidationSampling(final AirbyteStreamNameNamespacePair stream,
+                                            final double samplingRate,
+                                            final double estimatedErrorRate) {
+    final MetricAttribute[] attributes = {
+      new MetricAttribute("docker_repo", dockerRepo),
+      new MetricAttribute("docker_version", dockerVersion),
+      new MetricAttribute("stream", stream.toString())
+    };
+    metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_SAMPLING_RATE, samplingRate, attributes);
+    metricClient.gauge(OssMetricsRegistry.SCHEMA_VALIDATION_ESTIMATED_ERROR_RATE, estimatedErrorRate, attributes);
+  }
+
   public void trackStateMetricTrackerError() {
     metricClient.count(OssMetricsRegistry.STATE_METRIC_TRACKER_ERROR, 1, new MetricAttribute("docker_repo", dockerRepo),
         new MetricAttribute("docker_version", dockerVersion));
@@ -6,7 +6,11 @@ package io.airbyte.workers.context;
 
 /**
  * Feature flags to consider during a Replication job.
+ *
+ * @param bufferMaxMessages maximum number of messages held by each replication buffer.
+ * @param bufferMaxBytes maximum estimated size in bytes of the messages held by each replication
+ *        buffer.
  */
-public record ReplicationFeatureFlags() {
+public record ReplicationFeatureFlags(int bufferMaxMessages, long bufferMaxBytes) {
 
 }
@@ -4,12 +4,11 @@
 
 package io.airbyte.workers.general;
 
-import io.airbyte.commons.concurrency.BoundedConcurrentLinkedQueue;
+import io.airbyte.commons.concurrency.BoundedBlockingRingBuffer;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.converters.ThreadedTimeTracker;
 import io.airbyte.commons.io.LineGobbler;
-import io.airbyte.commons.timer.Stopwatch;
-import io.airbyte.config.PerformanceMetrics;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.ReplicationOutput;
 import io.airbyte.config.StandardSyncInput;
 import io.airbyte.metrics.lib.ApmTraceUtils;
@@ -22,12 +21,16 @@ import io.airbyte.workers.RecordSchemaValidator;
 import io.airbyte.workers.context.ReplicationContext;
 import io.airbyte.workers.context.ReplicationFeatureFlags;
 import io.airbyte.workers.exception.WorkerException;
+import io.airbyte.workers.general.ReplicationPipelineMetrics.Stage;
+import io.airbyte.workers.general.ReplicationPipelineMetrics.StageMetrics;
 import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
 import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteMapper;
 import io.airbyte.workers.internal.AirbyteSource;
 import io.airbyte.workers.internal.FieldSelector;
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.PassthroughAirbyteMessage;
+import io.airbyte.workers.internal.SizedAirbyteMessage;
 import io.airbyte.workers.internal.book_keeping.MessageTracker;
 import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
 import io.airbyte.workers.internal.exception.DestinationException;
@@ -52,7 +55,8 @@ import org.slf4j.MDC;
  * Implementation of a ReplicationWorker using buffers.
  * <p>
  * There is one thread per IO/Transform and buffers in between the different steps to apply
- * backpressure.
+ * backpressure. Each stage is instrumented by {@link ReplicationPipelineMetrics}, which is reported
+ * along with the buffer metrics and summarized in the performance metrics of the attempt.
  */
 public class BufferedReplicationWorker implements ReplicationWorker {
 
@@ -67,8 +71,8 @@ public class BufferedReplicationWorker implements ReplicationWorker {
   private final RecordSchemaValidator recordSchemaValidator;
   private final SyncPersistence syncPersistence;
   private final HeartbeatTimeoutChaperone srcHeartbeatTimeoutChaperone;
-  private final BoundedConcurrentLinkedQueue<AirbyteMessage> messagesFromSourceQueue;
-  private final BoundedConcurrentLinkedQueue<AirbyteMessage> messagesForDestinationQueue;
+  private BoundedBlockingRingBuffer<SizedAirbyteMessage> messagesFromSourceQueue;
+  private BoundedBlockingRingBuffer<SizedAirbyteMessage> messagesForDestinationQueue;
   private final ExecutorService executors;
   private final ScheduledExecutorService scheduledExecutors;
 
@@ -80,15 +84,17 @@ public class BufferedReplicationWorker implements ReplicationWorker {
   private volatile boolean writeToDestFailed;
   private volatile boolean cancelled;
 
-  private final Stopwatch readFromSourceStopwatch;
-  private final Stopwatch processFromSourceStopwatch;
-  private final Stopwatch writeToDestStopwatch;
-  private final Stopwatch readFromDestStopwatch;
-  private final Stopwatch processFromDestStopwatch;
+  private final ReplicationPipelineMetrics pipelineMetrics;
+  private final StageMetrics readFromSourceMetrics;
+  private final StageMetrics processFromSourceMetrics;
+  private final StageMetrics writeToDestMetrics;
+  private final StageMetrics readFromDestMetrics;
+  private final StageMetrics processFromDestMetrics;
 
-  private static final int sourceMaxBufferSize = 1000;
-  private static final int destinationMaxBufferSize = 1000;
   private static final int observabilityMetricsPeriodInSeconds = 1;
+  // Upper bound on how long a consumer waits on an empty queue before re-checking the pipeline state.
+  // Consumers are woken up as soon as a message is available, this does not delay processing.
+  private static final long queuePollTimeoutMillis = 100;
 
   public BufferedReplicationWorker(final String jobId,
                                    final int attempt,
@@ -114,8 +120,6 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     this.recordSchemaValidator = recordSchemaValidator;
     this.syncPersistence = syncPersistence;
     this.srcHeartbeatTimeoutChaperone = srcHeartbeatTimeoutChaperone;
-    this.messagesFromSourceQueue = new BoundedConcurrentLinkedQueue<>(sourceMaxBufferSize);
-    this.messagesForDestinationQueue = new BoundedConcurrentLinkedQueue<>(destinationMaxBufferSize);
     this.executors = Executors.newFixedThreadPool(4);
     this.scheduledExecutors = Executors.newSingleThreadScheduledExecutor();
     this.isReadFromDestRunning = true;
@@ -126,11 +130,12 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     this.destMessagesSent = new AtomicLong();
     this.sourceMessagesRead = new AtomicLong();
 
-    this.readFromSourceStopwatch = new Stopwatch();
-    this.processFromSourceStopwatch = new Stopwatch();
-    this.writeToDestStopwatch = new Stopwatch();
-    this.readFromDestStopwatch = new Stopwatch();
-    this.processFromDestStopwatch = new Stopwatch();
+    this.pipelineMetrics = new ReplicationPipelineMetrics();
+    this.readFromSourceMetrics = pipelineMetrics.get(Stage.READ_FROM_SOURCE);
+    this.processFromSourceMetrics = pipelineMetrics.get(Stage.PROCESS_FROM_SOURCE);
+    this.writeToDestMetrics = pipelineMetrics.get(Stage.WRITE_TO_DEST);
+    this.readFromDestMetrics = pipelineMetrics.get(Stage.READ_FROM_DEST);
+    this.processFromDestMetrics = pipelineMetrics.get(Stage.PROCESS_FROM_DEST);
   }
 
   @Override
@@ -143,6 +148,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       final ReplicationContext replicationContext = getReplicationContext(syncInput);
       final ReplicationFeatureFlags flags = replicationFeatureFlagReader.readReplicationFeatureFlags(syncInput);
       replicationWorkerHelper.initialize(replicationContext, flags);
+      initializeBuffers(flags);
 
       // note: resources are closed in the opposite order in which they are declared. thus source will be
       // closed first (which is what we want).
@@ -179,13 +185,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
         replicationWorkerHelper.endOfReplication();
       }
 
-      final var perfMetrics = new PerformanceMetrics()
-          .withAdditionalProperty("readFromSource", readFromSourceStopwatch)
-          .withAdditionalProperty("processFromSource", processFromSourceStopwatch)
-          .withAdditionalProperty("writeToDest", writeToDestStopwatch)
-          .withAdditionalProperty("readFromDest", readFromDestStopwatch)
-          .withAdditionalProperty("processFromDest", processFromDestStopwatch);
-      return replicationWorkerHelper.getReplicationOutput(perfMetrics);
+      return replicationWorkerHelper.getReplicationOutput(pipelineMetrics.toPerformanceMetrics());
     } catch (final Exception e) {
       ApmTraceUtils.addExceptionToTrace(e);
       throw new WorkerException("Sync failed", e);
@@ -193,13 +193,51 @@ public class BufferedReplicationWorker implements ReplicationWorker {
 
   }
 
+  private void initializeBuffers(final ReplicationFeatureFlags flags) {
+    LOGGER.info("Replication buffers are bounded to {} messages and {} bytes", flags.bufferMaxMessages(), flags.bufferMaxBytes());
+    this.messagesFromSourceQueue = new BoundedBlockingRingBuffer<>(flags.bufferMaxMessages(), flags.bufferMaxBytes(),
+        BufferedReplicationWorker::weigh, processFromSourceMetrics::recordQueueWait);
+    this.messagesForDestinationQueue = new BoundedBlockingRingBuffer<>(flags.bufferMaxMessages(), flags.bufferMaxBytes(),
+        BufferedReplicationWorker::weigh, writeToDestMetrics::recordQueueWait);
+    readFromSourceMetrics.setOutputQueue(messagesFromSourceQueue);
+    processFromSourceMetrics.setInputQueue(messagesFromSourceQueue);
+    processFromSourceMetrics.setOutputQueue(messagesForDestinationQueue);
+    writeToDestMetrics.setInputQueue(messagesForDestinationQueue);
+  }
+
+  /**
+   * Size of a message in the replication buffers. Messages going to the destination keep the size of
+   * the line they were read from, which is close enough after mapping and spares a serialization.
+   */
+  private static long weigh(final SizedAirbyteMessage message) {
+    return message.hasKnownSize() ? message.sizeInBytes() : estimateMessageSize(message.message());
+  }
+
+  /**
+   * Estimated size of a message used to bound the replication buffers when the size of the line it
+   * was read from isn't known. Only records are accounted for, other message types are comparatively
+   * rare and are bounded by the message count.
+   */
+  private static long estimateMessageSize(final AirbyteMessage message) {
+    if (message instanceof PassthroughAirbyteMessage passthroughMessage) {
+      return passthroughMessage.getLine().length;
+    }
+    if (message.getType() == Type.RECORD && message.getRecord() != null && message.getRecord().getData() != null) {
+      return Jsons.getEstimatedByteSize(message.getRecord().getData());
+    }
+    return 0;
+  }
+
   private void reportObservabilityMetrics() {
     final MetricClient metricClient = MetricClientFactory.getMetricClient();
     metricClient.gauge(OssMetricsRegistry.WORKER_DESTINATION_BUFFER_SIZE, messagesForDestinationQueue.size());
+    metricClient.gauge(OssMetricsRegistry.WORKER_DESTINATION_BUFFER_BYTES, messagesForDestinationQueue.weight());
     metricClient.gauge(OssMetricsRegistry.WORKER_SOURCE_BUFFER_SIZE, messagesFromSourceQueue.size());
+    metricClient.gauge(OssMetricsRegistry.WORKER_SOURCE_BUFFER_BYTES, messagesFromSourceQueue.weight());
     metricClient.count(OssMetricsRegistry.WORKER_DESTINATION_MESSAGE_READ, destMessagesRead.getAndSet(0));
     metricClient.count(OssMetricsRegistry.WORKER_DESTINATION_MESSAGE_SENT, destMessagesSent.getAndSet(0));
     metricClient.count(OssMetricsRegistry.WORKER_SOURCE_MESSAGE_READ, sourceMessagesRead.getAndSet(0));
+    pipelineMetrics.report(metricClient);
   }
 
   private CompletableFuture<?> runAsync(final Runnable runnable, final Map<String, String> mdc) {
@@ -283,7 +321,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
    * to track the time spent in a source, we need to track both isFinished and attemptRead.
    */
   private boolean sourceIsFinished() {
-    try (final var t = readFromSourceStopwatch.start()) {
+    try (final var t = readFromSourceMetrics.start()) {
       return source.isFinished();
     }
   }
@@ -299,9 +337,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
         final Optional<AirbyteMessage> messageOptional = source.attemptRead();
         if (messageOptional.isPresent()) {
           sourceMessagesRead.incrementAndGet();
-          while (!messagesFromSourceQueue.add(messageOptional.get()) && !messagesFromSourceQueue.isClosed()) {
-            Thread.sleep(100);
-          }
+          messagesFromSourceQueue.put(new SizedAirbyteMessage(messageOptional.get(), source.getLastMessageSizeInBytes()));
         }
       }
 
@@ -315,7 +351,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       throw e;
     } catch (final InterruptedException e) {
       LOGGER.info("readFromSource: interrupted", e);
-      // Getting interrupted during sleep, rethrowing to fail fast
+      // Getting interrupted while waiting on the queue, rethrowing to fail fast
       throw new RuntimeException(e);
     } catch (final Exception e) {
       LOGGER.info("readFromSource: exception caught", e);
@@ -332,29 +368,27 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       LOGGER.info("processMessage: start");
 
       while (!messagesFromSourceQueue.isDone() && !messagesForDestinationQueue.isClosed()) {
-        final AirbyteMessage message;
-        message = messagesFromSourceQueue.poll();
+        final SizedAirbyteMessage message;
+        message = messagesFromSourceQueue.poll(queuePollTimeoutMillis, TimeUnit.MILLISECONDS);
         if (message == null) {
           continue;
         }
 
         final Optional<AirbyteMessage> processedMessageOpt;
-        try (final var t = processFromSourceStopwatch.start()) {
-          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message);
+        try (final var t = processFromSourceMetrics.start()) {
+          processedMessageOpt = replicationWorkerHelper.processMessageFromSource(message.message());
         }
         if (processedMessageOpt.isPresent()) {
           final AirbyteMessage m = processedMessageOpt.get();
           // TODO this check should move to the processMessageFromSource
           if (m.getType() == Type.RECORD || m.getType() == Type.STATE) {
-            while (!messagesForDestinationQueue.add(m) && !messagesForDestinationQueue.isClosed()) {
-              Thread.sleep(100);
-            }
+            messagesForDestinationQueue.put(new SizedAirbyteMessage(m, message.sizeInBytes()));
           }
         }
       }
 
     } catch (final InterruptedException e) {
-      // Getting interrupted during sleep, rethrowing to fail fast
+      // Getting interrupted while waiting on a queue, rethrowing to fail fast
       LOGGER.info("processMessage: interrupted", e);
       throw new RuntimeException(e);
     } catch (final Exception e) {
@@ -373,14 +407,14 @@ public class BufferedReplicationWorker implements ReplicationWorker {
       LOGGER.info("writeToDestination: start");
       try {
         while (!messagesForDestinationQueue.isDone() && isReadFromDestRunning) {
-          final AirbyteMessage message;
-          message = messagesForDestinationQueue.poll();
+          final SizedAirbyteMessage message;
+          message = messagesForDestinationQueue.poll(queuePollTimeoutMillis, TimeUnit.MILLISECONDS);
           if (message == null) {
             continue;
           }
 
-          try (final var t = writeToDestStopwatch.start()) {
-            destination.accept(message);
+          try (final var t = writeToDestMetrics.start()) {
+            destination.accept(message.message());
           }
           destMessagesSent.incrementAndGet();
         }
@@ -407,14 +441,14 @@ public class BufferedReplicationWorker implements ReplicationWorker {
     try {
       while (!writeToDestFailed && !(destinationIsFinished = destinationIsFinished())) {
         final Optional<AirbyteMessage> messageOptional;
-        try (final var t = readFromDestStopwatch.start()) {
+        try (final var t = readFromDestMetrics.start()) {
           messageOptional = destination.attemptRead();
         } catch (final Exception e) {
           throw new DestinationException("Destination process read attempt failed", e);
         }
         if (messageOptional.isPresent()) {
           destMessagesRead.incrementAndGet();
-          try (final var t = processFromDestStopwatch.start()) {
+          try (final var t = processFromDestMetrics.start()) {
             replicationWorkerHelper.processMessageFromDestination(messageOptional.get());
           }
         }
@@ -441,7 +475,7 @@ public class BufferedReplicationWorker implements ReplicationWorker {
    * and attemptRead.
    */
   private boolean destinationIsFinished() {
-    try (final var t = readFromDestStopwatch.start()) {
+    try (final var t = readFromDestMetrics.start()) {
       return destination.isFinished();
     }
   }
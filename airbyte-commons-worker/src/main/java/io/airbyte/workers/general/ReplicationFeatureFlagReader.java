@@ -5,6 +5,9 @@
 package io.airbyte.workers.general;
 
 import io.airbyte.config.StandardSyncInput;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.ReplicationBufferMaxMegabytes;
+import io.airbyte.featureflag.ReplicationBufferMaxMessages;
 import io.airbyte.workers.context.ReplicationFeatureFlags;
 
 /**
@@ -12,6 +15,18 @@ import io.airbyte.workers.context.ReplicationFeatureFlags;
  */
 public class ReplicationFeatureFlagReader {
 
+  static final int DEFAULT_BUFFER_MAX_MESSAGES = 1000;
+
+  // Share of the max heap each of the two replication buffers may use when no explicit limit is set.
+  private static final double BUFFER_HEAP_RATIO = 0.1;
+  private static final long MIN_BUFFER_BYTES = 16L * 1024 * 1024;
+
+  private final FeatureFlagClient featureFlagClient;
+
+  public ReplicationFeatureFlagReader(final FeatureFlagClient featureFlagClient) {
+    this.featureFlagClient = featureFlagClient;
+  }
+
   /**
    * Read Feature flags we need to consider during a sync.
    *
@@ -19,7 +34,22 @@ public class ReplicationFeatureFlagReader {
    * @return The flags.
    */
   public ReplicationFeatureFlags readReplicationFeatureFlags(final StandardSyncInput syncInput) {
-    return new ReplicationFeatureFlags();
+    final var flagContext = ReplicationWorkerFactory.getFeatureFlagContext(syncInput);
+
+    final int maxMessages = featureFlagClient.intVariation(ReplicationBufferMaxMessages.INSTANCE, flagContext);
+    final int maxMegabytes = featureFlagClient.intVariation(ReplicationBufferMaxMegabytes.INSTANCE, flagContext);
+
+    return new ReplicationFeatureFlags(
+        maxMessages > 0 ? maxMessages : DEFAULT_BUFFER_MAX_MESSAGES,
+        maxMegabytes > 0 ? maxMegabytes * 1024L * 1024L : getDefaultBufferMaxBytes(Runtime.getRuntime().maxMemory()));
+  }
+
+  /**
+   * Derive the byte limit of a replication buffer from the memory available to the JVM, which is
+   * sized after the orchestrator pod's memory limit.
+   */
+  static long getDefaultBufferMaxBytes(final long maxHeapBytes) {
+    return Math.max(MIN_BUFFER_BYTES, (long) (maxHeapBytes * BUFFER_HEAP_RATIO));
   }
 
 }
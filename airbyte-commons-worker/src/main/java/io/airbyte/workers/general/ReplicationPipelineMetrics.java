@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import io.airbyte.commons.concurrency.BoundedBlockingRingBuffer;
+import io.airbyte.config.PerformanceMetrics;
+import io.airbyte.config.ReplicationStageSummary;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.MetricsRegistry;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Live instrumentation of the stages of the {@link BufferedReplicationWorker}.
+ * <p>
+ * Every execution of a stage records its latency in an HDR histogram, and the stages consuming a
+ * queue record how long each message waited in it. The stage threads only write to a
+ * {@link Recorder}, which does not block them. {@link #report(MetricClient)} is called periodically
+ * from another thread: it exports the quantiles of the latencies recorded since the previous report
+ * and folds them into the histograms of the whole attempt, which are summarized at the end by
+ * {@link #toPerformanceMetrics()}.
+ * <p>
+ * The number of times a stage waited on a full output queue or an empty input queue is read from
+ * the queues themselves.
+ */
+class ReplicationPipelineMetrics {
+
+  // Values are recorded with a precision of 1%, which is plenty to look at quantiles
+  private static final int SIGNIFICANT_DIGITS = 2;
+
+  /**
+   * Stages of the replication. Names are the keys of the performance metrics of the attempt.
+   */
+  enum Stage {
+
+    READ_FROM_SOURCE("readFromSource"),
+    PROCESS_FROM_SOURCE("processFromSource"),
+    WRITE_TO_DEST("writeToDest"),
+    READ_FROM_DEST("readFromDest"),
+    // Processing of the messages of the destination, this is where destination states are persisted
+    PROCESS_FROM_DEST("processFromDest");
+
+    private final String name;
+
+    Stage(final String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+  }
+
+  /**
+   * Represents an execution of a stage. It records the latency of the execution upon close.
+   */
+  record StageExecution(StageMetrics stage, long startTime) implements AutoCloseable {
+
+    @Override
+    public void close() {
+      stage.recordLatency(System.nanoTime() - startTime);
+    }
+
+  }
+
+  /**
+   * Metrics of a single stage.
+   */
+  static final class StageMetrics {
+
+    private final Stage stage;
+    private final MetricAttribute stageAttribute;
+    private final Recorder latencies = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder queueWaits = new Recorder(SIGNIFICANT_DIGITS);
+    private final AtomicLong elapsedTimeInNanos = new AtomicLong();
+
+    private volatile BoundedBlockingRingBuffer<?> inputQueue;
+    private volatile BoundedBlockingRingBuffer<?> outputQueue;
+
+    // Only accessed while reporting
+    private Histogram intervalLatencies;
+    private Histogram intervalQueueWaits;
+    private final Histogram totalLatencies = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalQueueWaits = new Histogram(SIGNIFICANT_DIGITS);
+    private long reportedBlockedOnFullCount;
+    private long reportedIdleOnEmptyCount;
+
+    private StageMetrics(final Stage stage) {
+      this.stage = stage;
+      this.stageAttribute = new MetricAttribute(MetricTags.REPLICATION_STAGE, stage.getName());
+    }
+
+    /**
+     * Start timing an execution of the stage. The best use case is within a try-with-resources block.
+     */
+    StageExecution start() {
+      return new StageExecution(this, System.nanoTime());
+    }
+
+    void recordLatency(final long nanos) {
+      elapsedTimeInNanos.addAndGet(nanos);
+      latencies.recordValue(nanos);
+    }
+
+    /**
+     * Records how long a message waited in the input queue of the stage. Intended to be the queue wait
+     * listener of that queue.
+     */
+    void recordQueueWait(final long nanos) {
+      queueWaits.recordValue(Math.max(nanos, 0));
+    }
+
+    /**
+     * The stage consumes this queue, it is idle when the queue is empty.
+     */
+    void setInputQueue(final BoundedBlockingRingBuffer<?> inputQueue) {
+      this.inputQueue = inputQueue;
+    }
+
+    /**
+     * The stage produces into this queue, it is blocked when the queue is full.
+     */
+    void setOutputQueue(final BoundedBlockingRingBuffer<?> outputQueue) {
+      this.outputQueue = outputQueue;
+    }
+
+    private void collect() {
+      intervalLatencies = latencies.getIntervalHistogram(intervalLatencies);
+      totalLatencies.add(intervalLatencies);
+      intervalQueueWaits = queueWaits.getIntervalHistogram(intervalQueueWaits);
+      totalQueueWaits.add(intervalQueueWaits);
+    }
+
+    private void report(final MetricClient metricClient) {
+      collect();
+      reportQuantiles(metricClient, OssMetricsRegistry.WORKER_STAGE_LATENCY_NANOS, intervalLatencies);
+      reportQuantiles(metricClient, OssMetricsRegistry.WORKER_STAGE_QUEUE_WAIT_NANOS, intervalQueueWaits);
+
+      final BoundedBlockingRingBuffer<?> output = outputQueue;
+      if (output != null) {
+        final long blockedOnFullCount = output.blockedOnFullCount();
+        metricClient.count(OssMetricsRegistry.WORKER_STAGE_BLOCKED_ON_FULL, blockedOnFullCount - reportedBlockedOnFullCount, stageAttribute);
+        reportedBlockedOnFullCount = blockedOnFullCount;
+      }
+      final BoundedBlockingRingBuffer<?> input = inputQueue;
+      if (input != null) {
+        final long idleOnEmptyCount = input.idleOnEmptyCount();
+        metricClient.count(OssMetricsRegistry.WORKER_STAGE_IDLE_ON_EMPTY, idleOnEmptyCount - reportedIdleOnEmptyCount, stageAttribute);
+        reportedIdleOnEmptyCount = idleOnEmptyCount;
+      }
+    }
+
+    private void reportQuantiles(final MetricClient metricClient, final MetricsRegistry metric, final Histogram histogram) {
+      if (histogram.getTotalCount() == 0) {
+        return;
+      }
+      metricClient.gauge(metric, histogram.getValueAtPercentile(50), stageAttribute, new MetricAttribute(MetricTags.QUANTILE, "p50"));
+      metricClient.gauge(metric, histogram.getValueAtPercentile(90), stageAttribute, new MetricAttribute(MetricTags.QUANTILE, "p90"));
+      metricClient.gauge(metric, histogram.getValueAtPercentile(99), stageAttribute, new MetricAttribute(MetricTags.QUANTILE, "p99"));
+      metricClient.gauge(metric, histogram.getMaxValue(), stageAttribute, new MetricAttribute(MetricTags.QUANTILE, "max"));
+    }
+
+    private ReplicationStageSummary summarize() {
+      collect();
+      final long executionCount = totalLatencies.getTotalCount();
+      final ReplicationStageSummary summary = new ReplicationStageSummary()
+          .withExecutionCount(executionCount)
+          .withElapsedTimeInNanos(elapsedTimeInNanos.get());
+      if (executionCount > 0) {
+        summary
+            .withAvgExecTimeInNanos((double) elapsedTimeInNanos.get() / executionCount)
+            .withLatencyP50Nanos(totalLatencies.getValueAtPercentile(50))
+            .withLatencyP90Nanos(totalLatencies.getValueAtPercentile(90))
+            .withLatencyP99Nanos(totalLatencies.getValueAtPercentile(99))
+            .withLatencyMaxNanos(totalLatencies.getMaxValue());
+      }
+      if (totalQueueWaits.getTotalCount() > 0) {
+        summary
+            .withQueueWaitP50Nanos(totalQueueWaits.getValueAtPercentile(50))
+            .withQueueWaitP99Nanos(totalQueueWaits.getValueAtPercentile(99))
+            .withQueueWaitMaxNanos(totalQueueWaits.getMaxValue());
+      }
+      final BoundedBlockingRingBuffer<?> output = outputQueue;
+      if (output != null) {
+        summary
+            .withBlockedOnFullCount(output.blockedOnFullCount())
+            .withBlockedOnFullTimeInNanos(output.blockedOnFullNanos());
+      }
+      final BoundedBlockingRingBuffer<?> input = inputQueue;
+      if (input != null) {
+        summary
+            .withIdleOnEmptyCount(input.idleOnEmptyCount())
+            .withIdleOnEmptyTimeInNanos(input.idleOnEmptyNanos());
+      }
+      return summary;
+    }
+
+  }
+
+  private final Map<Stage, StageMetrics> stages = new EnumMap<>(Stage.class);
+
+  ReplicationPipelineMetrics() {
+    for (final Stage stage : Stage.values()) {
+      stages.put(stage, new StageMetrics(stage));
+    }
+  }
+
+  StageMetrics get(final Stage stage) {
+    return stages.get(stage);
+  }
+
+  /**
+   * Export the metrics recorded since the previous report.
+   */
+  synchronized void report(final MetricClient metricClient) {
+    stages.values().forEach(stage -> stage.report(metricClient));
+  }
+
+  /**
+   * Summarize each stage over the whole attempt.
+   */
+  synchronized PerformanceMetrics toPerformanceMetrics() {
+    final PerformanceMetrics performanceMetrics = new PerformanceMetrics();
+    stages.forEach((stage, metrics) -> performanceMetrics.withAdditionalProperty(stage.getName(), metrics.summarize()));
+    return performanceMetrics;
+  }
+
+}
@@ -13,6 +13,7 @@ import io.airbyte.api.client.model.generated.SourceDefinitionIdRequestBody;
 import io.airbyte.api.client.model.generated.SourceIdRequestBody;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.features.FeatureFlags;
+import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.config.StandardSyncInput;
 import io.airbyte.featureflag.ConcurrentSourceStreamRead;
 import io.airbyte.featureflag.Connection;
@@ -22,7 +23,11 @@ import io.airbyte.featureflag.FeatureFlagClient;
 import io.airbyte.featureflag.FieldSelectionEnabled;
 import io.airbyte.featureflag.Multi;
 import io.airbyte.featureflag.RemoveValidationLimit;
+import io.airbyte.featureflag.ReplicationDeserializationThreads;
+import io.airbyte.featureflag.ReplicationRecordPassthrough;
+import io.airbyte.featureflag.ReplicationSchemaValidationThreads;
 import io.airbyte.featureflag.ReplicationWorkerImpl;
+import io.airbyte.featureflag.SchemaValidationSamplingPercent;
 import io.airbyte.featureflag.Source;
 import io.airbyte.featureflag.SourceDefinition;
 import io.airbyte.featureflag.SourceType;
@@ -119,10 +124,12 @@ public class ReplicationWorkerFactory {
         () -> sourceApi.getSource(
             new SourceIdRequestBody().sourceId(syncInput.getSourceId())).getSourceDefinitionId(),
         "get the source definition for feature flag checks");
+    final boolean fieldSelectionEnabled = isFieldSelectionEnabled(featureFlagClient, syncInput.getWorkspaceId(), sourceDefinitionId);
     final HeartbeatMonitor heartbeatMonitor = createHeartbeatMonitor(sourceDefinitionId, sourceDefinitionApi);
     final HeartbeatTimeoutChaperone heartbeatTimeoutChaperone = createHeartbeatTimeoutChaperone(heartbeatMonitor,
         featureFlagClient, syncInput);
-    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(syncInput);
+    final RecordSchemaValidator recordSchemaValidator = createRecordSchemaValidator(syncInput,
+        featureFlagClient.intVariation(ReplicationSchemaValidationThreads.INSTANCE, getFeatureFlagContext(syncInput)));
 
     // Enable concurrent stream reads for testing purposes
     maybeEnableConcurrentStreamReads(sourceLauncherConfig, syncInput);
@@ -132,7 +139,9 @@ public class ReplicationWorkerFactory {
     final var airbyteSource = syncInput.getIsReset()
         ? new EmptyAirbyteSource(featureFlags.useStreamCapableState())
         : airbyteIntegrationLauncherFactory.createAirbyteSource(sourceLauncherConfig, syncInput.getSourceResourceRequirements(),
-            syncInput.getSyncResourceRequirements(), syncInput.getCatalog(), heartbeatMonitor);
+            syncInput.getSyncResourceRequirements(), syncInput.getCatalog(), heartbeatMonitor,
+            featureFlagClient.intVariation(ReplicationDeserializationThreads.INSTANCE, getFeatureFlagContext(syncInput)),
+            shouldPassRecordsThrough(featureFlagClient, syncInput, fieldSelectionEnabled));
 
     log.info("Setting up destination...");
     final var airbyteDestination = airbyteIntegrationLauncherFactory.createAirbyteDestination(destinationLauncherConfig,
@@ -144,7 +153,7 @@ public class ReplicationWorkerFactory {
     final WorkerMetricReporter metricReporter = new WorkerMetricReporter(metricClient, sourceLauncherConfig.getDockerImage());
 
     final FieldSelector fieldSelector =
-        createFieldSelector(recordSchemaValidator, metricReporter, featureFlagClient, syncInput.getWorkspaceId(), sourceDefinitionId);
+        createFieldSelector(recordSchemaValidator, metricReporter, featureFlagClient, syncInput.getWorkspaceId(), fieldSelectionEnabled);
 
     log.info("Setting up replication worker...");
     final SyncPersistence syncPersistence = createSyncPersistence(syncPersistenceFactory, syncInput, sourceLauncherConfig);
@@ -232,20 +241,58 @@ public class ReplicationWorkerFactory {
   /**
    * Create RecordSchemaValidator.
    */
-  private static RecordSchemaValidator createRecordSchemaValidator(final StandardSyncInput syncInput) {
-    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput));
+  private static RecordSchemaValidator createRecordSchemaValidator(final StandardSyncInput syncInput, final int validationThreads) {
+    // A mocked or missing flag evaluates to 0, keep at least one validation thread.
+    return new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), Math.max(1, validationThreads));
+  }
+
+  private static boolean isFieldSelectionEnabled(final FeatureFlagClient featureFlagClient,
+                                                 final UUID workspaceId,
+                                                 final UUID sourceDefinitionId) {
+    return workspaceId != null && featureFlagClient.boolVariation(FieldSelectionEnabled.INSTANCE, new Multi(
+        List.of(new Workspace(workspaceId), new SourceDefinition(sourceDefinitionId))));
+  }
+
+  /**
+   * Records can be passed through as the bytes they were read from if the worker does not change
+   * them, i.e. without field selection and when the mapper keeps the stream names and namespaces of
+   * the source. Those records are still validated, on a deserialized copy, so passing them through
+   * only pays off when few of them are validated, i.e. when validation is sampled.
+   */
+  private static boolean shouldPassRecordsThrough(final FeatureFlagClient featureFlagClient,
+                                                  final StandardSyncInput syncInput,
+                                                  final boolean fieldSelectionEnabled) {
+    if (fieldSelectionEnabled || !isSchemaValidationSampled(featureFlagClient, syncInput.getWorkspaceId())
+        || !featureFlagClient.boolVariation(ReplicationRecordPassthrough.INSTANCE, getFeatureFlagContext(syncInput))) {
+      return false;
+    }
+    final boolean keepsSourceNamespace =
+        syncInput.getNamespaceDefinition() == null || syncInput.getNamespaceDefinition() == NamespaceDefinitionType.SOURCE;
+    final boolean keepsStreamNames = syncInput.getPrefix() == null || syncInput.getPrefix().isBlank();
+    return keepsSourceNamespace && keepsStreamNames;
+  }
+
+  /**
+   * Whether the field selector samples the records to validate, see
+   * {@link #createFieldSelector(RecordSchemaValidator, WorkerMetricReporter, FeatureFlagClient, UUID, boolean)}.
+   */
+  private static boolean isSchemaValidationSampled(final FeatureFlagClient featureFlagClient, final UUID workspaceId) {
+    return workspaceId != null
+        && !featureFlagClient.boolVariation(RemoveValidationLimit.INSTANCE, new Workspace(workspaceId))
+        && featureFlagClient.intVariation(SchemaValidationSamplingPercent.INSTANCE, new Workspace(workspaceId)) > 0;
   }
 
   private static FieldSelector createFieldSelector(final RecordSchemaValidator recordSchemaValidator,
                                                    final WorkerMetricReporter metricReporter,
                                                    final FeatureFlagClient featureFlagClient,
                                                    final UUID workspaceId,
-                                                   final UUID sourceDefinitionId) {
-    final boolean fieldSelectionEnabled = workspaceId != null && featureFlagClient.boolVariation(FieldSelectionEnabled.INSTANCE, new Multi(
-        List.of(new Workspace(workspaceId), new SourceDefinition(sourceDefinitionId))));
+                                                   final boolean fieldSelectionEnabled) {
     final boolean removeValidationLimit =
         workspaceId != null && featureFlagClient.boolVariation(RemoveValidationLimit.INSTANCE, new Workspace(workspaceId));
-    return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit);
+    final int validationSamplingPercent =
+        workspaceId != null ? featureFlagClient.intVariation(SchemaValidationSamplingPercent.INSTANCE, new Workspace(workspaceId)) : 0;
+    return new FieldSelector(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit,
+        validationSamplingPercent / 100.0);
   }
 
   /**
@@ -278,13 +325,13 @@ public class ReplicationWorkerFactory {
         recordSchemaValidator,
         fieldSelector,
         heartbeatTimeoutChaperone,
-        new ReplicationFeatureFlagReader(),
+        new ReplicationFeatureFlagReader(featureFlagClient),
         airbyteMessageDataExtractor,
         replicationEventPublishingHelper,
         onReplicationRunning);
   }
 
-  private static Context getFeatureFlagContext(final StandardSyncInput syncInput) {
+  static Context getFeatureFlagContext(final StandardSyncInput syncInput) {
     final List<Context> contexts = new ArrayList<>();
     if (syncInput.getWorkspaceId() != null) {
       contexts.add(new Workspace(syncInput.getWorkspaceId()));
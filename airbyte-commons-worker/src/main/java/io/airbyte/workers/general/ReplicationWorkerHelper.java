@@ -11,6 +11,7 @@ import io.airbyte.api.client.model.generated.StreamStatusIncompleteRunCause;
 import io.airbyte.commons.concurrency.VoidCallable;
 import io.airbyte.commons.converters.ThreadedTimeTracker;
 import io.airbyte.commons.io.LineGobbler;
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.FailureReason;
 import io.airbyte.config.PerformanceMetrics;
 import io.airbyte.config.ReplicationAttemptSummary;
@@ -35,6 +36,8 @@ import io.airbyte.workers.internal.AirbyteMapper;
 import io.airbyte.workers.internal.AirbyteSource;
 import io.airbyte.workers.internal.FieldSelector;
 import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.PassthroughAirbyteMessage;
+import io.airbyte.workers.internal.SizedAirbyteMessage;
 import io.airbyte.workers.internal.book_keeping.AirbyteMessageOrigin;
 import io.airbyte.workers.internal.book_keeping.MessageTracker;
 import io.airbyte.workers.internal.book_keeping.SyncStatsBuilder;
@@ -154,6 +157,7 @@ class ReplicationWorkerHelper {
     // This is to ensure that all streams end up in a terminal state and is necessary for
     // connections with destinations that do not emit messages to trigger the completion.
     publishEndOfReplicationStreamStatusEvent();
+    messageTracker.endOfReplication();
     timeTracker.trackReplicationEndTime();
   }
 
@@ -201,13 +205,21 @@ class ReplicationWorkerHelper {
     handleReplicationFailure(AirbyteMessageOrigin.INTERNAL, StreamDescriptor::new);
   }
 
+  /**
+   * Process a message from the source.
+   *
+   * @param airbyteMessage the message
+   * @return the message to send to the destination
+   */
   public Optional<AirbyteMessage> processMessageFromSource(final AirbyteMessage airbyteMessage) {
     fieldSelector.filterSelectedFields(airbyteMessage);
-    fieldSelector.validateSchema(airbyteMessage);
+    // Measured once, for the stats and to bound the records waiting for schema validation.
+    final long recordSizeInBytes = getRecordSizeInBytes(airbyteMessage);
+    fieldSelector.validateSchema(airbyteMessage, recordSizeInBytes);
 
     final AirbyteMessage message = mapper.mapMessage(airbyteMessage);
 
-    messageTracker.acceptFromSource(message);
+    messageTracker.acceptFromSource(message, recordSizeInBytes);
 
     if (shouldPublishMessage(airbyteMessage)) {
       replicationAirbyteMessageEventPublishingHelper
@@ -224,8 +236,21 @@ class ReplicationWorkerHelper {
     return Optional.of(message);
   }
 
+  /**
+   * Size of the data of a record. The data of passthrough records was measured when they were read,
+   * the other records are estimated.
+   */
+  private static long getRecordSizeInBytes(final AirbyteMessage message) {
+    if (message instanceof PassthroughAirbyteMessage passthroughMessage) {
+      return passthroughMessage.getDataSizeInBytes();
+    }
+    if (message.getType() == Type.RECORD && message.getRecord() != null && message.getRecord().getData() != null) {
+      return Jsons.getEstimatedByteSize(message.getRecord().getData());
+    }
+    return SizedAirbyteMessage.UNKNOWN_SIZE;
+  }
+
   public void processMessageFromDestination(final AirbyteMessage message) {
-    LOGGER.info("State in DefaultReplicationWorker from destination: {}", message);
     final StreamDescriptor previousStream = currentDestinationStream;
     currentDestinationStream = airbyteMessageDataExtractor.extractStreamDescriptor(message, previousStream);
     if (currentDestinationStream != null) {
@@ -5,6 +5,10 @@
 package io.airbyte.workers.internal;
 
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Factory for creating airbyte message writers. Base class that the versioned writers build upon.
@@ -13,4 +17,12 @@ public interface AirbyteMessageBufferedWriterFactory {
 
   AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter);
 
+  /**
+   * Create a writer over a byte stream. Implementations able to serialize messages straight to bytes
+   * should override this to skip the intermediate character stream.
+   */
+  default AirbyteMessageBufferedWriter createWriter(final OutputStream outputStream) throws IOException {
+    return createWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+  }
+
 }
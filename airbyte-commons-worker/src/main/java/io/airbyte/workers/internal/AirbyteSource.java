@@ -50,6 +50,18 @@ public interface AirbyteSource extends AutoCloseable {
    */
   Optional<AirbyteMessage> attemptRead();
 
+  /**
+   * Size in bytes of the serialized form of the message last returned by {@link #attemptRead()}.
+   * <p>
+   * This lets callers account for the size of a message without serializing it again. It must be
+   * called from the thread calling attemptRead.
+   *
+   * @return the size in bytes, or a non-positive value if it is not known.
+   */
+  default long getLastMessageSizeInBytes() {
+    return SizedAirbyteMessage.UNKNOWN_SIZE;
+  }
+
   /**
    * Attempts to shut down the Source's container. Waits for a graceful shutdown, capped by a timeout.
    *
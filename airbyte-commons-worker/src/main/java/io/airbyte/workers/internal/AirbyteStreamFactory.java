@@ -4,8 +4,10 @@
 
 package io.airbyte.workers.internal;
 
+import io.airbyte.commons.io.IOs;
 import io.airbyte.protocol.models.AirbyteMessage;
 import java.io.BufferedReader;
+import java.io.InputStream;
 import java.util.stream.Stream;
 
 /**
@@ -15,4 +17,21 @@ public interface AirbyteStreamFactory {
 
   Stream<AirbyteMessage> create(BufferedReader bufferedReader);
 
+  /**
+   * Same as {@link #create(BufferedReader)}, with each message paired with the size in bytes of the
+   * line it was read from. Implementations that do not know the size report it as unknown.
+   */
+  default Stream<SizedAirbyteMessage> createWithSize(final BufferedReader bufferedReader) {
+    return create(bufferedReader).map(SizedAirbyteMessage::withUnknownSize);
+  }
+
+  /**
+   * Same as {@link #createWithSize(BufferedReader)}, reading directly from the raw bytes of the
+   * stream. Implementations able to frame and parse messages without decoding them to strings should
+   * override this.
+   */
+  default Stream<SizedAirbyteMessage> createWithSize(final InputStream inputStream) {
+    return createWithSize(IOs.newBufferedReader(inputStream));
+  }
+
 }
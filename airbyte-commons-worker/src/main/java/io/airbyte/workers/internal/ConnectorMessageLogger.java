@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs the messages of a connector, for debugging purposes.
+ * <p>
+ * Logging every message of a sync would flood the logs and slow the sync down, so only one record
+ * out of {@code recordSampleRate} is considered and at most {@code maxMessagesPerSecond} messages
+ * are logged per second. The number of messages skipped because of the rate limit is logged once the
+ * next second starts, or when the logger is closed for the last second. Messages are only serialized
+ * if the logger actually writes them.
+ * <p>
+ * Not thread safe, a logger is expected to be used by the single thread reading a connector.
+ */
+public class ConnectorMessageLogger implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorMessageLogger.class);
+
+  public static final int DEFAULT_MAX_MESSAGES_PER_SECOND = 100;
+  public static final int DEFAULT_RECORD_SAMPLE_RATE = 100;
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * Serializes a message when the logger formats it.
+   */
+  private record LazyJson(AirbyteMessage message) {
+
+    @Override
+    public String toString() {
+      return Jsons.serialize(message);
+    }
+
+  }
+
+  private final String origin;
+  private final int maxMessagesPerSecond;
+  private final int recordSampleRate;
+  private final LongSupplier nanoTime;
+
+  private long recordsSeen;
+  private long windowStart;
+  private int loggedInWindow;
+  private long suppressedInWindow;
+
+  public ConnectorMessageLogger(final String origin) {
+    this(origin, DEFAULT_MAX_MESSAGES_PER_SECOND, DEFAULT_RECORD_SAMPLE_RATE, System::nanoTime);
+  }
+
+  /**
+   * Create a logger.
+   *
+   * @param origin name of the connector, prefixes the logs
+   * @param maxMessagesPerSecond maximum number of messages logged per second
+   * @param recordSampleRate one record out of this number is logged
+   * @param nanoTime source of time, in nanoseconds
+   */
+  public ConnectorMessageLogger(final String origin, final int maxMessagesPerSecond, final int recordSampleRate, final LongSupplier nanoTime) {
+    this.origin = origin;
+    this.maxMessagesPerSecond = maxMessagesPerSecond;
+    this.recordSampleRate = Math.max(recordSampleRate, 1);
+    this.nanoTime = nanoTime;
+    this.windowStart = nanoTime.getAsLong();
+  }
+
+  /**
+   * Log a message if it is sampled and the rate limit allows it.
+   *
+   * @return true if the message was logged
+   */
+  public boolean log(final AirbyteMessage message) {
+    if (message.getType() == Type.RECORD && recordsSeen++ % recordSampleRate != 0) {
+      return false;
+    }
+
+    final long now = nanoTime.getAsLong();
+    if (now - windowStart >= WINDOW_NANOS) {
+      logSuppressedMessages();
+      windowStart = now;
+      loggedInWindow = 0;
+    }
+    if (loggedInWindow >= maxMessagesPerSecond) {
+      suppressedInWindow++;
+      return false;
+    }
+
+    loggedInWindow++;
+    LOGGER.info("{} message | {}", origin, new LazyJson(message));
+    return true;
+  }
+
+  /**
+   * Log the number of messages skipped in the current second, which would otherwise only be logged
+   * with the next message.
+   */
+  @Override
+  public void close() {
+    logSuppressedMessages();
+  }
+
+  private void logSuppressedMessages() {
+    if (suppressedInWindow > 0) {
+      LOGGER.info("{} message | {} messages were not logged over the last second", origin, suppressedInWindow);
+      suppressedInWindow = 0;
+    }
+  }
+
+}
@@ -22,10 +22,18 @@ public class DefaultAirbyteMessageBufferedWriter implements AirbyteMessageBuffer
 
   @Override
   public void write(final AirbyteMessage message) throws IOException {
-    writer.write(Jsons.serialize(message));
+    writer.write(Jsons.serialize(toAirbyteMessage(message)));
     writer.newLine();
   }
 
+  /**
+   * Passthrough records don't carry their data, they are deserialized to be written to a character
+   * stream.
+   */
+  protected static AirbyteMessage toAirbyteMessage(final AirbyteMessage message) {
+    return message instanceof PassthroughAirbyteMessage passthroughMessage ? passthroughMessage.toAirbyteMessage() : message;
+  }
+
   @Override
   public void flush() throws IOException {
     writer.flush();
@@ -5,6 +5,8 @@
 package io.airbyte.workers.internal;
 
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Factory that provides the default writer.
@@ -16,4 +18,9 @@ public class DefaultAirbyteMessageBufferedWriterFactory implements AirbyteMessag
     return new DefaultAirbyteMessageBufferedWriter(writer);
   }
 
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(final OutputStream outputStream) throws IOException {
+    return new StreamingAirbyteMessageBufferedWriter(outputStream);
+  }
+
 }
@@ -10,7 +10,6 @@ import com.google.common.base.Preconditions;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.constants.WorkerConstants;
 import io.airbyte.commons.features.FeatureFlags;
-import io.airbyte.commons.io.IOs;
 import io.airbyte.commons.io.LineGobbler;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.LoggingHelper.Color;
@@ -31,6 +30,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,7 +57,9 @@ public class DefaultAirbyteSource implements AirbyteSource {
   private final HeartbeatMonitor heartbeatMonitor;
 
   private Process sourceProcess = null;
-  private Iterator<AirbyteMessage> messageIterator = null;
+  private Stream<SizedAirbyteMessage> messageStream = null;
+  private Iterator<SizedAirbyteMessage> messageIterator = null;
+  private long lastMessageSizeInBytes = SizedAirbyteMessage.UNKNOWN_SIZE;
   private Integer exitValue = null;
   private final boolean featureFlagLogConnectorMsgs;
 
@@ -91,10 +93,10 @@ public class DefaultAirbyteSource implements AirbyteSource {
     logInitialStateAsJSON(sourceConfig);
 
     final List<Type> acceptedMessageTypes = List.of(Type.RECORD, Type.STATE, Type.TRACE, Type.CONTROL);
-    messageIterator = streamFactory.create(IOs.newBufferedReader(sourceProcess.getInputStream()))
+    messageStream = streamFactory.createWithSize(sourceProcess.getInputStream())
         .peek(message -> heartbeatMonitor.beat())
-        .filter(message -> acceptedMessageTypes.contains(message.getType()))
-        .iterator();
+        .filter(message -> acceptedMessageTypes.contains(message.message().getType()));
+    messageIterator = messageStream.iterator();
   }
 
   @Override
@@ -124,7 +126,14 @@ public class DefaultAirbyteSource implements AirbyteSource {
   public Optional<AirbyteMessage> attemptRead() {
     Preconditions.checkState(sourceProcess != null);
 
-    return Optional.ofNullable(messageIterator.hasNext() ? messageIterator.next() : null);
+    final SizedAirbyteMessage sizedMessage = messageIterator.hasNext() ? messageIterator.next() : null;
+    lastMessageSizeInBytes = sizedMessage != null ? sizedMessage.sizeInBytes() : SizedAirbyteMessage.UNKNOWN_SIZE;
+    return Optional.ofNullable(sizedMessage).map(SizedAirbyteMessage::message);
+  }
+
+  @Override
+  public long getLastMessageSizeInBytes() {
+    return lastMessageSizeInBytes;
   }
 
   @Override
@@ -135,10 +144,14 @@ public class DefaultAirbyteSource implements AirbyteSource {
     }
 
     LOGGER.debug("Closing source process");
-    WorkerUtils.gentleClose(
-        sourceProcess,
-        GRACEFUL_SHUTDOWN_DURATION.toMillis(),
-        TimeUnit.MILLISECONDS);
+    try {
+      WorkerUtils.gentleClose(
+          sourceProcess,
+          GRACEFUL_SHUTDOWN_DURATION.toMillis(),
+          TimeUnit.MILLISECONDS);
+    } finally {
+      closeMessageStream();
+    }
 
     if (sourceProcess.isAlive() || !IGNORED_EXIT_CODES.contains(getExitValue())) {
       final String message = sourceProcess.isAlive() ? "Source has not terminated " : "Source process exit with code " + getExitValue();
@@ -158,6 +171,17 @@ public class DefaultAirbyteSource implements AirbyteSource {
       WorkerUtils.cancelProcess(sourceProcess);
       LOGGER.info("Cancelled source process!");
     }
+    closeMessageStream();
+  }
+
+  /**
+   * Release the resources of the message stream, e.g. the threads deserializing the messages, when
+   * the source is closed before the stream was fully read.
+   */
+  private void closeMessageStream() {
+    if (messageStream != null) {
+      messageStream.close();
+    }
   }
 
   private void logInitialStateAsJSON(final WorkerSourceConfig sourceConfig) {
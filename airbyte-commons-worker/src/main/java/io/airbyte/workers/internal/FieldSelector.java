@@ -12,13 +12,12 @@ import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.RecordSchemaValidator;
 import io.airbyte.workers.WorkerMetricReporter;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,7 +36,9 @@ public class FieldSelector {
    */
   private final ConcurrentHashMap<AirbyteStreamNameNamespacePair, ImmutablePair<Set<String>, Integer>> validationErrors = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<AirbyteStreamNameNamespacePair, Set<String>> uncountedValidationErrors = new ConcurrentHashMap<>();
-  private final Map<AirbyteStreamNameNamespacePair, List<String>> streamToSelectedFields = new HashMap<>();
+  // Field sets are hashed once per stream so that projecting and checking a record is a lookup per
+  // field rather than a scan of the catalog fields.
+  private final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToSelectedFields = new HashMap<>();
   private final Map<AirbyteStreamNameNamespacePair, Set<String>> streamToAllFields = new HashMap<>();
   private final Map<AirbyteStreamNameNamespacePair, Set<String>> unexpectedFields = new HashMap<>();
 
@@ -45,15 +46,44 @@ public class FieldSelector {
   private final WorkerMetricReporter metricReporter;
   private final boolean fieldSelectionEnabled;
   private final boolean removeValidationLimit;
+  // null unless records are validated on a sample
+  private final SchemaValidationSampler validationSampler;
+  // stream of the last record, records of a stream usually come in long runs
+  private AirbyteStreamNameNamespacePair lastStream;
 
   public FieldSelector(final RecordSchemaValidator recordSchemaValidator,
                        final WorkerMetricReporter metricReporter,
                        final boolean fieldSelectionEnabled,
                        final boolean removeValidationLimit) {
+    this(recordSchemaValidator, metricReporter, fieldSelectionEnabled, removeValidationLimit, 0);
+  }
+
+  /**
+   * Create a FieldSelector.
+   *
+   * @param validationSamplingRate if positive, the first records of each stream are validated and
+   *        then only this fraction of the records, instead of stopping validation after the first
+   *        records with errors. Ignored when removeValidationLimit is set.
+   */
+  public FieldSelector(final RecordSchemaValidator recordSchemaValidator,
+                       final WorkerMetricReporter metricReporter,
+                       final boolean fieldSelectionEnabled,
+                       final boolean removeValidationLimit,
+                       final double validationSamplingRate) {
     this.recordSchemaValidator = recordSchemaValidator;
     this.metricReporter = metricReporter;
     this.fieldSelectionEnabled = fieldSelectionEnabled;
     this.removeValidationLimit = removeValidationLimit;
+    this.validationSampler = !removeValidationLimit && validationSamplingRate > 0
+        ? new SchemaValidationSampler(Math.min(1, validationSamplingRate))
+        : null;
+  }
+
+  /**
+   * Returns true if records may be altered by {@link #filterSelectedFields(AirbyteMessage)}.
+   */
+  public boolean isFieldSelectionEnabled() {
+    return fieldSelectionEnabled;
   }
 
   /**
@@ -72,10 +102,23 @@ public class FieldSelector {
    * @param airbyteMessage message to validate.
    */
   public void validateSchema(final AirbyteMessage airbyteMessage) {
+    validateSchema(airbyteMessage, SizedAirbyteMessage.UNKNOWN_SIZE);
+  }
+
+  /**
+   * Validate the AirbyteMessage according to the field configuration.
+   *
+   * @param airbyteMessage message to validate.
+   * @param recordSizeInBytes size in bytes of the data of the record, non-positive if unknown. It
+   *        bounds the memory held by the records waiting to be validated.
+   */
+  public void validateSchema(final AirbyteMessage airbyteMessage, final long recordSizeInBytes) {
     if (removeValidationLimit) {
-      validateSchemaUncounted(airbyteMessage);
+      validateSchemaUncounted(airbyteMessage, recordSizeInBytes);
+    } else if (validationSampler != null) {
+      validateSchemaSampled(airbyteMessage, recordSizeInBytes);
     } else {
-      validateSchemaWithCount(airbyteMessage);
+      validateSchemaWithCount(airbyteMessage, recordSizeInBytes);
     }
   }
 
@@ -96,11 +139,14 @@ public class FieldSelector {
       return;
     }
 
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
-    final List<String> selectedFields = streamToSelectedFields.getOrDefault(messageStream, Collections.emptyList());
+    final AirbyteStreamNameNamespacePair messageStream = getStream(record);
+    final Set<String> selectedFields = streamToSelectedFields.getOrDefault(messageStream, Collections.emptySet());
     final JsonNode data = record.getData();
     if (data.isObject()) {
-      ((ObjectNode) data).retain(selectedFields);
+      // Most records only contain selected fields, only mutate the ones that do not.
+      if (!containsOnly(data, selectedFields)) {
+        ((ObjectNode) data).retain(selectedFields);
+      }
     } else {
       throw new RuntimeException(String.format("Unexpected data in record: %s", data.toString()));
     }
@@ -119,7 +165,19 @@ public class FieldSelector {
         metricReporter.trackSchemaValidationErrors(stream, errors);
       });
     } else {
-      log.info("Schema validation was performed to a max of 10 records with errors per stream.");
+      if (validationSampler != null) {
+        log.info("Schema validation was performed on a sample of the records of each stream.");
+        validationSampler.getStreamSamples().forEach((stream, sample) -> {
+          final ImmutablePair<Set<String>, Integer> errorPair = validationErrors.get(stream);
+          final long validatedRecords = recordSchemaValidator.getValidatedRecordCount(stream);
+          final double effectiveSamplingRate = sample.getEffectiveSamplingRate(validatedRecords);
+          final double estimatedErrorRate = sample.getEstimatedErrorRate(errorPair == null ? 0 : errorPair.getRight(), validatedRecords);
+          log.info("Validated {} of the records of stream {}, estimated error rate {}", effectiveSamplingRate, stream, estimatedErrorRate);
+          metricReporter.trackSchemaValidationSampling(stream, effectiveSamplingRate, estimatedErrorRate);
+        });
+      } else {
+        log.info("Schema validation was performed to a max of 10 records with errors per stream.");
+      }
       validationErrors.forEach((stream, errorPair) -> {
         log.warn("Schema validation errors found for stream {}. Error messages: {}", stream, errorPair.getLeft());
         metricReporter.trackSchemaValidationErrors(stream, errorPair.getLeft());
@@ -142,7 +200,7 @@ public class FieldSelector {
    */
   private void populatedStreamToSelectedFields(final ConfiguredAirbyteCatalog catalog) {
     for (final var s : catalog.getStreams()) {
-      final List<String> selectedFields = new ArrayList<>();
+      final Set<String> selectedFields = new HashSet<>();
       final JsonNode propertiesNode = s.getStream().getJsonSchema().findPath("properties");
       if (propertiesNode.isObject()) {
         propertiesNode.fieldNames().forEachRemaining((fieldName) -> selectedFields.add(fieldName));
@@ -172,55 +230,107 @@ public class FieldSelector {
     }
   }
 
-  private void validateSchemaUncounted(final AirbyteMessage message) {
+  private void validateSchemaUncounted(final AirbyteMessage message, final long recordSizeInBytes) {
     if (message.getRecord() == null) {
       return;
     }
 
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+    final AirbyteStreamNameNamespacePair messageStream = getStream(message.getRecord());
+    final AirbyteRecordMessage record = getRecordToValidate(message);
+
+    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors, recordSizeInBytes);
+    trackUnexpectedFieldNames(record, messageStream, streamToAllFields.get(messageStream));
+  }
 
-    recordSchemaValidator.validateSchemaWithoutCounting(record, messageStream, uncountedValidationErrors);
-    final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
-    if (!unexpectedFieldNames.isEmpty()) {
-      unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
+  private void validateSchemaSampled(final AirbyteMessage message, final long recordSizeInBytes) {
+    if (message.getRecord() == null) {
+      return;
+    }
+
+    final AirbyteStreamNameNamespacePair messageStream = getStream(message.getRecord());
+    final ImmutablePair<Set<String>, Integer> errorPair = validationErrors.get(messageStream);
+    if (validationSampler.shouldValidate(messageStream, errorPair == null ? 0 : errorPair.getRight())) {
+      final AirbyteRecordMessage record = getRecordToValidate(message);
+      recordSchemaValidator.validateSchema(record, messageStream, validationErrors, recordSizeInBytes);
+      trackUnexpectedFieldNames(record, messageStream, streamToAllFields.get(messageStream));
     }
   }
 
-  private void validateSchemaWithCount(final AirbyteMessage message) {
+  private void validateSchemaWithCount(final AirbyteMessage message, final long recordSizeInBytes) {
     if (message.getRecord() == null) {
       return;
     }
 
-    final AirbyteRecordMessage record = message.getRecord();
-    final AirbyteStreamNameNamespacePair messageStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+    final AirbyteStreamNameNamespacePair messageStream = getStream(message.getRecord());
     // avoid noise by validating only if the stream has less than 10 records with validation errors
     final boolean streamHasLessThenTenErrs = validationErrors.get(messageStream) == null || validationErrors.get(messageStream).getRight() < 10;
     if (streamHasLessThenTenErrs) {
-      recordSchemaValidator.validateSchema(record, messageStream, validationErrors);
-      final Set<String> unexpectedFieldNames = getUnexpectedFieldNames(record, streamToAllFields.get(messageStream));
-      if (!unexpectedFieldNames.isEmpty()) {
-        unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>()).addAll(unexpectedFieldNames);
-      }
+      final AirbyteRecordMessage record = getRecordToValidate(message);
+      recordSchemaValidator.validateSchema(record, messageStream, validationErrors, recordSizeInBytes);
+      trackUnexpectedFieldNames(record, messageStream, streamToAllFields.get(messageStream));
     }
   }
 
-  private static Set<String> getUnexpectedFieldNames(final AirbyteRecordMessage record,
-                                                     final Set<String> fieldsInCatalog) {
-    Set<String> unexpectedFieldNames = new HashSet<>();
+  /**
+   * Returns the record to validate. The data of a passthrough record is not deserialized, so a copy
+   * of it is deserialized when it is validated. The record is still forwarded as the bytes it was
+   * read from.
+   */
+  private static AirbyteRecordMessage getRecordToValidate(final AirbyteMessage message) {
+    return message instanceof PassthroughAirbyteMessage passthroughMessage
+        ? passthroughMessage.toAirbyteMessage().getRecord()
+        : message.getRecord();
+  }
+
+  /**
+   * Records the top-level fields of the record that are not in the catalog. Nothing is allocated for
+   * records that only contain expected fields, which is the common case.
+   */
+  private void trackUnexpectedFieldNames(final AirbyteRecordMessage record,
+                                         final AirbyteStreamNameNamespacePair messageStream,
+                                         final Set<String> fieldsInCatalog) {
     final JsonNode data = record.getData();
     // If it's not an object it's malformed, but we tolerate it here - it will be logged as an error by
     // the validation.
-    if (data.isObject()) {
-      final Iterator<String> fieldNamesInRecord = data.fieldNames();
-      while (fieldNamesInRecord.hasNext()) {
-        final String fieldName = fieldNamesInRecord.next();
-        if (!fieldsInCatalog.contains(fieldName)) {
-          unexpectedFieldNames.add(fieldName);
-        }
+    if (!data.isObject() || containsOnly(data, fieldsInCatalog)) {
+      return;
+    }
+    final Set<String> unexpectedFieldNames = unexpectedFields.computeIfAbsent(messageStream, k -> new HashSet<>());
+    final Iterator<String> fieldNamesInRecord = data.fieldNames();
+    while (fieldNamesInRecord.hasNext()) {
+      final String fieldName = fieldNamesInRecord.next();
+      if (!fieldsInCatalog.contains(fieldName)) {
+        unexpectedFieldNames.add(fieldName);
+      }
+    }
+  }
+
+  /**
+   * Returns the stream of the record, reusing the key of the previous record when it is from the same
+   * stream, so that filtering and validating a record does not build a key every time.
+   */
+  private AirbyteStreamNameNamespacePair getStream(final AirbyteRecordMessage record) {
+    if (lastStream == null || !Objects.equals(lastStream.getName(), record.getStream())
+        || !Objects.equals(lastStream.getNamespace(), record.getNamespace())) {
+      lastStream = AirbyteStreamNameNamespacePair.fromRecordMessage(record);
+    }
+    return lastStream;
+  }
+
+  /**
+   * Returns true if every top-level field of the object is in the given set.
+   */
+  private static boolean containsOnly(final JsonNode data, final Set<String> fields) {
+    if (data.size() > fields.size()) {
+      return false;
+    }
+    final Iterator<String> fieldNames = data.fieldNames();
+    while (fieldNames.hasNext()) {
+      if (!fields.contains(fieldNames.next())) {
+        return false;
       }
     }
-    return unexpectedFieldNames;
+    return true;
   }
 
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.airbyte.commons.io.LengthPrefixedFrameWriter;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Write protocol objects in a specified version and binary format as length-prefixed frames, one
+ * message per frame.
+ * <p>
+ * Each message is serialized with its own generator so that frames can be decoded independently.
+ * {@link PassthroughAirbyteMessage} are deserialized first, as they hold JSON.
+ *
+ * @param <T> type of protocol object.
+ */
+public class FramedAirbyteMessageBufferedWriter<T> implements AirbyteMessageBufferedWriter {
+
+  private final LengthPrefixedFrameWriter frameWriter;
+  private final AirbyteMessageFormat messageFormat;
+  private final AirbyteMessageSerializer<T> serializer;
+  private final AirbyteMessageVersionedMigrator<T> migrator;
+  private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+
+  public FramedAirbyteMessageBufferedWriter(final OutputStream outputStream,
+                                            final AirbyteMessageFormat messageFormat,
+                                            final AirbyteMessageSerializer<T> serializer,
+                                            final AirbyteMessageVersionedMigrator<T> migrator,
+                                            final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
+    this.frameWriter = new LengthPrefixedFrameWriter(outputStream);
+    this.messageFormat = messageFormat;
+    this.serializer = serializer;
+    this.migrator = migrator;
+    this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+  }
+
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    final T downgradedMessage = migrator.downgrade(DefaultAirbyteMessageBufferedWriter.toAirbyteMessage(message), configuredAirbyteCatalog);
+    frame.reset();
+    try (final JsonGenerator generator = messageFormat.createGenerator(frame)) {
+      serializer.serialize(downgradedMessage, generator);
+    }
+    frameWriter.writeFrame(frame);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    frameWriter.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    frameWriter.close();
+  }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.commons.io.ByteFrameReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.slf4j.MDC;
+
+/**
+ * Iterates over the messages read from a {@link LineSource}, deserializing lines on a pool of worker
+ * threads.
+ * <p>
+ * Line framing stays on the thread consuming this iterator, only the conversion of a line into
+ * messages is handed over to the pool. Every line is given a sequence number when it is submitted,
+ * and results are only released in sequence order, so the output order is the same as the input
+ * order regardless of which worker finishes first.
+ * <p>
+ * The number of lines in flight is bounded. Lines that are already buffered are read ahead eagerly,
+ * but the iterator only blocks on the reader when nothing is in flight, so a message is never held
+ * back waiting for the next line from a source that has gone quiet.
+ * <p>
+ * This class is not thread safe, a single thread is expected to consume it. It can be closed from
+ * another thread to stop it, e.g. when the sync is cancelled.
+ */
+final class ParallelMessageDeserializer<L> implements Iterator<SizedAirbyteMessage>, AutoCloseable {
+
+  /**
+   * Source of framed lines.
+   *
+   * @param <L> line type
+   */
+  interface LineSource<L> {
+
+    /**
+     * Returns the next line, blocking until it is available, or null at the end of the input. The
+     * returned line must not be modified by later calls.
+     */
+    L readLine() throws IOException;
+
+    /**
+     * Returns true if reading the next line is not expected to block.
+     */
+    boolean ready() throws IOException;
+
+    static LineSource<String> of(final BufferedReader reader) {
+      return new LineSource<>() {
+
+        @Override
+        public String readLine() throws IOException {
+          return reader.readLine();
+        }
+
+        @Override
+        public boolean ready() throws IOException {
+          return reader.ready();
+        }
+
+      };
+    }
+
+    static LineSource<byte[]> of(final ByteFrameReader reader) {
+      return new LineSource<>() {
+
+        @Override
+        public byte[] readLine() throws IOException {
+          // The reader reuses its buffer, the frame is copied so that it can be handed to another thread.
+          return reader.readFrame() ? reader.copyFrame() : null;
+        }
+
+        @Override
+        public boolean ready() throws IOException {
+          return reader.ready();
+        }
+
+      };
+    }
+
+  }
+
+  private static final int IN_FLIGHT_LINES_PER_THREAD = 4;
+
+  private final LineSource<L> reader;
+  private final Function<L, List<SizedAirbyteMessage>> deserializer;
+  private final ExecutorService executor;
+  private final Map<String, String> mdcContext;
+
+  // results indexed by sequence number modulo the window size
+  private final Future<List<SizedAirbyteMessage>>[] window;
+  // sequence number of the next line to submit
+  private long nextSubmitted = 0;
+  // sequence number of the next result to emit
+  private long nextEmitted = 0;
+  private boolean endOfInput = false;
+  private volatile boolean closed = false;
+  private Iterator<SizedAirbyteMessage> current = Collections.emptyIterator();
+
+  /**
+   * Create a deserializer.
+   *
+   * @param reader the source of lines
+   * @param deserializer converts a line into messages, called concurrently from the worker threads
+   * @param threads number of worker threads
+   */
+  @SuppressWarnings("unchecked")
+  ParallelMessageDeserializer(final LineSource<L> reader,
+                              final Function<L, List<SizedAirbyteMessage>> deserializer,
+                              final int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("threads must be positive, got " + threads);
+    }
+    this.reader = reader;
+    this.deserializer = deserializer;
+    this.window = new Future[threads * IN_FLIGHT_LINES_PER_THREAD];
+    // The worker threads log on behalf of the reading thread, keep the job logging context.
+    this.mdcContext = MDC.getCopyOfContextMap();
+
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      final Thread thread = new Thread(runnable, "message-deserializer-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      if (closed) {
+        return false;
+      }
+      readAhead();
+      if (nextEmitted == nextSubmitted) {
+        close();
+        return false;
+      }
+      current = awaitNextResult().iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public SizedAirbyteMessage next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  /**
+   * Stop the worker threads. Lines still in flight are dropped. Can be called from any thread.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    // Queued lines never run, cancel them so that a consumer waiting on one of them is released.
+    for (final Runnable queued : executor.shutdownNow()) {
+      if (queued instanceof Future<?> future) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  private void readAhead() {
+    try {
+      while (!endOfInput && inFlight() < window.length && (inFlight() == 0 || reader.ready())) {
+        final L line = reader.readLine();
+        if (line == null) {
+          endOfInput = true;
+        } else {
+          submit(line);
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private long inFlight() {
+    return nextSubmitted - nextEmitted;
+  }
+
+  private void submit(final L line) {
+    window[slot(nextSubmitted)] = executor.submit(() -> {
+      final Map<String, String> previousContext = MDC.getCopyOfContextMap();
+      setMdcContext(mdcContext);
+      try {
+        return deserializer.apply(line);
+      } finally {
+        setMdcContext(previousContext);
+      }
+    });
+    nextSubmitted++;
+  }
+
+  private List<SizedAirbyteMessage> awaitNextResult() {
+    final int slot = slot(nextEmitted);
+    final Future<List<SizedAirbyteMessage>> result = window[slot];
+    window[slot] = null;
+    nextEmitted++;
+    try {
+      return result.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw new RuntimeException(e);
+    } catch (final CancellationException e) {
+      close();
+      throw e;
+    } catch (final ExecutionException e) {
+      close();
+      // Surface the original exception, the caller may rely on its type, e.g. SourceException.
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private int slot(final long sequenceNumber) {
+    return (int) (sequenceNumber % window.length);
+  }
+
+  private static void setMdcContext(final Map<String, String> context) {
+    if (context == null) {
+      MDC.clear();
+    } else {
+      MDC.setContextMap(context);
+    }
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A record message forwarded to the destination as the bytes it was read from.
+ * <p>
+ * Only the envelope of the record is parsed: its stream, namespace and emission time. The data of
+ * the record is not deserialized, {@link AirbyteRecordMessage#getData()} is null. This is only
+ * meant for syncs where records go through the worker unchanged, i.e. without field selection or
+ * renaming of streams and namespaces, and when schema validation is sampled. Schema validation
+ * deserializes a copy of the records it validates.
+ */
+public class PassthroughAirbyteMessage extends AirbyteMessage {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /**
+   * Fields of a record needed by the worker.
+   *
+   * @param record the record, without data
+   * @param dataSizeInBytes size in bytes of the data of the record
+   */
+  private record Envelope(AirbyteRecordMessage record, long dataSizeInBytes) {
+
+  }
+
+  private final byte[] line;
+  private final long dataSizeInBytes;
+
+  PassthroughAirbyteMessage(final AirbyteRecordMessage envelope, final byte[] line, final long dataSizeInBytes) {
+    this.line = line;
+    this.dataSizeInBytes = dataSizeInBytes;
+    withType(Type.RECORD);
+    withRecord(envelope);
+  }
+
+  /**
+   * Returns the UTF-8 encoded JSON of the message, without line separator.
+   */
+  @JsonIgnore
+  public byte[] getLine() {
+    return line;
+  }
+
+  /**
+   * Returns the size in bytes of the data of the record, as written in the line. Like the sizes
+   * estimated from deserialized records, it excludes the envelope of the record.
+   */
+  @JsonIgnore
+  public long getDataSizeInBytes() {
+    return dataSizeInBytes;
+  }
+
+  /**
+   * Fully deserialize the message, for the cases where its data is needed or it can't be forwarded
+   * as is.
+   */
+  public AirbyteMessage toAirbyteMessage() {
+    return Jsons.tryDeserialize(line, 0, line.length, AirbyteMessage.class)
+        .orElseThrow(() -> new IllegalStateException("A passthrough record could not be deserialized"));
+  }
+
+  /**
+   * Parse the envelope of a record message from a slice of a UTF-8 encoded byte array.
+   * <p>
+   * The whole line is still tokenized, so malformed JSON is detected, but no tree is built for the
+   * data of the record. Any line that isn't a well-formed record is left for the regular
+   * deserialization to handle.
+   *
+   * @return the record, or empty if the line is not a well-formed record message.
+   */
+  static Optional<PassthroughAirbyteMessage> parseRecord(final byte[] bytes, final int offset, final int length) {
+    try (final JsonParser parser = JSON_FACTORY.createParser(bytes, offset, length)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return Optional.empty();
+      }
+
+      String type = null;
+      Envelope envelope = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String fieldName = parser.getCurrentName();
+        final JsonToken value = parser.nextToken();
+        if ("type".equals(fieldName) && value == JsonToken.VALUE_STRING) {
+          type = parser.getText();
+        } else if ("record".equals(fieldName) && value == JsonToken.START_OBJECT) {
+          envelope = parseRecordEnvelope(parser);
+        } else {
+          parser.skipChildren();
+        }
+      }
+      // Reject trailing content, the regular deserialization would.
+      if (parser.nextToken() != null) {
+        return Optional.empty();
+      }
+
+      if (!Type.RECORD.value().equals(type) || envelope == null) {
+        return Optional.empty();
+      }
+      return Optional.of(new PassthroughAirbyteMessage(envelope.record(), Arrays.copyOfRange(bytes, offset, offset + length),
+          envelope.dataSizeInBytes()));
+    } catch (final IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Parse the fields of a record needed by the worker, skipping the others.
+   *
+   * @return the envelope, or null if the record misses a required field.
+   */
+  private static Envelope parseRecordEnvelope(final JsonParser parser) throws IOException {
+    final AirbyteRecordMessage envelope = new AirbyteRecordMessage();
+    boolean hasData = false;
+    long dataSizeInBytes = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken value = parser.nextToken();
+      switch (fieldName) {
+        case "stream" -> envelope.setStream(value == JsonToken.VALUE_STRING ? parser.getText() : null);
+        case "namespace" -> envelope.setNamespace(value == JsonToken.VALUE_STRING ? parser.getText() : null);
+        case "emitted_at" -> envelope.setEmittedAt(value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null);
+        case "data" -> {
+          hasData = value != JsonToken.VALUE_NULL;
+          final long dataStart = parser.getTokenLocation().getByteOffset();
+          parser.skipChildren();
+          parser.finishToken();
+          dataSizeInBytes = parser.getCurrentLocation().getByteOffset() - dataStart;
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    return envelope.getStream() != null && hasData ? new Envelope(envelope, dataSizeInBytes) : null;
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides which records of a stream are validated against the stream schema.
+ * <p>
+ * The first records of each stream are all validated. After that, only a fraction of the records is
+ * validated. When new records with errors are detected on a stream, the fraction of that stream is
+ * doubled, so that streams with errors are looked at more closely while clean streams stay cheap.
+ * The fraction is doubled at most once every {@link #RATE_CHANGE_INTERVAL_RECORDS} records and up
+ * to {@link #MAX_RATE_ESCALATION} times the base fraction, and it is halved back towards the base
+ * fraction once no new errors were detected for as many records. Records are picked at a regular
+ * interval rather than randomly, which is enough to estimate error rates and keeps syncs
+ * reproducible.
+ * <p>
+ * This class is not thread safe, it is expected to be called from the thread reading the source.
+ */
+final class SchemaValidationSampler {
+
+  @VisibleForTesting
+  static final long FULLY_VALIDATED_RECORDS_PER_STREAM = 1_000;
+  @VisibleForTesting
+  static final long RATE_CHANGE_INTERVAL_RECORDS = 10_000;
+  @VisibleForTesting
+  static final long MAX_RATE_ESCALATION = 4;
+
+  // sampling rates are kept in parts per million so that sampling does not drift with rounding errors
+  private static final long ONE_MILLION = 1_000_000;
+
+  private final long baseSamplingRatePpm;
+  private final long maxSamplingRatePpm;
+  private final Map<AirbyteStreamNameNamespacePair, StreamSample> streamSamples = new HashMap<>();
+
+  /**
+   * Sampling state of a stream.
+   */
+  static final class StreamSample {
+
+    private long seenRecords = 0;
+    private long observedRecordsWithErrors = 0;
+    // number of records seen when errors were last detected and when the rate last changed
+    private long lastErrorsAt = 0;
+    private long lastRateChangeAt = -RATE_CHANGE_INTERVAL_RECORDS;
+    private long samplingRatePpm;
+    // accumulates the sampling rate, a record is validated every time it reaches one million
+    private long samplingCredit = 0;
+
+    private StreamSample(final long samplingRatePpm) {
+      this.samplingRatePpm = samplingRatePpm;
+    }
+
+    /**
+     * Current fraction of the records picked for validation.
+     */
+    double getSamplingRate() {
+      return (double) samplingRatePpm / ONE_MILLION;
+    }
+
+    /**
+     * Fraction of the records seen so far that were validated. Records picked for validation may be
+     * skipped by the validator when it cannot keep up, so the validated records are counted by the
+     * validator.
+     *
+     * @param validatedRecords number of records of the stream actually validated
+     */
+    double getEffectiveSamplingRate(final long validatedRecords) {
+      return seenRecords == 0 ? 0 : Math.min(1, (double) validatedRecords / seenRecords);
+    }
+
+    /**
+     * Fraction of the validated records that had errors.
+     *
+     * @param recordsWithErrors number of records of the stream found with errors
+     * @param validatedRecords number of records of the stream actually validated
+     */
+    double getEstimatedErrorRate(final long recordsWithErrors, final long validatedRecords) {
+      return validatedRecords == 0 ? 0 : Math.min(1, (double) recordsWithErrors / validatedRecords);
+    }
+
+  }
+
+  /**
+   * Create a sampler.
+   *
+   * @param baseSamplingRate fraction of the records validated once the first records of a stream
+   *        were validated, between 0 (exclusive) and 1
+   */
+  SchemaValidationSampler(final double baseSamplingRate) {
+    if (baseSamplingRate <= 0 || baseSamplingRate > 1) {
+      throw new IllegalArgumentException("The sampling rate must be in (0, 1], got " + baseSamplingRate);
+    }
+    this.baseSamplingRatePpm = Math.max(1, Math.round(baseSamplingRate * ONE_MILLION));
+    this.maxSamplingRatePpm = Math.min(ONE_MILLION, baseSamplingRatePpm * MAX_RATE_ESCALATION);
+  }
+
+  /**
+   * Returns true if the next record of the stream should be validated.
+   *
+   * @param stream stream of the record
+   * @param recordsWithErrors number of records of the stream found with errors so far
+   */
+  boolean shouldValidate(final AirbyteStreamNameNamespacePair stream, final long recordsWithErrors) {
+    final StreamSample sample = streamSamples.computeIfAbsent(stream, k -> new StreamSample(baseSamplingRatePpm));
+    sample.seenRecords++;
+    final boolean canChangeRate = sample.seenRecords - sample.lastRateChangeAt >= RATE_CHANGE_INTERVAL_RECORDS;
+    if (recordsWithErrors > sample.observedRecordsWithErrors) {
+      sample.observedRecordsWithErrors = recordsWithErrors;
+      sample.lastErrorsAt = sample.seenRecords;
+      if (canChangeRate && sample.samplingRatePpm < maxSamplingRatePpm) {
+        sample.samplingRatePpm = Math.min(maxSamplingRatePpm, sample.samplingRatePpm * 2);
+        sample.lastRateChangeAt = sample.seenRecords;
+      }
+    } else if (canChangeRate && sample.samplingRatePpm > baseSamplingRatePpm
+        && sample.seenRecords - sample.lastErrorsAt >= RATE_CHANGE_INTERVAL_RECORDS) {
+      sample.samplingRatePpm = Math.max(baseSamplingRatePpm, sample.samplingRatePpm / 2);
+      sample.lastRateChangeAt = sample.seenRecords;
+    }
+
+    final boolean validate;
+    if (sample.seenRecords <= FULLY_VALIDATED_RECORDS_PER_STREAM) {
+      validate = true;
+    } else {
+      sample.samplingCredit += sample.samplingRatePpm;
+      validate = sample.samplingCredit >= ONE_MILLION;
+      if (validate) {
+        sample.samplingCredit -= ONE_MILLION;
+      }
+    }
+    return validate;
+  }
+
+  /**
+   * Sampling state of every stream seen so far.
+   */
+  Map<AirbyteStreamNameNamespacePair, StreamSample> getStreamSamples() {
+    return streamSamples;
+  }
+
+}
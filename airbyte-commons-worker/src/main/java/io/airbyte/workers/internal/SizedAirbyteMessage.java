@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.protocol.models.AirbyteMessage;
+
+/**
+ * An {@link AirbyteMessage} along with the size in bytes of the serialized form it was read from.
+ * <p>
+ * Carrying the size avoids having to serialize the message again to compute it further down the
+ * pipeline.
+ *
+ * @param message the message
+ * @param sizeInBytes size in bytes of the line the message was read from, {@link #UNKNOWN_SIZE} if
+ *        it is not known.
+ */
+public record SizedAirbyteMessage(AirbyteMessage message, long sizeInBytes) {
+
+  public static final long UNKNOWN_SIZE = -1;
+
+  public static SizedAirbyteMessage withUnknownSize(final AirbyteMessage message) {
+    return new SizedAirbyteMessage(message, UNKNOWN_SIZE);
+  }
+
+  public boolean hasKnownSize() {
+    return sizeInBytes > 0;
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writer that serializes airbyte messages to JSON straight into an output stream.
+ * <p>
+ * Messages go through a single {@link JsonGenerator} reused for the lifetime of the writer, so no
+ * intermediate string is built and characters are not re-encoded to bytes. Messages are separated
+ * by a line feed.
+ * <p>
+ * {@link PassthroughAirbyteMessage} are written as the bytes they were read from.
+ */
+public class StreamingAirbyteMessageBufferedWriter implements AirbyteMessageBufferedWriter {
+
+  private static final char MESSAGE_SEPARATOR = '\n';
+
+  protected final JsonGenerator generator;
+  // Passthrough messages are written to the stream directly, the generator output is buffered here
+  // rather than flushed to the process every time.
+  private final OutputStream outputStream;
+
+  public StreamingAirbyteMessageBufferedWriter(final OutputStream outputStream) throws IOException {
+    this.outputStream = new BufferedOutputStream(outputStream);
+    this.generator = Jsons.createGenerator(this.outputStream).disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+  }
+
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    if (message instanceof PassthroughAirbyteMessage passthroughMessage) {
+      writePassthrough(passthroughMessage);
+      return;
+    }
+    Jsons.serialize(message, generator);
+    endMessage();
+  }
+
+  protected void writePassthrough(final PassthroughAirbyteMessage message) throws IOException {
+    // Hand over what the generator buffered so far, to keep the messages in order.
+    generator.flush();
+    outputStream.write(message.getLine());
+    outputStream.write(MESSAGE_SEPARATOR);
+  }
+
+  protected void endMessage() throws IOException {
+    generator.writeRaw(MESSAGE_SEPARATOR);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    generator.flush();
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    generator.close();
+  }
+
+}
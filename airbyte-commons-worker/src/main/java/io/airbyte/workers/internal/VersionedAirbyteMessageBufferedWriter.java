@@ -35,7 +35,7 @@ public class VersionedAirbyteMessageBufferedWriter<T> extends DefaultAirbyteMess
 
   @Override
   public void write(final AirbyteMessage message) throws IOException {
-    final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
+    final T downgradedMessage = migrator.downgrade(toAirbyteMessage(message), configuredAirbyteCatalog);
     writer.write(serializer.serialize(downgradedMessage));
     writer.newLine();
   }
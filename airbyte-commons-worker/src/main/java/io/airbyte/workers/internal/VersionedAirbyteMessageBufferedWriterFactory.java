@@ -4,11 +4,14 @@
 
 package io.airbyte.workers.internal;
 
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.version.Version;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,24 +27,33 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
   private final AirbyteProtocolVersionedMigratorFactory migratorFactory;
   private final Version protocolVersion;
   private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final AirbyteMessageFormat messageFormat;
 
   public VersionedAirbyteMessageBufferedWriterFactory(final AirbyteMessageSerDeProvider serDeProvider,
                                                       final AirbyteProtocolVersionedMigratorFactory migratorFactory,
                                                       final Version protocolVersion,
                                                       final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog) {
+    this(serDeProvider, migratorFactory, protocolVersion, configuredAirbyteCatalog, AirbyteMessageFormat.JSONL);
+  }
+
+  public VersionedAirbyteMessageBufferedWriterFactory(final AirbyteMessageSerDeProvider serDeProvider,
+                                                      final AirbyteProtocolVersionedMigratorFactory migratorFactory,
+                                                      final Version protocolVersion,
+                                                      final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                                      final AirbyteMessageFormat messageFormat) {
     this.serDeProvider = serDeProvider;
     this.migratorFactory = migratorFactory;
     this.protocolVersion = protocolVersion;
     this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.messageFormat = messageFormat;
   }
 
   @Override
   public AirbyteMessageBufferedWriter createWriter(BufferedWriter bufferedWriter) {
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
-    LOGGER.info(
-        "Writing messages to protocol version {}{}",
-        protocolVersion.serialize(),
-        needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+    if (messageFormat.isBinary()) {
+      throw new IllegalStateException("Messages in the " + messageFormat.value() + " format can only be written to an output stream");
+    }
+    logProtocolVersion();
     return new VersionedAirbyteMessageBufferedWriter<>(
         bufferedWriter,
         serDeProvider.getSerializer(protocolVersion).orElseThrow(),
@@ -49,4 +61,36 @@ public class VersionedAirbyteMessageBufferedWriterFactory implements AirbyteMess
         configuredAirbyteCatalog);
   }
 
+  @Override
+  public AirbyteMessageBufferedWriter createWriter(final OutputStream outputStream) throws IOException {
+    logProtocolVersion();
+    if (messageFormat.isBinary()) {
+      LOGGER.info("Writing messages in the {} format", messageFormat.value());
+      return new FramedAirbyteMessageBufferedWriter<>(
+          outputStream,
+          messageFormat,
+          serDeProvider.getSerializer(protocolVersion).orElseThrow(),
+          migratorFactory.getAirbyteMessageMigrator(protocolVersion),
+          configuredAirbyteCatalog);
+    }
+    return new VersionedStreamingAirbyteMessageBufferedWriter<>(
+        outputStream,
+        serDeProvider.getSerializer(protocolVersion).orElseThrow(),
+        migratorFactory.getAirbyteMessageMigrator(protocolVersion),
+        configuredAirbyteCatalog,
+        needsMigration());
+  }
+
+  private boolean needsMigration() {
+    return !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+  }
+
+  private void logProtocolVersion() {
+    final boolean needMigration = needsMigration();
+    LOGGER.info(
+        "Writing messages to protocol version {}{}",
+        protocolVersion.serialize(),
+        needMigration ? ", messages will be downgraded from protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+  }
+
 }
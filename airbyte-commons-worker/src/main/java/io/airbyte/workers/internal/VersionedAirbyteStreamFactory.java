@@ -7,8 +7,13 @@ package io.airbyte.workers.internal;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.airbyte.commons.io.ByteFrameReader;
+import io.airbyte.commons.io.ByteLineReader;
+import io.airbyte.commons.io.IOs;
+import io.airbyte.commons.io.LengthPrefixedFrameReader;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.protocol.AirbyteMessageMigrator;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
@@ -26,16 +31,26 @@ import io.airbyte.metrics.lib.OssMetricsRegistry;
 import io.airbyte.protocol.models.AirbyteLogMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.workers.internal.ParallelMessageDeserializer.LineSource;
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,12 +66,19 @@ import org.slf4j.LoggerFactory;
  *
  * Handles parsing and validation from a specific version of the Airbyte Protocol as well as
  * upgrading messages to the current version.
+ *
+ * When a binary {@link AirbyteMessageFormat} is used, the input stream is split into
+ * length-prefixed frames instead of lines, each frame holding a single message.
  */
 @SuppressWarnings("PMD.MoreThanOneLogger")
 public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(VersionedAirbyteStreamFactory.class);
   private static final double MAX_SIZE_RATIO = 0.8;
+  // Largest binary frame accepted regardless of the available memory, so that a stream which is not
+  // framed fails fast on its first bytes instead of allocating gigabytes.
+  @VisibleForTesting
+  static final long MAX_FRAME_LENGTH = 100L * 1024 * 1024;
   private static final long DEFAULT_MEMORY_LIMIT = Runtime.getRuntime().maxMemory();
   private static final MdcScope.Builder DEFAULT_MDC_SCOPE = MdcScope.DEFAULT_BUILDER;
 
@@ -86,6 +108,9 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
   private Version protocolVersion;
 
   private boolean shouldDetectVersion = false;
+  private int deserializationThreads = 0;
+  private boolean recordPassthrough = false;
+  private AirbyteMessageFormat messageFormat = AirbyteMessageFormat.JSONL;
 
   /**
    * In some cases, we know the stream will never emit messages that need to be migrated. This is
@@ -172,14 +197,55 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
    */
   @Override
   public Stream<AirbyteMessage> create(final BufferedReader bufferedReader) {
+    return createWithSize(bufferedReader).map(SizedAirbyteMessage::message);
+  }
+
+  /**
+   * Create the AirbyteMessage stream, with each message paired with the UTF-8 length of the line it
+   * was read from.
+   */
+  @Override
+  public Stream<SizedAirbyteMessage> createWithSize(final BufferedReader bufferedReader) {
+    if (messageFormat.isBinary()) {
+      throw new IllegalStateException("Messages in the " + messageFormat.value() + " format can only be read from an input stream");
+    }
     detectAndInitialiseMigrators(bufferedReader);
-    final boolean needMigration = !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
+    logProtocolVersion();
+    return addLineReadLogic(bufferedReader);
+  }
+
+  /**
+   * Create the AirbyteMessage stream from the raw bytes of the stream. Lines are framed and parsed
+   * straight from a reusable byte buffer, without being decoded to strings.
+   */
+  @Override
+  public Stream<SizedAirbyteMessage> createWithSize(final InputStream inputStream) {
+    if (shouldDetectVersion && !messageFormat.isBinary()) {
+      // Version detection looks ahead in the stream, which relies on BufferedReader::mark.
+      return createWithSize(IOs.newBufferedReader(inputStream));
+    }
+    logProtocolVersion();
+    if (recordPassthrough && (needsMigration() || messageFormat.isBinary())) {
+      logger.info("Records need to be upgraded or are not JSON, they will not be passed through");
+      recordPassthrough = false;
+    }
+    if (messageFormat.isBinary()) {
+      logger.info("Reading messages in the {} format", messageFormat.value());
+      return addByteFrameReadLogic(new LengthPrefixedFrameReader(inputStream, (int) getMaxFrameLength()));
+    }
+    return addByteFrameReadLogic(new ByteLineReader(inputStream));
+  }
+
+  private void logProtocolVersion() {
+    final boolean needMigration = needsMigration();
     logger.info(
         "Reading messages from protocol version {}{}",
         protocolVersion.serialize(),
         needMigration ? ", messages will be upgraded to protocol version " + migratorFactory.getMostRecentVersion().serialize() : "");
+  }
 
-    return addLineReadLogic(bufferedReader);
+  private boolean needsMigration() {
+    return !protocolVersion.getMajorVersion().equals(migratorFactory.getMostRecentVersion().getMajorVersion());
   }
 
   private void detectAndInitialiseMigrators(BufferedReader bufferedReader) {
@@ -201,32 +267,89 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     }
   }
 
-  private Stream<AirbyteMessage> addLineReadLogic(final BufferedReader bufferedReader) {
-    final var metricClient = MetricClientFactory.getMetricClient();
-    return bufferedReader
-        .lines()
-        .peek(str -> {
-          metricClient.distribution(OssMetricsRegistry.JSON_STRING_LENGTH, str.getBytes(StandardCharsets.UTF_8).length);
-
-          if (exceptionClass.isPresent()) {
-            final long messageSize = str.getBytes(StandardCharsets.UTF_8).length;
-            if (messageSize > maxMemory * MAX_SIZE_RATIO) {
-              try {
-                final String errorMessage = String.format(
-                    "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
-                        + "The sync has been failed to prevent running out of memory.",
-                    DateTime.now(),
-                    humanReadableByteCountSI(maxMemory),
-                    humanReadableByteCountSI(messageSize));
-                throw exceptionClass.get().getConstructor(String.class).newInstance(errorMessage);
-              } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                throw new RuntimeException(e);
-              }
+  private Stream<SizedAirbyteMessage> addLineReadLogic(final BufferedReader bufferedReader) {
+    final Stream<SizedAirbyteMessage> messages;
+    if (deserializationThreads > 1) {
+      messages = parallelStream(LineSource.of(bufferedReader), line -> toSizedAirbyteMessages(line).toList());
+    } else {
+      messages = bufferedReader.lines().flatMap(this::toSizedAirbyteMessages);
+    }
+    // Logs are filtered out in order on the consuming thread so that they keep their position relative
+    // to the other messages.
+    return messages.filter(sizedMessage -> filterLog(sizedMessage.message()));
+  }
+
+  private Stream<SizedAirbyteMessage> addByteFrameReadLogic(final ByteFrameReader frameReader) {
+    final Stream<SizedAirbyteMessage> messages;
+    if (deserializationThreads > 1) {
+      messages = parallelStream(LineSource.of(frameReader), frame -> toSizedAirbyteMessages(frame, 0, frame.length).toList());
+    } else {
+      // The frame is only valid until the next one is read, so it is converted before advancing.
+      messages = StreamSupport.stream(new AbstractSpliterator<Stream<SizedAirbyteMessage>>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super Stream<SizedAirbyteMessage>> action) {
+          try {
+            if (!frameReader.readFrame()) {
+              return false;
             }
+          } catch (final IOException e) {
+            throw new UncheckedIOException(e);
           }
-        })
-        .flatMap(this::toAirbyteMessage)
-        .filter(this::filterLog);
+          action.accept(toSizedAirbyteMessages(frameReader.array(), frameReader.offset(), frameReader.length()).toList().stream());
+          return true;
+        }
+
+      }, false).flatMap(Function.identity());
+    }
+    return messages.filter(sizedMessage -> filterLog(sizedMessage.message()));
+  }
+
+  private <L> Stream<SizedAirbyteMessage> parallelStream(final LineSource<L> lineSource,
+                                                         final Function<L, List<SizedAirbyteMessage>> lineToMessages) {
+    logger.info("Deserializing messages with {} threads", deserializationThreads);
+    final ParallelMessageDeserializer<L> parallelDeserializer = new ParallelMessageDeserializer<>(lineSource, lineToMessages, deserializationThreads);
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parallelDeserializer, Spliterator.ORDERED), false)
+        .onClose(parallelDeserializer::close);
+  }
+
+  private Stream<SizedAirbyteMessage> toSizedAirbyteMessages(final String line) {
+    final long messageSize = line.getBytes(StandardCharsets.UTF_8).length;
+    checkMessageSize(messageSize);
+    return toAirbyteMessage(line).map(message -> new SizedAirbyteMessage(message, messageSize));
+  }
+
+  private Stream<SizedAirbyteMessage> toSizedAirbyteMessages(final byte[] bytes, final int offset, final int length) {
+    checkMessageSize(length);
+    if (recordPassthrough) {
+      final Optional<PassthroughAirbyteMessage> record = PassthroughAirbyteMessage.parseRecord(bytes, offset, length);
+      if (record.isPresent()) {
+        return Stream.of(new SizedAirbyteMessage(record.get(), length));
+      }
+    }
+    return toAirbyteMessage(bytes, offset, length).map(message -> new SizedAirbyteMessage(message, length));
+  }
+
+  private long getMaxFrameLength() {
+    return Math.min(MAX_FRAME_LENGTH, (long) (maxMemory * MAX_SIZE_RATIO));
+  }
+
+  private void checkMessageSize(final long messageSize) {
+    MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.JSON_STRING_LENGTH, messageSize);
+
+    if (exceptionClass.isPresent() && messageSize > maxMemory * MAX_SIZE_RATIO) {
+      try {
+        final String errorMessage = String.format(
+            "Airbyte has received a message at %s UTC which is larger than %s (size: %s). "
+                + "The sync has been failed to prevent running out of memory.",
+            DateTime.now(),
+            humanReadableByteCountSI(maxMemory),
+            humanReadableByteCountSI(messageSize));
+        throw exceptionClass.get().getConstructor(String.class).newInstance(errorMessage);
+      } catch (final InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+        throw new RuntimeException(e);
+      }
+    }
   }
 
   /**
@@ -283,6 +406,35 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     return this;
   }
 
+  /**
+   * Deserialize, validate and migrate messages on a pool of the given number of threads instead of
+   * the thread consuming the stream. Messages are still emitted in the order they were read. A value
+   * lower than 2 disables the pool.
+   */
+  public VersionedAirbyteStreamFactory<T> withDeserializationThreads(final int deserializationThreads) {
+    this.deserializationThreads = deserializationThreads;
+    return this;
+  }
+
+  /**
+   * Read messages in the given format. Binary formats can only be read from an input stream.
+   */
+  public VersionedAirbyteStreamFactory<T> withMessageFormat(final AirbyteMessageFormat messageFormat) {
+    this.messageFormat = messageFormat;
+    return this;
+  }
+
+  /**
+   * Only parse the envelope of records and keep the bytes they were read from, so that they can be
+   * forwarded to the destination as is, see {@link PassthroughAirbyteMessage}. Other messages are
+   * still fully deserialized. This only applies when reading JSON from an input stream in the current
+   * protocol version.
+   */
+  public VersionedAirbyteStreamFactory<T> withRecordPassthrough(final boolean recordPassthrough) {
+    this.recordPassthrough = recordPassthrough;
+    return this;
+  }
+
   protected final void initializeForProtocolVersion(final Version protocolVersion) {
     this.deserializer = (AirbyteMessageDeserializer<AirbyteMessage>) serDeProvider.getDeserializer(protocolVersion).orElseThrow();
     this.migrator = migratorFactory.getAirbyteMessageMigrator(protocolVersion);
@@ -339,13 +491,29 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
    */
   protected Stream<AirbyteMessage> toAirbyteMessage(final String line) {
     // put back the deserializer.
-    Optional<AirbyteMessage> m = deserializer.deserialize(line);
+    return validateAndUpgrade(deserializer.deserialize(line), () -> line);
+  }
+
+  /**
+   * Same as {@link #toAirbyteMessage(String)}, parsing the message from a slice of a UTF-8 encoded
+   * byte array. The line is only decoded to a string if it needs to be logged.
+   */
+  protected Stream<AirbyteMessage> toAirbyteMessage(final byte[] bytes, final int offset, final int length) {
+    if (messageFormat.isBinary()) {
+      return validateAndUpgrade(deserializer.deserialize(bytes, offset, length, messageFormat),
+          () -> String.format("Invalid message of %s bytes in the %s format", length, messageFormat.value()));
+    }
+    return validateAndUpgrade(deserializer.deserialize(bytes, offset, length), () -> new String(bytes, offset, length, StandardCharsets.UTF_8));
+  }
+
+  private Stream<AirbyteMessage> validateAndUpgrade(final Optional<AirbyteMessage> deserialized, final Supplier<String> line) {
+    Optional<AirbyteMessage> m = deserialized;
 
     if (m.isPresent()) {
       m = BasicAirbyteMessageValidator.validate(m.get());
 
       if (m.isEmpty()) {
-        logger.error("Validation failed: {}", Jsons.serialize(line));
+        logger.error("Validation failed: {}", Jsons.serialize(line.get()));
         return m.stream();
       }
 
@@ -361,7 +529,7 @@ public class VersionedAirbyteStreamFactory<T> implements AirbyteStreamFactory {
     //
     // When Connector Ops rectifies this, we can remove this.
     try (final var mdcScope = containerLogMdcBuilder.build()) {
-      logger.info(line);
+      logger.info(line.get());
     }
     return m.stream();
   }
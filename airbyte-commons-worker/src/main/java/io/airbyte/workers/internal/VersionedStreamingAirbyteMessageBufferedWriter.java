@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import io.airbyte.commons.protocol.AirbyteMessageVersionedMigrator;
+import io.airbyte.commons.protocol.serde.AirbyteMessageSerializer;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Write protocol objects in a specified version straight into an output stream.
+ *
+ * @param <T> type of protocol object.
+ */
+public class VersionedStreamingAirbyteMessageBufferedWriter<T> extends StreamingAirbyteMessageBufferedWriter {
+
+  private final AirbyteMessageSerializer<T> serializer;
+  private final AirbyteMessageVersionedMigrator<T> migrator;
+  private final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog;
+  private final boolean needsMigration;
+
+  /**
+   * Create a writer.
+   *
+   * @param needsMigration true if messages are downgraded to an older protocol version, in which case
+   *        passthrough records can't be written as is.
+   */
+  public VersionedStreamingAirbyteMessageBufferedWriter(final OutputStream outputStream,
+                                                        final AirbyteMessageSerializer<T> serializer,
+                                                        final AirbyteMessageVersionedMigrator<T> migrator,
+                                                        final Optional<ConfiguredAirbyteCatalog> configuredAirbyteCatalog,
+                                                        final boolean needsMigration)
+      throws IOException {
+    super(outputStream);
+    this.serializer = serializer;
+    this.migrator = migrator;
+    this.configuredAirbyteCatalog = configuredAirbyteCatalog;
+    this.needsMigration = needsMigration;
+  }
+
+  @Override
+  public void write(final AirbyteMessage message) throws IOException {
+    if (message instanceof PassthroughAirbyteMessage passthroughMessage) {
+      if (needsMigration) {
+        // The record has to be deserialized to go through the migration.
+        write(passthroughMessage.toAirbyteMessage());
+      } else {
+        writePassthrough(passthroughMessage);
+      }
+      return;
+    }
+    final T downgradedMessage = migrator.downgrade(message, configuredAirbyteCatalog);
+    serializer.serialize(downgradedMessage, generator);
+    endMessage();
+  }
+
+}
@@ -6,7 +6,6 @@ package io.airbyte.workers.internal.book_keeping;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.airbyte.commons.features.FeatureFlags;
-import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.FailureReason;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
 import io.airbyte.protocol.models.AirbyteMessage;
@@ -14,10 +13,9 @@ import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
 import io.airbyte.protocol.models.AirbyteTraceMessage;
 import io.airbyte.workers.helper.FailureHelper;
+import io.airbyte.workers.internal.ConnectorMessageLogger;
 import io.airbyte.workers.internal.state_aggregator.DefaultStateAggregator;
 import io.airbyte.workers.internal.state_aggregator.StateAggregator;
-import java.util.ArrayList;
-import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -31,11 +29,13 @@ import lombok.extern.slf4j.Slf4j;
 public class AirbyteMessageTracker implements MessageTracker {
 
   private final SyncStatsTracker syncStatsTracker;
-  private final List<AirbyteTraceMessage> destinationErrorTraceMessages;
-  private final List<AirbyteTraceMessage> sourceErrorTraceMessages;
+  private final ErrorTraceTracker destinationErrorTraces;
+  private final ErrorTraceTracker sourceErrorTraces;
   private final StateAggregator stateAggregator;
   private final FeatureFlags featureFlags;
-  private final boolean featureFlagLogConnectorMsgs;
+  // null unless connector messages are logged
+  private final ConnectorMessageLogger sourceMessageLogger;
+  private final ConnectorMessageLogger destinationMessageLogger;
 
   public AirbyteMessageTracker(final FeatureFlags featureFlags) {
     this(new DefaultSyncStatsTracker(), featureFlags);
@@ -47,11 +47,12 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   protected AirbyteMessageTracker(final StateAggregator stateAggregator, final SyncStatsTracker syncStatsTracker, final FeatureFlags featureFlags) {
     this.syncStatsTracker = syncStatsTracker;
-    this.destinationErrorTraceMessages = new ArrayList<>();
-    this.sourceErrorTraceMessages = new ArrayList<>();
+    this.destinationErrorTraces = new ErrorTraceTracker();
+    this.sourceErrorTraces = new ErrorTraceTracker();
     this.stateAggregator = stateAggregator;
     this.featureFlags = featureFlags;
-    this.featureFlagLogConnectorMsgs = featureFlags.logConnectorMessages();
+    this.sourceMessageLogger = featureFlags.logConnectorMessages() ? new ConnectorMessageLogger("source") : null;
+    this.destinationMessageLogger = featureFlags.logConnectorMessages() ? new ConnectorMessageLogger("destination") : null;
   }
 
   @VisibleForTesting
@@ -63,12 +64,14 @@ public class AirbyteMessageTracker implements MessageTracker {
   }
 
   @Override
-  public void acceptFromSource(final AirbyteMessage message) {
-    logMessageAsJSON("source", message);
+  public void acceptFromSource(final AirbyteMessage message, final long sizeInBytes) {
+    if (sourceMessageLogger != null) {
+      sourceMessageLogger.log(message);
+    }
 
     switch (message.getType()) {
       case TRACE -> handleEmittedTrace(message.getTrace(), AirbyteMessageOrigin.SOURCE);
-      case RECORD -> handleSourceEmittedRecord(message.getRecord());
+      case RECORD -> handleSourceEmittedRecord(message.getRecord(), sizeInBytes);
       case STATE -> handleSourceEmittedState(message.getState());
       case CONTROL -> log.debug("Control message not currently tracked.");
       default -> log.warn("Invalid message type for message: {}", message);
@@ -77,7 +80,9 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   @Override
   public void acceptFromDestination(final AirbyteMessage message) {
-    logMessageAsJSON("destination", message);
+    if (destinationMessageLogger != null) {
+      destinationMessageLogger.log(message);
+    }
 
     switch (message.getType()) {
       case TRACE -> handleEmittedTrace(message.getTrace(), AirbyteMessageOrigin.DESTINATION);
@@ -87,13 +92,29 @@ public class AirbyteMessageTracker implements MessageTracker {
     }
   }
 
+  @Override
+  public void endOfReplication() {
+    if (sourceMessageLogger != null) {
+      sourceMessageLogger.close();
+    }
+    if (destinationMessageLogger != null) {
+      destinationMessageLogger.close();
+    }
+  }
+
   /**
    * When a source emits a record, increment the running record count, the total record count, and the
    * total byte count for the record's stream.
+   * <p>
+   * The byte count of a record is the size of its serialized data. It is only measured when it isn't
+   * already known.
    */
-  private void handleSourceEmittedRecord(final AirbyteRecordMessage recordMessage) {
-
-    syncStatsTracker.updateStats(recordMessage);
+  private void handleSourceEmittedRecord(final AirbyteRecordMessage recordMessage, final long sizeInBytes) {
+    if (sizeInBytes > 0) {
+      syncStatsTracker.updateStats(recordMessage, sizeInBytes);
+    } else {
+      syncStatsTracker.updateStats(recordMessage);
+    }
   }
 
   /**
@@ -118,7 +139,7 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   /**
    * When a connector emits a trace message, check the type and call the correct function. If it is an
-   * error trace message, add it to the list of errorTraceMessages for the connector type
+   * error trace message, add it to the error traces of the connector type
    */
   private void handleEmittedTrace(final AirbyteTraceMessage traceMessage, final AirbyteMessageOrigin airbyteMessageOrigin) {
     switch (traceMessage.getType()) {
@@ -131,9 +152,9 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   private void handleEmittedErrorTrace(final AirbyteTraceMessage errorTraceMessage, final AirbyteMessageOrigin airbyteMessageOrigin) {
     if (airbyteMessageOrigin.equals(AirbyteMessageOrigin.DESTINATION)) {
-      destinationErrorTraceMessages.add(errorTraceMessage);
+      destinationErrorTraces.add(errorTraceMessage);
     } else if (airbyteMessageOrigin.equals(AirbyteMessageOrigin.SOURCE)) {
-      sourceErrorTraceMessages.add(errorTraceMessage);
+      sourceErrorTraces.add(errorTraceMessage);
     }
   }
 
@@ -152,20 +173,20 @@ public class AirbyteMessageTracker implements MessageTracker {
 
   @Override
   public AirbyteTraceMessage getFirstSourceErrorTraceMessage() {
-    if (!sourceErrorTraceMessages.isEmpty()) {
-      return sourceErrorTraceMessages.get(0);
-    } else {
-      return null;
-    }
+    return sourceErrorTraces.getFirst();
   }
 
   @Override
   public AirbyteTraceMessage getFirstDestinationErrorTraceMessage() {
-    if (!destinationErrorTraceMessages.isEmpty()) {
-      return destinationErrorTraceMessages.get(0);
-    } else {
-      return null;
-    }
+    return destinationErrorTraces.getFirst();
+  }
+
+  public ErrorTraceTracker getSourceErrorTraces() {
+    return sourceErrorTraces;
+  }
+
+  public ErrorTraceTracker getDestinationErrorTraces() {
+    return destinationErrorTraces;
   }
 
   @Override
@@ -176,6 +197,10 @@ public class AirbyteMessageTracker implements MessageTracker {
     if (sourceMessage == null && destinationMessage == null) {
       return null;
     }
+    if (sourceErrorTraces.getCount() > 1 || destinationErrorTraces.getCount() > 1) {
+      log.info("Source emitted {} error traces and destination emitted {} error traces, only the first one of each is considered",
+          sourceErrorTraces.getCount(), destinationErrorTraces.getCount());
+    }
 
     if (destinationMessage == null) {
       return FailureHelper.sourceFailure(sourceMessage, jobId, attempt);
@@ -198,12 +223,4 @@ public class AirbyteMessageTracker implements MessageTracker {
     return syncStatsTracker;
   }
 
-  private void logMessageAsJSON(final String caller, final AirbyteMessage message) {
-    if (!featureFlagLogConnectorMsgs) {
-      return;
-    }
-
-    log.info(caller + " message | " + Jsons.serialize(message));
-  }
-
 }
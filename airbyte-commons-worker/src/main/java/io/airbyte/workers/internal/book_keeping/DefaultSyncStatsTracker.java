@@ -88,7 +88,7 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
    * Update the stats count with data from recordMessage.
    */
   @Override
-  public void updateStats(final AirbyteRecordMessage recordMessage) {
+  public void updateStats(final AirbyteRecordMessage recordMessage, final long sizeInBytes) {
     if (stateMetricsTracker.getFirstRecordReceivedAt() == null) {
       stateMetricsTracker.setFirstRecordReceivedAt(LocalDateTime.now());
     }
@@ -106,9 +106,8 @@ public class DefaultSyncStatsTracker implements SyncStatsTracker {
     final var currStats = nameNamespacePairToStreamStats.getOrDefault(nameNamespace, new StreamStats());
     currStats.emittedRecords++;
 
-    final int estimatedNumBytes = Jsons.getEstimatedByteSize(recordMessage.getData());
-    currStats.emittedBytes += estimatedNumBytes;
-    currentRunningCount.bytesCount += estimatedNumBytes;
+    currStats.emittedBytes += sizeInBytes;
+    currentRunningCount.bytesCount += sizeInBytes;
 
     nameNamespacePairToStreamStats.put(nameNamespace, currStats);
   }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import io.airbyte.protocol.models.AirbyteTraceMessage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps track of the error trace messages emitted by a connector.
+ * <p>
+ * Only the first and the last messages are kept, the ones in between are only counted. A
+ * misbehaving connector may emit an error trace for every record, which must not grow the memory of
+ * the sync.
+ */
+public class ErrorTraceTracker {
+
+  public static final int DEFAULT_MAX_KEPT_MESSAGES = 10;
+
+  private final int maxKeptMessages;
+  private final List<AirbyteTraceMessage> firstMessages;
+  private final Deque<AirbyteTraceMessage> lastMessages;
+  private long count;
+
+  public ErrorTraceTracker() {
+    this(DEFAULT_MAX_KEPT_MESSAGES);
+  }
+
+  /**
+   * Create a tracker.
+   *
+   * @param maxKeptMessages number of messages kept at the beginning and at the end
+   */
+  public ErrorTraceTracker(final int maxKeptMessages) {
+    if (maxKeptMessages <= 0) {
+      throw new IllegalArgumentException("maxKeptMessages must be positive, got " + maxKeptMessages);
+    }
+    this.maxKeptMessages = maxKeptMessages;
+    this.firstMessages = new ArrayList<>();
+    this.lastMessages = new ArrayDeque<>();
+    this.count = 0;
+  }
+
+  public void add(final AirbyteTraceMessage errorTraceMessage) {
+    count++;
+    if (firstMessages.size() < maxKeptMessages) {
+      firstMessages.add(errorTraceMessage);
+      return;
+    }
+    if (lastMessages.size() == maxKeptMessages) {
+      lastMessages.removeFirst();
+    }
+    lastMessages.addLast(errorTraceMessage);
+  }
+
+  /**
+   * Returns the first error trace message, or null if there was none.
+   */
+  public AirbyteTraceMessage getFirst() {
+    return firstMessages.isEmpty() ? null : firstMessages.get(0);
+  }
+
+  /**
+   * Returns the first error trace messages, in the order they were emitted.
+   */
+  public List<AirbyteTraceMessage> getFirstMessages() {
+    return Collections.unmodifiableList(firstMessages);
+  }
+
+  /**
+   * Returns the last error trace messages that are not part of the first ones, in the order they were
+   * emitted.
+   */
+  public List<AirbyteTraceMessage> getLastMessages() {
+    return List.copyOf(lastMessages);
+  }
+
+  /**
+   * Returns the number of error trace messages, including the ones that were not kept.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the number of error trace messages that were only counted.
+   */
+  public long getDroppedCount() {
+    return count - firstMessages.size() - lastMessages.size();
+  }
+
+}
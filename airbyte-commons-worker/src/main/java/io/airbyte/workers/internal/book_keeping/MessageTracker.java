@@ -7,6 +7,7 @@ package io.airbyte.workers.internal.book_keeping;
 import io.airbyte.config.FailureReason;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteTraceMessage;
+import io.airbyte.workers.internal.SizedAirbyteMessage;
 
 /**
  * Interface to handle extracting metadata from the stream of data flowing from a Source to a
@@ -20,7 +21,18 @@ public interface MessageTracker {
    *
    * @param message message to derive metadata from.
    */
-  void acceptFromSource(AirbyteMessage message);
+  default void acceptFromSource(final AirbyteMessage message) {
+    acceptFromSource(message, SizedAirbyteMessage.UNKNOWN_SIZE);
+  }
+
+  /**
+   * Same as {@link #acceptFromSource(AirbyteMessage)} when the size of the data of the record is
+   * already known, which avoids estimating it again.
+   *
+   * @param message message to derive metadata from.
+   * @param sizeInBytes size in bytes of the serialized data of the record, non-positive if unknown.
+   */
+  void acceptFromSource(AirbyteMessage message, long sizeInBytes);
 
   /**
    * Accepts an AirbyteMessage emitted from a destination and tracks any metadata about it that is
@@ -41,4 +53,9 @@ public interface MessageTracker {
    */
   SyncStatsTracker getSyncStatsTracker();
 
+  /**
+   * Called once no more messages are accepted, to flush what is still buffered, e.g. logs.
+   */
+  default void endOfReplication() {}
+
 }
@@ -39,6 +39,9 @@ public class ParallelStreamStatsTracker implements SyncStatsTracker {
   private final SyncStatsCounters syncStatsCounters;
   private Optional<Type> expectedEstimateType;
   private volatile boolean hasEstimatesErrors;
+  // Records usually come in long runs from the same stream. Remembering the tracker of the last
+  // record avoids building a key and looking it up for every record.
+  private volatile StreamStatsTracker lastRecordStreamTracker;
 
   public ParallelStreamStatsTracker(final MetricClient metricClient) {
     this.metricClient = metricClient;
@@ -49,10 +52,13 @@ public class ParallelStreamStatsTracker implements SyncStatsTracker {
   }
 
   @Override
-  public void updateStats(final AirbyteRecordMessage recordMessage) {
-    final AirbyteStreamNameNamespacePair nameNamespacePair = getNameNamespacePair(recordMessage);
-    final StreamStatsTracker streamStatsTracker = getOrCreateStreamStatsTracker(nameNamespacePair);
-    streamStatsTracker.trackRecord(recordMessage);
+  public void updateStats(final AirbyteRecordMessage recordMessage, final long sizeInBytes) {
+    StreamStatsTracker streamStatsTracker = lastRecordStreamTracker;
+    if (streamStatsTracker == null || !streamStatsTracker.isTrackerFor(recordMessage.getStream(), recordMessage.getNamespace())) {
+      streamStatsTracker = getOrCreateStreamStatsTracker(getNameNamespacePair(recordMessage));
+      lastRecordStreamTracker = streamStatsTracker;
+    }
+    streamStatsTracker.trackRecord(recordMessage, sizeInBytes);
   }
 
   @Override
@@ -162,10 +168,10 @@ public class ParallelStreamStatsTracker implements SyncStatsTracker {
           .withStreamName(streamTracker.getNameNamespacePair().getName())
           .withStreamNamespace(streamTracker.getNameNamespacePair().getNamespace())
           .withStats(new SyncStats()
-              .withBytesCommitted(hasReplicationCompleted ? streamStats.emittedBytesCount().get() : streamStats.committedBytesCount().get())
-              .withRecordsCommitted(hasReplicationCompleted ? streamStats.emittedRecordsCount().get() : streamStats.committedRecordsCount().get())
-              .withBytesEmitted(streamStats.emittedBytesCount().get())
-              .withRecordsEmitted(streamStats.emittedRecordsCount().get())
+              .withBytesCommitted(hasReplicationCompleted ? streamStats.emittedBytesCount().sum() : streamStats.committedBytesCount().get())
+              .withRecordsCommitted(hasReplicationCompleted ? streamStats.emittedRecordsCount().sum() : streamStats.committedRecordsCount().get())
+              .withBytesEmitted(streamStats.emittedBytesCount().sum())
+              .withRecordsEmitted(streamStats.emittedRecordsCount().sum())
               .withEstimatedBytes(!hasEstimatesErrors ? streamStats.estimatedBytesCount().get() : null)
               .withEstimatedRecords(!hasEstimatesErrors ? streamStats.estimatedRecordsCount().get() : null)));
     }
@@ -235,7 +241,7 @@ public class ParallelStreamStatsTracker implements SyncStatsTracker {
 
   @Override
   public Map<AirbyteStreamNameNamespacePair, Long> getStreamToEmittedRecords() {
-    return toMap(s -> s.getStreamStats().emittedRecordsCount().get()).get();
+    return toMap(s -> s.getStreamStats().emittedRecordsCount().sum()).get();
   }
 
   @Override
@@ -245,7 +251,7 @@ public class ParallelStreamStatsTracker implements SyncStatsTracker {
 
   @Override
   public Map<AirbyteStreamNameNamespacePair, Long> getStreamToEmittedBytes() {
-    return toMap(s -> s.getStreamStats().emittedBytesCount().get()).get();
+    return toMap(s -> s.getStreamStats().emittedBytesCount().sum()).get();
   }
 
   @Override
@@ -18,6 +18,7 @@ import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -25,6 +26,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -44,10 +46,12 @@ public class StreamStatsTracker {
   /**
    * Record for tracking stats of a given stream, this is also how stats are returned to the outside.
    * <p>
-   * All the counters are implemented as AtomicLong to avoid race conditions on updates.
+   * All the counters are thread safe to avoid race conditions on updates. The counters updated for
+   * every record are LongAdder, they are written far more often than they are read and may be
+   * updated from several threads.
    */
-  public record StreamStatsCounters(AtomicLong emittedRecordsCount,
-                                    AtomicLong emittedBytesCount,
+  public record StreamStatsCounters(LongAdder emittedRecordsCount,
+                                    LongAdder emittedBytesCount,
                                     AtomicLong committedRecordsCount,
                                     AtomicLong committedBytesCount,
                                     AtomicLong estimatedRecordsCount,
@@ -61,7 +65,7 @@ public class StreamStatsTracker {
                                     AtomicBoolean unreliableStateOperations) {
 
     public StreamStatsCounters() {
-      this(new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(),
+      this(new LongAdder(), new LongAdder(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(), new AtomicLong(),
           new AtomicLong(), new LongAccumulator(Long::max, 0), new AtomicDouble(), new LongAccumulator(Long::max, 0), new AtomicDouble(),
           new AtomicBoolean(false));
     }
@@ -75,10 +79,10 @@ public class StreamStatsTracker {
    * destination yet. Those stats are "emitted". They will eventually add up to the committed stats
    * once the state is acked by the destination.
    */
-  private record EmittedStatsCounters(AtomicLong emittedRecordsCount, AtomicLong emittedBytesCount) {
+  private record EmittedStatsCounters(LongAdder emittedRecordsCount, LongAdder emittedBytesCount) {
 
     public EmittedStatsCounters() {
-      this(new AtomicLong(0L), new AtomicLong(0L));
+      this(new LongAdder(), new LongAdder());
     }
 
   }
@@ -135,7 +139,13 @@ public class StreamStatsTracker {
    * avoid having to traverse the map to get the global count.
    */
   public void trackRecord(final AirbyteRecordMessage recordMessage) {
-    final int estimatedBytesSize = Jsons.getEstimatedByteSize(recordMessage.getData());
+    trackRecord(recordMessage, Jsons.getEstimatedByteSize(recordMessage.getData()));
+  }
+
+  /**
+   * Bookkeeping for when a record message is read, when its size is already known.
+   */
+  public void trackRecord(final AirbyteRecordMessage recordMessage, final long estimatedBytesSize) {
 
     // Update the current emitted stats
     // We do a local copy of the reference to emittedStats to ensure all the stats are
@@ -144,12 +154,12 @@ public class StreamStatsTracker {
     // ReadWriteLock where trackRecord would acquire the read and trackStateFromSource would
     // acquire the write.
     final EmittedStatsCounters emittedStatsToUpdate = emittedStats;
-    emittedStatsToUpdate.emittedRecordsCount.incrementAndGet();
-    emittedStatsToUpdate.emittedBytesCount.addAndGet(estimatedBytesSize);
+    emittedStatsToUpdate.emittedRecordsCount.increment();
+    emittedStatsToUpdate.emittedBytesCount.add(estimatedBytesSize);
 
     // Update the global stream stats
-    streamStats.emittedRecordsCount.incrementAndGet();
-    streamStats.emittedBytesCount.addAndGet(estimatedBytesSize);
+    streamStats.emittedRecordsCount.increment();
+    streamStats.emittedBytesCount.add(estimatedBytesSize);
   }
 
   /**
@@ -240,8 +250,8 @@ public class StreamStatsTracker {
       stateHashes.remove(stagedStats.stateHash);
 
       // Increment committed stats as we are un-staging stats
-      streamStats.committedBytesCount.addAndGet(stagedStats.emittedStatsCounters.emittedBytesCount.get());
-      streamStats.committedRecordsCount.addAndGet(stagedStats.emittedStatsCounters.emittedRecordsCount.get());
+      streamStats.committedBytesCount.addAndGet(stagedStats.emittedStatsCounters.emittedBytesCount.sum());
+      streamStats.committedRecordsCount.addAndGet(stagedStats.emittedStatsCounters.emittedRecordsCount.sum());
 
       if (stagedStats.stateHash == stateHash) {
         break;
@@ -264,6 +274,14 @@ public class StreamStatsTracker {
     streamStats.estimatedBytesCount.set(estimateMessage.getByteEstimate());
   }
 
+  /**
+   * Returns true if this tracker is the one of the given stream. Unlike a lookup by
+   * AirbyteStreamNameNamespacePair, this does not require building a key.
+   */
+  public boolean isTrackerFor(final String name, final String namespace) {
+    return Objects.equals(nameNamespacePair.getName(), name) && Objects.equals(nameNamespacePair.getNamespace(), namespace);
+  }
+
   public AirbyteStreamNameNamespacePair getNameNamespacePair() {
     return nameNamespacePair;
   }
@@ -4,6 +4,7 @@
 
 package io.airbyte.workers.internal.book_keeping;
 
+import io.airbyte.commons.json.Jsons;
 import io.airbyte.protocol.models.AirbyteEstimateTraceMessage;
 import io.airbyte.protocol.models.AirbyteRecordMessage;
 import io.airbyte.protocol.models.AirbyteStateMessage;
@@ -19,7 +20,14 @@ public interface SyncStatsTracker {
   /**
    * Update the stats count with data from recordMessage.
    */
-  void updateStats(final AirbyteRecordMessage recordMessage);
+  default void updateStats(final AirbyteRecordMessage recordMessage) {
+    updateStats(recordMessage, Jsons.getEstimatedByteSize(recordMessage.getData()));
+  }
+
+  /**
+   * Update the stats count with data from recordMessage, counting sizeInBytes bytes for it.
+   */
+  void updateStats(final AirbyteRecordMessage recordMessage, final long sizeInBytes);
 
   /**
    * There are several assumptions here:
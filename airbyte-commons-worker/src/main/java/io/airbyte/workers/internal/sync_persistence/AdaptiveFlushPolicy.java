@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.sync_persistence;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides when {@link SyncPersistenceImpl} flushes states.
+ * <p>
+ * Flushes are attempted every period of the flush schedule. When a flush fails or the API takes
+ * longer than {@link #slowFlushThresholdMillis} to respond, the policy backs off: it skips an
+ * exponentially growing number of periods, plus a random jitter so that syncs hitting the same
+ * struggling server do not retry in lockstep. The first fast successful flush resets the backoff.
+ * <p>
+ * When states of too many streams are waiting, a flush can happen before the end of the period,
+ * unless the policy is backing off.
+ * <p>
+ * {@link #shouldFlushEarly(int)} is called from the replication thread, the other methods from the
+ * flush thread.
+ */
+class AdaptiveFlushPolicy {
+
+  static final long DEFAULT_SLOW_FLUSH_THRESHOLD_MILLIS = 10_000;
+
+  private final int maxBackoffExponent;
+  private final int maxPendingStreams;
+  private final long slowFlushThresholdMillis;
+
+  private int backoffExponent = 0;
+  private volatile int periodsToSkip = 0;
+
+  /**
+   * Create a flush policy.
+   *
+   * @param maxBackoffExponent at most 2^maxBackoffExponent - 1 periods are skipped when backing off,
+   *        0 disables the backoff
+   * @param maxPendingStreams number of streams with states waiting that triggers an early flush
+   * @param slowFlushThresholdMillis duration of a state API call above which the policy backs off
+   */
+  AdaptiveFlushPolicy(final int maxBackoffExponent, final int maxPendingStreams, final long slowFlushThresholdMillis) {
+    this.maxBackoffExponent = maxBackoffExponent;
+    this.maxPendingStreams = maxPendingStreams;
+    this.slowFlushThresholdMillis = slowFlushThresholdMillis;
+  }
+
+  /**
+   * Policy flushing at every period, regardless of the API health and of the amount of pending
+   * states.
+   */
+  static AdaptiveFlushPolicy fixedPeriod() {
+    return new AdaptiveFlushPolicy(0, Integer.MAX_VALUE, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns true if the flush scheduled for the current period should happen.
+   */
+  boolean shouldFlushOnSchedule() {
+    if (periodsToSkip > 0) {
+      periodsToSkip--;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if the states pending should be flushed without waiting for the end of the period.
+   */
+  boolean shouldFlushEarly(final int pendingStreams) {
+    return pendingStreams >= maxPendingStreams && periodsToSkip == 0;
+  }
+
+  boolean isBackingOff() {
+    return periodsToSkip > 0;
+  }
+
+  void onFlushSucceeded(final long durationMillis) {
+    if (durationMillis > slowFlushThresholdMillis) {
+      backOff();
+    } else {
+      backoffExponent = 0;
+      periodsToSkip = 0;
+    }
+  }
+
+  void onFlushFailed() {
+    backOff();
+  }
+
+  private void backOff() {
+    if (maxBackoffExponent == 0) {
+      return;
+    }
+    backoffExponent = Math.min(backoffExponent + 1, maxBackoffExponent);
+    final int periods = (1 << backoffExponent) - 1;
+    periodsToSkip = periods + ThreadLocalRandom.current().nextInt(periods / 4 + 1);
+  }
+
+}
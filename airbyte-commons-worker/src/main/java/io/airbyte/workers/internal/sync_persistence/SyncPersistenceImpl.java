@@ -46,6 +46,7 @@ import io.micronaut.context.annotation.Prototype;
 import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Creator;
 import jakarta.inject.Named;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -54,6 +55,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -62,6 +64,15 @@ import lombok.extern.slf4j.Slf4j;
  * Persistence operations are delegated to an API and batched with a regular interval. Buffering is
  * handled in memory.
  * <p>
+ * {@link #persist(UUID, AirbyteStateMessage)} is called from the replication read loop and does not
+ * block on the API. States are handed off to the flush thread through a map that only keeps the
+ * latest state of each stream, which bounds it by the number of streams. The flush thread ingests
+ * them in the state aggregator before every flush.
+ * <p>
+ * When to flush is decided by an {@link AdaptiveFlushPolicy}, which backs off when the API is slow
+ * or failing and flushes early when states of many streams are pending. States and stats can be
+ * saved in a single request to halve the number of calls to the API.
+ * <p>
  * This implementation is meant to work for a single sync at time. Using it with data from different
  * connections will end up mixing the data. Given the scope, it is annotated as `@Prototype` which
  * tells micronaut to re-create a fresh instance everytime the SyncPersistence is requested.
@@ -76,6 +87,16 @@ public class SyncPersistenceImpl implements SyncPersistence {
 
   final long runImmediately = 0;
   final long flushTerminationTimeoutInSeconds = 60;
+  private static final long NO_PENDING_STATE = Long.MAX_VALUE;
+
+  /**
+   * State handed off by the replication thread.
+   *
+   * @param state the most recent state of its stream
+   * @param receivedAt time in millis at which the oldest state not yet flushed for the stream was
+   *        received, used to measure the lag until states are persisted
+   */
+  private record PendingState(AirbyteStateMessage state, long receivedAt) {}
 
   private UUID connectionId;
   private Long jobId;
@@ -89,13 +110,22 @@ public class SyncPersistenceImpl implements SyncPersistence {
   private SaveStatsRequestBody statsToPersist;
   private boolean isReceivingStats;
 
+  // Guarded by itself, this is the only state shared between the replication and the flush threads
+  private final Map<Object, PendingState> pendingStates = new LinkedHashMap<>();
+  private final AtomicBoolean flushStartRequested = new AtomicBoolean(false);
+
   private StateAggregator stateBuffer;
   private StateAggregator stateToFlush;
+  private long stateBufferReceivedAt = NO_PENDING_STATE;
+  private long stateToFlushReceivedAt = NO_PENDING_STATE;
   private final ScheduledExecutorService stateFlushExecutorService;
-  private ScheduledFuture<?> stateFlushFuture;
+  private volatile ScheduledFuture<?> stateFlushFuture;
+  private final AdaptiveFlushPolicy flushPolicy;
+  private final AtomicBoolean earlyFlushRequested = new AtomicBoolean(false);
+  private final boolean mergeStateAndStats;
   private final Optional<RetryWithJitterConfig> retryWithJitterConfig;
 
-  private boolean onlyFlushAtTheEnd;
+  private volatile boolean onlyFlushAtTheEnd;
   private final long stateFlushPeriodInSeconds;
 
   @Creator
@@ -103,9 +133,14 @@ public class SyncPersistenceImpl implements SyncPersistence {
                              final AttemptApi attemptApi,
                              final StateAggregatorFactory stateAggregatorFactory,
                              @Named("syncPersistenceExecutorService") final ScheduledExecutorService scheduledExecutorService,
-                             @Value("${airbyte.worker.replication.persistence-flush-period-sec}") final long stateFlushPeriodInSeconds) {
+                             @Value("${airbyte.worker.replication.persistence-flush-period-sec}") final long stateFlushPeriodInSeconds,
+                             @Value("${airbyte.worker.replication.persistence-flush-max-backoff-exponent:4}") final int maxBackoffExponent,
+                             @Value("${airbyte.worker.replication.persistence-flush-max-pending-streams:1000}") final int maxPendingStreams,
+                             @Value("${airbyte.worker.replication.persistence-merge-state-and-stats:false}") final boolean mergeStateAndStats) {
     this(stateApi, attemptApi, stateAggregatorFactory, new DefaultSyncStatsTracker(), scheduledExecutorService, stateFlushPeriodInSeconds,
-        Optional.empty());
+        Optional.empty(),
+        new AdaptiveFlushPolicy(maxBackoffExponent, maxPendingStreams, AdaptiveFlushPolicy.DEFAULT_SLOW_FLUSH_THRESHOLD_MILLIS),
+        mergeStateAndStats);
   }
 
   @VisibleForTesting
@@ -116,6 +151,20 @@ public class SyncPersistenceImpl implements SyncPersistence {
                       final ScheduledExecutorService scheduledExecutorService,
                       final long stateFlushPeriodInSeconds,
                       final Optional<RetryWithJitterConfig> retryWithJitterConfig) {
+    this(stateApi, attemptApi, stateAggregatorFactory, syncStatsTracker, scheduledExecutorService, stateFlushPeriodInSeconds,
+        retryWithJitterConfig, AdaptiveFlushPolicy.fixedPeriod(), false);
+  }
+
+  @VisibleForTesting
+  SyncPersistenceImpl(final StateApi stateApi,
+                      final AttemptApi attemptApi,
+                      final StateAggregatorFactory stateAggregatorFactory,
+                      final SyncStatsTracker syncStatsTracker,
+                      final ScheduledExecutorService scheduledExecutorService,
+                      final long stateFlushPeriodInSeconds,
+                      final Optional<RetryWithJitterConfig> retryWithJitterConfig,
+                      final AdaptiveFlushPolicy flushPolicy,
+                      final boolean mergeStateAndStats) {
     this.stateApi = stateApi;
     this.attemptApi = attemptApi;
     this.stateAggregatorFactory = stateAggregatorFactory;
@@ -126,6 +175,8 @@ public class SyncPersistenceImpl implements SyncPersistence {
     this.onlyFlushAtTheEnd = false;
     this.isReceivingStats = false;
     this.retryWithJitterConfig = retryWithJitterConfig;
+    this.flushPolicy = flushPolicy;
+    this.mergeStateAndStats = mergeStateAndStats;
   }
 
   @Override
@@ -157,15 +208,57 @@ public class SyncPersistenceImpl implements SyncPersistence {
     }
 
     MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_BUFFERING, 1);
-    stateBuffer.ingest(stateMessage);
-    startBackgroundFlushStateTask(connectionId, stateMessage);
+    final int pendingStreams = handOff(stateMessage);
+
+    // Checking the current state requires an API call, it is done by the flush thread
+    if (flushStartRequested.compareAndSet(false, true)) {
+      stateFlushExecutorService.execute(() -> startBackgroundFlushStateTask(connectionId, stateMessage));
+    } else if (stateFlushFuture != null && flushPolicy.shouldFlushEarly(pendingStreams) && earlyFlushRequested.compareAndSet(false, true)) {
+      stateFlushExecutorService.execute(this::flushEarly);
+    }
   }
 
-  private void startBackgroundFlushStateTask(final UUID connectionId, final AirbyteStateMessage stateMessage) {
-    if (stateFlushFuture != null || onlyFlushAtTheEnd) {
-      return;
+  /**
+   * Hand off a state to the flush thread.
+   *
+   * @return the number of streams with pending states
+   */
+  private int handOff(final AirbyteStateMessage stateMessage) {
+    final Object key = stateMessage.getType() == AirbyteStateType.STREAM && stateMessage.getStream() != null
+        ? stateMessage.getStream().getStreamDescriptor()
+        : stateMessage.getType();
+    final long now = System.currentTimeMillis();
+    synchronized (pendingStates) {
+      final PendingState previous = pendingStates.get(key);
+      // A superseded state is dropped, but the lag is still measured from when it was received
+      pendingStates.put(key, new PendingState(stateMessage, previous == null ? now : previous.receivedAt()));
+      if (previous != null) {
+        MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COALESCED, 1);
+      }
+      return pendingStates.size();
+    }
+  }
+
+  /**
+   * Move the states handed off by the replication thread to the state buffer. This must only be
+   * called from the flush thread, or once it is terminated.
+   */
+  private void ingestPendingStates() {
+    final List<PendingState> states;
+    synchronized (pendingStates) {
+      if (pendingStates.isEmpty()) {
+        return;
+      }
+      states = List.copyOf(pendingStates.values());
+      pendingStates.clear();
+    }
+    for (final PendingState pendingState : states) {
+      stateBuffer.ingest(pendingState.state());
+      stateBufferReceivedAt = Math.min(stateBufferReceivedAt, pendingState.receivedAt());
     }
+  }
 
+  private void startBackgroundFlushStateTask(final UUID connectionId, final AirbyteStateMessage stateMessage) {
     // Fetch the current persisted state to see if it is a state migration.
     // In case of a state migration, we only flush at the end of the sync to avoid dropping states in
     // case of a sync failure
@@ -174,6 +267,7 @@ public class SyncPersistenceImpl implements SyncPersistence {
       currentPersistedState = stateApi.getState(new ConnectionIdRequestBody().connectionId(connectionId));
     } catch (final ApiException e) {
       log.warn("Failed to check current state for connectionId {}, it will be retried next time we see a state", connectionId, e);
+      flushStartRequested.set(false);
       return;
     }
     if (isMigration(currentPersistedState, stateMessage) && stateMessage.getType() == AirbyteStateType.STREAM) {
@@ -182,14 +276,9 @@ public class SyncPersistenceImpl implements SyncPersistence {
       return;
     }
 
-    // Making sure we only start one of background flush task
-    synchronized (this) {
-      if (stateFlushFuture == null) {
-        log.info("starting state flush thread for connectionId " + connectionId);
-        stateFlushFuture =
-            stateFlushExecutorService.scheduleAtFixedRate(this::flush, runImmediately, stateFlushPeriodInSeconds, TimeUnit.SECONDS);
-      }
-    }
+    // flushStartRequested makes sure we only start one background flush task
+    log.info("starting state flush thread for connectionId " + connectionId);
+    stateFlushFuture = stateFlushExecutorService.scheduleAtFixedRate(this::flush, runImmediately, stateFlushPeriodInSeconds, TimeUnit.SECONDS);
   }
 
   private boolean isMigration(final ConnectionState currentPersistedState, final AirbyteStateMessage stateMessage) {
@@ -242,6 +331,7 @@ public class SyncPersistenceImpl implements SyncPersistence {
       return;
     }
 
+    ingestPendingStates();
     if (hasStatesToFlush()) {
       // we still have data to flush
       prepareDataForFlush();
@@ -328,6 +418,21 @@ public class SyncPersistenceImpl implements SyncPersistence {
    * attempt and the recent buffered data.
    */
   private void flush() {
+    if (flushPolicy.shouldFlushOnSchedule()) {
+      doFlush();
+    }
+  }
+
+  private void flushEarly() {
+    earlyFlushRequested.set(false);
+    if (!flushPolicy.isBackingOff()) {
+      log.debug("Flushing states early for connectionId {}", connectionId);
+      doFlush();
+    }
+  }
+
+  private void doFlush() {
+    ingestPendingStates();
     prepareDataForFlush();
 
     try {
@@ -349,6 +454,8 @@ public class SyncPersistenceImpl implements SyncPersistence {
   private void prepareDataForFlush() {
     final StateAggregator stateBufferToFlush = stateBuffer;
     stateBuffer = stateAggregatorFactory.create();
+    stateToFlushReceivedAt = Math.min(stateToFlushReceivedAt, stateBufferReceivedAt);
+    stateBufferReceivedAt = NO_PENDING_STATE;
 
     if (stateToFlush == null) {
       // Happy path, previous flush was successful
@@ -387,16 +494,40 @@ public class SyncPersistenceImpl implements SyncPersistence {
         .connectionId(connectionId)
         .connectionState(StateConverter.toClient(connectionId, maybeStateWrapper.get()));
 
+    // The stats are saved along with the state, in which case they are cleared with it
+    final boolean withStats = mergeStateAndStats && hasStatsToFlush();
+    final long start = System.currentTimeMillis();
     try {
-      stateApi.createOrUpdateState(stateApiRequest);
+      if (withStats) {
+        MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATS_COMMIT_ATTEMPT, 1);
+        attemptApi.saveStats(statsToPersist.connectionState(stateApiRequest));
+      } else {
+        stateApi.createOrUpdateState(stateApiRequest);
+      }
     } catch (final Exception e) {
+      flushPolicy.onFlushFailed();
       MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_FAILED, 1);
+      if (withStats) {
+        // The state is kept in stateToFlush, it must not be saved again with standalone stats
+        statsToPersist.connectionState(null);
+        MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATS_COMMIT_ATTEMPT_FAILED, 1);
+      }
       throw e;
     }
+    flushPolicy.onFlushSucceeded(System.currentTimeMillis() - start);
 
     // Only reset stateToFlush if the API call was successful
     stateToFlush = null;
     MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATE_COMMIT_ATTEMPT_SUCCESSFUL, 1);
+    if (withStats) {
+      statsToPersist = null;
+      MetricClientFactory.getMetricClient().count(OssMetricsRegistry.STATS_COMMIT_ATTEMPT_SUCCESSFUL, 1);
+    }
+    if (stateToFlushReceivedAt != NO_PENDING_STATE) {
+      MetricClientFactory.getMetricClient().distribution(OssMetricsRegistry.STATE_COMMIT_LAG_MILLIS,
+          System.currentTimeMillis() - stateToFlushReceivedAt);
+      stateToFlushReceivedAt = NO_PENDING_STATE;
+    }
   }
 
   private void validateStreamMigration() {
@@ -457,6 +588,14 @@ public class SyncPersistenceImpl implements SyncPersistence {
     syncStatsTracker.updateStats(recordMessage);
   }
 
+  @Override
+  public void updateStats(final AirbyteRecordMessage recordMessage, final long sizeInBytes) {
+    // Stats persistence is dependent on State persistence, so we defer the start of the background task
+    // to the state flow.
+    isReceivingStats = true;
+    syncStatsTracker.updateStats(recordMessage, sizeInBytes);
+  }
+
   @Override
   public void updateEstimates(AirbyteEstimateTraceMessage estimate) {
     // Stats persistence is dependent on State persistence, so we defer the start of the background task
@@ -25,6 +25,7 @@ import com.google.common.collect.Maps;
 import datadog.trace.api.Trace;
 import io.airbyte.commons.features.EnvVariableFeatureFlags;
 import io.airbyte.commons.features.FeatureFlags;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.config.AllowedHosts;
 import io.airbyte.config.Configs;
 import io.airbyte.config.EnvConfigs;
@@ -83,6 +84,7 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
    */
   private final boolean useIsolatedPool;
   private final AllowedHosts allowedHosts;
+  private final AirbyteMessageFormat messageFormat;
 
   public AirbyteIntegrationLauncher(final String jobId,
                                     final int attempt,
@@ -96,6 +98,30 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
                                     final boolean useIsolatedPool,
                                     final FeatureFlags featureFlags,
                                     final Map<String, String> additionalEnvironmentVariables) {
+    this(jobId, attempt, connectionId, workspaceId, imageName, processFactory, resourceRequirement, syncResourceRequirements, allowedHosts,
+        useIsolatedPool, featureFlags, additionalEnvironmentVariables, AirbyteMessageFormat.JSONL);
+  }
+
+  /**
+   * Create a launcher.
+   *
+   * @param messageFormat format of the messages exchanged with the connector when reading or
+   *        writing, passed to the connector in the {@link WorkerEnvConstants#AIRBYTE_MESSAGE_FORMAT}
+   *        environment variable when it is not JSON lines.
+   */
+  public AirbyteIntegrationLauncher(final String jobId,
+                                    final int attempt,
+                                    final UUID connectionId,
+                                    final UUID workspaceId,
+                                    final String imageName,
+                                    final ProcessFactory processFactory,
+                                    final ResourceRequirements resourceRequirement,
+                                    final SyncResourceRequirements syncResourceRequirements,
+                                    final AllowedHosts allowedHosts,
+                                    final boolean useIsolatedPool,
+                                    final FeatureFlags featureFlags,
+                                    final Map<String, String> additionalEnvironmentVariables,
+                                    final AirbyteMessageFormat messageFormat) {
     this.jobId = jobId;
     this.attempt = attempt;
     this.connectionId = connectionId;
@@ -108,6 +134,7 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
     this.featureFlags = featureFlags;
     this.useIsolatedPool = useIsolatedPool;
     this.additionalEnvironmentVariables = additionalEnvironmentVariables;
+    this.messageFormat = messageFormat;
   }
 
   @Trace(operationName = WORKER_OPERATION_NAME)
@@ -236,7 +263,7 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
         Map.of(JOB_TYPE_KEY, SYNC_JOB, SYNC_STEP_KEY, READ_STEP),
         getWorkerMetadata(),
         Collections.emptyMap(),
-        additionalEnvironmentVariables,
+        getSyncEnvironmentVariables(),
         arguments.toArray(new String[arguments.size()]));
   }
 
@@ -271,12 +298,21 @@ public class AirbyteIntegrationLauncher implements IntegrationLauncher {
         Map.of(JOB_TYPE_KEY, SYNC_JOB, SYNC_STEP_KEY, WRITE_STEP),
         getWorkerMetadata(),
         Collections.emptyMap(),
-        additionalEnvironmentVariables,
+        getSyncEnvironmentVariables(),
         "write",
         CONFIG, configFilename,
         "--catalog", catalogFilename);
   }
 
+  private Map<String, String> getSyncEnvironmentVariables() {
+    if (!messageFormat.isBinary()) {
+      return additionalEnvironmentVariables;
+    }
+    final Map<String, String> environmentVariables = new HashMap<>(additionalEnvironmentVariables);
+    environmentVariables.put(WorkerEnvConstants.AIRBYTE_MESSAGE_FORMAT, messageFormat.value());
+    return environmentVariables;
+  }
+
   private Map<String, String> getWorkerMetadata() {
     final Configs configs = new EnvConfigs();
     // We've managed to exceed the maximum number of parameters for Map.of(), so use a builder + convert
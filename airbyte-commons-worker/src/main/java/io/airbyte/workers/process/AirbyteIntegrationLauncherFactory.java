@@ -6,6 +6,7 @@ package io.airbyte.workers.process;
 
 import io.airbyte.commons.features.FeatureFlags;
 import io.airbyte.commons.logging.MdcScope;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
 import io.airbyte.commons.protocol.VersionedProtocolSerializer;
@@ -15,7 +16,6 @@ import io.airbyte.persistence.job.models.IntegrationLauncherConfig;
 import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
 import io.airbyte.workers.internal.AirbyteDestination;
 import io.airbyte.workers.internal.AirbyteSource;
-import io.airbyte.workers.internal.AirbyteStreamFactory;
 import io.airbyte.workers.internal.DefaultAirbyteDestination;
 import io.airbyte.workers.internal.DefaultAirbyteSource;
 import io.airbyte.workers.internal.HeartbeatMonitor;
@@ -74,7 +74,8 @@ public class AirbyteIntegrationLauncherFactory {
         launcherConfig.getIsCustomConnector(),
         featureFlags,
         Optional.ofNullable(launcherConfig.getAdditionalEnvironmentVariables())
-            .orElse(Collections.emptyMap()));
+            .orElse(Collections.emptyMap()),
+        getMessageFormat(launcherConfig));
   }
 
   /**
@@ -91,10 +92,36 @@ public class AirbyteIntegrationLauncherFactory {
                                            final SyncResourceRequirements syncResourceRequirements,
                                            final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
                                            final HeartbeatMonitor heartbeatMonitor) {
+    return createAirbyteSource(sourceLauncherConfig, resourceRequirements, syncResourceRequirements, configuredAirbyteCatalog, heartbeatMonitor, 0,
+        false);
+  }
+
+  /**
+   * Create an AirbyteSource from a given configuration.
+   *
+   * @param sourceLauncherConfig the configuration of the source.
+   * @param resourceRequirements the resource requirements for the source.
+   * @param configuredAirbyteCatalog the configuredAirbyteCatalog of the Connection the source.
+   * @param heartbeatMonitor an instance of HeartbeatMonitor to use for the AirbyteSource.
+   * @param deserializationThreads number of threads used to deserialize the source messages, a value
+   *        lower than 2 deserializes them on the thread reading from the source.
+   * @param recordPassthrough if true, records are not deserialized and are forwarded to the
+   *        destination as the bytes they were read from.
+   * @return an AirbyteSource.
+   */
+  public AirbyteSource createAirbyteSource(final IntegrationLauncherConfig sourceLauncherConfig,
+                                           final ResourceRequirements resourceRequirements,
+                                           final SyncResourceRequirements syncResourceRequirements,
+                                           final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
+                                           final HeartbeatMonitor heartbeatMonitor,
+                                           final int deserializationThreads,
+                                           final boolean recordPassthrough) {
     final IntegrationLauncher sourceLauncher = createIntegrationLauncher(sourceLauncherConfig, resourceRequirements, syncResourceRequirements);
 
     return new DefaultAirbyteSource(sourceLauncher,
-        getStreamFactory(sourceLauncherConfig, configuredAirbyteCatalog, SourceException.class, DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER),
+        getStreamFactory(sourceLauncherConfig, configuredAirbyteCatalog, SourceException.class, DefaultAirbyteSource.CONTAINER_LOG_MDC_BUILDER)
+            .withDeserializationThreads(deserializationThreads)
+            .withRecordPassthrough(recordPassthrough),
         heartbeatMonitor,
         getProtocolSerializer(sourceLauncherConfig),
         featureFlags);
@@ -118,20 +145,28 @@ public class AirbyteIntegrationLauncherFactory {
         getStreamFactory(destinationLauncherConfig, configuredAirbyteCatalog, DestinationException.class,
             DefaultAirbyteDestination.CONTAINER_LOG_MDC_BUILDER),
         new VersionedAirbyteMessageBufferedWriterFactory(serDeProvider, migratorFactory, destinationLauncherConfig.getProtocolVersion(),
-            Optional.of(configuredAirbyteCatalog)),
+            Optional.of(configuredAirbyteCatalog), getMessageFormat(destinationLauncherConfig)),
         getProtocolSerializer(destinationLauncherConfig));
   }
 
+  /**
+   * Messages are exchanged in the format the platform prefers among the ones the connector supports.
+   */
+  private static AirbyteMessageFormat getMessageFormat(final IntegrationLauncherConfig launcherConfig) {
+    return AirbyteMessageFormat.negotiate(launcherConfig.getSupportedMessageFormats());
+  }
+
   private VersionedProtocolSerializer getProtocolSerializer(final IntegrationLauncherConfig launcherConfig) {
     return migratorFactory.getProtocolSerializer(launcherConfig.getProtocolVersion());
   }
 
-  private AirbyteStreamFactory getStreamFactory(final IntegrationLauncherConfig launcherConfig,
+  private VersionedAirbyteStreamFactory<?> getStreamFactory(final IntegrationLauncherConfig launcherConfig,
                                                 final ConfiguredAirbyteCatalog configuredAirbyteCatalog,
                                                 final Class<? extends RuntimeException> exceptionClass,
                                                 final MdcScope.Builder mdcScopeBuilder) {
     return new VersionedAirbyteStreamFactory<>(serDeProvider, migratorFactory, launcherConfig.getProtocolVersion(),
-        Optional.of(configuredAirbyteCatalog), mdcScopeBuilder, Optional.of(exceptionClass));
+        Optional.of(configuredAirbyteCatalog), mdcScopeBuilder, Optional.of(exceptionClass))
+            .withMessageFormat(getMessageFormat(launcherConfig));
   }
 
 }
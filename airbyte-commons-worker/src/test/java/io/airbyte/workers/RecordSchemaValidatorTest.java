@@ -11,6 +11,7 @@ import io.airbyte.config.StandardSync;
 import io.airbyte.config.StandardSyncInput;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.validation.json.JsonSchemaValidator;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import io.airbyte.workers.test_utils.TestConfigHelpers;
 import java.util.ArrayList;
@@ -18,6 +19,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.tuple.ImmutablePair;
@@ -96,4 +98,48 @@ class RecordSchemaValidatorTest {
     assertEquals(2, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
   }
 
+  @Test
+  void testValidateInvalidSchemaOnMultipleThreads() throws InterruptedException {
+    final int records = 500;
+    final var executorService = Executors.newFixedThreadPool(4);
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), executorService, 4,
+        new JsonSchemaValidator(), 2 * records, RecordSchemaValidator.MAX_PENDING_BYTES);
+
+    for (int i = 0; i < records; i++) {
+      recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors);
+      recordSchemaValidator.validateSchemaWithoutCounting(INVALID_RECORD_2.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR,
+          uncountedValidationErrors);
+    }
+
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    assertEquals(records, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+    assertEquals(1, uncountedValidationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).size());
+  }
+
+  @Test
+  void testRecordsBeyondThePendingBytesAreSkipped() throws InterruptedException {
+    final var executorService = Executors.newFixedThreadPool(1);
+    // Keep the validation thread busy so that the records stay pending
+    final CountDownLatch validationBlocked = new CountDownLatch(1);
+    executorService.execute(() -> {
+      try {
+        validationBlocked.await();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    final var recordSchemaValidator = new RecordSchemaValidator(WorkerUtils.mapStreamNamesToSchemas(syncInput), executorService, 1,
+        new JsonSchemaValidator(), 100, 100);
+
+    recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors, 60);
+    recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors, 60);
+    recordSchemaValidator.validateSchema(INVALID_RECORD_1.getRecord(), AIRBYTE_STREAM_NAME_NAMESPACE_PAIR, validationErrors, 40);
+    validationBlocked.countDown();
+
+    executorService.awaitTermination(3, TimeUnit.SECONDS);
+    assertEquals(2, (int) validationErrors.get(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR).getRight());
+    // the skipped record is not counted as validated
+    assertEquals(2, recordSchemaValidator.getValidatedRecordCount(AIRBYTE_STREAM_NAME_NAMESPACE_PAIR));
+  }
+
 }
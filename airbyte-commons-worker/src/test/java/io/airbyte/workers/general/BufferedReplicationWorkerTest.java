@@ -7,6 +7,7 @@ package io.airbyte.workers.general;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 
 import io.airbyte.config.ReplicationOutput;
@@ -34,7 +35,7 @@ class BufferedReplicationWorkerTest extends ReplicationWorkerTest {
         recordSchemaValidator,
         fieldSelector,
         heartbeatTimeoutChaperone,
-        new ReplicationFeatureFlagReader(),
+        new ReplicationFeatureFlagReader(featureFlagClient),
         airbyteMessageDataExtractor,
         replicationAirbyteMessageEventPublishingHelper,
         onReplicationRunning);
@@ -66,7 +67,7 @@ class BufferedReplicationWorkerTest extends ReplicationWorkerTest {
   void testClosurePropagationWhenCrashInProcessMessage() throws Exception {
     setUpInfiniteSource();
 
-    doThrow(new RuntimeException("Failure in processMessage")).when(messageTracker).acceptFromSource(any());
+    doThrow(new RuntimeException("Failure in processMessage")).when(messageTracker).acceptFromSource(any(), anyLong());
     final ReplicationWorker worker = getDefaultReplicationWorker();
 
     final ReplicationOutput output = worker.run(syncInput, jobRoot);
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.airbyte.config.StandardSyncInput;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.workers.context.ReplicationFeatureFlags;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ReplicationFeatureFlagReaderTest {
+
+  private final StandardSyncInput syncInput = new StandardSyncInput()
+      .withWorkspaceId(UUID.randomUUID())
+      .withConnectionId(UUID.randomUUID());
+
+  @Test
+  void testBufferLimitsFromFlags() {
+    final ReplicationFeatureFlagReader reader = new ReplicationFeatureFlagReader(new TestClient(Map.of(
+        "platform.replication-buffer.max-messages", 42,
+        "platform.replication-buffer.max-megabytes", 3)));
+
+    final ReplicationFeatureFlags flags = reader.readReplicationFeatureFlags(syncInput);
+
+    assertEquals(42, flags.bufferMaxMessages());
+    assertEquals(3L * 1024 * 1024, flags.bufferMaxBytes());
+  }
+
+  @Test
+  void testBufferLimitsDefaultToHeapDerivedValues() {
+    final ReplicationFeatureFlagReader reader = new ReplicationFeatureFlagReader(new TestClient(Map.of(
+        "platform.replication-buffer.max-messages", 0)));
+
+    final ReplicationFeatureFlags flags = reader.readReplicationFeatureFlags(syncInput);
+
+    assertEquals(ReplicationFeatureFlagReader.DEFAULT_BUFFER_MAX_MESSAGES, flags.bufferMaxMessages());
+    assertEquals(ReplicationFeatureFlagReader.getDefaultBufferMaxBytes(Runtime.getRuntime().maxMemory()), flags.bufferMaxBytes());
+  }
+
+  @Test
+  void testDefaultBufferMaxBytes() {
+    assertEquals(16L * 1024 * 1024, ReplicationFeatureFlagReader.getDefaultBufferMaxBytes(0));
+    assertEquals(400L * 1024 * 1024, ReplicationFeatureFlagReader.getDefaultBufferMaxBytes(4000L * 1024 * 1024));
+  }
+
+}
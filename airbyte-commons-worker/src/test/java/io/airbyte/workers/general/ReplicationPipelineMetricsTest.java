@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.airbyte.commons.concurrency.BoundedBlockingRingBuffer;
+import io.airbyte.config.PerformanceMetrics;
+import io.airbyte.config.ReplicationStageSummary;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.airbyte.workers.general.ReplicationPipelineMetrics.Stage;
+import io.airbyte.workers.general.ReplicationPipelineMetrics.StageMetrics;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplicationPipelineMetricsTest {
+
+  private static final MetricAttribute PROCESS_STAGE = new MetricAttribute(MetricTags.REPLICATION_STAGE, "processFromSource");
+
+  private ReplicationPipelineMetrics pipelineMetrics;
+  private MetricClient metricClient;
+
+  @BeforeEach
+  void setup() {
+    pipelineMetrics = new ReplicationPipelineMetrics();
+    metricClient = mock(MetricClient.class);
+  }
+
+  @Test
+  void testLatenciesAreReportedPerInterval() {
+    final StageMetrics process = pipelineMetrics.get(Stage.PROCESS_FROM_SOURCE);
+    for (int i = 1; i <= 100; i++) {
+      process.recordLatency(i * 1000L);
+    }
+
+    pipelineMetrics.report(metricClient);
+    verify(metricClient).gauge(eq(OssMetricsRegistry.WORKER_STAGE_LATENCY_NANOS), anyDouble(), eq(PROCESS_STAGE),
+        eq(new MetricAttribute(MetricTags.QUANTILE, "p50")));
+    verify(metricClient).gauge(eq(OssMetricsRegistry.WORKER_STAGE_LATENCY_NANOS), anyDouble(), eq(PROCESS_STAGE),
+        eq(new MetricAttribute(MetricTags.QUANTILE, "max")));
+    // Nothing went through the queue
+    verify(metricClient, never()).gauge(eq(OssMetricsRegistry.WORKER_STAGE_QUEUE_WAIT_NANOS), anyDouble(), eq(PROCESS_STAGE),
+        eq(new MetricAttribute(MetricTags.QUANTILE, "p50")));
+
+    // Nothing was recorded since the last report
+    pipelineMetrics.report(metricClient);
+    verify(metricClient, times(1)).gauge(eq(OssMetricsRegistry.WORKER_STAGE_LATENCY_NANOS), anyDouble(), eq(PROCESS_STAGE),
+        eq(new MetricAttribute(MetricTags.QUANTILE, "p50")));
+  }
+
+  @Test
+  void testSummaryCoversTheWholeAttempt() {
+    final StageMetrics process = pipelineMetrics.get(Stage.PROCESS_FROM_SOURCE);
+    for (int i = 1; i <= 50; i++) {
+      process.recordLatency(i * 1000L);
+    }
+    pipelineMetrics.report(metricClient);
+    for (int i = 51; i <= 100; i++) {
+      process.recordLatency(i * 1000L);
+    }
+
+    final PerformanceMetrics performanceMetrics = pipelineMetrics.toPerformanceMetrics();
+    assertEquals(Stage.values().length, performanceMetrics.getAdditionalProperties().size());
+
+    final ReplicationStageSummary summary = (ReplicationStageSummary) performanceMetrics.getAdditionalProperties().get("processFromSource");
+    assertEquals(100, summary.getExecutionCount());
+    assertEquals(5_050_000, summary.getElapsedTimeInNanos());
+    assertEquals(50_500d, summary.getAvgExecTimeInNanos());
+    // Quantiles are precise to 1%
+    assertEquals(50_000d, summary.getLatencyP50Nanos(), 500d);
+    assertEquals(100_000d, summary.getLatencyMaxNanos(), 1000d);
+
+    final ReplicationStageSummary idleSummary = (ReplicationStageSummary) performanceMetrics.getAdditionalProperties().get("readFromDest");
+    assertEquals(0, idleSummary.getExecutionCount());
+    assertNull(idleSummary.getLatencyP50Nanos());
+  }
+
+  @Test
+  void testQueueWaitsAndBlockingAreAttributedToTheirStage() throws InterruptedException {
+    final StageMetrics read = pipelineMetrics.get(Stage.READ_FROM_SOURCE);
+    final StageMetrics process = pipelineMetrics.get(Stage.PROCESS_FROM_SOURCE);
+    final BoundedBlockingRingBuffer<String> queue = new BoundedBlockingRingBuffer<>(10, Long.MAX_VALUE, m -> 0, process::recordQueueWait);
+    read.setOutputQueue(queue);
+    process.setInputQueue(queue);
+
+    assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+    assertTrue(queue.put("message"));
+    Thread.sleep(2);
+    assertEquals("message", queue.poll(1, TimeUnit.MILLISECONDS));
+
+    pipelineMetrics.report(metricClient);
+    verify(metricClient).count(OssMetricsRegistry.WORKER_STAGE_IDLE_ON_EMPTY, 1, PROCESS_STAGE);
+    verify(metricClient).count(OssMetricsRegistry.WORKER_STAGE_BLOCKED_ON_FULL, 0,
+        new MetricAttribute(MetricTags.REPLICATION_STAGE, "readFromSource"));
+    verify(metricClient).gauge(eq(OssMetricsRegistry.WORKER_STAGE_QUEUE_WAIT_NANOS), anyDouble(), eq(PROCESS_STAGE),
+        eq(new MetricAttribute(MetricTags.QUANTILE, "p50")));
+
+    final ReplicationStageSummary summary =
+        (ReplicationStageSummary) pipelineMetrics.toPerformanceMetrics().getAdditionalProperties().get("processFromSource");
+    assertEquals(1, summary.getIdleOnEmptyCount());
+    assertTrue(summary.getQueueWaitP50Nanos() >= TimeUnit.MILLISECONDS.toNanos(2) * 0.99);
+  }
+
+}
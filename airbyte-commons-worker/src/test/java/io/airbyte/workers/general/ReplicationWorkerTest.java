@@ -13,6 +13,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
@@ -228,14 +230,17 @@ abstract class ReplicationWorkerTest {
     verify(destination).accept(RECORD_MESSAGE2);
     verify(source, atLeastOnce()).close();
     verify(destination).close();
+    verify(messageTracker).endOfReplication();
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE1.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE1.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE2.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE2.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
   }
 
   @Test
@@ -270,13 +275,15 @@ abstract class ReplicationWorkerTest {
     verify(source, atLeastOnce()).close();
     verify(destination).close();
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE1.getRecord(),
-        streamNameNamespacePair,
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE1.getRecord()),
+        eq(streamNameNamespacePair),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE2.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE2.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(replicationAirbyteMessageEventPublishingHelper, times(1)).publishCompleteStatusEvent(
         new StreamDescriptor(),
         replicationContext,
@@ -301,13 +308,15 @@ abstract class ReplicationWorkerTest {
     verify(source, atLeastOnce()).close();
     verify(destination).close();
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE1.getRecord(),
-        streamNameNamespacePair,
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE1.getRecord()),
+        eq(streamNameNamespacePair),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE2.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE2.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(replicationAirbyteMessageEventPublishingHelper, times(1)).publishIncompleteStatusEvent(
         new StreamDescriptor(),
         replicationContext,
@@ -333,13 +342,15 @@ abstract class ReplicationWorkerTest {
     verify(source, atLeastOnce()).close();
     verify(destination).close();
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE1.getRecord(),
-        streamNameNamespacePair,
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE1.getRecord()),
+        eq(streamNameNamespacePair),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE2.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE2.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(replicationAirbyteMessageEventPublishingHelper, times(1)).publishIncompleteStatusEvent(
         new StreamDescriptor(),
         replicationContext,
@@ -353,7 +364,7 @@ abstract class ReplicationWorkerTest {
     final ReplicationWorker worker = getDefaultReplicationWorker();
     final ReplicationContext replicationContext = simpleContext(isReset);
     syncInput = syncInput.withIsReset(isReset);
-    doThrow(new NullPointerException("test")).when(messageTracker).acceptFromSource(any());
+    doThrow(new NullPointerException("test")).when(messageTracker).acceptFromSource(any(), anyLong());
 
     worker.run(syncInput, jobRoot);
 
@@ -386,13 +397,15 @@ abstract class ReplicationWorkerTest {
     verify(source, atLeastOnce()).close();
     verify(destination).close();
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE1.getRecord(),
-        streamNameNamespacePair,
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE1.getRecord()),
+        eq(streamNameNamespacePair),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE2.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE2.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(replicationAirbyteMessageEventPublishingHelper, times(1)).publishIncompleteStatusEvent(
         new StreamDescriptor(),
         replicationContext,
@@ -414,17 +427,20 @@ abstract class ReplicationWorkerTest {
     verify(destination).accept(RECORD_MESSAGE2);
     verify(destination).accept(RECORD_MESSAGE3);
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE1.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE1.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE1.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE2.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE2.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE2.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(recordSchemaValidator).validateSchema(
-        RECORD_MESSAGE3.getRecord(),
-        AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE3.getRecord()),
-        new ConcurrentHashMap<>());
+        eq(RECORD_MESSAGE3.getRecord()),
+        eq(AirbyteStreamNameNamespacePair.fromRecordMessage(RECORD_MESSAGE3.getRecord())),
+        eq(new ConcurrentHashMap<>()),
+        anyLong());
     verify(source).close();
     verify(destination).close();
   }
@@ -585,7 +601,7 @@ abstract class ReplicationWorkerTest {
   void testReplicationRunnableWorkerFailure() throws Exception {
     final String workerErrorMessage = "the worker had a failure";
 
-    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(any());
+    doThrow(new RuntimeException(workerErrorMessage)).when(messageTracker).acceptFromSource(any(), anyLong());
 
     final ReplicationWorker worker = getDefaultReplicationWorker();
 
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import static org.mockito.Mockito.mock;
+
+import io.airbyte.commons.converters.ThreadedTimeTracker;
+import io.airbyte.commons.features.EnvVariableFeatureFlags;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
+import io.airbyte.config.StandardSyncInput;
+import io.airbyte.featureflag.FeatureFlagClient;
+import io.airbyte.featureflag.TestClient;
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.general.BufferedReplicationWorker;
+import io.airbyte.workers.general.EmptyAirbyteDestination;
+import io.airbyte.workers.general.ReplicationFeatureFlagReader;
+import io.airbyte.workers.general.ReplicationWorkerHelper;
+import io.airbyte.workers.helper.AirbyteMessageDataExtractor;
+import io.airbyte.workers.internal.AirbyteMessageBufferedWriter;
+import io.airbyte.workers.internal.DefaultAirbyteMessageBufferedWriter;
+import io.airbyte.workers.internal.FieldSelector;
+import io.airbyte.workers.internal.HeartbeatMonitor;
+import io.airbyte.workers.internal.HeartbeatTimeoutChaperone;
+import io.airbyte.workers.internal.NamespacingMapper;
+import io.airbyte.workers.internal.VersionedAirbyteStreamFactory;
+import io.airbyte.workers.internal.book_keeping.AirbyteMessageTracker;
+import io.airbyte.workers.internal.book_keeping.events.ReplicationAirbyteMessageEventPublishingHelper;
+import io.airbyte.workers.internal.sync_persistence.SyncPersistence;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of each stage of the replication hot path, and of the
+ * {@link BufferedReplicationWorker} end to end, on {@link SyntheticRecords}.
+ * <p>
+ * Every stage processes a batch of {@link #BATCH_SIZE} records per invocation, so the score is in
+ * records per second. The {@code bytes} counter reports the serialized size of these records per
+ * second. The end to end benchmark reads from a {@link SyntheticAirbyteSource} and writes to an
+ * {@link EmptyAirbyteDestination}, neither of which serialize messages.
+ * <p>
+ * To use this, run the main method and look at the logs. It runs with the GC profiler, whose
+ * {@code gc.alloc.rate.norm} is the number of bytes allocated per record.
+ */
+@SuppressWarnings("MissingJavadocType")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ReplicationPipelineBenchmark {
+
+  private static final int BATCH_SIZE = 10_000;
+  private static final int SYNC_SIZE = 200_000;
+
+  @Param({"10", "100"})
+  public int width;
+
+  @Param({"0", "3"})
+  public int nesting;
+
+  @Param({"1", "100"})
+  public int streamCount;
+
+  private List<AirbyteMessage> messages;
+  private long[] sizesInBytes;
+  private long batchSizeInBytes;
+  private byte[] jsonLines;
+  private ConfiguredAirbyteCatalog catalog;
+  private SyntheticRecords records;
+
+  private RecordSchemaValidator validator;
+  private FieldSelector fieldSelector;
+  private NamespacingMapper mapper;
+  private AirbyteMessageTracker messageTracker;
+  private ReplicationWorkerHelper replicationWorkerHelper;
+  private AirbyteMessageBufferedWriter bufferedWriter;
+
+  /**
+   * Bytes processed, reported as a rate next to the score.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Throughput {
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+    }
+
+  }
+
+  @Setup(Level.Trial)
+  public void setupRecords() {
+    records = new SyntheticRecords(width, nesting, streamCount);
+    messages = records.generate(BATCH_SIZE);
+    catalog = records.getCatalog();
+    jsonLines = SyntheticRecords.toJsonLines(messages);
+    sizesInBytes = messages.stream().mapToLong(m -> Jsons.serialize(m).getBytes(StandardCharsets.UTF_8).length).toArray();
+    batchSizeInBytes = jsonLines.length;
+  }
+
+  @Setup(Level.Iteration)
+  public void setupStages() {
+    validator = new RecordSchemaValidator(records.getSchemas());
+    fieldSelector = newFieldSelector(validator);
+    mapper = new NamespacingMapper(NamespaceDefinitionType.SOURCE, "", "");
+    messageTracker = new AirbyteMessageTracker(new EnvVariableFeatureFlags());
+    replicationWorkerHelper = new ReplicationWorkerHelper(new AirbyteMessageDataExtractor(), newFieldSelector(validator), mapper,
+        new AirbyteMessageTracker(new EnvVariableFeatureFlags()), mock(SyncPersistence.class),
+        mock(ReplicationAirbyteMessageEventPublishingHelper.class), new ThreadedTimeTracker(), () -> {});
+    bufferedWriter = new DefaultAirbyteMessageBufferedWriter(new BufferedWriter(Writer.nullWriter()));
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownStages() throws IOException {
+    validator.close();
+  }
+
+  private FieldSelector newFieldSelector(final RecordSchemaValidator recordSchemaValidator) {
+    final FieldSelector selector = new FieldSelector(recordSchemaValidator,
+        new WorkerMetricReporter(new NotImplementedMetricClient(), "benchmark:0.0.1"), false, false);
+    selector.populateFields(catalog);
+    return selector;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  @SuppressWarnings("unchecked")
+  public void deserialize(final Throughput throughput, final Blackhole blackhole) {
+    VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory()
+        .createWithSize(new ByteArrayInputStream(jsonLines))
+        .forEach(blackhole::consume);
+    throughput.bytes += batchSizeInBytes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void fieldSelector(final Throughput throughput) {
+    for (final AirbyteMessage message : messages) {
+      fieldSelector.filterSelectedFields(message);
+      fieldSelector.validateSchema(message);
+    }
+    throughput.bytes += batchSizeInBytes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void namespacingMapper(final Throughput throughput, final Blackhole blackhole) {
+    for (final AirbyteMessage message : messages) {
+      blackhole.consume(mapper.mapMessage(message));
+    }
+    throughput.bytes += batchSizeInBytes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void messageTracker(final Throughput throughput) {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      messageTracker.acceptFromSource(messages.get(i), sizesInBytes[i]);
+    }
+    throughput.bytes += batchSizeInBytes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void processMessageFromSource(final Throughput throughput, final Blackhole blackhole) {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      blackhole.consume(replicationWorkerHelper.processMessageFromSource(messages.get(i)));
+    }
+    throughput.bytes += batchSizeInBytes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void bufferedWriter(final Throughput throughput) throws IOException {
+    for (final AirbyteMessage message : messages) {
+      bufferedWriter.write(message);
+    }
+    bufferedWriter.flush();
+    throughput.bytes += batchSizeInBytes;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SYNC_SIZE)
+  public void bufferedReplicationWorker(final Throughput throughput) throws Exception {
+    final FeatureFlagClient featureFlagClient = new TestClient(Map.of("heartbeat.failSync", false));
+    final HeartbeatMonitor heartbeatMonitor = new HeartbeatMonitor(Duration.ofMinutes(1));
+    final HeartbeatTimeoutChaperone heartbeatTimeoutChaperone = new HeartbeatTimeoutChaperone(heartbeatMonitor,
+        HeartbeatTimeoutChaperone.DEFAULT_TIMEOUT_CHECK_DURATION, featureFlagClient, UUID.randomUUID(), UUID.randomUUID(),
+        new NotImplementedMetricClient());
+    final RecordSchemaValidator workerValidator = new RecordSchemaValidator(records.getSchemas());
+
+    final BufferedReplicationWorker worker = new BufferedReplicationWorker("1", 0,
+        new SyntheticAirbyteSource(messages, sizesInBytes, SYNC_SIZE),
+        new NamespacingMapper(NamespaceDefinitionType.SOURCE, "", ""),
+        new EmptyAirbyteDestination(),
+        new AirbyteMessageTracker(new EnvVariableFeatureFlags()),
+        mock(SyncPersistence.class),
+        workerValidator,
+        newFieldSelector(workerValidator),
+        heartbeatTimeoutChaperone,
+        new ReplicationFeatureFlagReader(featureFlagClient),
+        new AirbyteMessageDataExtractor(),
+        mock(ReplicationAirbyteMessageEventPublishingHelper.class),
+        () -> {});
+    worker.run(new StandardSyncInput().withCatalog(catalog).withWorkspaceId(UUID.randomUUID()), Path.of("/"));
+    throughput.bytes += batchSizeInBytes * (SYNC_SIZE / BATCH_SIZE);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    // Run this main class to start benchmarking. Pass a regexp to only run some of the stages.
+    final OptionsBuilder options = new OptionsBuilder();
+    options.include(ReplicationPipelineBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+        .addProfiler(GCProfiler.class);
+    new Runner(options.build()).run();
+  }
+
+}
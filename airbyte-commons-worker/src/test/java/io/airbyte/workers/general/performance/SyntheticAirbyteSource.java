@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import io.airbyte.config.WorkerSourceConfig;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.internal.AirbyteSource;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-process Airbyte Source emitting the same messages a given number of times. Intended for
+ * performance testing, it does not involve a process nor serialization.
+ */
+public class SyntheticAirbyteSource implements AirbyteSource {
+
+  private final List<AirbyteMessage> messages;
+  private final long[] sizesInBytes;
+  private final long totalMessages;
+
+  private volatile long emitted;
+  private int lastIndex;
+
+  /**
+   * Create a source.
+   *
+   * @param messages messages to emit, in a loop
+   * @param sizesInBytes serialized size of each message
+   * @param totalMessages number of messages emitted before the source finishes
+   */
+  public SyntheticAirbyteSource(final List<AirbyteMessage> messages, final long[] sizesInBytes, final long totalMessages) {
+    this.messages = messages;
+    this.sizesInBytes = sizesInBytes;
+    this.totalMessages = totalMessages;
+  }
+
+  @Override
+  public void start(final WorkerSourceConfig sourceConfig, final Path jobRoot) {
+    emitted = 0;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return emitted >= totalMessages;
+  }
+
+  @Override
+  public int getExitValue() {
+    return 0;
+  }
+
+  @Override
+  public Optional<AirbyteMessage> attemptRead() {
+    if (isFinished()) {
+      return Optional.empty();
+    }
+    lastIndex = (int) (emitted++ % messages.size());
+    return Optional.of(messages.get(lastIndex));
+  }
+
+  @Override
+  public long getLastMessageSizeInBytes() {
+    return sizesInBytes[lastIndex];
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public void cancel() {}
+
+}
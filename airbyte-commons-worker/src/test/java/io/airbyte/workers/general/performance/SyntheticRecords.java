@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.general.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteMessage.Type;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.DestinationSyncMode;
+import io.airbyte.protocol.models.SyncMode;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic records for the replication benchmarks.
+ * <p>
+ * Every record has {@code width} string fields. When {@code nesting} is positive, the last field is
+ * an object with the same shape and a nesting reduced by one. Records are spread over
+ * {@code streamCount} streams, in runs of {@link #RECORDS_PER_RUN} records of the same stream like
+ * most sources emit them.
+ */
+public final class SyntheticRecords {
+
+  public static final int RECORDS_PER_RUN = 100;
+  private static final String NAMESPACE = "benchmark";
+  private static final String VALUE = "abcdefghijklmnop";
+
+  private final int width;
+  private final int nesting;
+  private final int streamCount;
+
+  public SyntheticRecords(final int width, final int nesting, final int streamCount) {
+    this.width = width;
+    this.nesting = nesting;
+    this.streamCount = streamCount;
+  }
+
+  /**
+   * Generate records. Records of a stream differ from each other by the value of their first field.
+   */
+  public List<AirbyteMessage> generate(final int count) {
+    final List<AirbyteMessage> messages = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final ObjectNode data = buildData(nesting);
+      data.put("field_0", i);
+      messages.add(new AirbyteMessage()
+          .withType(Type.RECORD)
+          .withRecord(new AirbyteRecordMessage()
+              .withStream(streamName((i / RECORDS_PER_RUN) % streamCount))
+              .withNamespace(NAMESPACE)
+              .withEmittedAt(1_700_000_000_000L)
+              .withData(data)));
+    }
+    return messages;
+  }
+
+  /**
+   * Serialize messages the way a source writes them.
+   */
+  public static byte[] toJsonLines(final List<AirbyteMessage> messages) {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    for (final AirbyteMessage message : messages) {
+      outputStream.writeBytes(Jsons.serialize(message).getBytes(StandardCharsets.UTF_8));
+      outputStream.write('\n');
+    }
+    return outputStream.toByteArray();
+  }
+
+  public ConfiguredAirbyteCatalog getCatalog() {
+    final List<ConfiguredAirbyteStream> streams = new ArrayList<>();
+    for (int i = 0; i < streamCount; i++) {
+      streams.add(new ConfiguredAirbyteStream()
+          .withStream(new AirbyteStream()
+              .withName(streamName(i))
+              .withNamespace(NAMESPACE)
+              .withJsonSchema(buildSchema(nesting)))
+          .withSyncMode(SyncMode.FULL_REFRESH)
+          .withDestinationSyncMode(DestinationSyncMode.APPEND));
+    }
+    return new ConfiguredAirbyteCatalog().withStreams(streams);
+  }
+
+  public Map<AirbyteStreamNameNamespacePair, JsonNode> getSchemas() {
+    final Map<AirbyteStreamNameNamespacePair, JsonNode> schemas = new HashMap<>();
+    for (int i = 0; i < streamCount; i++) {
+      schemas.put(new AirbyteStreamNameNamespacePair(streamName(i), NAMESPACE), buildSchema(nesting));
+    }
+    return schemas;
+  }
+
+  private ObjectNode buildData(final int depth) {
+    final ObjectNode data = (ObjectNode) Jsons.emptyObject();
+    for (int i = 0; i < width; i++) {
+      if (depth > 0 && i == width - 1) {
+        data.set(fieldName(i), buildData(depth - 1));
+      } else {
+        data.put(fieldName(i), VALUE);
+      }
+    }
+    return data;
+  }
+
+  private JsonNode buildSchema(final int depth) {
+    final ObjectNode properties = (ObjectNode) Jsons.emptyObject();
+    for (int i = 0; i < width; i++) {
+      if (depth > 0 && i == width - 1) {
+        properties.set(fieldName(i), buildSchema(depth - 1));
+      } else {
+        // The first field holds the index of the record at the top level
+        properties.set(fieldName(i), Jsons.jsonNode(Map.of("type", List.of("string", "integer"))));
+      }
+    }
+    return Jsons.jsonNode(Map.of("type", "object", "properties", properties));
+  }
+
+  private static String fieldName(final int index) {
+    return "field_" + index;
+  }
+
+  private static String streamName(final int index) {
+    return "stream_" + index;
+  }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConnectorMessageLoggerTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void testRecordsAreSampled() {
+    final ConnectorMessageLogger logger = new ConnectorMessageLogger("source", 1000, 10, now::get);
+    final AirbyteMessage record = AirbyteMessageUtils.createRecordMessage("stream", 1);
+
+    assertEquals(10, IntStream.range(0, 100).filter(i -> logger.log(record)).count());
+    // Other messages are not sampled
+    assertTrue(logger.log(AirbyteMessageUtils.createStateMessage(1)));
+    assertTrue(logger.log(AirbyteMessageUtils.createStateMessage(2)));
+  }
+
+  @Test
+  void testMessagesAreRateLimited() {
+    final ConnectorMessageLogger logger = new ConnectorMessageLogger("destination", 2, 1, now::get);
+    final AirbyteMessage state = AirbyteMessageUtils.createStateMessage(1);
+
+    assertTrue(logger.log(state));
+    assertTrue(logger.log(state));
+    assertFalse(logger.log(state));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    assertFalse(logger.log(state));
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    assertTrue(logger.log(state));
+  }
+
+  @Test
+  void testCloseDoesNotLiftTheRateLimit() {
+    final ConnectorMessageLogger logger = new ConnectorMessageLogger("destination", 1, 1, now::get);
+    final AirbyteMessage state = AirbyteMessageUtils.createStateMessage(1);
+
+    assertTrue(logger.log(state));
+    assertFalse(logger.log(state));
+    // Reports the skipped message of the current second
+    logger.close();
+    assertFalse(logger.log(state));
+  }
+
+}
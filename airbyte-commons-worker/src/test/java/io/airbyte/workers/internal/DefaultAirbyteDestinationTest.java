@@ -192,6 +192,21 @@ class DefaultAirbyteDestinationTest {
     });
   }
 
+  @Test
+  void testMessagesAreWrittenAsJsonLines() throws Exception {
+    final AirbyteDestination destination =
+        new DefaultAirbyteDestination(integrationLauncher, streamFactory, messageWriterFactory, protocolSerializer);
+    destination.start(DESTINATION_CONFIG, jobRoot);
+
+    final AirbyteMessage recordMessage1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+    final AirbyteMessage recordMessage2 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gr\u00fcn");
+    destination.accept(recordMessage1);
+    destination.accept(recordMessage2);
+    destination.notifyEndOfInput();
+
+    assertEquals(Jsons.serialize(recordMessage1) + "\n" + Jsons.serialize(recordMessage2) + "\n", outputStream.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   void testCloseNotifiesLifecycle() throws Exception {
     final AirbyteDestination destination = new DefaultAirbyteDestination(integrationLauncher);
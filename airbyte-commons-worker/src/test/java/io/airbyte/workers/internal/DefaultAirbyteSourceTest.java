@@ -48,6 +48,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -226,6 +227,30 @@ class DefaultAirbyteSourceTest {
     });
   }
 
+  @Test
+  void testCloseClosesTheMessageStream() throws Exception {
+    final AtomicBoolean streamClosed = new AtomicBoolean();
+    final AirbyteSource source = new DefaultAirbyteSource(integrationLauncher,
+        noop -> MESSAGES.stream().onClose(() -> streamClosed.set(true)), heartbeatMonitor, protocolSerializer, featureFlags);
+    source.start(SOURCE_CONFIG, jobRoot);
+    source.attemptRead();
+
+    Assertions.assertThrows(WorkerException.class, source::close);
+    assertTrue(streamClosed.get());
+  }
+
+  @Test
+  void testCancelClosesTheMessageStream() throws Exception {
+    final AtomicBoolean streamClosed = new AtomicBoolean();
+    final AirbyteSource source = new DefaultAirbyteSource(integrationLauncher,
+        noop -> MESSAGES.stream().onClose(() -> streamClosed.set(true)), heartbeatMonitor, protocolSerializer, featureFlags);
+    source.start(SOURCE_CONFIG, jobRoot);
+    source.attemptRead();
+
+    source.cancel();
+    assertTrue(streamClosed.get());
+  }
+
   @Test
   void testGetExitValue() throws Exception {
     final AirbyteSource source = new DefaultAirbyteSource(integrationLauncher, streamFactory, heartbeatMonitor, protocolSerializer, featureFlags);
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.protocol.models.AirbyteMessage;
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.workers.RecordSchemaValidator;
+import io.airbyte.workers.WorkerMetricReporter;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FieldSelectorTest {
+
+  private static final String STREAM_NAME = "user_preferences";
+  private static final String FIELD_NAME = "favorite_color";
+  private static final String UNEXPECTED_FIELD_NAME = "favorite_food";
+  private static final AirbyteStreamNameNamespacePair STREAM = new AirbyteStreamNameNamespacePair(STREAM_NAME, null);
+
+  private static final ConfiguredAirbyteCatalog CATALOG = CatalogHelpers.createConfiguredAirbyteCatalog(
+      STREAM_NAME,
+      null,
+      Field.of(FIELD_NAME, JsonSchemaType.STRING));
+
+  private WorkerMetricReporter metricReporter;
+
+  @BeforeEach
+  void setup() {
+    metricReporter = mock(WorkerMetricReporter.class);
+  }
+
+  @Test
+  void testFilterSelectedFields() {
+    final FieldSelector fieldSelector = new FieldSelector(mock(RecordSchemaValidator.class), metricReporter, true, false);
+    fieldSelector.populateFields(CATALOG);
+
+    final AirbyteMessage selectedOnly = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue");
+    final AirbyteMessage withExtraField = Jsons.clone(selectedOnly);
+    ((ObjectNode) withExtraField.getRecord().getData()).put(UNEXPECTED_FIELD_NAME, "pizza");
+
+    final AirbyteMessage expected = Jsons.clone(selectedOnly);
+    fieldSelector.filterSelectedFields(selectedOnly);
+    fieldSelector.filterSelectedFields(withExtraField);
+
+    assertEquals(expected, selectedOnly);
+    assertEquals(expected, withExtraField);
+  }
+
+  @Test
+  void testUnexpectedFieldsAreReported() {
+    final FieldSelector fieldSelector = new FieldSelector(mock(RecordSchemaValidator.class), metricReporter, false, true);
+    fieldSelector.populateFields(CATALOG);
+
+    final AirbyteMessage withExtraField = AirbyteMessageUtils.createRecordMessage(STREAM_NAME,
+        Map.of(FIELD_NAME, "blue", UNEXPECTED_FIELD_NAME, "pizza"));
+    fieldSelector.validateSchema(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue"));
+    fieldSelector.validateSchema(withExtraField);
+    fieldSelector.reportMetrics(UUID.randomUUID());
+
+    verify(metricReporter).trackUnexpectedFields(STREAM, Set.of(UNEXPECTED_FIELD_NAME));
+  }
+
+  @Test
+  void testPassthroughRecordsAreValidated() {
+    final RecordSchemaValidator recordSchemaValidator = mock(RecordSchemaValidator.class);
+    final FieldSelector fieldSelector = new FieldSelector(recordSchemaValidator, metricReporter, false, false);
+    fieldSelector.populateFields(CATALOG);
+
+    final AirbyteMessage withExtraField = AirbyteMessageUtils.createRecordMessage(STREAM_NAME,
+        Map.of(FIELD_NAME, "blue", UNEXPECTED_FIELD_NAME, "pizza"));
+    final byte[] line = Jsons.serialize(withExtraField).getBytes(StandardCharsets.UTF_8);
+    final PassthroughAirbyteMessage passthroughMessage = PassthroughAirbyteMessage.parseRecord(line, 0, line.length).orElseThrow();
+    fieldSelector.validateSchema(passthroughMessage);
+    fieldSelector.reportMetrics(UUID.randomUUID());
+
+    verify(recordSchemaValidator).validateSchema(eq(withExtraField.getRecord()), eq(STREAM), any(), anyLong());
+    verify(metricReporter).trackUnexpectedFields(STREAM, Set.of(UNEXPECTED_FIELD_NAME));
+  }
+
+  @Test
+  void testNoUnexpectedFieldsAreReportedForExpectedRecords() {
+    final FieldSelector fieldSelector = new FieldSelector(mock(RecordSchemaValidator.class), metricReporter, false, true);
+    fieldSelector.populateFields(CATALOG);
+
+    fieldSelector.validateSchema(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "blue"));
+    fieldSelector.reportMetrics(UUID.randomUUID());
+
+    verify(metricReporter, never()).trackUnexpectedFields(any(), any());
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal;
+
+import static io.airbyte.workers.internal.SchemaValidationSampler.FULLY_VALIDATED_RECORDS_PER_STREAM;
+import static io.airbyte.workers.internal.SchemaValidationSampler.MAX_RATE_ESCALATION;
+import static io.airbyte.workers.internal.SchemaValidationSampler.RATE_CHANGE_INTERVAL_RECORDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
+import org.junit.jupiter.api.Test;
+
+class SchemaValidationSamplerTest {
+
+  private static final AirbyteStreamNameNamespacePair STREAM = new AirbyteStreamNameNamespacePair("user_preferences", null);
+  private static final AirbyteStreamNameNamespacePair OTHER_STREAM = new AirbyteStreamNameNamespacePair("user_preferences", "other");
+  private static final double DELTA = 1e-9;
+
+  @Test
+  void testFirstRecordsAreAllValidated() {
+    final SchemaValidationSampler sampler = new SchemaValidationSampler(0.1);
+
+    for (long i = 0; i < FULLY_VALIDATED_RECORDS_PER_STREAM; i++) {
+      assertTrue(sampler.shouldValidate(STREAM, 0));
+    }
+    assertEquals(1, sampler.getStreamSamples().get(STREAM).getEffectiveSamplingRate(FULLY_VALIDATED_RECORDS_PER_STREAM), DELTA);
+  }
+
+  @Test
+  void testRecordsAreSampledAfterTheFirstRecords() {
+    final SchemaValidationSampler sampler = new SchemaValidationSampler(0.1);
+
+    assertEquals(FULLY_VALIDATED_RECORDS_PER_STREAM + 1_000, countValidated(sampler, STREAM, FULLY_VALIDATED_RECORDS_PER_STREAM + 10_000, 0));
+    // streams are sampled independently
+    assertEquals(FULLY_VALIDATED_RECORDS_PER_STREAM, countValidated(sampler, OTHER_STREAM, FULLY_VALIDATED_RECORDS_PER_STREAM, 0));
+  }
+
+  @Test
+  void testSamplingRateIncreasesWithErrors() {
+    final SchemaValidationSampler sampler = new SchemaValidationSampler(0.1);
+    countValidated(sampler, STREAM, FULLY_VALIDATED_RECORDS_PER_STREAM, 0);
+
+    // a new error doubles the rate
+    assertEquals(2_000, countValidated(sampler, STREAM, 10_000, 1));
+    assertEquals(4_000, countValidated(sampler, STREAM, 10_000, 2));
+  }
+
+  @Test
+  void testSamplingRateEscalationIsCapped() {
+    final SchemaValidationSampler sampler = new SchemaValidationSampler(0.1);
+    countValidated(sampler, STREAM, FULLY_VALIDATED_RECORDS_PER_STREAM, 0);
+
+    // a burst of errors escalates the rate once per interval
+    for (long errors = 1; errors <= 100; errors++) {
+      sampler.shouldValidate(STREAM, errors);
+    }
+    assertEquals(0.2, sampler.getStreamSamples().get(STREAM).getSamplingRate(), DELTA);
+
+    // errors on every record never bring the rate above the cap
+    for (long errors = 101; errors <= 100 + 10 * RATE_CHANGE_INTERVAL_RECORDS; errors++) {
+      sampler.shouldValidate(STREAM, errors);
+    }
+    assertEquals(0.1 * MAX_RATE_ESCALATION, sampler.getStreamSamples().get(STREAM).getSamplingRate(), DELTA);
+  }
+
+  @Test
+  void testSamplingRateDecaysWithoutNewErrors() {
+    final SchemaValidationSampler sampler = new SchemaValidationSampler(0.1);
+    countValidated(sampler, STREAM, FULLY_VALIDATED_RECORDS_PER_STREAM, 0);
+    countValidated(sampler, STREAM, RATE_CHANGE_INTERVAL_RECORDS, 1);
+    countValidated(sampler, STREAM, 1, 2);
+    assertEquals(0.4, sampler.getStreamSamples().get(STREAM).getSamplingRate(), DELTA);
+
+    countValidated(sampler, STREAM, RATE_CHANGE_INTERVAL_RECORDS, 2);
+    assertEquals(0.2, sampler.getStreamSamples().get(STREAM).getSamplingRate(), DELTA);
+    countValidated(sampler, STREAM, RATE_CHANGE_INTERVAL_RECORDS, 2);
+    assertEquals(0.1, sampler.getStreamSamples().get(STREAM).getSamplingRate(), DELTA);
+    // never below the base rate
+    countValidated(sampler, STREAM, RATE_CHANGE_INTERVAL_RECORDS, 2);
+    assertEquals(0.1, sampler.getStreamSamples().get(STREAM).getSamplingRate(), DELTA);
+  }
+
+  @Test
+  void testEstimatedErrorRate() {
+    final SchemaValidationSampler sampler = new SchemaValidationSampler(0.5);
+    countValidated(sampler, STREAM, 200, 0);
+
+    // the rates are relative to the records the validator actually validated
+    assertEquals(0.25, sampler.getStreamSamples().get(STREAM).getEstimatedErrorRate(50, 200), DELTA);
+    assertEquals(0.5, sampler.getStreamSamples().get(STREAM).getEstimatedErrorRate(50, 100), DELTA);
+    assertEquals(0.5, sampler.getStreamSamples().get(STREAM).getEffectiveSamplingRate(100), DELTA);
+  }
+
+  @Test
+  void testInvalidSamplingRate() {
+    assertThrows(IllegalArgumentException.class, () -> new SchemaValidationSampler(0));
+    assertThrows(IllegalArgumentException.class, () -> new SchemaValidationSampler(1.5));
+  }
+
+  private static long countValidated(final SchemaValidationSampler sampler,
+                                     final AirbyteStreamNameNamespacePair stream,
+                                     final long records,
+                                     final long recordsWithErrors) {
+    long validated = 0;
+    for (long i = 0; i < records; i++) {
+      if (sampler.shouldValidate(stream, recordsWithErrors)) {
+        validated++;
+      }
+    }
+    return validated;
+  }
+
+}
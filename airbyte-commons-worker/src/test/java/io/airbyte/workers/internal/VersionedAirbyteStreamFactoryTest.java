@@ -6,14 +6,18 @@ package io.airbyte.workers.internal;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.airbyte.commons.io.LengthPrefixedFrameWriter;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.commons.logging.MdcScope.Builder;
+import io.airbyte.commons.protocol.AirbyteMessageFormat;
 import io.airbyte.commons.protocol.AirbyteMessageMigrator;
 import io.airbyte.commons.protocol.AirbyteMessageSerDeProvider;
 import io.airbyte.commons.protocol.AirbyteProtocolVersionedMigratorFactory;
@@ -28,15 +32,19 @@ import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -74,6 +82,55 @@ class VersionedAirbyteStreamFactoryTest {
       verify(logger).info("Reading messages from protocol version {}{}", "0.2.0", "");
     }
 
+    @Test
+    void testValidWithSize() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gr\u00fcn");
+      final String line = Jsons.serialize(record1);
+
+      final InputStream inputStream = new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+      final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+      final List<SizedAirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .createWithSize(bufferedReader)
+          .toList();
+
+      assertEquals(List.of(new SizedAirbyteMessage(record1, line.getBytes(StandardCharsets.UTF_8).length)), messages);
+    }
+
+    @Test
+    void testValidFromBytes() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gr\u00fcn");
+      final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+      final String line = Jsons.serialize(record1);
+      final String input = "not a message\r\n" + Jsons.serialize(logMessage) + "\n" + line + "\n";
+
+      final InputStream inputStream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+      final List<SizedAirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .createWithSize(inputStream)
+          .toList();
+
+      assertEquals(List.of(new SizedAirbyteMessage(record1, line.getBytes(StandardCharsets.UTF_8).length)), messages);
+      verify(logger).info("not a message");
+      verify(logger).warn("warning");
+    }
+
+    @Test
+    void testInvalidUtf8FromBytesIsReplaced() {
+      final String line = Jsons.serialize(AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "grXn"));
+      final byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+      bytes[line.indexOf('X')] = (byte) 0xFF;
+
+      final List<SizedAirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .withRecordPassthrough(true)
+          .createWithSize(new ByteArrayInputStream(bytes))
+          .toList();
+
+      final AirbyteMessage expected = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gr\ufffdn");
+      assertEquals(List.of(new SizedAirbyteMessage(expected, line.length())), messages);
+    }
+
     @Test
     void testLoggingLine() {
       final String invalidRecord = "invalid line";
@@ -140,6 +197,122 @@ class VersionedAirbyteStreamFactoryTest {
       assertThrows(RuntimeException.class, () -> messageStream.toList());
     }
 
+    @Test
+    void testParallelDeserializationPreservesOrder() {
+      final List<AirbyteMessage> records = IntStream.range(0, 1000)
+          .mapToObj(i -> AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "color-" + i))
+          .toList();
+      final String input = Stream.concat(
+          records.stream().map(Jsons::serialize),
+          Stream.of(Jsons.serialize(AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning"))))
+          .collect(Collectors.joining("\n"));
+
+      final InputStream inputStream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+      final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+      try (final Stream<AirbyteMessage> messageStream = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .withDeserializationThreads(4)
+          .create(bufferedReader)) {
+        assertEquals(records, messageStream.toList());
+      }
+      verify(logger).warn("warning");
+    }
+
+    @Test
+    void testParallelDeserializationFailsSize() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+
+      final InputStream inputStream = new ByteArrayInputStream(Jsons.serialize(record1).getBytes(StandardCharsets.UTF_8));
+      final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+      final Stream<AirbyteMessage> messageStream =
+          VersionedAirbyteStreamFactory.noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(IllegalStateException.class), 1L)
+              .withDeserializationThreads(2)
+              .create(bufferedReader);
+
+      assertThrows(IllegalStateException.class, () -> messageStream.toList());
+    }
+
+    @Test
+    void testParallelDeserializationFromBytesPreservesOrder() {
+      final List<AirbyteMessage> records = IntStream.range(0, 1000)
+          .mapToObj(i -> AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "color-" + i))
+          .toList();
+      final String input = records.stream().map(Jsons::serialize).collect(Collectors.joining("\n"));
+
+      final InputStream inputStream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+      try (final Stream<SizedAirbyteMessage> messageStream = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .withDeserializationThreads(4)
+          .createWithSize(inputStream)) {
+        assertEquals(records, messageStream.map(SizedAirbyteMessage::message).toList());
+      }
+    }
+
+    @Test
+    void testRecordPassthroughFromBytes() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gr\u00fcn");
+      final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+      final String line = Jsons.serialize(record1);
+      final String input = Jsons.serialize(logMessage) + "\n" + line + "\n";
+
+      final InputStream inputStream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+      final List<SizedAirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .withRecordPassthrough(true)
+          .createWithSize(inputStream)
+          .toList();
+
+      assertEquals(1, messages.size());
+      final PassthroughAirbyteMessage passthroughMessage = (PassthroughAirbyteMessage) messages.get(0).message();
+      assertEquals(STREAM_NAME, passthroughMessage.getRecord().getStream());
+      assertEquals(line, new String(passthroughMessage.getLine(), StandardCharsets.UTF_8));
+      assertEquals(Jsons.serialize(record1.getRecord().getData()).getBytes(StandardCharsets.UTF_8).length, passthroughMessage.getDataSizeInBytes());
+      assertEquals(record1, passthroughMessage.toAirbyteMessage());
+      verify(logger).warn("warning");
+    }
+
+    @Test
+    void testSmileFrames() throws IOException {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "gr\u00fcn");
+      final AirbyteMessage logMessage = AirbyteMessageUtils.createLogMessage(AirbyteLogMessage.Level.WARN, "warning");
+
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      try (final LengthPrefixedFrameWriter frameWriter = new LengthPrefixedFrameWriter(outputStream)) {
+        for (final AirbyteMessage message : List.of(logMessage, record1)) {
+          final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+          try (final JsonGenerator generator = AirbyteMessageFormat.SMILE.createGenerator(frame)) {
+            Jsons.serialize(message, generator);
+          }
+          frameWriter.writeFrame(frame);
+        }
+      }
+
+      final List<SizedAirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 100000L)
+          .withMessageFormat(AirbyteMessageFormat.SMILE)
+          .createWithSize(new ByteArrayInputStream(outputStream.toByteArray()))
+          .toList();
+
+      assertEquals(List.of(record1), messages.stream().map(SizedAirbyteMessage::message).toList());
+      verify(logger).warn("warning");
+    }
+
+    @Test
+    void testUnframedInputFailsRegardlessOfTheAvailableMemory() {
+      final AirbyteMessage record1 = AirbyteMessageUtils.createRecordMessage(STREAM_NAME, FIELD_NAME, "green");
+      final InputStream inputStream = new ByteArrayInputStream(Jsons.serialize(record1).getBytes(StandardCharsets.UTF_8));
+
+      // The prefix of the JSON text decodes to a length of about 2GB, below 80% of this memory
+      final Stream<SizedAirbyteMessage> messages = VersionedAirbyteStreamFactory
+          .noMigrationVersionedAirbyteStreamFactory(logger, new Builder(), Optional.of(RuntimeException.class), 8L * 1024 * 1024 * 1024)
+          .withMessageFormat(AirbyteMessageFormat.SMILE)
+          .createWithSize(inputStream);
+
+      final UncheckedIOException exception = assertThrows(UncheckedIOException.class, messages::toList);
+      assertTrue(exception.getCause().getMessage().contains("the maximum is " + VersionedAirbyteStreamFactory.MAX_FRAME_LENGTH + " bytes"));
+    }
+
     private Stream<AirbyteMessage> stringToMessageStream(final String inputString) {
       final InputStream inputStream = new ByteArrayInputStream(inputString.getBytes(StandardCharsets.UTF_8));
       final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
@@ -15,6 +15,7 @@ import io.airbyte.config.FailureReason;
 import io.airbyte.protocol.models.AirbyteMessage;
 import io.airbyte.protocol.models.AirbyteStreamNameNamespacePair;
 import io.airbyte.workers.helper.FailureHelper;
+import io.airbyte.workers.internal.SizedAirbyteMessage;
 import io.airbyte.workers.internal.book_keeping.StateDeltaTracker.StateDeltaTrackerException;
 import io.airbyte.workers.internal.state_aggregator.StateAggregator;
 import io.airbyte.workers.test_utils.AirbyteMessageUtils;
@@ -71,6 +72,17 @@ class AirbyteMessageTrackerTest {
     assertEquals(2, syncStatsTracker.getTotalSourceStateMessagesEmitted());
   }
 
+  @Test
+  void testKnownSizeIsUsedForBytesEmitted() {
+    final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 123);
+
+    messageTracker.acceptFromSource(r1, 1000L);
+    messageTracker.acceptFromSource(r1, SizedAirbyteMessage.UNKNOWN_SIZE);
+
+    assertEquals(2, syncStatsTracker.getTotalRecordsEmitted());
+    assertEquals(1000L + Jsons.getEstimatedByteSize(r1.getRecord().getData()), syncStatsTracker.getTotalBytesEmitted());
+  }
+
   @Test
   void testEmittedRecordsByStream() {
     final AirbyteMessage r1 = AirbyteMessageUtils.createRecordMessage(STREAM_1, 1);
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.airbyte.protocol.models.AirbyteTraceMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ErrorTraceTrackerTest {
+
+  @Test
+  void testEmptyTracker() {
+    final ErrorTraceTracker tracker = new ErrorTraceTracker(2);
+
+    assertNull(tracker.getFirst());
+    assertEquals(List.of(), tracker.getFirstMessages());
+    assertEquals(List.of(), tracker.getLastMessages());
+    assertEquals(0, tracker.getCount());
+  }
+
+  @Test
+  void testFewMessagesAreAllKept() {
+    final ErrorTraceTracker tracker = new ErrorTraceTracker(2);
+    final List<AirbyteTraceMessage> messages = createMessages(3);
+    messages.forEach(tracker::add);
+
+    assertEquals(messages.get(0), tracker.getFirst());
+    assertEquals(messages.subList(0, 2), tracker.getFirstMessages());
+    assertEquals(messages.subList(2, 3), tracker.getLastMessages());
+    assertEquals(3, tracker.getCount());
+    assertEquals(0, tracker.getDroppedCount());
+  }
+
+  @Test
+  void testOnlyFirstAndLastMessagesAreKept() {
+    final ErrorTraceTracker tracker = new ErrorTraceTracker(2);
+    final List<AirbyteTraceMessage> messages = createMessages(1000);
+    messages.forEach(tracker::add);
+
+    assertEquals(messages.subList(0, 2), tracker.getFirstMessages());
+    assertEquals(messages.subList(998, 1000), tracker.getLastMessages());
+    assertEquals(1000, tracker.getCount());
+    assertEquals(996, tracker.getDroppedCount());
+  }
+
+  private static List<AirbyteTraceMessage> createMessages(final int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> AirbyteMessageUtils.createErrorTraceMessage("error " + i, (double) i))
+        .toList();
+  }
+
+}
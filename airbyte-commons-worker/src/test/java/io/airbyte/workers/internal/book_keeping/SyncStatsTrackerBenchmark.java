@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.book_keeping;
+
+import io.airbyte.metrics.lib.NotImplementedMetricClient;
+import io.airbyte.protocol.models.AirbyteRecordMessage;
+import io.airbyte.workers.test_utils.AirbyteMessageUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the per-record cost of the stats bookkeeping.
+ * <p>
+ * Each writer thread sends runs of records from its own streams, the way records are read from a
+ * source. The parallel tracker is measured with 1 to 4 concurrent writers. The default tracker is
+ * not thread safe, it is only measured with a single writer.
+ * <p>
+ * To use this, run the main method and look at the logs.
+ */
+@SuppressWarnings("MissingJavadocType")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SyncStatsTrackerBenchmark {
+
+  private static final int MAX_WRITERS = 4;
+  private static final int STREAMS_PER_WRITER = 4;
+  private static final int RECORDS_PER_RUN = 1000;
+  private static final long RECORD_SIZE_IN_BYTES = 256;
+
+  @Param({"parallel", "default"})
+  public String trackerType;
+
+  private SyncStatsTracker tracker;
+
+  @Setup(Level.Iteration)
+  public void setupTracker() {
+    tracker = "parallel".equals(trackerType) ? new ParallelStreamStatsTracker(new NotImplementedMetricClient()) : new DefaultSyncStatsTracker();
+  }
+
+  /**
+   * Records sent by a writer thread.
+   */
+  @State(Scope.Thread)
+  public static class Writer {
+
+    private AirbyteRecordMessage[] records;
+    private int sent = 0;
+
+    @Setup(Level.Trial)
+    public void setupRecords() {
+      final int writer = (int) (Thread.currentThread().getId() % MAX_WRITERS);
+      records = new AirbyteRecordMessage[STREAMS_PER_WRITER];
+      for (int i = 0; i < STREAMS_PER_WRITER; i++) {
+        records[i] = AirbyteMessageUtils.createRecordMessage("stream_" + writer + "_" + i, "id", i).getRecord();
+      }
+    }
+
+    AirbyteRecordMessage next() {
+      return records[(sent++ / RECORDS_PER_RUN) % records.length];
+    }
+
+  }
+
+  @Benchmark
+  public void updateStats(final Writer writer) {
+    tracker.updateStats(writer.next(), RECORD_SIZE_IN_BYTES);
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    // Run this main class to start benchmarking.
+    for (int writers = 1; writers <= MAX_WRITERS; writers++) {
+      final OptionsBuilder options = new OptionsBuilder();
+      options.include(SyncStatsTrackerBenchmark.class.getSimpleName()).threads(writers);
+      if (writers > 1) {
+        options.param("trackerType", "parallel");
+      }
+      new Runner(options.build()).run();
+    }
+  }
+
+}
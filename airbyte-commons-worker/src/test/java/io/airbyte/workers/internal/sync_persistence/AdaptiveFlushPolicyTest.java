@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.workers.internal.sync_persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFlushPolicyTest {
+
+  private static final long SLOW_FLUSH_MILLIS = 1000;
+
+  @Test
+  void testFixedPeriodNeverSkipsNorFlushesEarly() {
+    final AdaptiveFlushPolicy policy = AdaptiveFlushPolicy.fixedPeriod();
+    policy.onFlushFailed();
+    policy.onFlushSucceeded(Long.MAX_VALUE - 1);
+
+    assertTrue(policy.shouldFlushOnSchedule());
+    assertFalse(policy.isBackingOff());
+    assertFalse(policy.shouldFlushEarly(Integer.MAX_VALUE - 1));
+  }
+
+  @Test
+  void testBackOffGrowsExponentiallyOnFailures() {
+    final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(3, 10, SLOW_FLUSH_MILLIS);
+
+    policy.onFlushFailed();
+    assertEquals(1, countSkippedPeriods(policy));
+    policy.onFlushFailed();
+    assertEquals(3, countSkippedPeriods(policy));
+
+    // 7 periods plus up to a quarter of jitter, the exponent is capped at 3
+    for (int i = 0; i < 2; i++) {
+      policy.onFlushFailed();
+      final int skipped = countSkippedPeriods(policy);
+      assertTrue(skipped >= 7 && skipped <= 8, "unexpected number of skipped periods " + skipped);
+    }
+  }
+
+  @Test
+  void testSlowFlushesBackOffAndFastFlushesReset() {
+    final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(3, 10, SLOW_FLUSH_MILLIS);
+
+    policy.onFlushSucceeded(SLOW_FLUSH_MILLIS + 1);
+    assertTrue(policy.isBackingOff());
+
+    policy.onFlushSucceeded(SLOW_FLUSH_MILLIS);
+    assertFalse(policy.isBackingOff());
+    assertTrue(policy.shouldFlushOnSchedule());
+
+    // The backoff starts over after a reset
+    policy.onFlushFailed();
+    assertEquals(1, countSkippedPeriods(policy));
+  }
+
+  @Test
+  void testEarlyFlushIsSuppressedWhileBackingOff() {
+    final AdaptiveFlushPolicy policy = new AdaptiveFlushPolicy(3, 10, SLOW_FLUSH_MILLIS);
+    assertFalse(policy.shouldFlushEarly(9));
+    assertTrue(policy.shouldFlushEarly(10));
+
+    policy.onFlushFailed();
+    assertFalse(policy.shouldFlushEarly(10));
+
+    countSkippedPeriods(policy);
+    assertTrue(policy.shouldFlushEarly(10));
+  }
+
+  private static int countSkippedPeriods(final AdaptiveFlushPolicy policy) {
+    int skipped = 0;
+    while (!policy.shouldFlushOnSchedule()) {
+      skipped++;
+    }
+    return skipped;
+  }
+
+}
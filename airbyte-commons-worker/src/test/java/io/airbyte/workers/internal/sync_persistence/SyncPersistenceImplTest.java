@@ -14,6 +14,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -28,6 +29,7 @@ import io.airbyte.api.client.model.generated.ConnectionIdRequestBody;
 import io.airbyte.api.client.model.generated.ConnectionState;
 import io.airbyte.api.client.model.generated.ConnectionStateCreateOrUpdate;
 import io.airbyte.api.client.model.generated.ConnectionStateType;
+import io.airbyte.api.client.model.generated.SaveStatsRequestBody;
 import io.airbyte.api.client.model.generated.StreamState;
 import io.airbyte.commons.features.FeatureFlags;
 import io.airbyte.commons.json.Jsons;
@@ -85,6 +87,12 @@ class SyncPersistenceImplTest {
     executorService = mock(ScheduledExecutorService.class);
     when(executorService.scheduleAtFixedRate(actualFlushMethod.capture(), eq(0L), eq(flushPeriod), eq(TimeUnit.SECONDS)))
         .thenReturn(mock(ScheduledFuture.class));
+    // The check of the current state is submitted to the executor, it is run inline to keep the tests
+    // deterministic.
+    doAnswer(invocation -> {
+      invocation.getArgument(0, Runnable.class).run();
+      return null;
+    }).when(executorService).execute(any(Runnable.class));
 
     syncStatsTracker = mock(SyncStatsTracker.class);
 
@@ -139,6 +147,31 @@ class SyncPersistenceImplTest {
     verify(executorService, never()).scheduleAtFixedRate(any(), anyLong(), anyLong(), any());
   }
 
+  @Test
+  void testStatesAreCoalescedUntilTheNextFlush() throws ApiException {
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    syncPersistence.persist(connectionId, stateA1);
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA1));
+    clearInvocations(stateApi);
+
+    // Only the latest state of each stream should be flushed
+    final AirbyteStateMessage stateA2 = getStreamState("A", 2);
+    final AirbyteStateMessage stateB1 = getStreamState("B", 1);
+    final AirbyteStateMessage stateA3 = getStreamState("A", 3);
+    final AirbyteStateMessage stateB2 = getStreamState("B", 2);
+    syncPersistence.persist(connectionId, stateA2);
+    syncPersistence.persist(connectionId, stateB1);
+    syncPersistence.persist(connectionId, stateA3);
+    syncPersistence.persist(connectionId, stateB2);
+
+    // The state check should only be submitted once
+    verify(executorService).execute(any(Runnable.class));
+
+    actualFlushMethod.getValue().run();
+    verifyStateUpdateApiCall(List.of(stateA3, stateB2));
+  }
+
   @Test
   void testPersistWithApiFailures() throws ApiException {
     final AirbyteStateMessage stateF1 = getStreamState("F", 1);
@@ -201,6 +234,36 @@ class SyncPersistenceImplTest {
     verify(attemptApi, never()).saveStats(any());
   }
 
+  @Test
+  void testStateAndStatsAreSavedInASingleRequestWhenMerged() throws Exception {
+    final FeatureFlags featureFlags = mock(FeatureFlags.class);
+    when(featureFlags.useStreamCapableState()).thenReturn(true);
+    final SyncPersistenceImpl mergingSyncPersistence = new SyncPersistenceImpl(stateApi, attemptApi, new StateAggregatorFactory(featureFlags),
+        syncStatsTracker, executorService, flushPeriod, Optional.of(new RetryWithJitterConfig(1, 1, 4)), AdaptiveFlushPolicy.fixedPeriod(), true);
+    mergingSyncPersistence.setConnectionContext(connectionId, jobId, attemptNumber, null);
+
+    final AirbyteStateMessage stateA1 = getStreamState("A", 1);
+    mergingSyncPersistence.updateStats(new AirbyteRecordMessage());
+    mergingSyncPersistence.persist(connectionId, stateA1);
+
+    // A failed request should be retried with the state, and not followed by a standalone stats request
+    when(attemptApi.saveStats(any())).thenThrow(new ApiException());
+    actualFlushMethod.getValue().run();
+    reset(attemptApi);
+
+    actualFlushMethod.getValue().run();
+    final ArgumentCaptor<SaveStatsRequestBody> captor = ArgumentCaptor.forClass(SaveStatsRequestBody.class);
+    verify(attemptApi).saveStats(captor.capture());
+    assertEquals(buildStateRequest(connectionId, List.of(stateA1)), captor.getValue().getConnectionState());
+    verify(stateApi, never()).createOrUpdateState(any());
+    clearInvocations(attemptApi);
+
+    // Stats without states to persist are not saved
+    mergingSyncPersistence.updateStats(new AirbyteRecordMessage());
+    actualFlushMethod.getValue().run();
+    verify(attemptApi, never()).saveStats(any());
+  }
+
   @Test
   void testStatsAreNotPersistedWhenStateFails() throws ApiException {
     // We should not save stats if persist state failed
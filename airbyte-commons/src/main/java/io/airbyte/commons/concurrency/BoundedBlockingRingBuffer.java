@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A bounded, lock-free, single-producer/single-consumer channel backed by a ring buffer.
+ * <p>
+ * Exactly one thread may insert elements and exactly one thread may remove them. When the buffer is
+ * full the producer parks until the consumer frees a slot, and when it is empty the consumer parks
+ * until the producer publishes an element, so neither side sleeps nor spins. Closing the channel
+ * wakes up both sides.
+ * <p>
+ * On top of the number of elements, the channel can optionally be bounded by the total weight of the
+ * elements it holds, for example their estimated size in bytes. An element is always accepted into
+ * an empty channel, so a single element heavier than the weight limit does not block forever.
+ * <p>
+ * The channel keeps track of how often and how long the producer waited on a full channel and the
+ * consumer waited on an empty one. It can also report how long each element stayed in the channel.
+ * <p>
+ * close() may be called from any thread. If it is called by a thread other than the producer while
+ * an insert is in flight, that element may be dropped. This is only expected to happen when tearing
+ * down a failed pipeline.
+ */
+public class BoundedBlockingRingBuffer<T> {
+
+  /**
+   * Upper bound on a single park. Wake-ups are signaled explicitly, this is only a safety net so that
+   * a waiting thread re-checks the channel state periodically.
+   */
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final Object[] buffer;
+  private final long[] weights;
+  private final int mask;
+  private final int capacity;
+  private final long maxWeight;
+  private final ToLongFunction<T> weigher;
+  // receives the time each element spent in the channel, null if not tracked
+  private final LongConsumer queueWaitListener;
+  // time at which the element of each slot was inserted, only allocated when queue wait is tracked
+  private final long[] enqueuedAtNanos;
+
+  // index of the next slot to read, only written by the consumer
+  private final AtomicLong head;
+  // index of the next slot to write, only written by the producer
+  private final AtomicLong tail;
+  // total weight of the elements in the channel, incremented by the producer and decremented by the
+  // consumer
+  private final AtomicLong weight;
+
+  // number of inserts that waited for room and total time spent waiting, only written by the producer
+  private final AtomicLong blockedOnFullCount;
+  private final AtomicLong blockedOnFullNanos;
+  // number of polls that waited for an element and total time spent waiting, only written by the
+  // consumer
+  private final AtomicLong idleOnEmptyCount;
+  private final AtomicLong idleOnEmptyNanos;
+
+  private volatile boolean closed;
+  private volatile Thread waitingProducer;
+  private volatile Thread waitingConsumer;
+
+  public BoundedBlockingRingBuffer(final int capacity) {
+    this(capacity, Long.MAX_VALUE, e -> 0);
+  }
+
+  /**
+   * Create a channel bounded both by number of elements and by total weight.
+   *
+   * @param capacity maximum number of elements in the channel
+   * @param maxWeight maximum total weight of the elements in the channel
+   * @param weigher computes the weight of an element, called once per element by the producer
+   */
+  public BoundedBlockingRingBuffer(final int capacity, final long maxWeight, final ToLongFunction<T> weigher) {
+    this(capacity, maxWeight, weigher, null);
+  }
+
+  /**
+   * Create a channel bounded both by number of elements and by total weight, which reports how long
+   * each element waited in the channel.
+   *
+   * @param capacity maximum number of elements in the channel
+   * @param maxWeight maximum total weight of the elements in the channel
+   * @param weigher computes the weight of an element, called once per element by the producer
+   * @param queueWaitListener called by the consumer with the time in nanoseconds each element spent
+   *        in the channel, or null to not track it
+   */
+  public BoundedBlockingRingBuffer(final int capacity,
+                                   final long maxWeight,
+                                   final ToLongFunction<T> weigher,
+                                   final LongConsumer queueWaitListener) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+    }
+    if (maxWeight <= 0) {
+      throw new IllegalArgumentException("maxWeight must be positive, got " + maxWeight);
+    }
+    this.capacity = capacity;
+    this.maxWeight = maxWeight;
+    this.weigher = Objects.requireNonNull(weigher);
+    this.queueWaitListener = queueWaitListener;
+    final int slots = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+    this.buffer = new Object[slots];
+    this.weights = new long[slots];
+    this.enqueuedAtNanos = queueWaitListener != null ? new long[slots] : null;
+    this.mask = slots - 1;
+    this.head = new AtomicLong();
+    this.tail = new AtomicLong();
+    this.weight = new AtomicLong();
+    this.blockedOnFullCount = new AtomicLong();
+    this.blockedOnFullNanos = new AtomicLong();
+    this.idleOnEmptyCount = new AtomicLong();
+    this.idleOnEmptyNanos = new AtomicLong();
+    this.closed = false;
+  }
+
+  /**
+   * Inserts the specified element if there is room for it, without waiting.
+   *
+   * @param e the element to add
+   * @return true if the element was added, false if the channel is full or closed
+   */
+  public boolean offer(final T e) {
+    Objects.requireNonNull(e);
+    return offer(e, weigher.applyAsLong(e));
+  }
+
+  private boolean offer(final T e, final long elementWeight) {
+    if (closed || isFull(elementWeight)) {
+      return false;
+    }
+    final long t = tail.get();
+    final int index = (int) (t & mask);
+    buffer[index] = e;
+    weights[index] = elementWeight;
+    if (enqueuedAtNanos != null) {
+      enqueuedAtNanos[index] = System.nanoTime();
+    }
+    weight.addAndGet(elementWeight);
+    tail.set(t + 1);
+    LockSupport.unpark(waitingConsumer);
+    return true;
+  }
+
+  /**
+   * Inserts the specified element, waiting for a slot to become available if the channel is full.
+   *
+   * @param e the element to add
+   * @return true if the element was added, false if the channel was closed before it could be added
+   * @throws InterruptedException if the producer is interrupted while waiting
+   */
+  public boolean put(final T e) throws InterruptedException {
+    Objects.requireNonNull(e);
+    final long elementWeight = weigher.applyAsLong(e);
+    if (offer(e, elementWeight)) {
+      return true;
+    }
+    blockedOnFullCount.incrementAndGet();
+    final long waitStart = System.nanoTime();
+    try {
+      while (!offer(e, elementWeight)) {
+        if (closed) {
+          return false;
+        }
+        waitingProducer = Thread.currentThread();
+        try {
+          // Re-check after publishing ourselves as waiting, the consumer may have freed a slot in
+          // between.
+          if (!closed && isFull(elementWeight)) {
+            LockSupport.parkNanos(this, MAX_PARK_NANOS);
+          }
+        } finally {
+          waitingProducer = null;
+        }
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+      return true;
+    } finally {
+      blockedOnFullNanos.addAndGet(System.nanoTime() - waitStart);
+    }
+  }
+
+  /**
+   * Retrieves and removes the head of this channel, without waiting.
+   *
+   * @return the head of this channel, or null if it is empty
+   */
+  @SuppressWarnings("unchecked")
+  public T poll() {
+    final long h = head.get();
+    if (h == tail.get()) {
+      return null;
+    }
+    final int index = (int) (h & mask);
+    final T e = (T) buffer[index];
+    buffer[index] = null;
+    weight.addAndGet(-weights[index]);
+    // Read before releasing the slot, the producer may overwrite it right after
+    final long enqueuedAt = enqueuedAtNanos != null ? enqueuedAtNanos[index] : 0;
+    head.set(h + 1);
+    LockSupport.unpark(waitingProducer);
+    if (queueWaitListener != null) {
+      queueWaitListener.accept(System.nanoTime() - enqueuedAt);
+    }
+    return e;
+  }
+
+  /**
+   * Retrieves and removes the head of this channel, waiting up to the given timeout for an element to
+   * become available.
+   *
+   * @param timeout how long to wait before giving up
+   * @param unit the unit of the timeout
+   * @return the head of this channel, or null if the timeout elapsed or the channel is done
+   * @throws InterruptedException if the consumer is interrupted while waiting
+   */
+  public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    T e = poll();
+    if (e != null) {
+      return e;
+    }
+    idleOnEmptyCount.incrementAndGet();
+    final long waitStart = System.nanoTime();
+    final long deadline = waitStart + unit.toNanos(timeout);
+    try {
+      while ((e = poll()) == null) {
+        final long remaining = deadline - System.nanoTime();
+        if (closed || remaining <= 0) {
+          // The producer may have published a last element right before closing.
+          return poll();
+        }
+        waitingConsumer = Thread.currentThread();
+        try {
+          // Re-check after publishing ourselves as waiting, the producer may have added an element in
+          // between.
+          if (!closed && head.get() == tail.get()) {
+            LockSupport.parkNanos(this, Math.min(remaining, MAX_PARK_NANOS));
+          }
+        } finally {
+          waitingConsumer = null;
+        }
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+      return e;
+    } finally {
+      idleOnEmptyNanos.addAndGet(System.nanoTime() - waitStart);
+    }
+  }
+
+  public int size() {
+    // Read head first so that a concurrent poll can only make the result larger than the actual size,
+    // never negative.
+    final long h = head.get();
+    return (int) (tail.get() - h);
+  }
+
+  /**
+   * Returns the total weight of the elements currently in the channel.
+   */
+  public long weight() {
+    return weight.get();
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public long maxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * Returns the number of inserts that had to wait for the channel to have room.
+   */
+  public long blockedOnFullCount() {
+    return blockedOnFullCount.get();
+  }
+
+  /**
+   * Returns the total time in nanoseconds the producer spent waiting for the channel to have room.
+   */
+  public long blockedOnFullNanos() {
+    return blockedOnFullNanos.get();
+  }
+
+  /**
+   * Returns the number of timed polls that had to wait for an element.
+   */
+  public long idleOnEmptyCount() {
+    return idleOnEmptyCount.get();
+  }
+
+  /**
+   * Returns the total time in nanoseconds the consumer spent waiting for an element.
+   */
+  public long idleOnEmptyNanos() {
+    return idleOnEmptyNanos.get();
+  }
+
+  private boolean isFull(final long elementWeight) {
+    final int currentSize = size();
+    if (currentSize >= capacity) {
+      return true;
+    }
+    return currentSize > 0 && weight.get() + elementWeight > maxWeight;
+  }
+
+  /**
+   * Returns true if the channel is done. A channel is done when closed and empty.
+   */
+  public boolean isDone() {
+    return closed && size() == 0;
+  }
+
+  /**
+   * Close the channel and wake up any waiting thread.
+   */
+  public void close() {
+    closed = true;
+    LockSupport.unpark(waitingProducer);
+    LockSupport.unpark(waitingConsumer);
+  }
+
+  /**
+   * Returns true if the channel is closed.
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+}
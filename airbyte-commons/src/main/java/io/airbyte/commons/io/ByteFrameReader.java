@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Splits an input stream into frames without decoding them.
+ * <p>
+ * The current frame is exposed as a slice of a buffer owned by the reader, which is only valid until
+ * the next call to {@link #readFrame()}. Use {@link #copyFrame()} to keep it around.
+ */
+public interface ByteFrameReader extends Closeable {
+
+  /**
+   * Advance to the next frame, blocking until it is complete or the stream ends.
+   *
+   * @return true if a frame was read, false if the end of the stream was reached
+   * @throws IOException if reading from the stream fails
+   */
+  boolean readFrame() throws IOException;
+
+  /**
+   * Returns the buffer holding the current frame.
+   */
+  byte[] array();
+
+  /**
+   * Returns the offset of the current frame in {@link #array()}.
+   */
+  int offset();
+
+  /**
+   * Returns the length of the current frame in bytes.
+   */
+  int length();
+
+  /**
+   * Returns a copy of the bytes of the current frame.
+   */
+  byte[] copyFrame();
+
+  /**
+   * Returns true if there are bytes that can be read without blocking. This does not guarantee that
+   * a complete frame is available.
+   *
+   * @throws IOException if querying the stream fails
+   */
+  boolean ready() throws IOException;
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splits an {@link InputStream} into lines without decoding them.
+ * <p>
+ * Bytes are read into a single reusable buffer which is scanned for line feeds. The current line is
+ * exposed as a slice of that buffer, so that it can be handed as is to a byte based parser, and its
+ * length is the size of the line in bytes. A line is terminated by a line feed or a carriage return
+ * followed by a line feed, and the terminator is not part of the line, consistent with
+ * {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * The buffer grows to fit the longest line read so far. The slice returned for a line is only valid
+ * until the next call to {@link #readLine()}, use {@link #copyLine()} to keep it around.
+ * <p>
+ * This class is not thread safe.
+ */
+public class ByteLineReader implements ByteFrameReader {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 64 * 1024;
+  private static final byte LINE_FEED = '\n';
+  private static final byte CARRIAGE_RETURN = '\r';
+
+  private final InputStream inputStream;
+  // position is the start of the bytes not returned yet, limit is the end of the bytes read so far
+  private ByteBuffer buffer;
+  private int lineOffset = 0;
+  private int lineLength = 0;
+  private boolean endOfStream = false;
+
+  public ByteLineReader(final InputStream inputStream) {
+    this(inputStream, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public ByteLineReader(final InputStream inputStream, final int initialCapacity) {
+    if (initialCapacity <= 0) {
+      throw new IllegalArgumentException("initialCapacity must be positive, got " + initialCapacity);
+    }
+    this.inputStream = inputStream;
+    this.buffer = ByteBuffer.allocate(initialCapacity);
+    this.buffer.limit(0);
+  }
+
+  /**
+   * Advance to the next line, blocking until it is complete or the stream ends.
+   *
+   * @return true if a line was read, false if the end of the stream was reached
+   * @throws IOException if reading from the stream fails
+   */
+  public boolean readLine() throws IOException {
+    int scanFrom = buffer.position();
+    while (true) {
+      final int lineFeed = indexOfLineFeed(scanFrom, buffer.limit());
+      if (lineFeed >= 0) {
+        setLine(buffer.position(), lineFeed);
+        buffer.position(lineFeed + 1);
+        return true;
+      }
+      if (endOfStream) {
+        if (!buffer.hasRemaining()) {
+          lineLength = 0;
+          return false;
+        }
+        // The last line does not need a terminator.
+        setLine(buffer.position(), buffer.limit());
+        buffer.position(buffer.limit());
+        return true;
+      }
+      scanFrom = buffer.limit() - buffer.position();
+      fill();
+    }
+  }
+
+  @Override
+  public boolean readFrame() throws IOException {
+    return readLine();
+  }
+
+  /**
+   * Returns the buffer holding the current line.
+   */
+  @Override
+  public byte[] array() {
+    return buffer.array();
+  }
+
+  /**
+   * Returns the offset of the current line in {@link #array()}.
+   */
+  @Override
+  public int offset() {
+    return lineOffset;
+  }
+
+  /**
+   * Returns the length of the current line in bytes.
+   */
+  @Override
+  public int length() {
+    return lineLength;
+  }
+
+  /**
+   * Returns a copy of the bytes of the current line.
+   */
+  public byte[] copyLine() {
+    return Arrays.copyOfRange(buffer.array(), lineOffset, lineOffset + lineLength);
+  }
+
+  @Override
+  public byte[] copyFrame() {
+    return copyLine();
+  }
+
+  /**
+   * Returns the current line decoded as UTF-8.
+   */
+  public String lineAsString() {
+    return new String(buffer.array(), lineOffset, lineLength, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns true if there are bytes that can be read without blocking. Consistent with
+   * {@link java.io.BufferedReader#ready()}, this does not guarantee that a complete line is available.
+   *
+   * @throws IOException if querying the stream fails
+   */
+  @Override
+  public boolean ready() throws IOException {
+    return buffer.hasRemaining() || (!endOfStream && inputStream.available() > 0);
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+  private int indexOfLineFeed(final int from, final int to) {
+    final byte[] array = buffer.array();
+    for (int i = from; i < to; i++) {
+      if (array[i] == LINE_FEED) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void setLine(final int start, final int end) {
+    lineOffset = start;
+    lineLength = end > start && buffer.array()[end - 1] == CARRIAGE_RETURN ? end - start - 1 : end - start;
+  }
+
+  /**
+   * Move the pending bytes to the front of the buffer, growing it if it is full, then read more bytes
+   * from the stream.
+   */
+  private void fill() throws IOException {
+    buffer.compact();
+    if (!buffer.hasRemaining()) {
+      final ByteBuffer grown = ByteBuffer.allocate(Math.multiplyExact(buffer.capacity(), 2));
+      buffer.flip();
+      grown.put(buffer);
+      buffer = grown;
+    }
+    final int read = inputStream.read(buffer.array(), buffer.position(), buffer.remaining());
+    if (read < 0) {
+      endOfStream = true;
+    } else {
+      buffer.position(buffer.position() + read);
+    }
+    buffer.flip();
+  }
+
+}
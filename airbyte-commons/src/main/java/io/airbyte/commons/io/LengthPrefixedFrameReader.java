@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Splits an {@link InputStream} into length-prefixed frames, as written by
+ * {@link LengthPrefixedFrameWriter}.
+ * <p>
+ * Every frame starts with its length in bytes as a 4 bytes big-endian integer, followed by the bytes
+ * of the frame. Frames are read into a single reusable buffer which grows to fit the largest frame
+ * read so far, and is bounded by a maximum frame length. A stream that is not framed usually shows
+ * up as a frame above that maximum, as the first bytes of text decode to a very large length.
+ * <p>
+ * This class is not thread safe.
+ */
+public class LengthPrefixedFrameReader implements ByteFrameReader {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 64 * 1024;
+  private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+
+  private final InputStream inputStream;
+  private final int maxFrameLength;
+  private final byte[] lengthPrefix = new byte[LENGTH_PREFIX_SIZE];
+  private byte[] buffer;
+  private int frameLength = 0;
+
+  public LengthPrefixedFrameReader(final InputStream inputStream, final int maxFrameLength) {
+    if (maxFrameLength <= 0) {
+      throw new IllegalArgumentException("maxFrameLength must be positive, got " + maxFrameLength);
+    }
+    this.inputStream = new BufferedInputStream(inputStream, DEFAULT_INITIAL_CAPACITY);
+    this.maxFrameLength = maxFrameLength;
+    this.buffer = new byte[Math.min(DEFAULT_INITIAL_CAPACITY, maxFrameLength)];
+  }
+
+  @Override
+  public boolean readFrame() throws IOException {
+    final int prefixRead = inputStream.readNBytes(lengthPrefix, 0, LENGTH_PREFIX_SIZE);
+    if (prefixRead == 0) {
+      frameLength = 0;
+      return false;
+    }
+    if (prefixRead < LENGTH_PREFIX_SIZE) {
+      throw new EOFException("The stream ended in the middle of the length of a frame");
+    }
+
+    final int length = ((lengthPrefix[0] & 0xFF) << 24)
+        | ((lengthPrefix[1] & 0xFF) << 16)
+        | ((lengthPrefix[2] & 0xFF) << 8)
+        | (lengthPrefix[3] & 0xFF);
+    if (length < 0 || length > maxFrameLength) {
+      throw new IOException(String.format(
+          "Invalid frame length %s bytes (prefix 0x%s), the maximum is %s bytes. The stream is likely not length-prefixed, "
+              + "e.g. text was written where a binary message format was expected.",
+          Integer.toUnsignedString(length), HexFormat.of().formatHex(lengthPrefix), maxFrameLength));
+    }
+    if (length > buffer.length) {
+      buffer = new byte[(int) Math.min(maxFrameLength, Math.max(length, 2L * buffer.length))];
+    }
+    if (inputStream.readNBytes(buffer, 0, length) < length) {
+      throw new EOFException("The stream ended in the middle of a frame of " + length + " bytes");
+    }
+    frameLength = length;
+    return true;
+  }
+
+  @Override
+  public byte[] array() {
+    return buffer;
+  }
+
+  @Override
+  public int offset() {
+    return 0;
+  }
+
+  @Override
+  public int length() {
+    return frameLength;
+  }
+
+  @Override
+  public byte[] copyFrame() {
+    return Arrays.copyOf(buffer, frameLength);
+  }
+
+  @Override
+  public boolean ready() throws IOException {
+    return inputStream.available() > 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+}
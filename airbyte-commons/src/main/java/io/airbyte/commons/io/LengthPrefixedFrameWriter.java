@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes length-prefixed frames to an {@link OutputStream}, see {@link LengthPrefixedFrameReader}
+ * for the format. Frames are buffered until {@link #flush()} is called.
+ * <p>
+ * This class is not thread safe.
+ */
+public class LengthPrefixedFrameWriter implements Flushable, Closeable {
+
+  private final DataOutputStream outputStream;
+
+  public LengthPrefixedFrameWriter(final OutputStream outputStream) {
+    this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+  }
+
+  /**
+   * Write a frame holding a slice of a byte array.
+   *
+   * @throws IOException if writing to the stream fails
+   */
+  public void writeFrame(final byte[] bytes, final int offset, final int length) throws IOException {
+    outputStream.writeInt(length);
+    outputStream.write(bytes, offset, length);
+  }
+
+  /**
+   * Write a frame holding the content of a byte array output stream, without copying it.
+   *
+   * @throws IOException if writing to the stream fails
+   */
+  public void writeFrame(final ByteArrayOutputStream frame) throws IOException {
+    outputStream.writeInt(frame.size());
+    frame.writeTo(outputStream);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    outputStream.close();
+  }
+
+}
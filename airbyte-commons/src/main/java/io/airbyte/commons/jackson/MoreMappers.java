@@ -4,6 +4,7 @@
 
 package io.airbyte.commons.jackson;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator.Feature;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,7 +24,21 @@ public class MoreMappers {
    * @return object mapper
    */
   public static ObjectMapper initMapper() {
-    final ObjectMapper result = new ObjectMapper().registerModule(new JavaTimeModule());
+    return configure(new ObjectMapper());
+  }
+
+  /**
+   * Init default {@link ObjectMapper} for another data format than JSON, e.g. a binary format.
+   *
+   * @param factory factory of the data format
+   * @return object mapper
+   */
+  public static ObjectMapper initMapper(final JsonFactory factory) {
+    return configure(new ObjectMapper(factory));
+  }
+
+  private static ObjectMapper configure(final ObjectMapper mapper) {
+    final ObjectMapper result = mapper.registerModule(new JavaTimeModule());
     result.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     result.configure(Feature.WRITE_BIGDECIMAL_AS_PLAIN, true);
     return result;
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+/**
+ * Computes the length of the compact JSON serialization of a {@link JsonNode} by walking the tree,
+ * without serializing it.
+ * <p>
+ * The result matches {@code Jsons.serialize(jsonNode).length()}: it counts characters, not UTF-8
+ * bytes. Apart from floating point and big numbers, which are rare in records, no intermediate
+ * string is built.
+ */
+final class JsonSizeEstimator {
+
+  private JsonSizeEstimator() {}
+
+  static long estimate(final JsonNode node) {
+    if (node == null) {
+      return 0;
+    }
+    return switch (node.getNodeType()) {
+      case OBJECT -> objectSize(node);
+      case ARRAY -> arraySize(node);
+      case STRING -> quotedSize(node.textValue());
+      case NUMBER -> numberSize(node);
+      case BOOLEAN -> node.booleanValue() ? 4 : 5;
+      case NULL -> 4;
+      case BINARY -> binarySize(node);
+      case MISSING -> 0;
+      // POJO nodes wrap arbitrary objects, fall back to actually serializing them.
+      default -> Jsons.serialize(node).length();
+    };
+  }
+
+  private static long objectSize(final JsonNode node) {
+    // braces and the commas between fields
+    long size = 2 + Math.max(0, node.size() - 1);
+    final Iterator<Entry<String, JsonNode>> fields = node.fields();
+    while (fields.hasNext()) {
+      final Entry<String, JsonNode> field = fields.next();
+      // field name, colon and value
+      size += quotedSize(field.getKey()) + 1 + estimate(field.getValue());
+    }
+    return size;
+  }
+
+  private static long arraySize(final JsonNode node) {
+    // brackets and the commas between elements
+    long size = 2 + Math.max(0, node.size() - 1);
+    for (int i = 0; i < node.size(); i++) {
+      size += estimate(node.get(i));
+    }
+    return size;
+  }
+
+  private static long quotedSize(final String value) {
+    long size = 2;
+    for (int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        size += 2;
+      } else if (c < 0x20) {
+        // \b, \t, \n, \f and \r have a short escape, other control characters are written as \\uXXXX
+        size += (c == '\b' || c == '\t' || c == '\n' || c == '\f' || c == '\r') ? 2 : 6;
+      } else {
+        size += 1;
+      }
+    }
+    return size;
+  }
+
+  private static long numberSize(final JsonNode node) {
+    if (node.canConvertToLong() && node.isIntegralNumber()) {
+      return digits(node.longValue());
+    }
+    return node.asText().length();
+  }
+
+  private static int digits(final long value) {
+    if (value == Long.MIN_VALUE) {
+      return 20;
+    }
+    int size = value < 0 ? 2 : 1;
+    long remaining = Math.abs(value);
+    while (remaining >= 10) {
+      remaining /= 10;
+      size++;
+    }
+    return size;
+  }
+
+  private static long binarySize(final JsonNode node) {
+    // base64 encoded and quoted
+    final long length = node instanceof BinaryNode binaryNode ? binaryNode.binaryValue().length : 0;
+    return 2 + 4 * ((length + 2) / 3);
+  }
+
+}
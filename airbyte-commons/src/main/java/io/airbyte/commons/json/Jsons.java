@@ -7,6 +7,8 @@ package io.airbyte.commons.json;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toMap;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -14,6 +16,7 @@ import com.fasterxml.jackson.core.util.Separators;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Charsets;
@@ -21,6 +24,7 @@ import com.google.common.base.Preconditions;
 import io.airbyte.commons.jackson.MoreMappers;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -45,6 +49,8 @@ public class Jsons {
   // Object Mapper is thread-safe
   private static final ObjectMapper OBJECT_MAPPER = MoreMappers.initMapper();
   private static final ObjectWriter OBJECT_WRITER = OBJECT_MAPPER.writer(new JsonPrettyPrinter());
+  // Leaves flushing to the owner of the generator, so that consecutive values share its buffer.
+  private static final ObjectWriter STREAMING_WRITER = OBJECT_MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
   /**
    * Serialize an object to a JSON string.
@@ -61,6 +67,34 @@ public class Jsons {
     }
   }
 
+  /**
+   * Serialize an object to a JSON generator, producing the same output as {@link #serialize(Object)}
+   * without building an intermediate string. The generator is not flushed.
+   *
+   * @param object to serialize
+   * @param generator to write to, usually created with {@link #createGenerator(OutputStream)}
+   * @param <T> type of object
+   * @throws IOException if writing to the generator fails
+   */
+  public static <T> void serialize(final T object, final JsonGenerator generator) throws IOException {
+    STREAMING_WRITER.writeValue(generator, object);
+  }
+
+  /**
+   * Create a generator writing UTF-8 encoded JSON to an output stream, meant to be reused for many
+   * values with {@link #serialize(Object, JsonGenerator)}. No separator is written between
+   * consecutive values, the caller is responsible for delimiting them.
+   *
+   * @param outputStream to write to, closed when the generator is closed
+   * @return the generator
+   * @throws IOException if the generator cannot be created
+   */
+  public static JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+    final JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    generator.setRootValueSeparator(null);
+    return generator;
+  }
+
   /**
    * Deserialize a JSON string to an object with a type.
    *
@@ -170,6 +204,29 @@ public class Jsons {
     }
   }
 
+  /**
+   * Deserialize a slice of a UTF-8 encoded byte array to a JSON object, without decoding it to a
+   * string first.
+   * <p>
+   * The byte parser rejects invalid UTF-8, while decoding to a string replaces it with U+FFFD. If the
+   * bytes cannot be parsed, they are decoded and parsed again, so that the same documents are
+   * accepted as by {@link #tryDeserialize(String, Class)}.
+   *
+   * @param bytes buffer holding the JSON document
+   * @param offset offset of the JSON document in the buffer
+   * @param length length in bytes of the JSON document
+   * @param klass to deserialize to.
+   * @param <T> type of input object.
+   * @return optional as type T.
+   */
+  public static <T> Optional<T> tryDeserialize(final byte[] bytes, final int offset, final int length, final Class<T> klass) {
+    try {
+      return Optional.of(OBJECT_MAPPER.readValue(bytes, offset, length, klass));
+    } catch (final Throwable e) {
+      return tryDeserialize(new String(bytes, offset, length, Charsets.UTF_8), klass);
+    }
+  }
+
   /**
    * Convert an object to {@link JsonNode}.
    *
@@ -295,9 +352,12 @@ public class Jsons {
    * the string to byte[] and use the length of the byte[]. However, this conversion is expensive in
    * memory consumption. Given that the byte size of the serialized JSON is already an estimation of
    * the actual size of the JSON object, using a cheap operation seems an acceptable compromise.
+   * <p>
+   * The length is computed by walking the tree rather than serializing it, see
+   * {@link JsonSizeEstimator}.
    */
   public static int getEstimatedByteSize(final JsonNode jsonNode) {
-    return serialize(jsonNode).length();
+    return (int) Math.min(Integer.MAX_VALUE, JsonSizeEstimator.estimate(jsonNode));
   }
 
   /**
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class BoundedBlockingRingBufferTest {
+
+  private static final int defaultMaxSize = 3;
+
+  private record Record(int value) {}
+
+  private final Record record1 = new Record(1);
+  private final Record record2 = new Record(2);
+  private final Record record3 = new Record(3);
+
+  @Test
+  void testBasicOfferPollBehavior() {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize);
+
+    final List<Record> records = List.of(
+        new Record(1),
+        new Record(2),
+        new Record(3),
+        new Record(4));
+
+    final List<Boolean> insertionResults = records.stream().map(queue::offer).toList();
+
+    // The last item is false because defaultMax size is 3 so the last insert should fail
+    assertEquals(List.of(true, true, true, false), insertionResults);
+
+    queue.close();
+
+    final List<Record> readRecords = new ArrayList<>();
+    while (!queue.isDone()) {
+      readRecords.add(queue.poll());
+    }
+    assertEquals(records.subList(0, 3), readRecords);
+  }
+
+  @Test
+  void testWrapAround() {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(2);
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(queue.offer(new Record(i)));
+      assertEquals(1, queue.size());
+      assertEquals(new Record(i), queue.poll());
+      assertEquals(0, queue.size());
+    }
+    assertNull(queue.poll());
+  }
+
+  @Test
+  void testOfferToClosedQueueFails() throws InterruptedException {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize);
+
+    assertTrue(queue.offer(record1));
+    queue.close();
+    assertFalse(queue.offer(record2));
+    assertFalse(queue.put(record3));
+    assertEquals(1, queue.size());
+    assertFalse(queue.isDone());
+
+    assertEquals(record1, queue.poll(1, TimeUnit.SECONDS));
+    assertTrue(queue.isDone());
+  }
+
+  @Test
+  void testOfferIsBoundedByWeight() {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize, 5, Record::value);
+
+    assertTrue(queue.offer(record2));
+    assertTrue(queue.offer(record3));
+    assertEquals(5, queue.weight());
+    // Over the weight limit even though there are free slots
+    assertFalse(queue.offer(record1));
+
+    assertEquals(record2, queue.poll());
+    assertEquals(3, queue.weight());
+    assertTrue(queue.offer(record1));
+    assertEquals(4, queue.weight());
+  }
+
+  @Test
+  void testHeavyElementIsAcceptedInEmptyQueue() {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize, 5, Record::value);
+
+    assertTrue(queue.offer(new Record(42)));
+    assertFalse(queue.offer(record1));
+    assertEquals(new Record(42), queue.poll());
+    assertEquals(0, queue.weight());
+  }
+
+  @Test
+  void testOfferNullFails() {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize);
+
+    assertThrows(NullPointerException.class, () -> queue.offer(null));
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  void testInvalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new BoundedBlockingRingBuffer<Record>(0));
+  }
+
+  @Test
+  @Timeout(10)
+  void testPollTimesOutOnEmptyQueue() throws InterruptedException {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize);
+
+    assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  @Timeout(10)
+  void testCloseWakesUpBlockedProducer() throws Exception {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(1);
+    assertTrue(queue.offer(record1));
+
+    final CompletableFuture<Boolean> put = CompletableFuture.supplyAsync(() -> {
+      try {
+        return queue.put(record2);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    queue.close();
+
+    assertFalse(put.get());
+  }
+
+  @Test
+  @Timeout(10)
+  void testWaitsOnFullAndEmptyQueueAreCounted() throws Exception {
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(1);
+
+    assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    assertTrue(queue.put(record1));
+    assertEquals(record1, queue.poll(10, TimeUnit.MILLISECONDS));
+    assertEquals(1, queue.idleOnEmptyCount());
+    assertTrue(queue.idleOnEmptyNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+    assertEquals(0, queue.blockedOnFullCount());
+
+    assertTrue(queue.offer(record1));
+    final CompletableFuture<Boolean> put = CompletableFuture.supplyAsync(() -> {
+      try {
+        return queue.put(record2);
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    while (queue.blockedOnFullCount() == 0) {
+      Thread.sleep(1);
+    }
+    assertEquals(record1, queue.poll());
+    assertTrue(put.get());
+    assertEquals(1, queue.blockedOnFullCount());
+    assertTrue(queue.blockedOnFullNanos() > 0);
+  }
+
+  @Test
+  void testQueueWaitIsReported() throws InterruptedException {
+    final List<Long> queueWaits = new ArrayList<>();
+    final BoundedBlockingRingBuffer<Record> queue = new BoundedBlockingRingBuffer<>(defaultMaxSize, Long.MAX_VALUE, r -> 0, queueWaits::add);
+
+    assertTrue(queue.offer(record1));
+    Thread.sleep(5);
+    assertEquals(record1, queue.poll());
+    assertNull(queue.poll());
+
+    assertEquals(1, queueWaits.size());
+    assertTrue(queueWaits.get(0) >= TimeUnit.MILLISECONDS.toNanos(5));
+  }
+
+  @Test
+  @Timeout(30)
+  void testProducerConsumerPreservesOrder() throws Exception {
+    final int count = 100_000;
+    final BoundedBlockingRingBuffer<Integer> queue = new BoundedBlockingRingBuffer<>(16);
+
+    final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+      try {
+        for (int i = 0; i < count; i++) {
+          queue.put(i);
+        }
+      } catch (final InterruptedException e) {
+        throw new RuntimeException(e);
+      } finally {
+        queue.close();
+      }
+    });
+
+    int expected = 0;
+    while (!queue.isDone()) {
+      final Integer value = queue.poll(1, TimeUnit.SECONDS);
+      if (value != null) {
+        assertEquals(expected++, value);
+      }
+    }
+    producer.get();
+    assertEquals(count, expected);
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ByteLineReaderTest {
+
+  @Test
+  void testLinesMatchBufferedReader() throws IOException {
+    final String input = "first\nsecond\r\n\nfourth line is longer than the buffer\nlast";
+
+    assertEquals(IOs.newBufferedReader(toInputStream(input)).lines().toList(), readAll(new ByteLineReader(toInputStream(input), 4)));
+  }
+
+  @Test
+  void testTrailingLineFeedDoesNotProduceEmptyLine() throws IOException {
+    assertEquals(List.of("a", "b"), readAll(new ByteLineReader(toInputStream("a\nb\n"), 2)));
+  }
+
+  @Test
+  void testEmptyStream() throws IOException {
+    final ByteLineReader reader = new ByteLineReader(toInputStream(""));
+
+    assertFalse(reader.ready());
+    assertFalse(reader.readLine());
+  }
+
+  @Test
+  void testLengthIsUtf8Size() throws IOException {
+    final String line = "{\"color\":\"gr\u00fcn\"}";
+    final ByteLineReader reader = new ByteLineReader(toInputStream(line + "\n"));
+
+    assertTrue(reader.readLine());
+    assertEquals(line.getBytes(StandardCharsets.UTF_8).length, reader.length());
+    assertArrayEquals(line.getBytes(StandardCharsets.UTF_8), reader.copyLine());
+    assertEquals(line, reader.lineAsString());
+  }
+
+  private static ByteArrayInputStream toInputStream(final String input) {
+    return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> readAll(final ByteLineReader reader) throws IOException {
+    final List<String> lines = new ArrayList<>();
+    while (reader.readLine()) {
+      lines.add(reader.lineAsString());
+    }
+    return lines;
+  }
+
+}
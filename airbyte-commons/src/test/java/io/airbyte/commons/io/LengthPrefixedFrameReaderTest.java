@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.commons.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LengthPrefixedFrameReaderTest {
+
+  @Test
+  void testFramesRoundTrip() throws IOException {
+    final List<String> frames = List.of("first", "", "gr\u00fcn", "x".repeat(100_000));
+
+    assertEquals(frames, readAll(new LengthPrefixedFrameReader(new ByteArrayInputStream(write(frames)), 1_000_000)));
+  }
+
+  @Test
+  void testEmptyStream() throws IOException {
+    final LengthPrefixedFrameReader reader = new LengthPrefixedFrameReader(new ByteArrayInputStream(new byte[0]), 100);
+
+    assertFalse(reader.ready());
+    assertFalse(reader.readFrame());
+  }
+
+  @Test
+  void testTruncatedFrame() throws IOException {
+    final byte[] bytes = write(List.of("truncated"));
+    final LengthPrefixedFrameReader reader = new LengthPrefixedFrameReader(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)), 100);
+
+    assertThrows(EOFException.class, reader::readFrame);
+  }
+
+  @Test
+  void testUnframedStreamIsRejected() {
+    final byte[] bytes = "{\"type\":\"LOG\"}\n".getBytes(StandardCharsets.UTF_8);
+    final LengthPrefixedFrameReader reader = new LengthPrefixedFrameReader(new ByteArrayInputStream(bytes), 1_000_000);
+
+    final IOException exception = assertThrows(IOException.class, reader::readFrame);
+    assertTrue(exception.getMessage().contains("prefix 0x7b227479"), exception.getMessage());
+  }
+
+  private static byte[] write(final List<String> frames) throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (final LengthPrefixedFrameWriter writer = new LengthPrefixedFrameWriter(outputStream)) {
+      for (final String frame : frames) {
+        final byte[] bytes = frame.getBytes(StandardCharsets.UTF_8);
+        writer.writeFrame(bytes, 0, bytes.length);
+      }
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static List<String> readAll(final LengthPrefixedFrameReader reader) throws IOException {
+    final List<String> frames = new ArrayList<>();
+    while (reader.readFrame()) {
+      frames.add(new String(reader.array(), reader.offset(), reader.length(), StandardCharsets.UTF_8));
+    }
+    return frames;
+  }
+
+}
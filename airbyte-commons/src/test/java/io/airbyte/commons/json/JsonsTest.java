@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.BinaryNode;
@@ -19,6 +20,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
@@ -58,6 +61,18 @@ class JsonsTest {
                 TEST2, DEF)));
   }
 
+  @Test
+  void testSerializeToGenerator() throws IOException {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (final JsonGenerator generator = Jsons.createGenerator(outputStream)) {
+      Jsons.serialize(new ToClass(ABC, 999, 888L), generator);
+      generator.writeRaw('\n');
+      Jsons.serialize(ImmutableMap.of(TEST, ABC), generator);
+    }
+
+    assertEquals(SERIALIZED_JSON + "\n{\"test\":\"abc\"}", outputStream.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   void testSerializeJsonNode() {
     assertEquals(
@@ -111,6 +126,17 @@ class JsonsTest {
         Jsons.tryDeserialize("{\"str\":\"abc\", \"num\": 999, \"test}"));
   }
 
+  @Test
+  void testTryDeserializeBytesReplacesInvalidUtf8() {
+    final byte[] bytes = "{\"str\":\"aXc\"}".getBytes(StandardCharsets.UTF_8);
+    bytes[9] = (byte) 0xFF;
+
+    assertEquals(
+        Optional.of(Jsons.deserialize("{\"str\":\"a\ufffdc\"}")),
+        Jsons.tryDeserialize(bytes, 0, bytes.length, JsonNode.class));
+    assertEquals(Optional.empty(), Jsons.tryDeserialize(bytes, 0, 5, JsonNode.class));
+  }
+
   @Test
   void testToJsonNode() {
     assertEquals(
@@ -261,6 +287,16 @@ class JsonsTest {
     assertEquals(Jsons.toBytes(json).length, Jsons.getEstimatedByteSize(json));
   }
 
+  @Test
+  void testGetEstimatedByteSizeMatchesSerializedLength() {
+    final JsonNode json = Jsons.deserialize(
+        "{\"str\":\"quote \\\" backslash \\\\ newline \\n tab \\t control \\u0001 unicode \u00e9\","
+            + "\"int\":-12345,\"zero\":0,\"long\":9223372036854775807,\"double\":1.5e-7,\"big\":123456789012345678901234567890,"
+            + "\"bool\":true,\"false\":false,\"null\":null,\"empty_obj\":{},\"empty_arr\":[],"
+            + "\"nested\":{\"arr\":[1,\"two\",{\"three\":3.0},[null]]}}");
+    assertEquals(Jsons.serialize(json).length(), Jsons.getEstimatedByteSize(json));
+  }
+
   @Test
   void testFlatten__noArrays() {
     final JsonNode json = Jsons.deserialize("{ \"abc\": { \"def\": \"ghi\" }, \"jkl\": true, \"pqr\": 1 }");
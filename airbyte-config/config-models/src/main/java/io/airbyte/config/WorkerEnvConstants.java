@@ -12,5 +12,6 @@ public class WorkerEnvConstants {
   public static final String WORKER_CONNECTOR_IMAGE = "WORKER_CONNECTOR_IMAGE";
   public static final String WORKER_JOB_ID = "WORKER_JOB_ID";
   public static final String WORKER_JOB_ATTEMPT = "WORKER_JOB_ATTEMPT";
+  public static final String AIRBYTE_MESSAGE_FORMAT = "AIRBYTE_MESSAGE_FORMAT";
 
 }
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads the last lines of a log made of several objects, using ranged reads from the end of the
+ * newest objects so that only the bytes of the returned lines are downloaded.
+ * <p>
+ * Like when the objects are downloaded entirely, every object is a sequence of lines: the trailing
+ * new line of an object is dropped and lines do not span objects.
+ * <p>
+ * The cursor of a tail is the key of an object and the offset in that object where the lines
+ * preceding the tail end. It stays valid as long as the objects are not rewritten, which is the
+ * case of logs as new lines are written to new objects.
+ * <p>
+ * The lines written after a tail are read from its offset, which has the same format and points to
+ * where the next line starts. Objects whose key sorts after the key of an offset are new. While the
+ * newest object is still written, its last line is only read once it ends with a new line.
+ */
+final class CloudLogTailer {
+
+  static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+  private static final String CURSOR_SEPARATOR = ":";
+  // Sorts before any object, all the lines of the log follow it
+  static final String START_OFFSET = "0" + CURSOR_SEPARATOR;
+  private static final byte NEW_LINE = '\n';
+  private static final byte[] EMPTY = new byte[0];
+
+  /**
+   * Object of a log.
+   *
+   * @param key key of the object
+   * @param size size of the object in bytes
+   */
+  record LogObject(String key, long size) {
+
+  }
+
+  /**
+   * Position in a log.
+   *
+   * @param key key of the object
+   * @param offset offset in the object
+   */
+  private record Position(String key, long offset) {
+
+  }
+
+  /**
+   * Reads a range of an object.
+   */
+  @FunctionalInterface
+  interface RangeReader {
+
+    /**
+     * Read the bytes from start, inclusive, to end, exclusive.
+     */
+    byte[] read(String key, long start, long end) throws IOException;
+
+  }
+
+  private CloudLogTailer() {}
+
+  /**
+   * Get the last lines of a log.
+   *
+   * @param ascendingObjects objects of the log, in lexicographical order
+   * @param cursor cursor of a previous tail to get the lines preceding it, or null to start from the
+   *        end of the log
+   * @param numLines maximum number of lines
+   * @param reader reads the objects
+   * @param chunkSize number of bytes read at once
+   * @param lastObjectComplete whether the newest object is not written anymore, otherwise its last
+   *        line is left out unless it ends with a new line
+   * @return the lines, the cursor to get the lines preceding them and, when tailing from the end,
+   *         the offset to get the lines written after them
+   */
+  static LogTail tail(final List<LogObject> ascendingObjects,
+                      final String cursor,
+                      final int numLines,
+                      final RangeReader reader,
+                      final int chunkSize,
+                      final boolean lastObjectComplete)
+      throws IOException {
+    int index;
+    long end;
+    String offset = null;
+    if (cursor == null) {
+      index = ascendingObjects.size() - 1;
+      end = index >= 0 ? ascendingObjects.get(index).size() : 0;
+      offset = index >= 0 ? toCursor(ascendingObjects.get(index).key(), end) : START_OFFSET;
+      if (!lastObjectComplete && index >= 0) {
+        final long lastNewLine = findLastNewLine(ascendingObjects.get(index), reader, chunkSize);
+        if (lastNewLine < end - 1) {
+          // The last line is still written, it is read by following the log from its start
+          offset = toCursor(ascendingObjects.get(index).key(), lastNewLine + 1);
+          if (lastNewLine >= 0) {
+            end = lastNewLine;
+          } else {
+            index--;
+            end = index >= 0 ? ascendingObjects.get(index).size() : 0;
+          }
+        }
+      }
+    } else {
+      final Position position = parse(cursor);
+      end = position.offset();
+      index = indexOf(ascendingObjects, position.key());
+      if (index >= 0) {
+        end = Math.min(end, ascendingObjects.get(index).size());
+      }
+    }
+
+    final Deque<String> lines = new ArrayDeque<>();
+    while (index >= 0) {
+      final LogObject object = ascendingObjects.get(index);
+      final long remaining = readLinesBackwards(object, end, numLines, lines, reader, chunkSize);
+      if (remaining >= 0) {
+        return new LogTail(List.copyOf(lines), toCursor(object.key(), remaining), offset);
+      }
+      index--;
+      if (index < 0) {
+        break;
+      }
+      end = ascendingObjects.get(index).size();
+      if (lines.size() >= numLines) {
+        return new LogTail(List.copyOf(lines), toCursor(ascendingObjects.get(index).key(), end), offset);
+      }
+    }
+    return new LogTail(List.copyOf(lines), null, offset);
+  }
+
+  /**
+   * Get the lines written after an offset.
+   *
+   * @param ascendingObjects objects of the log, in lexicographical order
+   * @param offset offset of a previous tail or read
+   * @param numLines maximum number of lines
+   * @param reader reads the objects
+   * @param chunkSize number of bytes read at once
+   * @param lastObjectComplete whether the newest object is not written anymore, otherwise its last
+   *        line is only read once it ends with a new line
+   * @return the lines and the offset to get the lines written after them
+   */
+  static LogTail follow(final List<LogObject> ascendingObjects,
+                        final String offset,
+                        final int numLines,
+                        final RangeReader reader,
+                        final int chunkSize,
+                        final boolean lastObjectComplete)
+      throws IOException {
+    final Position position = parse(offset);
+    int index = 0;
+    while (index < ascendingObjects.size() && ascendingObjects.get(index).key().compareTo(position.key()) < 0) {
+      index++;
+    }
+    long start = 0;
+    if (index < ascendingObjects.size() && ascendingObjects.get(index).key().equals(position.key())) {
+      start = Math.min(position.offset(), ascendingObjects.get(index).size());
+    }
+
+    final List<String> lines = new ArrayList<>();
+    String nextOffset = offset;
+    while (index < ascendingObjects.size() && lines.size() < numLines) {
+      final LogObject object = ascendingObjects.get(index);
+      final boolean complete = lastObjectComplete || index < ascendingObjects.size() - 1;
+      nextOffset = toCursor(object.key(), readLinesForwards(object, start, numLines, lines, reader, chunkSize, complete));
+      index++;
+      start = 0;
+    }
+    return new LogTail(List.copyOf(lines), null, nextOffset);
+  }
+
+  /**
+   * Read the lines of an object backwards, from end to its beginning, until there are numLines lines.
+   *
+   * @return the offset where the lines that were not read end, -1 if the whole object was read
+   */
+  private static long readLinesBackwards(final LogObject object,
+                                         final long end,
+                                         final int numLines,
+                                         final Deque<String> lines,
+                                         final RangeReader reader,
+                                         final int chunkSize)
+      throws IOException {
+    boolean atObjectEnd = end == object.size();
+    // A cursor within the object always points to a new line, so at least one line precedes it
+    boolean hasContent = !atObjectEnd;
+    // Bytes of the oldest line read so far, which may continue in the preceding chunk
+    byte[] partialLine = EMPTY;
+    long position = end;
+    while (position > 0 && lines.size() < numLines) {
+      final long start = Math.max(0, position - chunkSize);
+      final byte[] chunk = reader.read(object.key(), start, position);
+      int length = chunk.length;
+      if (atObjectEnd && length > 0 && chunk[length - 1] == NEW_LINE) {
+        length--;
+      }
+      atObjectEnd = false;
+      hasContent |= length > 0;
+
+      final byte[] buffer = concat(chunk, length, partialLine);
+      int lineEnd = buffer.length;
+      for (int i = length - 1; i >= 0; i--) {
+        if (buffer[i] == NEW_LINE) {
+          lines.addFirst(toLine(buffer, i + 1, lineEnd));
+          lineEnd = i;
+          if (lines.size() >= numLines) {
+            return start + i;
+          }
+        }
+      }
+      partialLine = Arrays.copyOf(buffer, lineEnd);
+      position = start;
+    }
+    if (position > 0) {
+      return position;
+    }
+    if (hasContent) {
+      lines.addFirst(toLine(partialLine, 0, partialLine.length));
+    }
+    return -1;
+  }
+
+  /**
+   * Find the last new line of an object.
+   *
+   * @return the offset of the last new line, -1 if there is none
+   */
+  private static long findLastNewLine(final LogObject object, final RangeReader reader, final int chunkSize) throws IOException {
+    long position = object.size();
+    while (position > 0) {
+      final long start = Math.max(0, position - chunkSize);
+      final byte[] chunk = reader.read(object.key(), start, position);
+      for (int i = chunk.length - 1; i >= 0; i--) {
+        if (chunk[i] == NEW_LINE) {
+          return start + i;
+        }
+      }
+      position = start;
+    }
+    return -1;
+  }
+
+  /**
+   * Read the lines of an object from start to its end, until there are numLines lines.
+   *
+   * @return the offset where the lines that were not read start
+   */
+  private static long readLinesForwards(final LogObject object,
+                                        final long start,
+                                        final int numLines,
+                                        final List<String> lines,
+                                        final RangeReader reader,
+                                        final int chunkSize,
+                                        final boolean complete)
+      throws IOException {
+    // Bytes of the newest line read so far, which may continue in the following chunk
+    byte[] partialLine = EMPTY;
+    long lineStart = start;
+    long position = start;
+    while (position < object.size()) {
+      final long end = Math.min(object.size(), position + chunkSize);
+      final byte[] chunk = reader.read(object.key(), position, end);
+      int lineFrom = 0;
+      for (int i = 0; i < chunk.length; i++) {
+        if (chunk[i] == NEW_LINE) {
+          final byte[] line = append(partialLine, chunk, lineFrom, i);
+          lines.add(toLine(line, 0, line.length));
+          partialLine = EMPTY;
+          lineFrom = i + 1;
+          lineStart = position + lineFrom;
+          if (lines.size() >= numLines) {
+            return lineStart;
+          }
+        }
+      }
+      partialLine = append(partialLine, chunk, lineFrom, chunk.length);
+      position = end;
+    }
+    // Like when tailing, the trailing new line of an object does not start an empty line
+    if (complete && lineStart < object.size()) {
+      lines.add(toLine(partialLine, 0, partialLine.length));
+      return object.size();
+    }
+    return lineStart;
+  }
+
+  private static Position parse(final String cursor) {
+    final int separator = cursor.indexOf(CURSOR_SEPARATOR);
+    if (separator <= 0) {
+      throw new IllegalArgumentException("Invalid log cursor: " + cursor);
+    }
+    try {
+      return new Position(cursor.substring(separator + 1), Long.parseLong(cursor.substring(0, separator)));
+    } catch (final NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid log cursor: " + cursor, e);
+    }
+  }
+
+  private static int indexOf(final List<LogObject> ascendingObjects, final String key) {
+    // Cursors usually point to one of the last objects
+    for (int i = ascendingObjects.size() - 1; i >= 0; i--) {
+      if (ascendingObjects.get(i).key().equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static String toCursor(final String key, final long offset) {
+    return offset + CURSOR_SEPARATOR + key;
+  }
+
+  private static byte[] concat(final byte[] chunk, final int length, final byte[] partialLine) {
+    if (partialLine.length == 0 && length == chunk.length) {
+      return chunk;
+    }
+    final byte[] buffer = Arrays.copyOf(chunk, length + partialLine.length);
+    System.arraycopy(partialLine, 0, buffer, length, partialLine.length);
+    return buffer;
+  }
+
+  private static byte[] append(final byte[] partialLine, final byte[] chunk, final int from, final int to) {
+    if (partialLine.length == 0) {
+      return Arrays.copyOfRange(chunk, from, to);
+    }
+    final byte[] buffer = Arrays.copyOf(partialLine, partialLine.length + to - from);
+    System.arraycopy(chunk, from, buffer, partialLine.length, to - from);
+    return buffer;
+  }
+
+  private static String toLine(final byte[] buffer, final int from, final int to) {
+    // Lines are decoded once complete, a chunk boundary never splits a character
+    final int end = to > from && buffer[to - 1] == '\r' ? to - 1 : to;
+    return new String(buffer, from, end - from, StandardCharsets.UTF_8);
+  }
+
+}
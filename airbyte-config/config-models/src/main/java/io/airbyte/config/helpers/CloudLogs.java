@@ -35,7 +35,26 @@ public interface CloudLogs {
    * Assume all the lexicographically ordered objects at the given path form one giant log file,
    * return the last numLines lines.
    */
-  List<String> tailCloudLog(LogConfigs configs, String logPath, int numLines) throws IOException;
+  default List<String> tailCloudLog(LogConfigs configs, String logPath, int numLines) throws IOException {
+    return tailCloudLog(configs, logPath, numLines, null).lines();
+  }
+
+  /**
+   * Assume all the lexicographically ordered objects at the given path form one giant log file,
+   * return the last numLines lines preceding the cursor. Only the end of the newest objects is read.
+   *
+   * @param cursor cursor of a previous tail, or null to get the last lines of the log
+   */
+  LogTail tailCloudLog(LogConfigs configs, String logPath, int numLines, String cursor) throws IOException;
+
+  /**
+   * Assume all the lexicographically ordered objects at the given path form one giant log file,
+   * return at most numLines lines written after the offset. Only the objects following the offset
+   * are read.
+   *
+   * @param offset offset of a previous tail or read
+   */
+  LogTail followCloudLog(LogConfigs configs, String logPath, String offset, int numLines) throws IOException;
 
   void deleteLogs(LogConfigs configs, String logPath);
 
@@ -5,18 +5,20 @@
 package io.airbyte.config.helpers;
 
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Blob.BlobSourceOption;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.Storage;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
-import java.io.ByteArrayOutputStream;
+import io.airbyte.config.helpers.CloudLogTailer.LogObject;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -70,44 +72,54 @@ public class GcsLogs implements CloudLogs {
   }
 
   @Override
-  public List<String> tailCloudLog(final LogConfigs configs, final String logPath, final int numLines) throws IOException {
+  public LogTail tailCloudLog(final LogConfigs configs, final String logPath, final int numLines, final String cursor) throws IOException {
     LOGGER.debug("Tailing logs from GCS path: {}", logPath);
     final Storage gcsClient = getOrCreateGcsClient();
+    final String bucketName = configs.getStorageConfigs().getGcsConfig().getBucketName();
 
     LOGGER.debug("Start GCS list request.");
+    final List<LogObject> ascendingTimestampObjects = getAscendingObjects(gcsClient, bucketName, logPath);
 
-    final Page<Blob> blobs = gcsClient.list(
-        configs.getStorageConfigs().getGcsConfig().getBucketName(),
-        Storage.BlobListOption.prefix(logPath));
+    LOGGER.debug("Start getting GCS object ranges.");
+    final LogTail tail = CloudLogTailer.tail(ascendingTimestampObjects, cursor, numLines,
+        (name, start, end) -> getBlobRange(gcsClient, BlobId.of(bucketName, name), start, end), CloudLogTailer.DEFAULT_CHUNK_SIZE, true);
+
+    LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
+    return tail;
+  }
+
+  @Override
+  public LogTail followCloudLog(final LogConfigs configs, final String logPath, final String offset, final int numLines) throws IOException {
+    LOGGER.debug("Following logs from GCS path: {}", logPath);
+    final Storage gcsClient = getOrCreateGcsClient();
+    final String bucketName = configs.getStorageConfigs().getGcsConfig().getBucketName();
 
-    final var ascendingTimestampBlobs = new ArrayList<Blob>();
+    final List<LogObject> ascendingTimestampObjects = getAscendingObjects(gcsClient, bucketName, logPath);
+    return CloudLogTailer.follow(ascendingTimestampObjects, offset, numLines,
+        (name, start, end) -> getBlobRange(gcsClient, BlobId.of(bucketName, name), start, end), CloudLogTailer.DEFAULT_CHUNK_SIZE, true);
+  }
+
+  private static List<LogObject> getAscendingObjects(final Storage gcsClient, final String bucketName, final String logPath) {
+    final Page<Blob> blobs = gcsClient.list(bucketName, Storage.BlobListOption.prefix(logPath));
+
+    final var ascendingTimestampObjects = new ArrayList<LogObject>();
     for (final Blob blob : blobs.iterateAll()) {
-      ascendingTimestampBlobs.add(blob);
+      ascendingTimestampObjects.add(new LogObject(blob.getName(), blob.getSize()));
     }
-    final var descendingTimestampBlobs = Lists.reverse(ascendingTimestampBlobs);
-
-    final var lines = new ArrayList<String>();
-    int linesRead = 0;
+    return ascendingTimestampObjects;
+  }
 
-    LOGGER.debug("Start getting GCS objects.");
-    while (linesRead <= numLines && !descendingTimestampBlobs.isEmpty()) {
-      final var poppedBlob = descendingTimestampBlobs.remove(0);
-      try (final var inMemoryData = new ByteArrayOutputStream()) {
-        poppedBlob.downloadTo(inMemoryData);
-        final var currFileLines = inMemoryData.toString(StandardCharsets.UTF_8).split("\n");
-        final List<String> currFileLinesReversed = Lists.reverse(List.of(currFileLines));
-        for (final var line : currFileLinesReversed) {
-          if (linesRead == numLines) {
-            break;
-          }
-          lines.add(0, line);
-          linesRead++;
-        }
+  private static byte[] getBlobRange(final Storage gcsClient, final BlobId blobId, final long start, final long end) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+    try (final ReadChannel reader = gcsClient.reader(blobId)) {
+      reader.seek(start);
+      reader.limit(end);
+      int read = 0;
+      while (buffer.hasRemaining() && read >= 0) {
+        read = reader.read(buffer);
       }
     }
-
-    LOGGER.debug("Done retrieving GCS logs: {}.", logPath);
-    return lines;
+    return Arrays.copyOf(buffer.array(), buffer.position());
   }
 
   @Override
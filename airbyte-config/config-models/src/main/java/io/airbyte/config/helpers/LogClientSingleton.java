@@ -6,15 +6,22 @@ package io.airbyte.config.helpers;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.airbyte.config.Configs;
 import io.airbyte.config.Configs.WorkerEnvironment;
+import io.airbyte.config.helpers.CloudLogTailer.LogObject;
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import org.apache.commons.io.input.ReversedLinesFileReader;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
@@ -35,10 +42,48 @@ public class LogClientSingleton {
   private static final Logger LOGGER = LoggerFactory.getLogger(LogClientSingleton.class);
   private static LogClientSingleton instance;
 
+  public static final int LOG_TAIL_SIZE = 1000000;
+  private static final long MAX_CACHED_LOG_BYTES = 64 * 1024 * 1024;
+  // Pages heavier than this are read again rather than evicting most of the cache.
+  private static final long MAX_CACHED_LOG_TAIL_BYTES = MAX_CACHED_LOG_BYTES / 4;
+  // Approximate heap used by a line besides its characters: String and array headers, deque slot.
+  private static final int LINE_OVERHEAD_BYTES = 64;
+  // The last objects of a log can still be uploaded after the attempt reached a terminal status.
+  private static final Duration LOG_UPLOAD_GRACE_PERIOD = Duration.ofMinutes(2);
   @VisibleForTesting
-  static final int LOG_TAIL_SIZE = 1000000;
+  static final long LOG_UPLOAD_GRACE_PERIOD_NANOS = LOG_UPLOAD_GRACE_PERIOD.toNanos();
   @VisibleForTesting
   CloudLogs logClient;
+  @VisibleForTesting
+  LongSupplier nanoClock = System::nanoTime;
+
+  // Pages of logs that are not written anymore, weighted by their approximate size on the heap. A
+  // single segment lets a page use the whole capacity.
+  private final Cache<LogTailKey, CachedLogTail> completeLogTails = CacheBuilder.newBuilder()
+      .concurrencyLevel(1)
+      .maximumWeight(MAX_CACHED_LOG_BYTES)
+      .weigher((final LogTailKey key, final CachedLogTail cached) -> (int) Math.min(Integer.MAX_VALUE, weigh(cached.tail())))
+      .expireAfterAccess(1, TimeUnit.HOURS)
+      .build();
+
+  private record LogTailKey(String logPath, String cursor, int numLines) {
+
+  }
+
+  /**
+   * A page of a log that is not written anymore.
+   *
+   * @param tail the page
+   * @param completeSinceNanos when the log was first seen not written anymore
+   * @param readAtNanos when the page was read
+   */
+  private record CachedLogTail(LogTail tail, long completeSinceNanos, long readAtNanos) {
+
+    boolean isSettled() {
+      return readAtNanos - completeSinceNanos >= LOG_UPLOAD_GRACE_PERIOD_NANOS;
+    }
+
+  }
 
   // Any changes to the following values must also be propagated to the log4j2.xml in main/resources.
   public static final String WORKSPACE_MDC_KEY = "workspace_app_root";
@@ -161,6 +206,99 @@ public class LogClientSingleton {
     return logClient.tailCloudLog(logConfigs, cloudLogPath, LOG_TAIL_SIZE);
   }
 
+  /**
+   * Tail a job log file one page at a time. Pass the cursor of a page to get the preceding one.
+   * <p>
+   * The pages of the logs that are not written anymore, e.g. the ones of a finished attempt, are
+   * cached so that rendering a job again does not read them from the cloud storage, once the
+   * objects uploaded after the end of the attempt had time to land.
+   *
+   * @param workerEnvironment environment of worker.
+   * @param logConfigs configuration for logs
+   * @param logPath log path
+   * @param cursor cursor of the following page, or null to get the last lines
+   * @param numLines maximum number of lines of the page
+   * @param complete whether the log is not written anymore
+   * @return last lines preceding the cursor and the cursor of this page
+   * @throws IOException exception while accessing logs
+   */
+  public LogTail getJobLogTail(final WorkerEnvironment workerEnvironment,
+                               final LogConfigs logConfigs,
+                               final Path logPath,
+                               final String cursor,
+                               final int numLines,
+                               final boolean complete)
+      throws IOException {
+    if (logPath == null || logPath.equals(Path.of(""))) {
+      return new LogTail(Collections.emptyList(), null, CloudLogTailer.START_OFFSET);
+    }
+
+    if (shouldUseLocalLogs(workerEnvironment)) {
+      return getTail(logPath, cursor, numLines, complete);
+    }
+
+    final var cloudLogPath = sanitisePath(JOB_LOGGING_CLOUD_PREFIX, logPath);
+    createCloudClientIfNull(logConfigs);
+    if (!complete) {
+      return logClient.tailCloudLog(logConfigs, cloudLogPath, numLines, cursor);
+    }
+
+    // A page is only served from the cache once it was read a grace period after the log was first
+    // seen complete, so that objects uploaded late are not left out of it.
+    final LogTailKey key = new LogTailKey(cloudLogPath, cursor, numLines);
+    final CachedLogTail cached = completeLogTails.getIfPresent(key);
+    if (cached != null && cached.isSettled()) {
+      return cached.tail();
+    }
+    final long now = nanoClock.getAsLong();
+    final LogTail tail = logClient.tailCloudLog(logConfigs, cloudLogPath, numLines, cursor);
+    if (weigh(tail) <= MAX_CACHED_LOG_TAIL_BYTES) {
+      completeLogTails.put(key, new CachedLogTail(tail, cached == null ? now : cached.completeSinceNanos(), now));
+    }
+    return tail;
+  }
+
+  private static long weigh(final LogTail tail) {
+    long weight = 0;
+    for (final String line : tail.lines()) {
+      weight += (long) line.length() * Character.BYTES + LINE_OVERHEAD_BYTES;
+    }
+    return weight;
+  }
+
+  /**
+   * Read the lines of a job log file written after an offset, to follow a log as it is written.
+   *
+   * @param workerEnvironment environment of worker.
+   * @param logConfigs configuration for logs
+   * @param logPath log path
+   * @param offset offset of a previous tail or read
+   * @param numLines maximum number of lines
+   * @param complete whether the log is not written anymore, otherwise its last line is only read once
+   *        it ends with a new line
+   * @return lines following the offset and the offset to read the next ones
+   * @throws IOException exception while accessing logs
+   */
+  public LogTail followJobLog(final WorkerEnvironment workerEnvironment,
+                              final LogConfigs logConfigs,
+                              final Path logPath,
+                              final String offset,
+                              final int numLines,
+                              final boolean complete)
+      throws IOException {
+    if (logPath == null || logPath.equals(Path.of(""))) {
+      return new LogTail(Collections.emptyList(), null, offset);
+    }
+
+    if (shouldUseLocalLogs(workerEnvironment)) {
+      return follow(logPath, offset, numLines, complete);
+    }
+
+    final var cloudLogPath = sanitisePath(JOB_LOGGING_CLOUD_PREFIX, logPath);
+    createCloudClientIfNull(logConfigs);
+    return logClient.followCloudLog(logConfigs, cloudLogPath, offset, numLines);
+  }
+
   /**
    * Primarily to clean up logs after testing. Only valid for Kube logs.
    */
@@ -215,6 +353,17 @@ public class LogClientSingleton {
     }
   }
 
+  /**
+   * Time for the last lines of a job log to be uploaded once the attempt ended. Logs on local disk
+   * are complete as soon as the attempt ended.
+   *
+   * @param workerEnvironment environment of worker.
+   * @return how long after the end of an attempt its log can still change
+   */
+  public static Duration getLogUploadGracePeriod(final WorkerEnvironment workerEnvironment) {
+    return shouldUseLocalLogs(workerEnvironment) ? Duration.ZERO : LOG_UPLOAD_GRACE_PERIOD;
+  }
+
   // This method should cease to exist here and become a property on the enum instead
   // TODO handle this as part of refactor https://github.com/airbytehq/airbyte/issues/7545
   private static boolean shouldUseLocalLogs(final WorkerEnvironment workerEnvironment) {
@@ -268,4 +417,59 @@ public class LogClientSingleton {
     }
   }
 
+  /**
+   * Read the last N lines of a file preceding a cursor.
+   *
+   * @param path path of file with file name
+   * @param cursor cursor of a previous tail, or null to read the end of the file
+   * @param numLines number of lines to read
+   * @param complete whether the file is not written anymore, otherwise its last line is left out
+   *        unless it ends with a new line
+   * @return the lines and the cursor to read the preceding ones
+   * @throws IOException exception while reading the file
+   */
+  private static LogTail getTail(final Path path, final String cursor, final int numLines, final boolean complete) throws IOException {
+    final File file = path.toFile();
+    if (!file.exists()) {
+      return new LogTail(Collections.emptyList(), null, CloudLogTailer.START_OFFSET);
+    }
+
+    try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+      final List<LogObject> objects = List.of(new LogObject(path.toString(), randomAccessFile.length()));
+      return CloudLogTailer.tail(objects, cursor, numLines, (key, start, end) -> read(randomAccessFile, start, end),
+          CloudLogTailer.DEFAULT_CHUNK_SIZE, complete);
+    }
+  }
+
+  /**
+   * Read the lines of a file written after an offset. Unless the file is complete, the last line is
+   * only read once the file ends with a new line, as it may still be written.
+   *
+   * @param path path of file with file name
+   * @param offset offset of a previous tail or read
+   * @param numLines maximum number of lines to read
+   * @param complete whether the file is not written anymore
+   * @return the lines and the offset to read the following ones
+   * @throws IOException exception while reading the file
+   */
+  private static LogTail follow(final Path path, final String offset, final int numLines, final boolean complete) throws IOException {
+    final File file = path.toFile();
+    if (!file.exists()) {
+      return new LogTail(Collections.emptyList(), null, offset);
+    }
+
+    try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+      final List<LogObject> objects = List.of(new LogObject(path.toString(), randomAccessFile.length()));
+      return CloudLogTailer.follow(objects, offset, numLines, (key, start, end) -> read(randomAccessFile, start, end),
+          CloudLogTailer.DEFAULT_CHUNK_SIZE, complete);
+    }
+  }
+
+  private static byte[] read(final RandomAccessFile randomAccessFile, final long start, final long end) throws IOException {
+    final byte[] bytes = new byte[Math.toIntExact(end - start)];
+    randomAccessFile.seek(start);
+    randomAccessFile.readFully(bytes);
+    return bytes;
+  }
+
 }
@@ -0,0 +1,19 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import java.util.List;
+
+/**
+ * Lines of a log.
+ *
+ * @param lines lines, in the order they were written
+ * @param cursor pass it to get the lines preceding these ones, null if the beginning of the log was
+ *        reached
+ * @param offset pass it to get the lines written after these ones, null if unknown
+ */
+public record LogTail(List<String> lines, String cursor, String offset) {
+
+}
@@ -5,18 +5,14 @@
 package io.airbyte.config.helpers;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Lists;
 import io.airbyte.commons.string.Strings;
+import io.airbyte.config.helpers.CloudLogTailer.LogObject;
 import io.airbyte.config.storage.CloudStorageConfigs;
 import io.airbyte.config.storage.CloudStorageConfigs.S3ApiWorkerStorageConfig;
 import io.airbyte.config.storage.CloudStorageConfigs.WorkerStorageType;
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
@@ -98,33 +94,31 @@ public class S3Logs implements CloudLogs {
   }
 
   @Override
-  public List<String> tailCloudLog(final LogConfigs configs, final String logPath, final int numLines) throws IOException {
+  public LogTail tailCloudLog(final LogConfigs configs, final String logPath, final int numLines, final String cursor) throws IOException {
     LOGGER.debug("Tailing logs from S3 path: {}", logPath);
     final S3Client s3Client = getOrCreateS3Client();
 
     final var s3Bucket = getBucketName(configs.getStorageConfigs());
     LOGGER.debug("Start making S3 list request.");
-    final List<String> ascendingTimestampKeys = getAscendingObjectKeys(s3Client, logPath, s3Bucket);
-    final var descendingTimestampKeys = Lists.reverse(ascendingTimestampKeys);
+    final List<LogObject> ascendingTimestampObjects = getAscendingObjects(s3Client, logPath, s3Bucket);
 
-    final var lines = new ArrayList<String>();
-    int linesRead = 0;
-
-    LOGGER.debug("Start getting S3 objects.");
-    while (linesRead <= numLines && !descendingTimestampKeys.isEmpty()) {
-      final var poppedKey = descendingTimestampKeys.remove(0);
-      final List<String> currFileLinesReversed = Lists.reverse(getCurrFile(s3Client, s3Bucket, poppedKey));
-      for (final var line : currFileLinesReversed) {
-        if (linesRead == numLines) {
-          break;
-        }
-        lines.add(0, line);
-        linesRead++;
-      }
-    }
+    LOGGER.debug("Start getting S3 object ranges.");
+    final LogTail tail = CloudLogTailer.tail(ascendingTimestampObjects, cursor, numLines,
+        (key, start, end) -> getObjectRange(s3Client, s3Bucket, key, start, end), CloudLogTailer.DEFAULT_CHUNK_SIZE, true);
 
     LOGGER.debug("Done retrieving S3 logs: {}.", logPath);
-    return lines;
+    return tail;
+  }
+
+  @Override
+  public LogTail followCloudLog(final LogConfigs configs, final String logPath, final String offset, final int numLines) throws IOException {
+    LOGGER.debug("Following logs from S3 path: {}", logPath);
+    final S3Client s3Client = getOrCreateS3Client();
+
+    final var s3Bucket = getBucketName(configs.getStorageConfigs());
+    final List<LogObject> ascendingTimestampObjects = getAscendingObjects(s3Client, logPath, s3Bucket);
+    return CloudLogTailer.follow(ascendingTimestampObjects, offset, numLines,
+        (key, start, end) -> getObjectRange(s3Client, s3Bucket, key, start, end), CloudLogTailer.DEFAULT_CHUNK_SIZE, true);
   }
 
   @Override
@@ -156,35 +150,33 @@ public class S3Logs implements CloudLogs {
   }
 
   private static List<String> getAscendingObjectKeys(final S3Client s3Client, final String logPath, final String s3Bucket) {
+    return getAscendingObjects(s3Client, logPath, s3Bucket).stream().map(LogObject::key).toList();
+  }
+
+  private static List<LogObject> getAscendingObjects(final S3Client s3Client, final String logPath, final String s3Bucket) {
     final var listObjReq = ListObjectsV2Request.builder().bucket(s3Bucket).prefix(logPath).build();
-    final var ascendingTimestampObjs = new ArrayList<String>();
+    final var ascendingTimestampObjs = new ArrayList<LogObject>();
 
     // Objects are returned in lexicographical order.
     for (final var page : s3Client.listObjectsV2Paginator(listObjReq)) {
       for (final var objMetadata : page.contents()) {
-        ascendingTimestampObjs.add(objMetadata.key());
+        ascendingTimestampObjs.add(new LogObject(objMetadata.key(), objMetadata.size()));
       }
     }
     return ascendingTimestampObjs;
   }
 
-  private static List<String> getCurrFile(final S3Client s3Client, final String s3Bucket, final String poppedKey) throws IOException {
+  private static byte[] getObjectRange(final S3Client s3Client, final String s3Bucket, final String key, final long start, final long end) {
+    if (start >= end) {
+      return new byte[0];
+    }
+    // The end of a http range is inclusive
     final var getObjReq = GetObjectRequest.builder()
-        .key(poppedKey)
+        .key(key)
         .bucket(s3Bucket)
+        .range("bytes=" + start + "-" + (end - 1))
         .build();
-
-    final var data = s3Client.getObjectAsBytes(getObjReq).asByteArray();
-    final var is = new ByteArrayInputStream(data);
-    final var currentFileLines = new ArrayList<String>();
-    try (final var reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
-      String temp = reader.readLine();
-      while (temp != null) {
-        currentFileLines.add(temp);
-        temp = reader.readLine();
-      }
-    }
-    return currentFileLines;
+    return s3Client.getObjectAsBytes(getObjReq).asByteArray();
   }
 
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.airbyte.config.helpers.CloudLogTailer.LogObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CloudLogTailerTest {
+
+  private static final int CHUNK_SIZE = 4;
+
+  private Map<String, byte[]> objects;
+  private long bytesRead;
+
+  @BeforeEach
+  void setup() {
+    objects = new LinkedHashMap<>();
+    bytesRead = 0;
+  }
+
+  @Test
+  void testTailSpansObjects() throws IOException {
+    put("log-1", "Line 0\nLine 1\n");
+    put("log-2", "Line 2\nLine 3\nLine 4\n");
+    put("log-3", "Line 5\n");
+
+    final LogTail tail = tail(null, 3);
+
+    assertEquals(List.of("Line 3", "Line 4", "Line 5"), tail.lines());
+    assertEquals("6:log-2", tail.cursor());
+    assertEquals("7:log-3", tail.offset());
+  }
+
+  @Test
+  void testCursorPagesThroughTheWholeLog() throws IOException {
+    final List<String> expected = IntStream.range(0, 20).mapToObj(i -> "Line " + i).toList();
+    put("log-1", lines(expected.subList(0, 7)));
+    put("log-2", lines(expected.subList(7, 8)));
+    put("log-3", lines(expected.subList(8, 20)));
+
+    final List<String> actual = new ArrayList<>();
+    String cursor = null;
+    do {
+      final LogTail tail = tail(cursor, 3);
+      assertTrue(tail.lines().size() <= 3);
+      actual.addAll(0, tail.lines());
+      cursor = tail.cursor();
+    } while (cursor != null);
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void testOnlyReadsTheEndOfLargeObjects() throws IOException {
+    put("log-1", lines(IntStream.range(0, 1000).mapToObj(i -> "Line " + i).toList()));
+
+    final LogTail tail = tail(null, 2);
+
+    assertEquals(List.of("Line 998", "Line 999"), tail.lines());
+    assertTrue(bytesRead < 32, "read " + bytesRead + " bytes");
+  }
+
+  @Test
+  void testKeepsEmptyLinesAndStripsCarriageReturns() throws IOException {
+    put("log-1", "\nLine 1\r\n\nLine 3");
+
+    assertEquals(List.of("", "Line 1", "", "Line 3"), tail(null, 10).lines());
+
+    final LogTail lastLines = tail(null, 3);
+    assertEquals(List.of("Line 1", "", "Line 3"), lastLines.lines());
+    assertEquals(List.of(""), tail(lastLines.cursor(), 3).lines());
+  }
+
+  @Test
+  void testEmptyLog() throws IOException {
+    assertEquals(new LogTail(List.of(), null, CloudLogTailer.START_OFFSET), tail(null, 3));
+
+    put("log-1", "");
+    assertEquals(new LogTail(List.of(), null, "0:log-1"), tail(null, 3));
+  }
+
+  @Test
+  void testCursorOfMissingObject() throws IOException {
+    put("log-1", "Line 0\n");
+
+    assertEquals(new LogTail(List.of(), null, null), tail("3:log-0", 3));
+  }
+
+  @Test
+  void testFollowReadsNewLinesAndObjects() throws IOException {
+    put("log-1", "Line 0\nLine 1\n");
+    final String offset = tail(null, 10).offset();
+
+    assertEquals(new LogTail(List.of(), null, offset), follow(offset, 10, true));
+
+    put("log-2", "Line 2\nLine 3\n");
+    put("log-3", "Line 4");
+    assertEquals(new LogTail(List.of("Line 2", "Line 3", "Line 4"), null, "6:log-3"), follow(offset, 10, true));
+    assertEquals(new LogTail(List.of("Line 2", "Line 3"), null, "14:log-2"), follow(offset, 2, true));
+    assertEquals(new LogTail(List.of("Line 3"), null, "14:log-2"), follow("7:log-2", 1, true));
+  }
+
+  @Test
+  void testFollowWaitsForTheEndOfTheLastLine() throws IOException {
+    put("log-1", "Line 0\nLine");
+
+    final LogTail read = follow(CloudLogTailer.START_OFFSET, 10, false);
+    assertEquals(new LogTail(List.of("Line 0"), null, "7:log-1"), read);
+
+    put("log-1", "Line 0\nLine 1\nLine 2\n");
+    assertEquals(new LogTail(List.of("Line 1", "Line 2"), null, "21:log-1"), follow(read.offset(), 10, false));
+  }
+
+  @Test
+  void testTailLeavesOutTheLastLineWhileItIsWritten() throws IOException {
+    put("log-1", "Line 0\n");
+    put("log-2", "Line 1\nLine 2\nLine");
+
+    final LogTail read = tail(null, 10, false);
+    assertEquals(new LogTail(List.of("Line 0", "Line 1", "Line 2"), null, "14:log-2"), read);
+
+    put("log-2", "Line 1\nLine 2\nLine 3\n");
+    assertEquals(new LogTail(List.of("Line 3"), null, "21:log-2"), follow(read.offset(), 10, false));
+  }
+
+  @Test
+  void testTailOfAnObjectWithoutCompleteLines() throws IOException {
+    put("log-1", "Line 0\n");
+    put("log-2", "Line");
+
+    final LogTail read = tail(null, 10, false);
+    assertEquals(new LogTail(List.of("Line 0"), null, "0:log-2"), read);
+    assertEquals(new LogTail(List.of("Line"), null, "4:log-2"), follow(read.offset(), 10, true));
+  }
+
+  @Test
+  void testFollowPagesThroughTheWholeLog() throws IOException {
+    final List<String> expected = IntStream.range(0, 20).mapToObj(i -> "Line " + i).toList();
+    put("log-1", lines(expected.subList(0, 7)));
+    put("log-2", lines(expected.subList(7, 8)));
+    put("log-3", lines(expected.subList(8, 20)));
+
+    final List<String> actual = new ArrayList<>();
+    String offset = CloudLogTailer.START_OFFSET;
+    LogTail read;
+    do {
+      read = follow(offset, 3, true);
+      assertTrue(read.lines().size() <= 3);
+      actual.addAll(read.lines());
+      offset = read.offset();
+    } while (!read.lines().isEmpty());
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void testInvalidCursor() {
+    assertThrows(IllegalArgumentException.class, () -> tail("log-1", 3));
+    assertThrows(IllegalArgumentException.class, () -> tail("abc:log-1", 3));
+  }
+
+  private void put(final String key, final String content) {
+    objects.put(key, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String lines(final List<String> lines) {
+    return lines.stream().map(line -> line + "\n").collect(Collectors.joining());
+  }
+
+  private LogTail tail(final String cursor, final int numLines) throws IOException {
+    return tail(cursor, numLines, true);
+  }
+
+  private LogTail tail(final String cursor, final int numLines, final boolean lastObjectComplete) throws IOException {
+    return CloudLogTailer.tail(getAscendingObjects(), cursor, numLines, this::read, CHUNK_SIZE, lastObjectComplete);
+  }
+
+  private LogTail follow(final String offset, final int numLines, final boolean lastObjectComplete) throws IOException {
+    return CloudLogTailer.follow(getAscendingObjects(), offset, numLines, this::read, CHUNK_SIZE, lastObjectComplete);
+  }
+
+  private List<LogObject> getAscendingObjects() {
+    return objects.entrySet().stream()
+        .map(entry -> new LogObject(entry.getKey(), entry.getValue().length))
+        .toList();
+  }
+
+  private byte[] read(final String key, final long start, final long end) {
+    bytesRead += end - start;
+    return Arrays.copyOfRange(objects.get(key), (int) start, (int) end);
+  }
+
+}
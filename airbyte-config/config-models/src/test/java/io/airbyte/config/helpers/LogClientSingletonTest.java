@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -17,6 +18,7 @@ import io.airbyte.config.Configs.WorkerEnvironment;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -24,12 +26,15 @@ class LogClientSingletonTest {
 
   private Configs configs;
   private CloudLogs mockLogClient;
+  private long now;
 
   @BeforeEach
   void setup() {
     configs = mock(Configs.class);
     mockLogClient = mock(CloudLogs.class);
     LogClientSingleton.getInstance().logClient = mockLogClient;
+    now = 0;
+    LogClientSingleton.getInstance().nanoClock = () -> now;
   }
 
   @Test
@@ -40,6 +45,23 @@ class LogClientSingletonTest {
     verify(mockLogClient).tailCloudLog(any(), eq("job-logging/job/1"), eq(LogClientSingleton.LOG_TAIL_SIZE));
   }
 
+  @Test
+  void testCompleteLogTailIsCachedAfterTheUploadGracePeriod() throws IOException {
+    final LogTail tail = new LogTail(List.of("line"), null, "4:job-logging/job/2/a");
+    when(mockLogClient.tailCloudLog(any(), eq("job-logging/job/2"), eq(10), eq(null))).thenReturn(tail);
+    final LogClientSingleton logClientSingleton = LogClientSingleton.getInstance();
+
+    assertEquals(tail, logClientSingleton.getJobLogTail(WorkerEnvironment.KUBERNETES, null, Path.of("/job/2"), null, 10, true));
+    now += LogClientSingleton.LOG_UPLOAD_GRACE_PERIOD_NANOS - 1;
+    assertEquals(tail, logClientSingleton.getJobLogTail(WorkerEnvironment.KUBERNETES, null, Path.of("/job/2"), null, 10, true));
+    now += 1;
+    assertEquals(tail, logClientSingleton.getJobLogTail(WorkerEnvironment.KUBERNETES, null, Path.of("/job/2"), null, 10, true));
+    verify(mockLogClient, times(3)).tailCloudLog(any(), eq("job-logging/job/2"), eq(10), eq(null));
+
+    assertEquals(tail, logClientSingleton.getJobLogTail(WorkerEnvironment.KUBERNETES, null, Path.of("/job/2"), null, 10, true));
+    verify(mockLogClient, times(3)).tailCloudLog(any(), eq("job-logging/job/2"), eq(10), eq(null));
+  }
+
   @Test
   void testGetJobLogFileNullPath() throws IOException {
     assertEquals(Collections.emptyList(),
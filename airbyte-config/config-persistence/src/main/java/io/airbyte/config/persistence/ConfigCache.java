@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.airbyte.commons.json.Jsons;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricClientFactory;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of configs that are read often and almost never change, like connector
+ * definitions.
+ * <p>
+ * The {@link ConfigRepository} owning the cache invalidates it whenever it writes the cached
+ * configs. Other processes write to the same database without invalidating it, so entries also
+ * expire after a while. Configs are mutable, so the cache hands out copies.
+ * <p>
+ * Hits and misses are reported to the {@link MetricClient} at most once per reporting interval, on
+ * lookups.
+ */
+class ConfigCache<K, V> {
+
+  private static final Duration REPORT_INTERVAL = Duration.ofMinutes(1);
+
+  /**
+   * Reads a config from the database.
+   */
+  @FunctionalInterface
+  interface Loader<V> {
+
+    V load() throws IOException, ConfigNotFoundException;
+
+  }
+
+  private final MetricAttribute cacheAttribute;
+  private final Cache<K, V> cache;
+  private final Supplier<MetricClient> metricClientSupplier;
+  private final LongSupplier nanoTime;
+
+  // Incremented by invalidations, a load that overlaps one may have read stale data and is not cached
+  private volatile long generation;
+  private volatile long lastReportTime;
+  private CacheStats reportedStats = new CacheStats(0, 0, 0, 0, 0, 0);
+
+  ConfigCache(final String name, final long maximumSize, final Duration expireAfterWrite) {
+    this(name, maximumSize, expireAfterWrite, MetricClientFactory::getMetricClient, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  ConfigCache(final String name,
+              final long maximumSize,
+              final Duration expireAfterWrite,
+              final Supplier<MetricClient> metricClientSupplier,
+              final LongSupplier nanoTime) {
+    this.cacheAttribute = new MetricAttribute(MetricTags.CACHE_NAME, name);
+    this.cache = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .ticker(new Ticker() {
+
+          @Override
+          public long read() {
+            return nanoTime.getAsLong();
+          }
+
+        })
+        .recordStats()
+        .build();
+    this.metricClientSupplier = metricClientSupplier;
+    this.nanoTime = nanoTime;
+    this.lastReportTime = nanoTime.getAsLong();
+  }
+
+  /**
+   * Get a config, loading it from the database if it is not cached. Configs that are not found are
+   * not cached.
+   */
+  V get(final K key, final Loader<V> loader) throws IOException, ConfigNotFoundException {
+    reportIfDue();
+    final V cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return Jsons.clone(cached);
+    }
+
+    final long loadGeneration = generation;
+    final V loaded = loader.load();
+    synchronized (this) {
+      if (loadGeneration == generation) {
+        cache.put(key, Jsons.clone(loaded));
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Discard all the cached configs. Call it once the writes are committed, so that a concurrent read
+   * of the previous configs is not cached.
+   */
+  synchronized void invalidateAll() {
+    generation++;
+    cache.invalidateAll();
+  }
+
+  private void reportIfDue() {
+    final long now = nanoTime.getAsLong();
+    if (now - lastReportTime < REPORT_INTERVAL.toNanos()) {
+      return;
+    }
+
+    final CacheStats interval;
+    synchronized (this) {
+      if (now - lastReportTime < REPORT_INTERVAL.toNanos()) {
+        return;
+      }
+      lastReportTime = now;
+      final CacheStats stats = cache.stats();
+      interval = stats.minus(reportedStats);
+      reportedStats = stats;
+    }
+    final MetricClient metricClient = metricClientSupplier.get();
+    metricClient.count(OssMetricsRegistry.CONFIG_CACHE_HITS, interval.hitCount(), cacheAttribute);
+    metricClient.count(OssMetricsRegistry.CONFIG_CACHE_MISSES, interval.missCount(), cacheAttribute);
+  }
+
+}
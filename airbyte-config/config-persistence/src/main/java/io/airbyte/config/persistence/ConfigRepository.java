@@ -55,6 +55,7 @@ import io.airbyte.config.DeclarativeManifest;
 import io.airbyte.config.DestinationConnection;
 import io.airbyte.config.DestinationOAuthParameter;
 import io.airbyte.config.Geography;
+import io.airbyte.config.JobSyncConfig.NamespaceDefinitionType;
 import io.airbyte.config.OperatorDbt;
 import io.airbyte.config.OperatorNormalization;
 import io.airbyte.config.OperatorWebhook;
@@ -76,6 +77,8 @@ import io.airbyte.db.instance.configs.jooq.generated.enums.ReleaseStage;
 import io.airbyte.db.instance.configs.jooq.generated.enums.ScopeType;
 import io.airbyte.db.instance.configs.jooq.generated.enums.StatusType;
 import io.airbyte.db.instance.configs.jooq.generated.enums.SupportState;
+import io.airbyte.db.instance.configs.jooq.generated.tables.Actor;
+import io.airbyte.db.instance.configs.jooq.generated.tables.ActorDefinition;
 import io.airbyte.db.instance.configs.jooq.generated.tables.records.ActorDefinitionWorkspaceGrantRecord;
 import io.airbyte.db.instance.configs.jooq.generated.tables.records.NotificationConfigurationRecord;
 import io.airbyte.featureflag.FeatureFlagClient;
@@ -88,6 +91,7 @@ import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.validation.json.JsonValidationException;
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -120,6 +124,7 @@ import org.jooq.Record4;
 import org.jooq.RecordMapper;
 import org.jooq.Result;
 import org.jooq.SelectJoinStep;
+import org.jooq.SelectLimitStep;
 import org.jooq.Table;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DSL;
@@ -200,6 +205,63 @@ public class ConfigRepository {
 
   }
 
+  /**
+   * Query object for searching connections by their attributes and the ones of their source and
+   * destination. Null criteria match every connection. Deprecated connections are never returned.
+   *
+   * @param connectionId id of the connection
+   * @param name name of the connection
+   * @param namespaceDefinition namespace definition of the connection
+   * @param namespaceFormat namespace format of the connection
+   * @param prefix stream prefix of the connection
+   * @param sourceId id of the source of the connection
+   * @param destinationId id of the destination of the connection
+   * @param status status of the connection
+   * @param source criteria on the source of the connection
+   * @param destination criteria on the destination of the connection
+   * @param pageSize limit, no limit if null
+   * @param rowOffset offset, ignored if pageSize is null
+   */
+  public record ConnectionSearchQuery(UUID connectionId,
+                                      String name,
+                                      NamespaceDefinitionType namespaceDefinition,
+                                      String namespaceFormat,
+                                      String prefix,
+                                      UUID sourceId,
+                                      UUID destinationId,
+                                      StandardSync.Status status,
+                                      ActorSearchCriteria source,
+                                      ActorSearchCriteria destination,
+                                      Integer pageSize,
+                                      int rowOffset) {
+
+  }
+
+  /**
+   * Criteria on the source or the destination of a connection. Null criteria match every actor.
+   *
+   * @param actorId id of the actor
+   * @param actorDefinitionId id of the definition of the actor
+   * @param workspaceId workspace of the actor
+   * @param name name of the actor
+   * @param definitionName name of the definition of the actor
+   */
+  public record ActorSearchCriteria(UUID actorId, UUID actorDefinitionId, UUID workspaceId, String name, String definitionName) {
+
+  }
+
+  /**
+   * Connection found by {@link #searchConnections(ConnectionSearchQuery)}, with its source and
+   * destination.
+   *
+   * @param standardSync connection
+   * @param source source of the connection and its definition
+   * @param destination destination of the connection and its definition
+   */
+  public record ConnectionSearchResult(StandardSync standardSync, SourceAndDefinition source, DestinationAndDefinition destination) {
+
+  }
+
   private static final Logger LOGGER = LoggerFactory.getLogger(ConfigRepository.class);
   private static final String OPERATION_IDS_AGG_FIELD = "operation_ids_agg";
   private static final String OPERATION_IDS_AGG_DELIMITER = ",";
@@ -211,9 +273,19 @@ public class ConfigRepository {
           CONNECTOR_BUILDER_PROJECT.ACTOR_DEFINITION_ID, CONNECTOR_BUILDER_PROJECT.TOMBSTONE,
           field(CONNECTOR_BUILDER_PROJECT.MANIFEST_DRAFT.isNotNull()).as("hasDraft"));
   private static final UUID VOID_UUID = new UUID(0, 0);
+  // Definitions and their versions are read by most requests and almost never change. Changes made by
+  // other processes are seen once the cached entries expire.
+  private static final Duration DEFINITIONS_CACHE_TTL = Duration.ofMinutes(1);
+  private static final long DEFINITIONS_CACHE_SIZE = 10_000;
 
   private final ExceptionWrappingDatabase database;
   private final StandardSyncPersistence standardSyncPersistence;
+  private final ConfigCache<UUID, StandardSourceDefinition> sourceDefinitionCache =
+      new ConfigCache<>("source_definition", DEFINITIONS_CACHE_SIZE, DEFINITIONS_CACHE_TTL);
+  private final ConfigCache<UUID, StandardDestinationDefinition> destinationDefinitionCache =
+      new ConfigCache<>("destination_definition", DEFINITIONS_CACHE_SIZE, DEFINITIONS_CACHE_TTL);
+  private final ConfigCache<UUID, ActorDefinitionVersion> actorDefinitionVersionCache =
+      new ConfigCache<>("actor_definition_version", DEFINITIONS_CACHE_SIZE, DEFINITIONS_CACHE_TTL);
 
   private final Supplier<Long> heartbeatMaxSecondBetweenMessageSupplier;
 
@@ -544,9 +616,9 @@ public class ConfigRepository {
    */
   public StandardSourceDefinition getStandardSourceDefinition(final UUID sourceDefinitionId)
       throws JsonValidationException, IOException, ConfigNotFoundException {
-    return sourceDefQuery(Optional.of(sourceDefinitionId), true)
+    return sourceDefinitionCache.get(sourceDefinitionId, () -> sourceDefQuery(Optional.of(sourceDefinitionId), true)
         .findFirst()
-        .orElseThrow(() -> new ConfigNotFoundException(ConfigSchema.STANDARD_SOURCE_DEFINITION, sourceDefinitionId));
+        .orElseThrow(() -> new ConfigNotFoundException(ConfigSchema.STANDARD_SOURCE_DEFINITION, sourceDefinitionId)));
   }
 
   /**
@@ -746,6 +818,7 @@ public class ConfigRepository {
       ConfigWriter.writeStandardSourceDefinition(Collections.singletonList(sourceDefinition), ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   /**
@@ -763,6 +836,7 @@ public class ConfigRepository {
       writeSourceDefinitionAndDefaultVersion(sourceDefinition, actorDefinitionVersion, ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   private void writeSourceDefinitionAndDefaultVersion(final StandardSourceDefinition sourceDefinition,
@@ -780,7 +854,9 @@ public class ConfigRepository {
    * @throws IOException - you never know when you IO
    */
   public int updateActorDefinitionsDockerImageTag(final List<UUID> actorDefinitionIds, final String targetImageTag) throws IOException {
-    return database.transaction(ctx -> ConfigWriter.writeSourceDefinitionImageTag(actorDefinitionIds, targetImageTag, ctx));
+    final int updatedCount = database.transaction(ctx -> ConfigWriter.writeSourceDefinitionImageTag(actorDefinitionIds, targetImageTag, ctx));
+    invalidateDefinitionCaches();
+    return updatedCount;
   }
 
   /**
@@ -802,6 +878,7 @@ public class ConfigRepository {
       writeActorDefinitionWorkspaceGrant(sourceDefinition.getSourceDefinitionId(), scopeId, ScopeType.valueOf(scopeType.toString()), ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   private void updateDeclarativeActorDefinition(final ActorDefinitionConfigInjection configInjection,
@@ -839,9 +916,9 @@ public class ConfigRepository {
    */
   public StandardDestinationDefinition getStandardDestinationDefinition(final UUID destinationDefinitionId)
       throws JsonValidationException, IOException, ConfigNotFoundException {
-    return destDefQuery(Optional.of(destinationDefinitionId), true)
+    return destinationDefinitionCache.get(destinationDefinitionId, () -> destDefQuery(Optional.of(destinationDefinitionId), true)
         .findFirst()
-        .orElseThrow(() -> new ConfigNotFoundException(ConfigSchema.STANDARD_DESTINATION_DEFINITION, destinationDefinitionId));
+        .orElseThrow(() -> new ConfigNotFoundException(ConfigSchema.STANDARD_DESTINATION_DEFINITION, destinationDefinitionId)));
   }
 
   /**
@@ -951,6 +1028,7 @@ public class ConfigRepository {
       ConfigWriter.writeStandardDestinationDefinition(Collections.singletonList(destinationDefinition), ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   /**
@@ -968,6 +1046,7 @@ public class ConfigRepository {
       writeDestinationDefinitionAndDefaultVersion(destinationDefinition, actorDefinitionVersion, ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   private void writeDestinationDefinitionAndDefaultVersion(final StandardDestinationDefinition destinationDefinition,
@@ -1026,6 +1105,7 @@ public class ConfigRepository {
       writeActorDefinitionWorkspaceGrant(destinationDefinition.getDestinationDefinitionId(), scopeId, ScopeType.valueOf(scopeType.toString()), ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   /**
@@ -1773,6 +1853,89 @@ public class ConfigRepository {
     return getStandardSyncsFromResult(connectionAndOperationIdsResult, getNotificationConfigurationByConnectionIds(connectionIds));
   }
 
+  /**
+   * Search connections. The criteria on the connection, its source and its destination are all
+   * evaluated by a single query, then the sources and destinations of the matching connections are
+   * fetched in bulk.
+   *
+   * @param query search criteria
+   * @return matching connections with their source and destination, ordered by creation
+   * @throws IOException if there is an issue while interacting with db.
+   */
+  public List<ConnectionSearchResult> searchConnections(final ConnectionSearchQuery query) throws IOException {
+    final Actor sourceActor = ACTOR.as("source_actor");
+    final ActorDefinition sourceDefinition = ACTOR_DEFINITION.as("source_definition");
+    final Actor destinationActor = ACTOR.as("destination_actor");
+    final ActorDefinition destinationDefinition = ACTOR_DEFINITION.as("destination_definition");
+
+    final Condition connectionCondition = CONNECTION.STATUS.notEqual(StatusType.deprecated)
+        .and(query.connectionId() == null ? noCondition() : CONNECTION.ID.eq(query.connectionId()))
+        .and(query.name() == null ? noCondition() : CONNECTION.NAME.eq(query.name()))
+        .and(query.namespaceDefinition() == null ? noCondition()
+            : CONNECTION.NAMESPACE_DEFINITION.eq(Enums.toEnum(query.namespaceDefinition().value(),
+                io.airbyte.db.instance.configs.jooq.generated.enums.NamespaceDefinitionType.class).orElseThrow()))
+        .and(query.namespaceFormat() == null ? noCondition() : CONNECTION.NAMESPACE_FORMAT.eq(query.namespaceFormat()))
+        .and(query.prefix() == null ? noCondition() : CONNECTION.PREFIX.eq(query.prefix()))
+        .and(query.sourceId() == null ? noCondition() : CONNECTION.SOURCE_ID.eq(query.sourceId()))
+        .and(query.destinationId() == null ? noCondition() : CONNECTION.DESTINATION_ID.eq(query.destinationId()))
+        .and(query.status() == null ? noCondition()
+            : CONNECTION.STATUS.eq(Enums.toEnum(query.status().value(), StatusType.class).orElseThrow()))
+        .and(actorSearchCondition(sourceActor, sourceDefinition, query.source()))
+        .and(actorSearchCondition(destinationActor, destinationDefinition, query.destination()));
+
+    final Result<Record> connectionAndOperationIdsResult = database.query(ctx -> {
+      final SelectLimitStep<Record> select = ctx
+          .select(
+              CONNECTION.asterisk(),
+              groupConcat(CONNECTION_OPERATION.OPERATION_ID).separator(OPERATION_IDS_AGG_DELIMITER).as(OPERATION_IDS_AGG_FIELD),
+              SCHEMA_MANAGEMENT.AUTO_PROPAGATION_STATUS)
+          .from(CONNECTION)
+          .join(sourceActor).on(sourceActor.ID.eq(CONNECTION.SOURCE_ID))
+          .join(sourceDefinition).on(sourceDefinition.ID.eq(sourceActor.ACTOR_DEFINITION_ID))
+          .join(destinationActor).on(destinationActor.ID.eq(CONNECTION.DESTINATION_ID))
+          .join(destinationDefinition).on(destinationDefinition.ID.eq(destinationActor.ACTOR_DEFINITION_ID))
+          .leftJoin(CONNECTION_OPERATION).on(CONNECTION_OPERATION.CONNECTION_ID.eq(CONNECTION.ID))
+          .leftJoin(SCHEMA_MANAGEMENT).on(SCHEMA_MANAGEMENT.CONNECTION_ID.eq(CONNECTION.ID))
+          .where(connectionCondition)
+          .groupBy(CONNECTION.ID, SCHEMA_MANAGEMENT.AUTO_PROPAGATION_STATUS)
+          // a stable order is needed to paginate
+          .orderBy(CONNECTION.CREATED_AT, CONNECTION.ID);
+      return query.pageSize() == null ? select.fetch() : select.limit(query.pageSize()).offset(query.rowOffset()).fetch();
+    });
+    if (connectionAndOperationIdsResult.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final List<UUID> connectionIds = connectionAndOperationIdsResult.map(record -> record.get(CONNECTION.ID));
+    final List<StandardSync> standardSyncs =
+        getStandardSyncsFromResult(connectionAndOperationIdsResult, getNotificationConfigurationByConnectionIds(connectionIds));
+
+    final Map<UUID, SourceAndDefinition> sourceById = getSourceAndDefinitionsFromSourceIds(
+        standardSyncs.stream().map(StandardSync::getSourceId).distinct().toList()).stream()
+            .collect(Collectors.toMap(sourceAndDefinition -> sourceAndDefinition.source().getSourceId(), Function.identity()));
+    final Map<UUID, DestinationAndDefinition> destinationById = getDestinationAndDefinitionsFromDestinationIds(
+        standardSyncs.stream().map(StandardSync::getDestinationId).distinct().toList()).stream()
+            .collect(Collectors.toMap(
+                destinationAndDefinition -> destinationAndDefinition.destination().getDestinationId(), Function.identity()));
+
+    return standardSyncs.stream()
+        .map(standardSync -> new ConnectionSearchResult(standardSync,
+            sourceById.get(standardSync.getSourceId()),
+            destinationById.get(standardSync.getDestinationId())))
+        .toList();
+  }
+
+  private static Condition actorSearchCondition(final Actor actor, final ActorDefinition actorDefinition, final ActorSearchCriteria criteria) {
+    if (criteria == null) {
+      return noCondition();
+    }
+    return (criteria.actorId() == null ? noCondition() : actor.ID.eq(criteria.actorId()))
+        .and(criteria.actorDefinitionId() == null ? noCondition() : actor.ACTOR_DEFINITION_ID.eq(criteria.actorDefinitionId()))
+        .and(criteria.workspaceId() == null ? noCondition() : actor.WORKSPACE_ID.eq(criteria.workspaceId()))
+        .and(criteria.name() == null ? noCondition() : actor.NAME.eq(criteria.name()))
+        .and(criteria.definitionName() == null ? noCondition() : actorDefinition.NAME.eq(criteria.definitionName()));
+  }
+
   private List<NotificationConfigurationRecord> getNotificationConfigurationByConnectionIds(final List<UUID> connnectionIds) throws IOException {
     return database.query(ctx -> ctx.selectFrom(NOTIFICATION_CONFIGURATION)
         .where(NOTIFICATION_CONFIGURATION.CONNECTION_ID.in(connnectionIds))
@@ -2937,6 +3100,7 @@ public class ConfigRepository {
           .execute();
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   /**
@@ -3009,6 +3173,7 @@ public class ConfigRepository {
       insertActiveDeclarativeManifest(declarativeManifest, ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   private void upsertActiveDeclarativeManifest(final ActiveDeclarativeManifest activeDeclarativeManifest, final DSLContext ctx) {
@@ -3078,6 +3243,7 @@ public class ConfigRepository {
       upsertActiveDeclarativeManifest(new ActiveDeclarativeManifest().withActorDefinitionId(sourceDefinitionId).withVersion(version), ctx);
       return null;
     });
+    invalidateDefinitionCaches();
   }
 
   /**
@@ -3302,7 +3468,9 @@ public class ConfigRepository {
    *          field from the DB.
    */
   public ActorDefinitionVersion writeActorDefinitionVersion(final ActorDefinitionVersion actorDefinitionVersion) throws IOException {
-    return database.transaction(ctx -> writeActorDefinitionVersion(actorDefinitionVersion, ctx));
+    final ActorDefinitionVersion writtenVersion = database.transaction(ctx -> writeActorDefinitionVersion(actorDefinitionVersion, ctx));
+    invalidateDefinitionCaches();
+    return writtenVersion;
   }
 
   /**
@@ -3404,10 +3572,20 @@ public class ConfigRepository {
    * @throws IOException - you never know when you io
    */
   public ActorDefinitionVersion getActorDefinitionVersion(final UUID actorDefinitionVersionId) throws IOException, ConfigNotFoundException {
-    return getActorDefinitionVersions(List.of(actorDefinitionVersionId))
+    return actorDefinitionVersionCache.get(actorDefinitionVersionId, () -> getActorDefinitionVersions(List.of(actorDefinitionVersionId))
         .stream()
         .findFirst()
-        .orElseThrow(() -> new ConfigNotFoundException(ConfigSchema.ACTOR_DEFINITION_VERSION, actorDefinitionVersionId.toString()));
+        .orElseThrow(() -> new ConfigNotFoundException(ConfigSchema.ACTOR_DEFINITION_VERSION, actorDefinitionVersionId.toString())));
+  }
+
+  /**
+   * Discard the cached definitions and versions. A write may change the default version of a
+   * definition as well as the version itself, so all of them are discarded together.
+   */
+  private void invalidateDefinitionCaches() {
+    sourceDefinitionCache.invalidateAll();
+    destinationDefinitionCache.invalidateAll();
+    actorDefinitionVersionCache.invalidateAll();
   }
 
   /**
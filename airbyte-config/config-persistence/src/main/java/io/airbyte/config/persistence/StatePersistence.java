@@ -7,12 +7,12 @@ package io.airbyte.config.persistence;
 import static io.airbyte.db.instance.configs.jooq.generated.Tables.STATE;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import io.airbyte.commons.enums.Enums;
 import io.airbyte.commons.json.Jsons;
 import io.airbyte.config.State;
 import io.airbyte.config.StateType;
 import io.airbyte.config.StateWrapper;
 import io.airbyte.config.helpers.StateMessageHelper;
+import io.airbyte.config.persistence.StateUpdateBatch.StreamStateRow;
 import io.airbyte.db.Database;
 import io.airbyte.db.ExceptionWrappingDatabase;
 import io.airbyte.protocol.models.AirbyteGlobalState;
@@ -21,7 +21,7 @@ import io.airbyte.protocol.models.AirbyteStateMessage.AirbyteStateType;
 import io.airbyte.protocol.models.AirbyteStreamState;
 import io.airbyte.protocol.models.StreamDescriptor;
 import java.io.IOException;
-import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -58,8 +58,10 @@ public class StatePersistence {
    * @throws IOException if there is an issue while interacting with the db.
    */
   public Optional<StateWrapper> getCurrentState(final UUID connectionId) throws IOException {
-    final List<StateRecord> records = this.database.query(ctx -> getStateRecords(ctx, connectionId));
+    return buildState(connectionId, this.database.query(ctx -> getStateRecords(ctx, connectionId)));
+  }
 
+  private static Optional<StateWrapper> buildState(final UUID connectionId, final List<StateRecord> records) {
     if (records.isEmpty()) {
       return Optional.empty();
     }
@@ -73,6 +75,9 @@ public class StatePersistence {
 
   /**
    * Create or update the states described in the StateWrapper. Null states will be deleted.
+   * <p>
+   * Only the rows of the streams whose state changed are written. The previous rows are read and
+   * locked in the same transaction, so that a concurrent write does not make them stale.
    *
    * The only state migrations supported are going from a Legacy state to either a Global or Stream
    * state. Other state type migrations should go through an explicit reset. An exception will be
@@ -84,7 +89,15 @@ public class StatePersistence {
    */
   public void updateOrCreateState(final UUID connectionId, final StateWrapper state)
       throws IOException {
-    final Optional<StateWrapper> previousState = getCurrentState(connectionId);
+    this.database.transaction(ctx -> {
+      updateOrCreateState(ctx, connectionId, state);
+      return null;
+    });
+  }
+
+  private static void updateOrCreateState(final DSLContext ctx, final UUID connectionId, final StateWrapper state) {
+    final List<StateRecord> previousRecords = getStateRecordsForUpdate(ctx, connectionId);
+    final Optional<StateWrapper> previousState = buildState(connectionId, previousRecords);
     final StateType currentStateType = state.getStateType();
     final boolean isMigration = StateMessageHelper.isMigration(currentStateType, previousState);
 
@@ -95,131 +108,95 @@ public class StatePersistence {
           + "'. Migration of StateType need to go through an explicit reset.");
     }
 
-    this.database.transaction(ctx -> {
-      if (isMigration) {
-        clearLegacyState(ctx, connectionId);
-      }
-      switch (state.getStateType()) {
-        case GLOBAL -> saveGlobalState(ctx, connectionId, state.getGlobal().getGlobal());
-        case STREAM -> saveStreamState(ctx, connectionId, state.getStateMessages());
-        case LEGACY -> saveLegacyState(ctx, connectionId, state.getLegacyState());
-        default -> {
-          // no op
-        }
-      }
-      return null;
-    });
-  }
+    // The legacy state is cleared by a migration, the new rows are all created
+    final Map<StreamKey, JsonNode> previousStates = new HashMap<>();
+    if (!isMigration) {
+      previousRecords.forEach(r -> previousStates.put(new StreamKey(r.streamName, r.namespace), r.state));
+    }
 
-  private static void clearLegacyState(final DSLContext ctx, final UUID connectionId) {
     final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, null, stateUpdateBatch);
-    stateUpdateBatch.save(ctx);
+    if (isMigration) {
+      stateUpdateBatch.getDeletedStreamStates().add(new StreamStateRow(null, null, StateType.LEGACY, null));
+    }
+    switch (state.getStateType()) {
+      case GLOBAL -> addGlobalState(state.getGlobal().getGlobal(), previousStates, stateUpdateBatch);
+      case STREAM -> addStreamState(state.getStateMessages(), previousStates, stateUpdateBatch);
+      case LEGACY -> addStateToBatch(null, null, StateType.LEGACY, state.getLegacyState(), previousStates, stateUpdateBatch);
+      default -> {
+        // no op
+      }
+    }
+
+    if (!stateUpdateBatch.isEmpty()) {
+      stateUpdateBatch.save(ctx, connectionId);
+    }
   }
 
-  private static void saveGlobalState(final DSLContext ctx, final UUID connectionId, final AirbyteGlobalState globalState) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.GLOBAL, globalState.getSharedState(), stateUpdateBatch);
+  private static void addGlobalState(final AirbyteGlobalState globalState,
+                                     final Map<StreamKey, JsonNode> previousStates,
+                                     final StateUpdateBatch stateUpdateBatch) {
+    addStateToBatch(null, null, StateType.GLOBAL, globalState.getSharedState(), previousStates, stateUpdateBatch);
     for (final AirbyteStreamState streamState : globalState.getStreamStates()) {
-      writeStateToDb(ctx,
-          connectionId,
+      addStateToBatch(
           streamState.getStreamDescriptor().getName(),
           streamState.getStreamDescriptor().getNamespace(),
           StateType.GLOBAL,
           streamState.getStreamState(),
+          previousStates,
           stateUpdateBatch);
     }
-    stateUpdateBatch.save(ctx);
   }
 
-  private static void saveStreamState(final DSLContext ctx, final UUID connectionId, final List<AirbyteStateMessage> stateMessages) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
+  private static void addStreamState(final List<AirbyteStateMessage> stateMessages,
+                                     final Map<StreamKey, JsonNode> previousStates,
+                                     final StateUpdateBatch stateUpdateBatch) {
     for (final AirbyteStateMessage stateMessage : stateMessages) {
       final AirbyteStreamState streamState = stateMessage.getStream();
-      writeStateToDb(ctx,
-          connectionId,
+      addStateToBatch(
           streamState.getStreamDescriptor().getName(),
           streamState.getStreamDescriptor().getNamespace(),
           StateType.STREAM,
           streamState.getStreamState(),
+          previousStates,
           stateUpdateBatch);
     }
-    stateUpdateBatch.save(ctx);
-  }
-
-  private static void saveLegacyState(final DSLContext ctx, final UUID connectionId, final JsonNode state) {
-    final StateUpdateBatch stateUpdateBatch = new StateUpdateBatch();
-    writeStateToDb(ctx, connectionId, null, null, StateType.LEGACY, state, stateUpdateBatch);
-    stateUpdateBatch.save(ctx);
   }
 
   /**
-   * Performs the actual SQL operation depending on the state.
+   * Add the change of the state of a stream to a batch.
    *
-   * If the state is null, it will delete the row, otherwise do an insert or update on conflict
+   * If the state is null, the row is deleted. Otherwise, it is created or updated depending on
+   * whether the stream had a state. Nothing is written if the state did not change.
    */
-  static void writeStateToDb(final DSLContext ctx,
-                             final UUID connectionId,
-                             final String streamName,
-                             final String namespace,
-                             final StateType stateType,
-                             final JsonNode state,
-                             final StateUpdateBatch stateUpdateBatch) {
-    if (state != null) {
-      final boolean hasState = ctx.fetchExists(STATE,
-          STATE.CONNECTION_ID.eq(connectionId),
-          PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-          PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace));
-
-      // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
-      // the same behavior for consistency.
-      final JSONB jsonbState = JSONB.valueOf(Jsons.serialize(stateType != StateType.LEGACY ? state : new State().withState(state)));
-      final OffsetDateTime now = OffsetDateTime.now();
-
-      if (!hasState) {
-        stateUpdateBatch.getCreatedStreamStates().add(
-            ctx.insertInto(STATE)
-                .columns(
-                    STATE.ID,
-                    STATE.CREATED_AT,
-                    STATE.UPDATED_AT,
-                    STATE.CONNECTION_ID,
-                    STATE.STREAM_NAME,
-                    STATE.NAMESPACE,
-                    STATE.STATE_,
-                    STATE.TYPE)
-                .values(
-                    UUID.randomUUID(),
-                    now,
-                    now,
-                    connectionId,
-                    streamName,
-                    namespace,
-                    jsonbState,
-                    Enums.convertTo(stateType, io.airbyte.db.instance.configs.jooq.generated.enums.StateType.class)));
-
-      } else {
-        stateUpdateBatch.getUpdatedStreamStates().add(
-            ctx.update(STATE)
-                .set(STATE.UPDATED_AT, now)
-                .set(STATE.STATE_, jsonbState)
-                .where(
-                    STATE.CONNECTION_ID.eq(connectionId),
-                    PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-                    PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace)));
+  static void addStateToBatch(final String streamName,
+                              final String namespace,
+                              final StateType stateType,
+                              final JsonNode state,
+                              final Map<StreamKey, JsonNode> previousStates,
+                              final StateUpdateBatch stateUpdateBatch) {
+    final JsonNode previousState = previousStates.get(new StreamKey(streamName, namespace));
+    if (state == null) {
+      // If the state is null, we remove the state instead of keeping a null row
+      if (previousState != null) {
+        stateUpdateBatch.getDeletedStreamStates().add(new StreamStateRow(streamName, namespace, stateType, null));
       }
+      return;
+    }
 
-    } else {
-      // If the state is null, we remove the state instead of keeping a null row
-      stateUpdateBatch.getDeletedStreamStates().add(
-          ctx.deleteFrom(STATE)
-              .where(
-                  STATE.CONNECTION_ID.eq(connectionId),
-                  PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, streamName),
-                  PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, namespace)));
+    // NOTE: the legacy code was storing a State object instead of just the State data field. We kept
+    // the same behavior for consistency.
+    final JsonNode storedState = stateType != StateType.LEGACY ? state : Jsons.jsonNode(new State().withState(state));
+    if (previousState == null) {
+      stateUpdateBatch.getCreatedStreamStates().add(new StreamStateRow(streamName, namespace, stateType, toJsonb(storedState)));
+    } else if (!previousState.equals(storedState)) {
+      stateUpdateBatch.getUpdatedStreamStates().add(new StreamStateRow(streamName, namespace, stateType, toJsonb(storedState)));
     }
   }
 
+  private static JSONB toJsonb(final JsonNode state) {
+    return JSONB.valueOf(Jsons.serialize(state));
+  }
+
   /**
    * Get the StateType for a given list of StateRecords.
    *
@@ -258,6 +235,19 @@ public class StatePersistence {
         .stream().toList();
   }
 
+  /**
+   * Same as {@link #getStateRecords(DSLContext, UUID)}, locking the records until the end of the
+   * transaction.
+   */
+  private static List<StateRecord> getStateRecordsForUpdate(final DSLContext ctx, final UUID connectionId) {
+    return ctx.select(DSL.asterisk())
+        .from(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId))
+        .forUpdate()
+        .fetch(getStateRecordMapper())
+        .stream().toList();
+  }
+
   /**
    * Build Global state.
    *
@@ -327,6 +317,8 @@ public class StatePersistence {
         Jsons.deserialize(record.get(STATE.STATE_).data()));
   }
 
+  record StreamKey(String streamName, String namespace) {}
+
   private record StateRecord(
                              io.airbyte.db.instance.configs.jooq.generated.enums.StateType type,
                              String streamName,
@@ -4,23 +4,123 @@
 
 package io.airbyte.config.persistence;
 
+import static io.airbyte.db.instance.configs.jooq.generated.Tables.STATE;
+
+import io.airbyte.commons.enums.Enums;
+import io.airbyte.config.StateType;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import lombok.Getter;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
-import org.jooq.Query;
+import org.jooq.Field;
+import org.jooq.InsertValuesStep8;
+import org.jooq.JSONB;
+import org.jooq.Record3;
+import org.jooq.Row3;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 
+/**
+ * Changes to the state rows of a connection. It only holds the streams whose state changed, and
+ * saves each kind of change with a single statement whatever the number of streams.
+ * <p>
+ * Rows are matched on their stream name and namespace, which can be null. The unique constraint on
+ * the state table treats nulls as distinct values, so an {@code INSERT ... ON CONFLICT} cannot be
+ * used: created and updated rows are written by separate statements.
+ */
 @Getter
 class StateUpdateBatch {
 
-  private final List<Query> updatedStreamStates = new ArrayList<>();
-  private final List<Query> createdStreamStates = new ArrayList<>();
-  private final List<Query> deletedStreamStates = new ArrayList<>();
+  record StreamStateRow(String streamName, String namespace, StateType stateType, JSONB state) {}
+
+  private final List<StreamStateRow> updatedStreamStates = new ArrayList<>();
+  private final List<StreamStateRow> createdStreamStates = new ArrayList<>();
+  private final List<StreamStateRow> deletedStreamStates = new ArrayList<>();
+
+  boolean isEmpty() {
+    return updatedStreamStates.isEmpty() && createdStreamStates.isEmpty() && deletedStreamStates.isEmpty();
+  }
+
+  void save(final DSLContext ctx, final UUID connectionId) {
+    final OffsetDateTime now = OffsetDateTime.now();
+    // Deleting first, the rows of a cleared legacy state may share the key of the new rows
+    delete(ctx, connectionId);
+    update(ctx, connectionId, now);
+    insert(ctx, connectionId, now);
+  }
+
+  private void delete(final DSLContext ctx, final UUID connectionId) {
+    if (deletedStreamStates.isEmpty()) {
+      return;
+    }
+    final List<Condition> streams = deletedStreamStates.stream()
+        .map(row -> PersistenceHelpers.isNullOrEquals(STATE.STREAM_NAME, row.streamName())
+            .and(PersistenceHelpers.isNullOrEquals(STATE.NAMESPACE, row.namespace())))
+        .toList();
+    ctx.deleteFrom(STATE)
+        .where(STATE.CONNECTION_ID.eq(connectionId), DSL.or(streams))
+        .execute();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void update(final DSLContext ctx, final UUID connectionId, final OffsetDateTime now) {
+    if (updatedStreamStates.isEmpty()) {
+      return;
+    }
+    // UPDATE state SET state = v.state FROM (VALUES ...) v(stream_name, namespace, state) WHERE ...
+    final Row3<String, String, JSONB>[] rows = updatedStreamStates.stream()
+        .map(row -> DSL.row(
+            DSL.val(row.streamName(), SQLDataType.VARCHAR),
+            DSL.val(row.namespace(), SQLDataType.VARCHAR),
+            DSL.val(row.state(), SQLDataType.JSONB)))
+        .toArray(Row3[]::new);
+    final Table<Record3<String, String, JSONB>> values = DSL.values(rows).as("v", "stream_name", "namespace", "state");
+    final Field<String> streamName = values.field("stream_name", String.class);
+    final Field<String> namespace = values.field("namespace", String.class);
+    final Field<JSONB> state = values.field("state", JSONB.class);
+
+    ctx.update(STATE)
+        .set(STATE.UPDATED_AT, now)
+        .set(STATE.STATE_, state)
+        .from(values)
+        .where(
+            STATE.CONNECTION_ID.eq(connectionId),
+            STATE.STREAM_NAME.isNotDistinctFrom(streamName),
+            STATE.NAMESPACE.isNotDistinctFrom(namespace))
+        .execute();
+  }
 
-  void save(final DSLContext ctx) {
-    ctx.batch(updatedStreamStates).execute();
-    ctx.batch(createdStreamStates).execute();
-    ctx.batch(deletedStreamStates).execute();
+  private void insert(final DSLContext ctx, final UUID connectionId, final OffsetDateTime now) {
+    if (createdStreamStates.isEmpty()) {
+      return;
+    }
+    InsertValuesStep8<?, UUID, OffsetDateTime, OffsetDateTime, UUID, String, String, JSONB,
+        io.airbyte.db.instance.configs.jooq.generated.enums.StateType> insert = ctx.insertInto(STATE)
+            .columns(
+                STATE.ID,
+                STATE.CREATED_AT,
+                STATE.UPDATED_AT,
+                STATE.CONNECTION_ID,
+                STATE.STREAM_NAME,
+                STATE.NAMESPACE,
+                STATE.STATE_,
+                STATE.TYPE);
+    for (final StreamStateRow row : createdStreamStates) {
+      insert = insert.values(
+          UUID.randomUUID(),
+          now,
+          now,
+          connectionId,
+          row.streamName(),
+          row.namespace(),
+          row.state(),
+          Enums.convertTo(row.stateType(), io.airbyte.db.instance.configs.jooq.generated.enums.StateType.class));
+    }
+    insert.execute();
   }
 
 }
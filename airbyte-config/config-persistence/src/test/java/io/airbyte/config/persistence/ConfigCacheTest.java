@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.config.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.airbyte.config.ConfigSchema;
+import io.airbyte.config.StandardSourceDefinition;
+import io.airbyte.metrics.lib.MetricAttribute;
+import io.airbyte.metrics.lib.MetricClient;
+import io.airbyte.metrics.lib.MetricTags;
+import io.airbyte.metrics.lib.OssMetricsRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigCacheTest {
+
+  private static final UUID DEFINITION_ID = UUID.randomUUID();
+  private static final Duration TTL = Duration.ofMinutes(1);
+  private static final MetricAttribute CACHE_ATTRIBUTE = new MetricAttribute(MetricTags.CACHE_NAME, "source_definition");
+
+  private MetricClient metricClient;
+  private long now;
+  private AtomicInteger loads;
+  private ConfigCache<UUID, StandardSourceDefinition> cache;
+
+  @BeforeEach
+  void setup() {
+    metricClient = mock(MetricClient.class);
+    now = 0;
+    loads = new AtomicInteger();
+    cache = new ConfigCache<>("source_definition", 10, TTL, () -> metricClient, () -> now);
+  }
+
+  @Test
+  void testHitsReturnCopies() throws Exception {
+    final StandardSourceDefinition loaded = cache.get(DEFINITION_ID, this::load);
+    loaded.setName("changed by the caller");
+
+    final StandardSourceDefinition first = cache.get(DEFINITION_ID, this::load);
+    final StandardSourceDefinition second = cache.get(DEFINITION_ID, this::load);
+
+    assertEquals(1, loads.get());
+    assertEquals("source", first.getName());
+    assertEquals(first, second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  void testInvalidateAll() throws Exception {
+    cache.get(DEFINITION_ID, this::load);
+    cache.invalidateAll();
+    cache.get(DEFINITION_ID, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testLoadOverlappingAnInvalidationIsNotCached() throws Exception {
+    cache.get(DEFINITION_ID, () -> {
+      cache.invalidateAll();
+      return load();
+    });
+    cache.get(DEFINITION_ID, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testNotFoundIsNotCached() throws Exception {
+    assertThrows(ConfigNotFoundException.class, () -> cache.get(DEFINITION_ID, () -> {
+      throw new ConfigNotFoundException(ConfigSchema.STANDARD_SOURCE_DEFINITION, DEFINITION_ID);
+    }));
+
+    assertEquals("source", cache.get(DEFINITION_ID, this::load).getName());
+  }
+
+  @Test
+  void testEntriesExpire() throws Exception {
+    cache.get(DEFINITION_ID, this::load);
+    now += TTL.toNanos() - 1;
+    cache.get(DEFINITION_ID, this::load);
+    assertEquals(1, loads.get());
+
+    now += 1;
+    cache.get(DEFINITION_ID, this::load);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void testHitsAndMissesAreReportedPerInterval() throws Exception {
+    cache = new ConfigCache<>("source_definition", 10, Duration.ofHours(1), () -> metricClient, () -> now);
+    cache.get(DEFINITION_ID, this::load);
+    cache.get(DEFINITION_ID, this::load);
+    cache.get(DEFINITION_ID, this::load);
+    verify(metricClient, never()).count(eq(OssMetricsRegistry.CONFIG_CACHE_HITS), anyLong(), eq(CACHE_ATTRIBUTE));
+
+    // The lookup that reports is counted in the next interval
+    now += Duration.ofMinutes(1).toNanos();
+    cache.get(DEFINITION_ID, this::load);
+    verify(metricClient).count(OssMetricsRegistry.CONFIG_CACHE_HITS, 2, CACHE_ATTRIBUTE);
+    verify(metricClient).count(OssMetricsRegistry.CONFIG_CACHE_MISSES, 1, CACHE_ATTRIBUTE);
+
+    now += Duration.ofMinutes(1).toNanos();
+    cache.get(DEFINITION_ID, this::load);
+    verify(metricClient).count(OssMetricsRegistry.CONFIG_CACHE_HITS, 1, CACHE_ATTRIBUTE);
+    verify(metricClient).count(OssMetricsRegistry.CONFIG_CACHE_MISSES, 0, CACHE_ATTRIBUTE);
+  }
+
+  private StandardSourceDefinition load() {
+    loads.incrementAndGet();
+    return new StandardSourceDefinition().withSourceDefinitionId(DEFINITION_ID).withName("source");
+  }
+
+}
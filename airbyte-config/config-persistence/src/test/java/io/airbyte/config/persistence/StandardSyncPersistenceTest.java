@@ -32,6 +32,9 @@ import io.airbyte.config.StandardSync.NonBreakingChangesPreference;
 import io.airbyte.config.StandardSync.Status;
 import io.airbyte.config.StandardSyncOperation;
 import io.airbyte.config.StandardWorkspace;
+import io.airbyte.config.persistence.ConfigRepository.ActorSearchCriteria;
+import io.airbyte.config.persistence.ConfigRepository.ConnectionSearchQuery;
+import io.airbyte.config.persistence.ConfigRepository.ConnectionSearchResult;
 import io.airbyte.db.instance.configs.jooq.generated.enums.AutoPropagationStatus;
 import io.airbyte.db.instance.configs.jooq.generated.enums.NotificationType;
 import io.airbyte.db.instance.configs.jooq.generated.tables.records.NotificationConfigurationRecord;
@@ -46,6 +49,7 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -307,6 +311,47 @@ class StandardSyncPersistenceTest extends BaseConfigDatabaseTest {
     assertThat(actualSyncs.get(0)).isEqualTo(expectedSync);
   }
 
+  @Test
+  void testSearchConnections() throws IOException, JsonValidationException {
+    createBaseObjects();
+    final StandardSync sync1 = createStandardSync(source1, destination1);
+    final StandardSync sync2 = createStandardSync(source1, destination2);
+    final StandardSync sync3 = createStandardSync(source2, destination1);
+    final StandardSync deprecatedSync = createStandardSync(source1, destination1).withStatus(Status.DEPRECATED);
+    standardSyncPersistence.writeStandardSync(deprecatedSync);
+
+    final List<ConnectionSearchResult> bySourceDefinitionName = configRepository.searchConnections(new ConnectionSearchQuery(
+        null, null, null, null, null, null, null, null,
+        new ActorSearchCriteria(null, null, workspaceId, null, sourceDef1.getName()), null, null, 0));
+    assertThat(bySourceDefinitionName).extracting(ConnectionSearchResult::standardSync).containsExactlyInAnyOrder(sync1, sync2);
+    final ConnectionSearchResult result = bySourceDefinitionName.stream()
+        .filter(r -> r.standardSync().getConnectionId().equals(sync2.getConnectionId())).findFirst().orElseThrow();
+    assertEquals(source1.getSourceId(), result.source().source().getSourceId());
+    assertEquals(sourceDef1.getSourceDefinitionId(), result.source().definition().getSourceDefinitionId());
+    assertEquals(destination2.getDestinationId(), result.destination().destination().getDestinationId());
+    assertEquals(destDef2.getDestinationDefinitionId(), result.destination().definition().getDestinationDefinitionId());
+
+    final List<ConnectionSearchResult> byNames = configRepository.searchConnections(new ConnectionSearchQuery(
+        null, sync3.getName(), NamespaceDefinitionType.CUSTOMFORMAT, null, null, null, null, Status.ACTIVE,
+        null, new ActorSearchCriteria(null, null, null, destination1.getName(), null), null, 0));
+    assertThat(byNames).extracting(ConnectionSearchResult::standardSync).containsExactly(sync3);
+
+    final List<ConnectionSearchResult> deprecated = configRepository.searchConnections(new ConnectionSearchQuery(
+        deprecatedSync.getConnectionId(), null, null, null, null, null, null, null, null, null, null, 0));
+    assertThat(deprecated).isEmpty();
+
+    final ConnectionSearchQuery firstPage = new ConnectionSearchQuery(
+        null, null, null, null, null, source1.getSourceId(), null, null, null, null, 1, 0);
+    final ConnectionSearchQuery secondPage = new ConnectionSearchQuery(
+        null, null, null, null, null, source1.getSourceId(), null, null, null, null, 1, 1);
+    final List<StandardSync> pages = Stream.concat(
+        configRepository.searchConnections(firstPage).stream(),
+        configRepository.searchConnections(secondPage).stream())
+        .map(ConnectionSearchResult::standardSync)
+        .toList();
+    assertThat(pages).containsExactlyInAnyOrder(sync1, sync2);
+  }
+
   private void createBaseObjects() throws IOException, JsonValidationException {
     final StandardWorkspace workspace = new StandardWorkspace()
         .withWorkspaceId(workspaceId)
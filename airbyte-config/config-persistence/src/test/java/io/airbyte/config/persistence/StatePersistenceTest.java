@@ -25,10 +25,13 @@ import io.airbyte.protocol.models.StreamDescriptor;
 import io.airbyte.validation.json.JsonValidationException;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.jooq.JSONB;
 import org.jooq.impl.DSL;
@@ -427,6 +430,46 @@ class StatePersistenceTest extends BaseConfigDatabaseTest {
         partialResetResult);
   }
 
+  @Test
+  void testUnchangedStreamStatesAreNotWritten() throws IOException, SQLException {
+    final AirbyteStateMessage s1 = new AirbyteStateMessage()
+        .withType(AirbyteStateType.STREAM)
+        .withStream(new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s1").withNamespace("n1"))
+            .withStreamState(Jsons.deserialize(STATE_WITH_NAMESPACE)));
+    final AirbyteStateMessage s2 = new AirbyteStateMessage()
+        .withType(AirbyteStateType.STREAM)
+        .withStream(new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s2"))
+            .withStreamState(Jsons.deserialize(STREAM_STATE_2)));
+    statePersistence.updateOrCreateState(connectionId, new StateWrapper().withStateType(StateType.STREAM).withStateMessages(List.of(s1, s2)));
+    final Map<String, OffsetDateTime> initialUpdates = getUpdatedAtByStream();
+
+    // Only s2 changed, s3 is new
+    final AirbyteStateMessage s2Updated = Jsons.clone(s2);
+    s2Updated.getStream().setStreamState(Jsons.deserialize("\"updated\""));
+    final AirbyteStateMessage s3 = new AirbyteStateMessage()
+        .withType(AirbyteStateType.STREAM)
+        .withStream(new AirbyteStreamState()
+            .withStreamDescriptor(new StreamDescriptor().withName("s3"))
+            .withStreamState(Jsons.deserialize(STATE_ONE)));
+    final StateWrapper update = new StateWrapper().withStateType(StateType.STREAM).withStateMessages(List.of(s1, s2Updated, s3));
+    statePersistence.updateOrCreateState(connectionId, update);
+
+    final Map<String, OffsetDateTime> updates = getUpdatedAtByStream();
+    Assertions.assertEquals(initialUpdates.get("s1"), updates.get("s1"));
+    Assertions.assertTrue(updates.get("s2").isAfter(initialUpdates.get("s2")));
+    Assertions.assertEquals(Set.of("s1", "s2", "s3"), updates.keySet());
+    assertEquals(update, statePersistence.getCurrentState(connectionId).orElseThrow());
+  }
+
+  private Map<String, OffsetDateTime> getUpdatedAtByStream() throws SQLException {
+    return database.query(ctx -> ctx.select(DSL.field("stream_name", String.class), DSL.field("updated_at", OffsetDateTime.class))
+        .from(DSL.table(STATE))
+        .where(DSL.field("connection_id").eq(connectionId))
+        .fetchMap(DSL.field("stream_name", String.class), DSL.field("updated_at", OffsetDateTime.class)));
+  }
+
   @Test
   void testStreamFullReset() throws IOException {
     final StateWrapper state0 = new StateWrapper()
@@ -12,32 +12,53 @@ import io.airbyte.metrics.lib.MetricAttribute;
 import io.airbyte.metrics.lib.MetricClient;
 import io.airbyte.metrics.lib.MetricTags;
 import io.airbyte.metrics.lib.OssMetricsRegistry;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.scheduling.annotation.Scheduled;
 import io.temporal.api.enums.v1.WorkflowExecutionStatus;
 import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Temporal cleaner. Resets failed workflow executions.
+ * <p>
+ * Each pass only looks at the workflows which closed since the previous pass. The first pass looks
+ * back over {@code initialLookback}. Consecutive windows overlap a little because an execution may
+ * become visible shortly after it closed; a connection whose workflow was already restarted is
+ * skipped as its workflow is running again.
  */
 @Singleton
 @Slf4j
 public class SelfHealTemporalWorkflows {
 
+  private static final Duration WINDOW_OVERLAP = Duration.ofMinutes(1);
+
   private final TemporalClient temporalClient;
   private final MetricClient metricClient;
 
-  public SelfHealTemporalWorkflows(final TemporalClient temporalClient, final MetricClient metricClient) {
+  // Close time up to which failed workflows have been healed
+  private Instant watermark;
+
+  public SelfHealTemporalWorkflows(final TemporalClient temporalClient,
+                                   final MetricClient metricClient,
+                                   @Value("${airbyte.cron.self-heal-temporal.initial-lookback:7d}") final Duration initialLookback) {
     log.debug("Creating temporal self-healing");
     this.temporalClient = temporalClient;
     this.metricClient = metricClient;
+    this.watermark = Instant.now().minus(initialLookback);
   }
 
   @Trace(operationName = SCHEDULED_TRACE_OPERATION_NAME)
   @Scheduled(fixedRate = "10s")
   void cleanTemporal() {
     metricClient.count(OssMetricsRegistry.CRON_JOB_RUN_BY_CRON_TYPE, 1, new MetricAttribute(MetricTags.CRON_TYPE, "self_heal_temporal"));
-    final var numRestarted = temporalClient.restartClosedWorkflowByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED);
+    final Instant passStart = Instant.now();
+    final var numRestarted = temporalClient.restartClosedWorkflowByStatus(WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_FAILED,
+        watermark.minus(WINDOW_OVERLAP), passStart);
+    // Only moving forward once the window was fully handled, a failed pass is retried with the same
+    // window
+    watermark = passStart;
     metricClient.count(OssMetricsRegistry.WORKFLOWS_HEALED, numRestarted);
   }
 
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.db.instance.configs.migrations;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Add the indices used to search connections by name and by the names of their source and
+ * destination, and to look up the notification configurations of connections.
+ */
+public class V0_50_13_002__AddConnectionSearchIndices extends BaseJavaMigration {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(V0_50_13_002__AddConnectionSearchIndices.class);
+
+  @Override
+  public void migrate(final Context context) throws Exception {
+    LOGGER.info("Running migration: {}", this.getClass().getSimpleName());
+
+    final DSLContext ctx = DSL.using(context.getConnection());
+
+    ctx.createIndexIfNotExists("connection_name_idx").on("connection", "name").execute();
+    ctx.createIndexIfNotExists("actor_name_idx").on("actor", "name").execute();
+    ctx.createIndexIfNotExists("notification_configuration_connection_id_idx").on("notification_configuration", "connection_id").execute();
+  }
+
+}
@@ -21,6 +21,12 @@ object NeedStateValidation : EnvVar(envVar = "NEED_STATE_VALIDATION")
 
 object RemoveValidationLimit : Temporary<Boolean>(key = "validation.removeValidationLimit", default = false)
 
+/**
+ * Percentage of the records of each stream validated against the stream schema once the first records of the stream were validated.
+ * A non-positive value keeps validating every record until a stream has 10 records with errors.
+ */
+object SchemaValidationSamplingPercent : Permanent<Int>(key = "validation.sampling-percent", default = 0)
+
 object NormalizationInDestination : Temporary<String>(key = "connectors.normalizationInDestination", default = "")
 
 object FieldSelectionEnabled : Temporary<Boolean>(key = "connection.columnSelection", default = false)
@@ -71,6 +77,40 @@ object ConcurrentSocatResources : Temporary<String>(key = "concurrent.socat.reso
 
 object ReplicationWorkerImpl : Permanent<String>(key = "platform.replication-worker-impl", default = "buffered")
 
+/**
+ * Maximum number of messages held by each buffer of the buffered replication worker.
+ */
+object ReplicationBufferMaxMessages : Permanent<Int>(key = "platform.replication-buffer.max-messages", default = 1000)
+
+/**
+ * Maximum estimated size in megabytes of the messages held by each buffer of the buffered replication worker.
+ * A non-positive value derives the limit from the memory available to the orchestrator.
+ */
+object ReplicationBufferMaxMegabytes : Permanent<Int>(key = "platform.replication-buffer.max-megabytes", default = -1)
+
+/**
+ * Number of threads used to deserialize, validate and migrate the messages read from the source.
+ * A value lower than 2 keeps deserialization on the thread reading from the source.
+ */
+object ReplicationDeserializationThreads : Permanent<Int>(key = "platform.replication.deserialization-threads", default = 0)
+
+/**
+ * Number of threads validating records against their stream schema during a sync.
+ */
+object ReplicationSchemaValidationThreads : Permanent<Int>(key = "platform.replication.schema-validation-threads", default = 1)
+
+/**
+ * If enabled, records of syncs that don't transform them are forwarded to the destination as the bytes read from the source,
+ * without being deserialized. Only applies when schema validation is sampled, see [SchemaValidationSamplingPercent],
+ * as the validated records are deserialized again.
+ */
+object ReplicationRecordPassthrough : Permanent<Boolean>(key = "platform.replication.record-passthrough", default = false)
+
+/**
+ * If enabled, syncs exchange messages with connectors in a binary format when the connector advertises one in its spec.
+ */
+object BinaryMessageFormats : Temporary<Boolean>(key = "platform.binary-message-formats", default = false)
+
 object UseResourceRequirementsVariant : Permanent<String>(key = "platform.resource-requirements-variant", default = "default")
 
 object CheckReplicationProgress : Temporary<Boolean>(key = "check-replication-progress", default = false)
@@ -23,6 +23,7 @@ public class MetricTags {
   public static final String AUTHENTICATION_RESPONSE = "authentication_response";
   public static final String AUTHENTICATION_RESPONSE_FAILURE_REASON = "authentication_response_failure_reason";
   public static final String AUTHENTICATION_REQUEST_URI_ATTRIBUTE_KEY = "request_uri";
+  public static final String CACHE_NAME = "cache_name";
   public static final String CONNECTION_ID = "connection_id";
   public static final String CRON_TYPE = "cron_type";
   public static final String FAILURE_ORIGIN = "failure_origin";
@@ -37,7 +38,9 @@ public class MetricTags {
   public static final String MAX_CONNECTOR_RELEASE_STATE = "max_connector_release_stage";
   // the release stage of the lowest release stage connector in the sync (GA > Beta > Alpha)
   public static final String MIN_CONNECTOR_RELEASE_STATE = "min_connector_release_stage";
+  public static final String QUANTILE = "quantile"; // p50|p90|p99|max
   public static final String RELEASE_STAGE = "release_stage";
+  public static final String REPLICATION_STAGE = "replication_stage";
   public static final String RESET_WORKFLOW_FAILURE_CAUSE = "failure_cause";
   public static final String SOURCE_ID = "source_id";
   public static final String WORKFLOW_TYPE = "workflow_type";
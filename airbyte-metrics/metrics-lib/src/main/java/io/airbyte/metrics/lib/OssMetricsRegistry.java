@@ -112,6 +112,12 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   BREAKING_SCHEMA_CHANGE_DETECTED(MetricEmittingApps.SERVER,
       "breaking_change_detected",
       "a breaking schema change has been detected"),
+  CONFIG_CACHE_HITS(MetricEmittingApps.SERVER,
+      "config_cache_hits",
+      "number of config lookups served from the cache of the config repository"),
+  CONFIG_CACHE_MISSES(MetricEmittingApps.SERVER,
+      "config_cache_misses",
+      "number of config lookups the cache of the config repository read from the database"),
   CRON_JOB_RUN_BY_CRON_TYPE(MetricEmittingApps.CRON,
       "cron_jobs_run",
       "number of cron runs by cron type"),
@@ -220,6 +226,12 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   RESET_REQUEST(MetricEmittingApps.WORKER,
       "reset_request",
       "number of requested resets"),
+  SCHEMA_VALIDATION_ESTIMATED_ERROR_RATE(MetricEmittingApps.WORKER,
+      "schema_validation_estimated_error_rate",
+      "estimated fraction of the records of a stream that do not match the stream schema, based on the validated records"),
+  SCHEMA_VALIDATION_SAMPLING_RATE(MetricEmittingApps.WORKER,
+      "schema_validation_sampling_rate",
+      "fraction of the records of a stream that are validated against the stream schema at the end of a sync"),
   SOURCE_HEARTBEAT_FAILURE(MetricEmittingApps.ORCHESTRATOR,
       "source_hearbeat_failure",
       "Fail a replication because the source missed an heartbeat"),
@@ -229,6 +241,9 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   STATE_BUFFERING(MetricEmittingApps.WORKER,
       "state_buffering",
       "number of state messages being buffered before a flush"),
+  STATE_COALESCED(MetricEmittingApps.WORKER,
+      "state_coalesced",
+      "number of state messages superseded by a more recent state of the same stream before being flushed"),
   STATE_COMMIT_ATTEMPT(MetricEmittingApps.WORKER,
       "state_commit_attempt",
       "number of attempts to commit states from the orchestrator/workers"),
@@ -238,6 +253,9 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   STATE_COMMIT_ATTEMPT_SUCCESSFUL(MetricEmittingApps.WORKER,
       "state_commit_attempt_successful",
       "number of successful attempts to commit states from the orchestrator/workers"),
+  STATE_COMMIT_LAG_MILLIS(MetricEmittingApps.WORKER,
+      "state_commit_lag_millis",
+      "time between the reception of a state message from the destination and its persistence"),
   STATE_COMMIT_NOT_ATTEMPTED(MetricEmittingApps.WORKER,
       "state_commit_not_attempted",
       "number of attempts to commit states dropped due to an early termination"),
@@ -289,6 +307,10 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   SCHEMA_CHANGE_AUTO_PROPAGATED(MetricEmittingApps.SERVER,
       "schema_change_auto_propagated",
       "a schema change have been propagated"),
+  WORKER_DESTINATION_BUFFER_BYTES(MetricEmittingApps.WORKER,
+      "worker_destination_buffer_bytes",
+      "the estimated size in bytes of the messages in the replication worker destination buffer queue"),
+
   WORKER_DESTINATION_BUFFER_SIZE(MetricEmittingApps.WORKER,
       "worker_destination_buffer_size",
       "the size of the replication worker destination buffer queue"),
@@ -301,6 +323,22 @@ public enum OssMetricsRegistry implements MetricsRegistry {
       "worker_destination_message_sent",
       "whenever a message is sent to the destination"),
 
+  WORKER_SCHEMA_VALIDATION_LAG_MILLIS(MetricEmittingApps.WORKER,
+      "worker_schema_validation_lag_millis",
+      "time between a record being queued for schema validation and its validation starting"),
+
+  WORKER_SCHEMA_VALIDATION_RECORDS_SKIPPED(MetricEmittingApps.WORKER,
+      "worker_schema_validation_records_skipped",
+      "number of records not validated against their schema because validation was falling behind"),
+
+  WORKER_SCHEMA_VALIDATION_RECORDS_VALIDATED(MetricEmittingApps.WORKER,
+      "worker_schema_validation_records_validated",
+      "number of records validated against their schema"),
+
+  WORKER_SOURCE_BUFFER_BYTES(MetricEmittingApps.WORKER,
+      "worker_source_buffer_bytes",
+      "the estimated size in bytes of the messages in the replication worker source buffer queue"),
+
   WORKER_SOURCE_BUFFER_SIZE(MetricEmittingApps.WORKER,
       "worker_source_buffer_size",
       "the size of the replication worker source buffer queue"),
@@ -308,6 +346,22 @@ public enum OssMetricsRegistry implements MetricsRegistry {
   WORKER_SOURCE_MESSAGE_READ(MetricEmittingApps.WORKER,
       "worker_source_message_read",
       "whenever a message is read from the source"),
+
+  WORKER_STAGE_BLOCKED_ON_FULL(MetricEmittingApps.WORKER,
+      "worker_stage_blocked_on_full",
+      "number of times a replication worker stage waited for room in its output queue"),
+
+  WORKER_STAGE_IDLE_ON_EMPTY(MetricEmittingApps.WORKER,
+      "worker_stage_idle_on_empty",
+      "number of times a replication worker stage waited for a message in its input queue"),
+
+  WORKER_STAGE_LATENCY_NANOS(MetricEmittingApps.WORKER,
+      "worker_stage_latency_nanos",
+      "quantiles of the time a replication worker stage spent on a message over the last reporting period"),
+
+  WORKER_STAGE_QUEUE_WAIT_NANOS(MetricEmittingApps.WORKER,
+      "worker_stage_queue_wait_nanos",
+      "quantiles of the time messages waited in the input queue of a replication worker stage over the last reporting period"),
   WORKFLOWS_HEALED(MetricEmittingApps.CRON,
       "workflows_healed",
       "number of workflow the self healing cron healed"),
@@ -42,6 +42,7 @@ import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.AttemptStatus;
 import io.airbyte.persistence.job.models.AttemptWithJobInfo;
+import io.airbyte.persistence.job.models.ConnectionJobStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
@@ -127,6 +128,35 @@ public class DefaultJobPersistence implements JobPersistence {
                                                  attempts.ended_at AS attempt_ended_at
                                                """;
 
+  // Same as ATTEMPT_FIELDS, without the sync config, nor the catalogs and state of the output
+  private static final String LIGHT_ATTEMPT_FIELDS = """
+                                                       attempts.attempt_number AS attempt_number,
+                                                       NULL AS attempt_sync_config,
+                                                       attempts.log_path AS log_path,
+                                                       attempts.output #- '{sync,output_catalog}' #- '{sync,state}' #- '{discoverCatalog}'
+                                                         AS attempt_output,
+                                                       attempts.status AS attempt_status,
+                                                       attempts.processing_task_queue AS processing_task_queue,
+                                                       attempts.failure_summary AS attempt_failure_summary,
+                                                       attempts.created_at AS attempt_created_at,
+                                                       attempts.updated_at AS attempt_updated_at,
+                                                       attempts.ended_at AS attempt_ended_at
+                                                     """;
+
+  // Only keeps the name and namespace of the streams of the catalog of a sync, and drops the catalog
+  // of a reset. The rest of the config is small.
+  private static final String LIGHT_JOB_CONFIG = """
+                                                   CASE WHEN jsonb_typeof(jobs.config #> '{sync,configuredAirbyteCatalog,streams}') = 'array'
+                                                     THEN jsonb_set(jobs.config, '{sync,configuredAirbyteCatalog,streams}', (
+                                                       SELECT COALESCE(jsonb_agg(jsonb_build_object('stream', jsonb_build_object(
+                                                           'name', s.stream #> '{stream,name}',
+                                                           'namespace', s.stream #> '{stream,namespace}')) ORDER BY s.idx), '[]'::jsonb)
+                                                       FROM jsonb_array_elements(jobs.config #> '{sync,configuredAirbyteCatalog,streams}')
+                                                         WITH ORDINALITY AS s(stream, idx)))
+                                                     ELSE jobs.config
+                                                   END #- '{resetConnection,configuredAirbyteCatalog}'
+                                                 """;
+
   private static final String ATTEMPT_SELECT =
       "SELECT job_id," + ATTEMPT_FIELDS + "FROM attempts WHERE job_id = ? AND attempt_number = ?";
 
@@ -150,17 +180,32 @@ public class DefaultJobPersistence implements JobPersistence {
     this(jobDatabase, Instant::now, 30, 500, 10);
   }
 
+  /**
+   * What is read of the jobs and their attempts.
+   */
+  private enum Projection {
+    // The whole configs and outputs
+    FULL,
+    // What is needed to list jobs. The catalogs and states, which can weigh several megabytes, are
+    // stripped by the database.
+    LIGHT
+  }
+
   private static String jobSelectAndJoin(final String jobsSubquery) {
+    return jobSelectAndJoin(jobsSubquery, Projection.FULL);
+  }
+
+  private static String jobSelectAndJoin(final String jobsSubquery, final Projection projection) {
     return "SELECT\n"
         + "jobs.id AS job_id,\n"
         + "jobs.config_type AS config_type,\n"
         + "jobs.scope AS scope,\n"
-        + "jobs.config AS config,\n"
+        + (projection == Projection.FULL ? "jobs.config" : LIGHT_JOB_CONFIG) + " AS config,\n"
         + "jobs.status AS job_status,\n"
         + "jobs.started_at AS job_started_at,\n"
         + "jobs.created_at AS job_created_at,\n"
         + "jobs.updated_at AS job_updated_at,\n"
-        + ATTEMPT_FIELDS
+        + (projection == Projection.FULL ? ATTEMPT_FIELDS : LIGHT_ATTEMPT_FIELDS)
         + "FROM " + jobsSubquery + " LEFT OUTER JOIN attempts ON jobs.id = attempts.job_id ";
   }
 
@@ -750,6 +795,12 @@ public class DefaultJobPersistence implements JobPersistence {
 
   @Override
   public List<Job> listJobs(final Set<ConfigType> configTypes, final String configId, final int pagesize, final int offset) throws IOException {
+    return listJobs(configTypes, configId, pagesize, offset, Projection.FULL);
+  }
+
+  private List<Job> listJobs(final Set<ConfigType> configTypes, final String configId, final int pagesize, final int offset,
+                             final Projection projection)
+      throws IOException {
     return jobDatabase.query(ctx -> {
       final String jobsSubquery = "(" + ctx.select(DSL.asterisk()).from(JOBS)
           .where(JOBS.CONFIG_TYPE.in(toSqlNames(configTypes)))
@@ -759,7 +810,7 @@ public class DefaultJobPersistence implements JobPersistence {
           .offset(offset)
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME));
+      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery, projection) + ORDER_BY_JOB_TIME_ATTEMPT_TIME), projection);
     });
   }
 
@@ -774,6 +825,34 @@ public class DefaultJobPersistence implements JobPersistence {
                             final OffsetDateTime updatedAtStart,
                             final OffsetDateTime updatedAtEnd)
       throws IOException {
+    return listJobs(configTypes, configId, limit, offset, status, createdAtStart, createdAtEnd, updatedAtStart, updatedAtEnd, Projection.FULL);
+  }
+
+  @Override
+  public List<Job> listJobsLight(final Set<ConfigType> configTypes,
+                                 final String configId,
+                                 final int limit,
+                                 final int offset,
+                                 final JobStatus status,
+                                 final OffsetDateTime createdAtStart,
+                                 final OffsetDateTime createdAtEnd,
+                                 final OffsetDateTime updatedAtStart,
+                                 final OffsetDateTime updatedAtEnd)
+      throws IOException {
+    return listJobs(configTypes, configId, limit, offset, status, createdAtStart, createdAtEnd, updatedAtStart, updatedAtEnd, Projection.LIGHT);
+  }
+
+  private List<Job> listJobs(final Set<ConfigType> configTypes,
+                             final String configId,
+                             final int limit,
+                             final int offset,
+                             final JobStatus status,
+                             final OffsetDateTime createdAtStart,
+                             final OffsetDateTime createdAtEnd,
+                             final OffsetDateTime updatedAtStart,
+                             final OffsetDateTime updatedAtEnd,
+                             final Projection projection)
+      throws IOException {
     return jobDatabase.query(ctx -> {
       final String jobsSubquery = "(" + ctx.select(DSL.asterisk()).from(JOBS)
           .where(JOBS.CONFIG_TYPE.in(toSqlNames(configTypes)))
@@ -790,8 +869,8 @@ public class DefaultJobPersistence implements JobPersistence {
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
       LOGGER.info("subquery: {}", jobsSubquery);
-      LOGGER.info("full query: {}", jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME);
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_TIME_ATTEMPT_TIME));
+      LOGGER.info("full query: {}", jobSelectAndJoin(jobsSubquery, projection) + ORDER_BY_JOB_TIME_ATTEMPT_TIME);
+      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery, projection) + ORDER_BY_JOB_TIME_ATTEMPT_TIME), projection);
     });
   }
 
@@ -806,6 +885,35 @@ public class DefaultJobPersistence implements JobPersistence {
                             final OffsetDateTime updatedAtStart,
                             final OffsetDateTime updatedAtEnd)
       throws IOException {
+    return listJobs(configTypes, workspaceIds, limit, offset, status, createdAtStart, createdAtEnd, updatedAtStart, updatedAtEnd, Projection.FULL);
+  }
+
+  @Override
+  public List<Job> listJobsLight(final Set<ConfigType> configTypes,
+                                 final List<UUID> workspaceIds,
+                                 final int limit,
+                                 final int offset,
+                                 final JobStatus status,
+                                 final OffsetDateTime createdAtStart,
+                                 final OffsetDateTime createdAtEnd,
+                                 final OffsetDateTime updatedAtStart,
+                                 final OffsetDateTime updatedAtEnd)
+      throws IOException {
+    return listJobs(configTypes, workspaceIds, limit, offset, status, createdAtStart, createdAtEnd, updatedAtStart, updatedAtEnd,
+        Projection.LIGHT);
+  }
+
+  private List<Job> listJobs(final Set<ConfigType> configTypes,
+                             final List<UUID> workspaceIds,
+                             final int limit,
+                             final int offset,
+                             final JobStatus status,
+                             final OffsetDateTime createdAtStart,
+                             final OffsetDateTime createdAtEnd,
+                             final OffsetDateTime updatedAtStart,
+                             final OffsetDateTime updatedAtEnd,
+                             final Projection projection)
+      throws IOException {
     return jobDatabase.query(ctx -> {
       final String jobsSubquery = "(" + ctx.select(JOBS.asterisk()).from(JOBS)
           .join(Tables.CONNECTION)
@@ -825,7 +933,7 @@ public class DefaultJobPersistence implements JobPersistence {
           .offset(offset)
           .getSQL(ParamType.INLINED) + ") AS jobs";
 
-      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery) + ORDER_BY_JOB_CREATED_AT_DESC));
+      return getJobsFromResult(ctx.fetch(jobSelectAndJoin(jobsSubquery, projection) + ORDER_BY_JOB_CREATED_AT_DESC), projection);
     });
   }
 
@@ -842,6 +950,24 @@ public class DefaultJobPersistence implements JobPersistence {
   @Override
   public List<Job> listJobsIncludingId(final Set<ConfigType> configTypes, final String connectionId, final long includingJobId, final int pagesize)
       throws IOException {
+    return listJobsIncludingId(configTypes, connectionId, includingJobId, pagesize, Projection.FULL);
+  }
+
+  @Override
+  public List<Job> listJobsIncludingIdLight(final Set<ConfigType> configTypes,
+                                            final String connectionId,
+                                            final long includingJobId,
+                                            final int pagesize)
+      throws IOException {
+    return listJobsIncludingId(configTypes, connectionId, includingJobId, pagesize, Projection.LIGHT);
+  }
+
+  private List<Job> listJobsIncludingId(final Set<ConfigType> configTypes,
+                                        final String connectionId,
+                                        final long includingJobId,
+                                        final int pagesize,
+                                        final Projection projection)
+      throws IOException {
     final Optional<OffsetDateTime> includingJobCreatedAt = jobDatabase.query(ctx -> ctx.select(JOBS.CREATED_AT).from(JOBS)
         .where(JOBS.CONFIG_TYPE.in(toSqlNames(configTypes)))
         .and(JOBS.SCOPE.eq(connectionId))
@@ -863,7 +989,7 @@ public class DefaultJobPersistence implements JobPersistence {
 
     // calculate the multiple of `pagesize` that includes the target job
     final int pageSizeThatIncludesJob = (countIncludingJob / pagesize + 1) * pagesize;
-    return listJobs(configTypes, connectionId, pageSizeThatIncludesJob, 0);
+    return listJobs(configTypes, connectionId, pageSizeThatIncludesJob, 0, projection);
   }
 
   @Override
@@ -992,6 +1118,54 @@ public class DefaultJobPersistence implements JobPersistence {
         .collect(Collectors.toList()));
   }
 
+  /**
+   * Ranks the jobs of each connection from the most recent, keeps the first {@code jobLookback} ones,
+   * and aggregates them per connection. Only the most recent terminal job is then joined, to read the
+   * failure of its last failed attempt. Neither configs nor outputs are read.
+   */
+  @Override
+  public List<ConnectionJobStatus> getConnectionJobStatuses(final List<UUID> connectionIds,
+                                                            final Set<ConfigType> configTypes,
+                                                            final int jobLookback)
+      throws IOException {
+    if (connectionIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    return jobDatabase.query(ctx -> ctx
+        .fetch("WITH recent_jobs AS ("
+            + "SELECT * FROM ("
+            + "SELECT id, scope, status, updated_at, "
+            + "ROW_NUMBER() OVER (PARTITION BY scope ORDER BY created_at DESC, id DESC) AS job_rank "
+            + "FROM jobs "
+            + WHERE + "CAST(config_type AS VARCHAR) IN " + toSqlInFragment(configTypes) + AND + scopeInList(connectionIds)
+            + ") AS ranked_jobs WHERE job_rank <= ?"
+            + "), connection_statuses AS ("
+            + "SELECT scope, "
+            + "bool_or(" + JOB_STATUS_IS_NON_TERMINAL + ") AS is_running, "
+            + "(array_agg(id ORDER BY job_rank) FILTER (WHERE NOT " + JOB_STATUS_IS_NON_TERMINAL + "))[1] AS last_terminal_job_id, "
+            + "(array_agg(updated_at ORDER BY job_rank) FILTER (WHERE CAST(status AS VARCHAR) = ?))[1] AS last_success_updated_at "
+            + "FROM recent_jobs GROUP BY scope"
+            + ") "
+            + "SELECT connection_statuses.*, jobs.config_type AS last_terminal_config_type, jobs.status AS last_terminal_status, "
+            + "(SELECT attempts.failure_summary #>> '{failures,0,failureType}' FROM attempts "
+            + "WHERE attempts.job_id = jobs.id AND CAST(attempts.status AS VARCHAR) = ? "
+            + "ORDER BY attempts.created_at DESC, attempts.id DESC LIMIT 1) AS last_terminal_failure_type "
+            + "FROM connection_statuses LEFT OUTER JOIN jobs ON jobs.id = connection_statuses.last_terminal_job_id",
+            jobLookback,
+            toSqlName(JobStatus.SUCCEEDED),
+            toSqlName(AttemptStatus.FAILED))
+        .stream()
+        .map(r -> new ConnectionJobStatus(
+            UUID.fromString(r.get("scope", String.class)),
+            r.get("is_running", Boolean.class),
+            Optional.ofNullable(r.get("last_terminal_status", String.class)).map(status -> JobStatus.valueOf(status.toUpperCase())),
+            Optional.ofNullable(r.get("last_terminal_config_type", String.class)).flatMap(type -> Enums.toEnum(type, ConfigType.class)),
+            Optional.ofNullable(r.get("last_terminal_failure_type", String.class)).map(FailureReason.FailureType::fromValue),
+            Optional.ofNullable(r.get("last_success_updated_at")).map(value -> getEpoch(r, "last_success_updated_at"))))
+        .toList());
+  }
+
   private String scopeInList(final Collection<UUID> connectionIds) {
     return String.format("scope IN (%s) ",
         connectionIds.stream()
@@ -1056,10 +1230,16 @@ public class DefaultJobPersistence implements JobPersistence {
 
   // Retrieves only Job information from the record, without any attempt info
   private static Job getJobFromRecord(final Record record) {
-    return new Job(record.get(JOB_ID, Long.class),
+    return getJobFromRecord(record, Projection.FULL);
+  }
+
+  private static Job getJobFromRecord(final Record record, final Projection projection) {
+    final String configString = record.get("config", String.class);
+    return Job.withLazyConfig(record.get(JOB_ID, Long.class),
         Enums.toEnum(record.get("config_type", String.class), ConfigType.class).orElseThrow(),
         record.get("scope", String.class),
-        parseJobConfigFromString(record.get("config", String.class)),
+        // The schemas of light catalogs are stripped, there is nothing to migrate
+        () -> projection == Projection.FULL ? parseJobConfigFromString(configString) : Jsons.deserialize(configString, JobConfig.class),
         new ArrayList<Attempt>(),
         JobStatus.valueOf(record.get("job_status", String.class).toUpperCase()),
         Optional.ofNullable(record.get("job_started_at")).map(value -> getEpoch(record, "started_at")).orElse(null),
@@ -1083,14 +1263,25 @@ public class DefaultJobPersistence implements JobPersistence {
   }
 
   private static Attempt getAttemptFromRecord(final Record record) {
+    return getAttemptFromRecord(record, Projection.FULL);
+  }
+
+  private static Attempt getAttemptFromRecord(final Record record, final Projection projection) {
     final String attemptOutputString = record.get("attempt_output", String.class);
-    return new Attempt(
+    return Attempt.withLazyOutput(
         record.get(ATTEMPT_NUMBER, int.class),
         record.get(JOB_ID, Long.class),
         Path.of(record.get("log_path", String.class)),
         record.get("attempt_sync_config", String.class) == null ? null
             : Jsons.deserialize(record.get("attempt_sync_config", String.class), AttemptSyncConfig.class),
-        attemptOutputString == null ? null : parseJobOutputFromString(attemptOutputString),
+        () -> {
+          if (attemptOutputString == null) {
+            return null;
+          }
+          // The catalogs of light outputs are stripped, there is nothing to migrate
+          return projection == Projection.FULL ? parseJobOutputFromString(attemptOutputString)
+              : Jsons.deserialize(attemptOutputString, JobOutput.class);
+        },
         Enums.toEnum(record.get("attempt_status", String.class), AttemptStatus.class).orElseThrow(),
         record.get("processing_task_queue", String.class),
         record.get("attempt_failure_summary", String.class) == null ? null
@@ -1126,16 +1317,20 @@ public class DefaultJobPersistence implements JobPersistence {
   }
 
   private static List<Job> getJobsFromResult(final Result<Record> result) {
+    return getJobsFromResult(result, Projection.FULL);
+  }
+
+  private static List<Job> getJobsFromResult(final Result<Record> result, final Projection projection) {
     // keeps results strictly in order so the sql query controls the sort
     final List<Job> jobs = new ArrayList<>();
     Job currentJob = null;
     for (final Record entry : result) {
       if (currentJob == null || currentJob.getId() != entry.get(JOB_ID, Long.class)) {
-        currentJob = getJobFromRecord(entry);
+        currentJob = getJobFromRecord(entry, projection);
         jobs.add(currentJob);
       }
       if (entry.getValue(ATTEMPT_NUMBER) != null) {
-        currentJob.getAttempts().add(getAttemptFromRecord(entry));
+        currentJob.getAttempts().add(getAttemptFromRecord(entry, projection));
       }
     }
 
@@ -17,6 +17,7 @@ import io.airbyte.config.SyncStats;
 import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.AttemptWithJobInfo;
+import io.airbyte.persistence.job.models.ConnectionJobStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
@@ -280,6 +281,53 @@ public interface JobPersistence {
                      OffsetDateTime updatedAtEnd)
       throws IOException;
 
+  /**
+   * Same as
+   * {@link #listJobs(Set, String, int, int, JobStatus, OffsetDateTime, OffsetDateTime, OffsetDateTime, OffsetDateTime)},
+   * but the jobs only carry what is needed to list them. The catalogs of their configs only contain
+   * the names and namespaces of the streams, and the outputs of their attempts contain neither
+   * catalog nor state. Attempts have no sync config. Configs and outputs are deserialized on access.
+   *
+   * @param configTypes - type of config, e.g. sync
+   * @param configId - id of that config
+   * @return lists light jobs in descending order by created_at
+   * @throws IOException - what you do when you IO
+   */
+  List<Job> listJobsLight(
+                          Set<JobConfig.ConfigType> configTypes,
+                          String configId,
+                          int limit,
+                          int offset,
+                          JobStatus status,
+                          OffsetDateTime createdAtStart,
+                          OffsetDateTime createdAtEnd,
+                          OffsetDateTime updatedAtStart,
+                          OffsetDateTime updatedAtEnd)
+      throws IOException;
+
+  /**
+   * Same as
+   * {@link #listJobs(Set, List, int, int, JobStatus, OffsetDateTime, OffsetDateTime, OffsetDateTime, OffsetDateTime)},
+   * but the jobs are light, see
+   * {@link #listJobsLight(Set, String, int, int, JobStatus, OffsetDateTime, OffsetDateTime, OffsetDateTime, OffsetDateTime)}.
+   *
+   * @param configTypes - type of config, e.g. sync
+   * @param workspaceIds - ids of requested workspaces
+   * @return lists light jobs in descending order by created_at
+   * @throws IOException - what you do when you IO
+   */
+  List<Job> listJobsLight(
+                          Set<JobConfig.ConfigType> configTypes,
+                          List<UUID> workspaceIds,
+                          int limit,
+                          int offset,
+                          JobStatus status,
+                          OffsetDateTime createdAtStart,
+                          OffsetDateTime createdAtEnd,
+                          OffsetDateTime updatedAtStart,
+                          OffsetDateTime updatedAtEnd)
+      throws IOException;
+
   /**
    * List jobs of a config type after a certain time.
    *
@@ -306,6 +354,13 @@ public interface JobPersistence {
    */
   List<Job> listJobsIncludingId(Set<JobConfig.ConfigType> configTypes, String connectionId, long includingJobId, int pagesize) throws IOException;
 
+  /**
+   * Same as {@link #listJobsIncludingId(Set, String, long, int)}, but the jobs are light, see
+   * {@link #listJobsLight(Set, String, int, int, JobStatus, OffsetDateTime, OffsetDateTime, OffsetDateTime, OffsetDateTime)}.
+   */
+  List<Job> listJobsIncludingIdLight(Set<JobConfig.ConfigType> configTypes, String connectionId, long includingJobId, int pagesize)
+      throws IOException;
+
   List<Job> listJobsWithStatus(JobStatus status) throws IOException;
 
   List<Job> listJobsWithStatus(Set<JobConfig.ConfigType> configTypes, JobStatus status) throws IOException;
@@ -337,6 +392,18 @@ public interface JobPersistence {
 
   List<Job> getRunningSyncJobForConnections(final List<UUID> connectionIds) throws IOException;
 
+  /**
+   * Derive the status of each connection from its most recent jobs, in a single query. Connections
+   * without any job are not returned.
+   *
+   * @param connectionIds ids of the connections
+   * @param configTypes types of the jobs to consider, e.g. sync
+   * @param jobLookback number of the most recent jobs of each connection to consider
+   * @return status of each connection that has jobs
+   * @throws IOException - what you do when you IO
+   */
+  List<ConnectionJobStatus> getConnectionJobStatuses(List<UUID> connectionIds, Set<ConfigType> configTypes, int jobLookback) throws IOException;
+
   Optional<Job> getFirstReplicationJob(UUID connectionId) throws IOException;
 
   Optional<Job> getNextJob() throws IOException;
@@ -4,12 +4,14 @@
 
 package io.airbyte.persistence.job.models;
 
+import com.google.common.base.Suppliers;
 import io.airbyte.config.AttemptFailureSummary;
 import io.airbyte.config.AttemptSyncConfig;
 import io.airbyte.config.JobOutput;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
@@ -19,7 +21,7 @@ public class Attempt {
 
   private final int attemptNumber;
   private final long jobId;
-  private final JobOutput output;
+  private final Supplier<JobOutput> output;
   private final AttemptStatus status;
   private final String processingTaskQueue;
   private final AttemptFailureSummary failureSummary;
@@ -40,10 +42,25 @@ public class Attempt {
                  final long createdAtInSecond,
                  final long updatedAtInSecond,
                  final @Nullable Long endedAtInSecond) {
+    this(attemptNumber, jobId, logPath, syncConfig, () -> output, status, processingTaskQueue, failureSummary, createdAtInSecond,
+        updatedAtInSecond, endedAtInSecond);
+  }
+
+  private Attempt(final int attemptNumber,
+                   final long jobId,
+                   final Path logPath,
+                   final @Nullable AttemptSyncConfig syncConfig,
+                   final Supplier<JobOutput> output,
+                   final AttemptStatus status,
+                   final String processingTaskQueue,
+                   final @Nullable AttemptFailureSummary failureSummary,
+                   final long createdAtInSecond,
+                   final long updatedAtInSecond,
+                   final @Nullable Long endedAtInSecond) {
     this.attemptNumber = attemptNumber;
     this.jobId = jobId;
     this.syncConfig = syncConfig;
-    this.output = output;
+    this.output = Suppliers.memoize(output::get);
     this.status = status;
     this.processingTaskQueue = processingTaskQueue;
     this.failureSummary = failureSummary;
@@ -53,6 +70,28 @@ public class Attempt {
     this.endedAtInSecond = endedAtInSecond;
   }
 
+  /**
+   * Create an attempt whose output is only computed the first time it is accessed. The output of a
+   * sync includes its catalog and state, which are not needed when listing attempts.
+   *
+   * @param output supplier of the output, called at most once. It may return null.
+   * @return attempt
+   */
+  public static Attempt withLazyOutput(final int attemptNumber,
+                                       final long jobId,
+                                       final Path logPath,
+                                       final @Nullable AttemptSyncConfig syncConfig,
+                                       final Supplier<JobOutput> output,
+                                       final AttemptStatus status,
+                                       final String processingTaskQueue,
+                                       final @Nullable AttemptFailureSummary failureSummary,
+                                       final long createdAtInSecond,
+                                       final long updatedAtInSecond,
+                                       final @Nullable Long endedAtInSecond) {
+    return new Attempt(attemptNumber, jobId, logPath, syncConfig, output, status, processingTaskQueue, failureSummary, createdAtInSecond,
+        updatedAtInSecond, endedAtInSecond);
+  }
+
   public int getAttemptNumber() {
     return attemptNumber;
   }
@@ -66,7 +105,7 @@ public class Attempt {
   }
 
   public Optional<JobOutput> getOutput() {
-    return Optional.ofNullable(output);
+    return Optional.ofNullable(output.get());
   }
 
   public AttemptStatus getStatus() {
@@ -115,7 +154,7 @@ public class Attempt {
         && updatedAtInSecond == attempt.updatedAtInSecond
         && createdAtInSecond == attempt.createdAtInSecond
         && Objects.equals(syncConfig, attempt.syncConfig)
-        && Objects.equals(output, attempt.output)
+        && Objects.equals(output.get(), attempt.output.get())
         && status == attempt.status
         && Objects.equals(failureSummary, attempt.failureSummary)
         && Objects.equals(logPath, attempt.logPath)
@@ -127,7 +166,7 @@ public class Attempt {
     return Objects.hash(attemptNumber,
         jobId,
         syncConfig,
-        output,
+        output.get(),
         status,
         failureSummary,
         logPath,
@@ -142,7 +181,7 @@ public class Attempt {
         + "id=" + attemptNumber
         + ", jobId=" + jobId
         + ", syncConfig=" + syncConfig
-        + ", output=" + output
+        + ", output=" + output.get()
         + ", status=" + status
         + ", failureSummary=" + failureSummary
         + ", logPath=" + logPath
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2023 Airbyte, Inc., all rights reserved.
+ */
+
+package io.airbyte.persistence.job.models;
+
+import io.airbyte.config.FailureReason.FailureType;
+import io.airbyte.config.JobConfig.ConfigType;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Status of a connection, as derived from its most recent jobs.
+ *
+ * @param connectionId connection id
+ * @param isRunning whether one of the recent jobs is not in a terminal state
+ * @param lastTerminalJobStatus status of the most recent job in a terminal state
+ * @param lastTerminalJobConfigType type of the most recent job in a terminal state
+ * @param lastTerminalJobFailureType type of the first failure of the most recent failed attempt of
+ *        the most recent job in a terminal state
+ * @param lastSuccessfulJobUpdatedAtInSecond updated at of the most recent successful job
+ */
+public record ConnectionJobStatus(UUID connectionId,
+                                  boolean isRunning,
+                                  Optional<JobStatus> lastTerminalJobStatus,
+                                  Optional<ConfigType> lastTerminalJobConfigType,
+                                  Optional<FailureType> lastTerminalJobFailureType,
+                                  Optional<Long> lastSuccessfulJobUpdatedAtInSecond) {}
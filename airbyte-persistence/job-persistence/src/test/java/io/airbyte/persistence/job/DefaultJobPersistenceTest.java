@@ -53,9 +53,17 @@ import io.airbyte.persistence.job.models.Attempt;
 import io.airbyte.persistence.job.models.AttemptNormalizationStatus;
 import io.airbyte.persistence.job.models.AttemptStatus;
 import io.airbyte.persistence.job.models.AttemptWithJobInfo;
+import io.airbyte.persistence.job.models.ConnectionJobStatus;
 import io.airbyte.persistence.job.models.Job;
 import io.airbyte.persistence.job.models.JobStatus;
 import io.airbyte.persistence.job.models.JobWithStatusAndTimestamp;
+import io.airbyte.protocol.models.AirbyteStream;
+import io.airbyte.protocol.models.CatalogHelpers;
+import io.airbyte.protocol.models.ConfiguredAirbyteCatalog;
+import io.airbyte.protocol.models.ConfiguredAirbyteStream;
+import io.airbyte.protocol.models.Field;
+import io.airbyte.protocol.models.JsonSchemaType;
+import io.airbyte.protocol.models.SyncMode;
 import io.airbyte.test.utils.Databases;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -1419,6 +1427,67 @@ class DefaultJobPersistenceTest {
 
   }
 
+  @Nested
+  @DisplayName("When getting the job statuses of multiple connections")
+  class GetConnectionJobStatuses {
+
+    private static final UUID CONNECTION_ID_1 = UUID.randomUUID();
+    private static final UUID CONNECTION_ID_2 = UUID.randomUUID();
+    private static final UUID CONNECTION_ID_3 = UUID.randomUUID();
+    private static final List<UUID> CONNECTION_IDS = List.of(CONNECTION_ID_1, CONNECTION_ID_2, CONNECTION_ID_3);
+    private static final Set<ConfigType> REPLICATION_TYPES = Set.of(ConfigType.SYNC, ConfigType.RESET_CONNECTION);
+
+    @Test
+    @DisplayName("Should aggregate the most recent jobs of each connection")
+    void testGetConnectionJobStatuses() throws IOException {
+      final long succeededJob = jobPersistence.enqueueJob(CONNECTION_ID_1.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(succeededJob, jobPersistence.createAttempt(succeededJob, LOG_PATH));
+
+      final long failedJob = jobPersistence.enqueueJob(CONNECTION_ID_1.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      final int failedAttemptNumber = jobPersistence.createAttempt(failedJob, LOG_PATH);
+      jobPersistence.writeAttemptFailureSummary(failedJob, failedAttemptNumber, new AttemptFailureSummary()
+          .withFailures(List.of(new FailureReason().withFailureOrigin(FailureOrigin.SOURCE).withFailureType(FailureType.CONFIG_ERROR))));
+      jobPersistence.failAttempt(failedJob, failedAttemptNumber);
+      jobPersistence.failJob(failedJob);
+
+      final long runningJob = jobPersistence.enqueueJob(CONNECTION_ID_1.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.createAttempt(runningJob, LOG_PATH);
+
+      final long resetJob = jobPersistence.enqueueJob(CONNECTION_ID_2.toString(), RESET_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(resetJob, jobPersistence.createAttempt(resetJob, LOG_PATH));
+
+      final Map<UUID, ConnectionJobStatus> actual = jobPersistence.getConnectionJobStatuses(CONNECTION_IDS, REPLICATION_TYPES, 10).stream()
+          .collect(Collectors.toMap(ConnectionJobStatus::connectionId, status -> status));
+
+      assertEquals(Map.of(
+          CONNECTION_ID_1, new ConnectionJobStatus(CONNECTION_ID_1, true, Optional.of(JobStatus.FAILED), Optional.of(ConfigType.SYNC),
+              Optional.of(FailureType.CONFIG_ERROR), Optional.of(NOW.getEpochSecond())),
+          CONNECTION_ID_2, new ConnectionJobStatus(CONNECTION_ID_2, false, Optional.of(JobStatus.SUCCEEDED), Optional.of(ConfigType.RESET_CONNECTION),
+              Optional.empty(), Optional.of(NOW.getEpochSecond()))),
+          actual);
+    }
+
+    @Test
+    @DisplayName("Should only consider the given number of most recent jobs")
+    void testGetConnectionJobStatusesLookback() throws IOException {
+      final long succeededJob = jobPersistence.enqueueJob(CONNECTION_ID_1.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.succeedAttempt(succeededJob, jobPersistence.createAttempt(succeededJob, LOG_PATH));
+      final long runningJob = jobPersistence.enqueueJob(CONNECTION_ID_1.toString(), SYNC_JOB_CONFIG).orElseThrow();
+      jobPersistence.createAttempt(runningJob, LOG_PATH);
+
+      assertEquals(
+          List.of(new ConnectionJobStatus(CONNECTION_ID_1, true, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())),
+          jobPersistence.getConnectionJobStatuses(CONNECTION_IDS, REPLICATION_TYPES, 1));
+    }
+
+    @Test
+    @DisplayName("Should return nothing if no connection is given")
+    void testGetConnectionJobStatusesEmpty() throws IOException {
+      assertTrue(jobPersistence.getConnectionJobStatuses(List.of(), REPLICATION_TYPES, 10).isEmpty());
+    }
+
+  }
+
   @Nested
   @DisplayName("When getting the last running sync job for multiple connections")
   class GetRunningSyncJobForConnections {
@@ -1748,6 +1817,47 @@ class DefaultJobPersistenceTest {
       assertEquals(expected, actual);
     }
 
+    @Test
+    @DisplayName("Should list light jobs without catalogs nor states")
+    void testListJobsLight() throws IOException {
+      final ConfiguredAirbyteCatalog catalog = new ConfiguredAirbyteCatalog().withStreams(List.of(
+          new ConfiguredAirbyteStream().withSyncMode(SyncMode.FULL_REFRESH)
+              .withStream(CatalogHelpers.createAirbyteStream("users", "public", Field.of("id", JsonSchemaType.NUMBER))),
+          new ConfiguredAirbyteStream().withSyncMode(SyncMode.FULL_REFRESH)
+              .withStream(CatalogHelpers.createAirbyteStream("accounts", Field.of("name", JsonSchemaType.STRING)))));
+      final JobConfig syncConfig = new JobConfig()
+          .withConfigType(ConfigType.SYNC)
+          .withSync(new JobSyncConfig().withSourceDockerImage("source-image").withConfiguredAirbyteCatalog(catalog));
+      final long jobId = jobPersistence.enqueueJob(SCOPE, syncConfig).orElseThrow();
+      final int attemptNumber = jobPersistence.createAttempt(jobId, LOG_PATH);
+      final StandardSyncSummary summary = new StandardSyncSummary().withRecordsSynced(10L).withBytesSynced(100L);
+      final JobOutput jobOutput = new JobOutput().withOutputType(JobOutput.OutputType.SYNC).withSync(new StandardSyncOutput()
+          .withStandardSyncSummary(summary)
+          .withState(new State().withState(Jsons.jsonNode(Map.of("cursor", 42))))
+          .withOutputCatalog(catalog));
+      jobPersistence.writeOutput(jobId, attemptNumber, jobOutput);
+
+      final Job full = jobPersistence.listJobs(Set.of(ConfigType.SYNC), SCOPE, 10, 0, null, null, null, null, null).get(0);
+      final Job light = jobPersistence.listJobsLight(Set.of(ConfigType.SYNC), SCOPE, 10, 0, null, null, null, null, null).get(0);
+
+      assertEquals(full.getId(), light.getId());
+      assertEquals(full.getStatus(), light.getStatus());
+      assertEquals(full.getCreatedAtInSecond(), light.getCreatedAtInSecond());
+      assertEquals(catalog, full.getConfig().getSync().getConfiguredAirbyteCatalog());
+      assertEquals("source-image", light.getConfig().getSync().getSourceDockerImage());
+      final List<AirbyteStream> lightStreams = light.getConfig().getSync().getConfiguredAirbyteCatalog().getStreams().stream()
+          .map(ConfiguredAirbyteStream::getStream)
+          .toList();
+      assertEquals(List.of(new AirbyteStream().withName("users").withNamespace("public"), new AirbyteStream().withName("accounts")), lightStreams);
+
+      assertEquals(Optional.of(jobOutput), full.getAttempts().get(0).getOutput());
+      final StandardSyncOutput lightOutput = light.getAttempts().get(0).getOutput().orElseThrow().getSync();
+      assertEquals(summary, lightOutput.getStandardSyncSummary());
+      assertNull(lightOutput.getState());
+      assertNull(lightOutput.getOutputCatalog());
+      assertEquals(full.getAttempts().get(0).getStatus(), light.getAttempts().get(0).getStatus());
+    }
+
     @Test
     @DisplayName("Should list all jobs matching multiple config types")
     void testListJobsMultipleConfigTypes() throws IOException {
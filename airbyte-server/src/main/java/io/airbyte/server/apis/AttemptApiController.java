@@ -62,6 +62,8 @@ public class AttemptApiController implements AttemptApi {
   @Override
   @Post(uri = "/save_stats",
         processes = MediaType.APPLICATION_JSON)
+  // Can write the state of the connection, same as /v1/state/create_or_update
+  @Secured({ADMIN})
   @ExecuteOn(AirbyteTaskExecutors.IO)
   public InternalOperationResult saveStats(final SaveStatsRequestBody requestBody) {
     return ApiHelper.execute(() -> attemptHandler.saveStats(requestBody));
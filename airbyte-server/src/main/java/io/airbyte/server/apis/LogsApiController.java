@@ -5,9 +5,13 @@
 package io.airbyte.server.apis;
 
 import static io.airbyte.commons.auth.AuthRoleConstants.ADMIN;
+import static io.airbyte.commons.auth.AuthRoleConstants.READER;
 
 import io.airbyte.api.generated.LogsApi;
+import io.airbyte.api.model.generated.JobLogsRead;
+import io.airbyte.api.model.generated.JobLogsRequestBody;
 import io.airbyte.api.model.generated.LogsRequestBody;
+import io.airbyte.commons.auth.SecuredWorkspace;
 import io.airbyte.commons.server.handlers.LogsHandler;
 import io.airbyte.commons.server.scheduling.AirbyteTaskExecutors;
 import io.micronaut.context.annotation.Context;
@@ -38,4 +42,13 @@ public class LogsApiController implements LogsApi {
     return ApiHelper.execute(() -> logsHandler.getLogs(logsRequestBody));
   }
 
+  @Post("/get_job_logs")
+  @Secured({READER})
+  @SecuredWorkspace
+  @ExecuteOn(AirbyteTaskExecutors.LOGS)
+  @Override
+  public JobLogsRead getJobLogs(final JobLogsRequestBody jobLogsRequestBody) {
+    return ApiHelper.execute(() -> logsHandler.getJobLogs(jobLogsRequestBody));
+  }
+
 }
@@ -4,14 +4,19 @@
 
 package io.airbyte.server.apis;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
 import io.airbyte.api.model.generated.InternalOperationResult;
 import io.airbyte.api.model.generated.SaveStatsRequestBody;
+import io.airbyte.commons.auth.AuthRoleConstants;
 import io.airbyte.commons.json.Jsons;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.env.Environment;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpStatus;
+import io.micronaut.security.annotation.Secured;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import java.io.IOException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -21,7 +26,7 @@ import org.mockito.Mockito;
 class AttemptApiTest extends BaseControllerTest {
 
   @Test
-  void testSaveState() {
+  void testSaveState() throws IOException {
     Mockito.when(attemptHandler.saveStats(Mockito.any()))
         .thenReturn(new InternalOperationResult());
     final String path = "/api/v1/attempt/save_stats";
@@ -30,6 +35,13 @@ class AttemptApiTest extends BaseControllerTest {
         HttpStatus.OK);
   }
 
+  @Test
+  void testSaveStatsIsRestrictedToAdmins() throws NoSuchMethodException {
+    // Security is disabled in the test environment, the roles are checked on the route declaration.
+    final Secured secured = AttemptApiController.class.getMethod("saveStats", SaveStatsRequestBody.class).getAnnotation(Secured.class);
+    assertArrayEquals(new String[] {AuthRoleConstants.ADMIN}, secured.value());
+  }
+
   @Test
   void testSetWorkflowInAttempt() {
     Mockito.when(attemptHandler.setWorkflowInAttempt(Mockito.any()))
@@ -4,8 +4,11 @@
 
 package io.airbyte.server.apis;
 
+import io.airbyte.api.model.generated.JobLogsRead;
+import io.airbyte.api.model.generated.JobLogsRequestBody;
 import io.airbyte.api.model.generated.LogsRequestBody;
 import io.airbyte.commons.json.Jsons;
+import io.airbyte.commons.server.errors.IdNotFoundKnownException;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.context.env.Environment;
 import io.micronaut.http.HttpRequest;
@@ -31,4 +34,18 @@ class LogsApiTest extends BaseControllerTest {
         HttpStatus.OK);
   }
 
+  @Test
+  void testGetJobLogs() throws IOException {
+    Mockito.when(logsHandler.getJobLogs(Mockito.any()))
+        .thenReturn(new JobLogsRead())
+        .thenThrow(new IdNotFoundKnownException("", ""));
+    final String path = "/api/v1/logs/get_job_logs";
+    testEndpointStatus(
+        HttpRequest.POST(path, Jsons.serialize(new JobLogsRequestBody())),
+        HttpStatus.OK);
+    testErrorEndpointStatus(
+        HttpRequest.POST(path, Jsons.serialize(new JobLogsRequestBody())),
+        HttpStatus.NOT_FOUND);
+  }
+
 }